@@ -0,0 +1,32 @@
+package org.reactome.release.goupdate;
+
+import org.openjdk.jmh.profile.GCProfiler;
+import org.openjdk.jmh.results.format.ResultFormatType;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.options.CommandLineOptions;
+import org.openjdk.jmh.runner.options.Options;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+
+/**
+ * Runs the GO update benchmarks, with the GC profiler (allocation rate, and bytes allocated per operation), and writes the results to
+ * <code>benchmark-results.json</code>. Keep that file from a run on the main branch as the baseline for a change, and compare the two
+ * (for example, with https://jmh.morethan.io).<br/>
+ * Takes the usual JMH arguments: for example, a regular expression to pick some of the benchmarks,
+ * <code>-p termCount=0</code> to only use the whole GO file, or <code>-p goFile=/path/to/go.obo</code>.
+ */
+public class BenchmarkRunner
+{
+	/** Makes the forked benchmark JVMs log warnings and errors to the console only, rather than to the GO update's log files. */
+	static final String LOG_CONFIGURATION = "-Dlog4j.configurationFile=log4j2-benchmarks.xml";
+
+	public static void main(String[] args) throws Exception
+	{
+		Options options = new OptionsBuilder()
+				.parent(new CommandLineOptions(args))
+				.addProfiler(GCProfiler.class)
+				.resultFormat(ResultFormatType.JSON)
+				.result("benchmark-results.json")
+				.build();
+		new Runner(options).run();
+	}
+}
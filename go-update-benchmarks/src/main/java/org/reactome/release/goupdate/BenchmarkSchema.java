@@ -0,0 +1,111 @@
+package org.reactome.release.goupdate;
+
+import java.lang.reflect.Proxy;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.HashSet;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+import org.gk.model.ReactomeJavaConstants;
+import org.gk.persistence.MySQLAdaptor;
+import org.gk.schema.Schema;
+import org.gk.schema.SchemaClass;
+import org.mockito.Mockito;
+
+/**
+ * Just enough of the Reactome schema for the benchmarks: the three GO classes, and Compartment and EntityCompartment (which are
+ * subclasses of GO_CellularComponent), with the attributes that {@link GoInstanceTable} and {@link GoTermsReconciler} ask about.<br/>
+ * The benchmarks do not connect to a database, so the adaptor is a mock whose only job is to return this schema.
+ */
+final class BenchmarkSchema
+{
+	private static final List<String> GO_ATTRIBUTES = Arrays.asList(ReactomeJavaConstants.accession, ReactomeJavaConstants.name, ReactomeJavaConstants.definition);
+	private static final List<String> CELLULAR_COMPONENT_ATTRIBUTES = Arrays.asList(ReactomeJavaConstants.instanceOf, ReactomeJavaConstants.componentOf, "hasPart");
+
+	private BenchmarkSchema()
+	{
+	}
+
+	/**
+	 * @return A mock adaptor, whose getSchema() returns the benchmark schema.
+	 */
+	static MySQLAdaptor adaptor()
+	{
+		MySQLAdaptor adaptor = Mockito.mock(MySQLAdaptor.class);
+		Mockito.when(adaptor.getSchema()).thenReturn(schema());
+		return adaptor;
+	}
+
+	/**
+	 * @return The benchmark schema.
+	 */
+	static Schema schema()
+	{
+		Map<String, SchemaClass> classes = new LinkedHashMap<>();
+		classes.put(ReactomeJavaConstants.GO_BiologicalProcess, schemaClass(ReactomeJavaConstants.GO_BiologicalProcess, Collections.emptyList(), GO_ATTRIBUTES));
+		classes.put(ReactomeJavaConstants.GO_MolecularFunction, schemaClass(ReactomeJavaConstants.GO_MolecularFunction, Collections.emptyList(),
+				concat(GO_ATTRIBUTES, Collections.singletonList(ReactomeJavaConstants.ecNumber))));
+		classes.put(ReactomeJavaConstants.GO_CellularComponent, schemaClass(ReactomeJavaConstants.GO_CellularComponent, Collections.emptyList(),
+				concat(GO_ATTRIBUTES, CELLULAR_COMPONENT_ATTRIBUTES)));
+		classes.put(ReactomeJavaConstants.Compartment, schemaClass(ReactomeJavaConstants.Compartment,
+				Collections.singletonList(ReactomeJavaConstants.GO_CellularComponent), concat(GO_ATTRIBUTES, CELLULAR_COMPONENT_ATTRIBUTES)));
+		classes.put(ReactomeJavaConstants.EntityCompartment, schemaClass(ReactomeJavaConstants.EntityCompartment,
+				Arrays.asList(ReactomeJavaConstants.Compartment, ReactomeJavaConstants.GO_CellularComponent), concat(GO_ATTRIBUTES, CELLULAR_COMPONENT_ATTRIBUTES)));
+		return (Schema) Proxy.newProxyInstance(BenchmarkSchema.class.getClassLoader(), new Class<?>[] { Schema.class }, (proxy, method, args) -> {
+			switch (method.getName())
+			{
+				case "getClassByName":
+					return classes.get(args[0]);
+				case "isValidClass":
+					return classes.containsKey(args[0]);
+				case "getClasses":
+					return classes.values();
+				case "toString":
+					return "BenchmarkSchema";
+				case "hashCode":
+					return System.identityHashCode(proxy);
+				case "equals":
+					return proxy == args[0];
+				default:
+					throw new UnsupportedOperationException("Schema." + method.getName() + " is not available in the benchmarks.");
+			}
+		});
+	}
+
+	private static SchemaClass schemaClass(String name, Collection<String> ancestors, Collection<String> attributes)
+	{
+		Set<String> isa = new HashSet<>(ancestors);
+		isa.add(name);
+		Set<String> validAttributes = new HashSet<>(attributes);
+		return (SchemaClass) Proxy.newProxyInstance(BenchmarkSchema.class.getClassLoader(), new Class<?>[] { SchemaClass.class }, (proxy, method, args) -> {
+			switch (method.getName())
+			{
+				case "getName":
+				case "toString":
+					return name;
+				case "isa":
+					return isa.contains(args[0] instanceof SchemaClass ? ((SchemaClass) args[0]).getName() : args[0]);
+				case "isValidAttribute":
+					return args[0] instanceof String && validAttributes.contains(args[0]);
+				case "hashCode":
+					return name.hashCode();
+				case "equals":
+					return proxy == args[0];
+				default:
+					throw new UnsupportedOperationException("SchemaClass." + method.getName() + " is not available in the benchmarks.");
+			}
+		});
+	}
+
+	private static List<String> concat(List<String> first, List<String> second)
+	{
+		List<String> all = new ArrayList<>(first);
+		all.addAll(second);
+		return all;
+	}
+}
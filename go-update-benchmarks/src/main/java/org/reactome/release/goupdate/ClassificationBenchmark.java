@@ -0,0 +1,87 @@
+package org.reactome.release.goupdate;
+
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+/**
+ * Benchmarks for sorting out obsolete and alternate GO terms: resolving replacement chains ({@link ReplacementResolver}), indexing alt_ids,
+ * and the per-term decisions of the update's main loop (new, pending obsoletion, obsolete - and, for obsolete terms, where their referrers would go).
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3)
+@Measurement(iterations = 5)
+@Fork(value = 1, jvmArgsAppend = BenchmarkRunner.LOG_CONFIGURATION)
+public class ClassificationBenchmark
+{
+	/**
+	 * The replacement chains, resolved once per trial for {@link ClassificationBenchmark#classifyTerms(GoFileState, GoInstanceTableState, ResolverState)}.
+	 */
+	@State(Scope.Benchmark)
+	public static class ResolverState
+	{
+		ReplacementResolver resolver;
+
+		@Setup(Level.Trial)
+		public void setup(GoFileState goFile)
+		{
+			this.resolver = ReplacementResolver.resolve(goFile.goTerms);
+		}
+	}
+
+	@Benchmark
+	public ReplacementResolver resolveReplacements(GoFileState goFile)
+	{
+		return ReplacementResolver.resolve(goFile.goTerms);
+	}
+
+	@Benchmark
+	public Map<String, String> buildAlternateIndex(GoFileState goFile)
+	{
+		return GoOboReader.buildAlternateIndex(goFile.goTerms);
+	}
+
+	/**
+	 * Makes the same decisions as GoTermsUpdater's main loop, without acting on them.
+	 * @return The number of new, pending obsolete and obsolete terms, and the number of obsolete terms with a live replacement.
+	 */
+	@Benchmark
+	public int[] classifyTerms(GoFileState goFile, GoInstanceTableState tableState, ResolverState resolverState)
+	{
+		int[] counts = new int[4];
+		for (Map.Entry<String, Map<String, Object>> term : goFile.goTerms.entrySet())
+		{
+			Map<String, Object> goTerm = term.getValue();
+			int[] rows = tableState.table.getRows(term.getKey());
+			if (rows.length == 0 && !goTerm.containsKey(GoUpdateConstants.IS_OBSOLETE) && !goTerm.containsKey(GoUpdateConstants.PENDING_OBSOLETION))
+			{
+				counts[0]++;
+			}
+			if (Boolean.TRUE.equals(goTerm.get(GoUpdateConstants.PENDING_OBSOLETION)))
+			{
+				counts[1] += rows.length > 0 ? 1 : 0;
+			}
+			else if (Boolean.TRUE.equals(goTerm.get(GoUpdateConstants.IS_OBSOLETE)) && rows.length > 0)
+			{
+				counts[2]++;
+				if (resolverState.resolver.getFinalTarget(term.getKey()) != null)
+				{
+					counts[3]++;
+				}
+			}
+		}
+		return counts;
+	}
+}
@@ -0,0 +1,30 @@
+package org.reactome.release.goupdate;
+
+import java.io.IOException;
+import java.io.StringReader;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Warmup;
+
+/**
+ * Benchmark for parsing the ec2go file with {@link Ec2GoMapping#parse(java.io.Reader)}.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3)
+@Measurement(iterations = 5)
+@Fork(value = 1, jvmArgsAppend = BenchmarkRunner.LOG_CONFIGURATION)
+public class Ec2GoParsingBenchmark
+{
+	@Benchmark
+	public Ec2GoMapping parse(Ec2GoState ec2Go) throws IOException
+	{
+		return Ec2GoMapping.parse(new StringReader(ec2Go.text));
+	}
+}
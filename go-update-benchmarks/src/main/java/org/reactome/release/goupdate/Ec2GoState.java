@@ -0,0 +1,45 @@
+package org.reactome.release.goupdate;
+
+import java.io.IOException;
+import java.io.StringReader;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Paths;
+import java.util.List;
+
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+
+/**
+ * An ec2go file, read once per trial: its text, and the parsed mapping.<br/>
+ * The size of the input is set with <code>ec2goLineCount</code>: the number of lines to use (0 means the whole file).
+ */
+@State(Scope.Benchmark)
+public class Ec2GoState
+{
+	/** The path to an ec2go file. The default is the path that the GO update uses by default, from the benchmark module's directory. */
+	@Param({ "../src/main/resources/ec2go" })
+	public String ec2goFile;
+
+	/** The number of lines to use from the ec2go file, or 0 for all of them. */
+	@Param({ "0" })
+	public int ec2goLineCount;
+
+	String text;
+	Ec2GoMapping mapping;
+
+	@Setup(Level.Trial)
+	public void setup() throws IOException
+	{
+		List<String> lines = Files.readAllLines(Paths.get(this.ec2goFile), StandardCharsets.UTF_8);
+		if (this.ec2goLineCount > 0 && this.ec2goLineCount < lines.size())
+		{
+			lines = lines.subList(0, this.ec2goLineCount);
+		}
+		this.text = String.join("\n", lines) + "\n";
+		this.mapping = Ec2GoMapping.parse(new StringReader(this.text));
+	}
+}
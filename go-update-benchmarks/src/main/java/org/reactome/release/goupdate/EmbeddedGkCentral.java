@@ -0,0 +1,216 @@
+package org.reactome.release.goupdate;
+
+import java.io.BufferedReader;
+import java.io.FileNotFoundException;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.InputStreamReader;
+import java.io.Writer;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.sql.Connection;
+import java.sql.DriverManager;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.util.Comparator;
+import java.util.stream.Stream;
+
+import org.apache.logging.log4j.LogManager;
+import org.apache.logging.log4j.Logger;
+import org.gk.persistence.MySQLAdaptor;
+
+import ch.vorburger.exec.ManagedProcessException;
+import ch.vorburger.mariadb4j.DB;
+import ch.vorburger.mariadb4j.DBConfigurationBuilder;
+
+/**
+ * A throwaway gk_central, for running the whole GO update without a MySQL server: an embedded MariaDB (started from the binaries that
+ * come with MariaDB4j) whose data directory is in memory (/dev/shm) where there is one.<br/>
+ * The database is set up with a schema: the minimal one that comes with the benchmarks ({@link #BUNDLED_SCHEMA}), or a schema-only dump of
+ * gk_central. Either way it has the tables of the Reactome schema and the DataModel table, which is where MySQLAdaptor gets the schema
+ * from. It is then loaded with a {@link GoDatabaseFixture}. The GO update runs against it through an
+ * ordinary MySQLAdaptor, so everything it does (including the set-based SQL of the bulk phases) happens the way it would on gk_central.<br/>
+ * SQL files are run over JDBC, not with the mysql command-line client, so nothing needs to be installed besides Java.
+ */
+class EmbeddedGkCentral implements AutoCloseable
+{
+	private static final Logger logger = LogManager.getLogger();
+
+	static final String DATABASE_NAME = "gk_central";
+	/** The classpath resource with the minimal gk_central schema: the part of the Reactome schema that the GO update and the fixture use. */
+	static final String BUNDLED_SCHEMA = "/gk_central_schema.sql";
+	private static final String USER = "root";
+	private static final String PASSWORD = "";
+	private static final Path SHARED_MEMORY = Paths.get("/dev/shm");
+
+	private final DB db;
+	private final int port;
+	private final Path dataDirectory;
+
+	/**
+	 * Starts the database server, and creates an empty gk_central.
+	 * @param parentDirectory - Where to put the data directory, or null for /dev/shm (or the temporary directory, if there is no /dev/shm).
+	 * The data directory is deleted by {@link #close()}.
+	 * @throws Exception
+	 */
+	EmbeddedGkCentral(Path parentDirectory) throws Exception
+	{
+		Path parent = parentDirectory != null ? parentDirectory : (Files.isDirectory(SHARED_MEMORY) ? SHARED_MEMORY : Paths.get(System.getProperty("java.io.tmpdir")));
+		this.dataDirectory = Files.createTempDirectory(parent, "gk_central_");
+		DBConfigurationBuilder config = DBConfigurationBuilder.newBuilder();
+		// 0 picks a free port.
+		config.setPort(0);
+		config.setDataDir(this.dataDirectory.toString());
+		// The statements of the update are written for gk_central, which does not run in strict mode.
+		config.addArg("--sql-mode=NO_ENGINE_SUBSTITUTION");
+		// mysqld will not start as root unless it is told to (as in a CI container).
+		if (USER.equals(System.getProperty("user.name")))
+		{
+			config.addArg("--user=root");
+		}
+		this.db = DB.newEmbeddedDB(config.build());
+		this.db.start();
+		this.port = this.db.getConfiguration().getPort();
+		try (Connection connection = this.openConnection(""); Statement statement = connection.createStatement())
+		{
+			statement.execute("CREATE DATABASE " + DATABASE_NAME + " DEFAULT CHARACTER SET utf8");
+		}
+		logger.info("Embedded gk_central is running on port {}, with its data in {}", this.port, this.dataDirectory);
+	}
+
+	/**
+	 * Runs a SQL file against gk_central: for example, a schema-only dump (<code>mysqldump --no-data gk_central</code>, followed by
+	 * <code>mysqldump gk_central DataModel</code>).
+	 * @param sqlFile - The file. Statements end with a ";" at the end of a line (or the delimiter set by a DELIMITER line), and lines that
+	 * start with "--" are comments.
+	 * @throws IOException
+	 * @throws SQLException
+	 */
+	void runSqlFile(Path sqlFile) throws IOException, SQLException
+	{
+		try (BufferedReader reader = Files.newBufferedReader(sqlFile, StandardCharsets.UTF_8))
+		{
+			this.runSql(reader, sqlFile.toString());
+		}
+	}
+
+	/**
+	 * Runs a SQL file from the classpath against gk_central, the same way as {@link #runSqlFile(Path)}.
+	 * @param resource - The name of the resource, such as {@link #BUNDLED_SCHEMA}.
+	 * @throws IOException If there is no such resource.
+	 * @throws SQLException
+	 */
+	void runSqlResource(String resource) throws IOException, SQLException
+	{
+		InputStream input = EmbeddedGkCentral.class.getResourceAsStream(resource);
+		if (input == null)
+		{
+			throw new FileNotFoundException("There is no resource " + resource + " on the classpath.");
+		}
+		try (BufferedReader reader = new BufferedReader(new InputStreamReader(input, StandardCharsets.UTF_8)))
+		{
+			this.runSql(reader, resource);
+		}
+	}
+
+	private void runSql(BufferedReader reader, String source) throws IOException, SQLException
+	{
+		int statementCount = 0;
+		try (Connection connection = this.openConnection(DATABASE_NAME);
+			Statement statement = connection.createStatement())
+		{
+			StringBuilder sql = new StringBuilder();
+			String delimiter = ";";
+			String line;
+			while ((line = reader.readLine()) != null)
+			{
+				String trimmed = line.trim();
+				if (sql.length() == 0 && (trimmed.isEmpty() || trimmed.startsWith("--")))
+				{
+					continue;
+				}
+				if (sql.length() == 0 && trimmed.toUpperCase().startsWith("DELIMITER "))
+				{
+					delimiter = trimmed.substring("DELIMITER ".length()).trim();
+					continue;
+				}
+				if (trimmed.endsWith(delimiter))
+				{
+					sql.append(line, 0, line.lastIndexOf(delimiter));
+					statement.execute(sql.toString());
+					statementCount++;
+					sql.setLength(0);
+				}
+				else
+				{
+					sql.append(line).append('\n');
+				}
+			}
+			if (sql.toString().trim().length() > 0)
+			{
+				statement.execute(sql.toString());
+				statementCount++;
+			}
+		}
+		logger.info("Ran {} statements from {}", statementCount, source);
+	}
+
+	/**
+	 * Loads a fixture into gk_central. The schema must already be loaded, since the layout of the fixture's tables comes from it.
+	 * @param fixture - The fixture.
+	 * @throws Exception
+	 */
+	void load(GoDatabaseFixture fixture) throws Exception
+	{
+		MySQLAdaptor adaptor = this.newAdaptor();
+		Path sqlFile = this.dataDirectory.resolve("fixture.sql");
+		try (Writer writer = Files.newBufferedWriter(sqlFile, StandardCharsets.UTF_8))
+		{
+			fixture.writeSql(writer, adaptor.getSchema());
+		}
+		finally
+		{
+			adaptor.cleanUp();
+		}
+		this.runSqlFile(sqlFile);
+		Files.delete(sqlFile);
+	}
+
+	/**
+	 * @return A new adaptor to gk_central. The caller should clean it up.
+	 * @throws SQLException
+	 */
+	MySQLAdaptor newAdaptor() throws SQLException
+	{
+		return new MySQLAdaptor("localhost", DATABASE_NAME, USER, PASSWORD, this.port);
+	}
+
+	/**
+	 * @return The port that the database server is listening on.
+	 */
+	int getPort()
+	{
+		return this.port;
+	}
+
+	private Connection openConnection(String database) throws SQLException
+	{
+		return DriverManager.getConnection("jdbc:mysql://localhost:" + this.port + "/" + database + "?useSSL=false", USER, PASSWORD);
+	}
+
+	/**
+	 * Stops the database server, and deletes its data directory.
+	 */
+	@Override
+	public void close() throws ManagedProcessException, IOException
+	{
+		this.db.stop();
+		try (Stream<Path> paths = Files.walk(this.dataDirectory))
+		{
+			// Children before their parents.
+			paths.sorted(Comparator.reverseOrder()).forEach(path -> path.toFile().delete());
+		}
+	}
+}
@@ -0,0 +1,31 @@
+package org.reactome.release.goupdate;
+
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Warmup;
+
+/**
+ * Benchmark for the whole GO update, run against an embedded gk_central (see {@link FullUpdateRun}). Each invocation is one complete run
+ * in test mode, so it is rolled back at the end and every invocation starts from the same database.<br/>
+ * It runs against the minimal schema that comes with the benchmarks; to run against the whole Reactome schema, give it a schema-only dump of
+ * gk_central: <code>-p schemaFile=/path/to/gk_central_schema.sql</code>.
+ */
+@BenchmarkMode(Mode.SingleShotTime)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 1)
+@Measurement(iterations = 3)
+@Fork(value = 1, jvmArgsAppend = BenchmarkRunner.LOG_CONFIGURATION)
+public class FullUpdateBenchmark
+{
+	@Benchmark
+	public void updateGoTerms(FullUpdateState state) throws Exception
+	{
+		state.run.run();
+	}
+}
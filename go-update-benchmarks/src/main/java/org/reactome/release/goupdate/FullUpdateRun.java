@@ -0,0 +1,142 @@
+package org.reactome.release.goupdate;
+
+import java.io.FileInputStream;
+import java.io.InputStream;
+import java.io.Writer;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.util.Properties;
+
+import org.apache.logging.log4j.LogManager;
+import org.apache.logging.log4j.Logger;
+import org.gk.model.ReactomeJavaConstants;
+import org.gk.persistence.MySQLAdaptor;
+
+/**
+ * The whole GO update, run end-to-end without a MySQL server: a synthetic GO release from {@link GoFixtureGenerator}, and an
+ * {@link EmbeddedGkCentral} loaded with a Reactome schema and the generator's database fixture.<br/>
+ * The properties are the generator's settings, the GO update's own properties (testMode, chunkedCommits, profileSql, and so on; the
+ * database settings, pathToGOFile, pathToEC2GOFile and personId are filled in), and:
+ * <ul>
+ * <li>schemaFile - a schema-only dump of gk_central, with the contents of its DataModel table. The default is the minimal schema that
+ * comes with the benchmarks ({@link EmbeddedGkCentral#BUNDLED_SCHEMA}).</li>
+ * <li>outputDirectory - where to write go.obo and ec2go. The default is the current directory.</li>
+ * <li>dataDirectory - where to put the database's data directory. The default is /dev/shm, so that the database is in memory.</li>
+ * </ul>
+ * With testMode=true every run is rolled back, so the update can be run again and again on the same database, with the same result.
+ */
+class FullUpdateRun implements AutoCloseable
+{
+	private static final Logger logger = LogManager.getLogger();
+
+	private final Properties props;
+	private final EmbeddedGkCentral gkCentral;
+
+	/**
+	 * Generates the GO files and the database, and starts the database.
+	 * @param settings - The properties, as described above. They are not changed.
+	 * @throws Exception
+	 */
+	FullUpdateRun(Properties settings) throws Exception
+	{
+		this.props = new Properties();
+		this.props.putAll(settings);
+		String schemaFile = this.props.getProperty("schemaFile");
+		GoFixtureGenerator generator = new GoFixtureGenerator(GoFixtureGenerator.Settings.fromProperties(this.props));
+		Path outputDirectory = Paths.get(this.props.getProperty("outputDirectory", "."));
+		Files.createDirectories(outputDirectory);
+		Path goFile = outputDirectory.resolve("go.obo");
+		Path ec2GoFile = outputDirectory.resolve("ec2go");
+		try (Writer writer = Files.newBufferedWriter(goFile, StandardCharsets.UTF_8))
+		{
+			generator.writeGoFile(writer);
+		}
+		try (Writer writer = Files.newBufferedWriter(ec2GoFile, StandardCharsets.UTF_8))
+		{
+			generator.writeEc2GoFile(writer);
+		}
+		this.props.setProperty("pathToGOFile", goFile.toString());
+		this.props.setProperty("pathToEC2GOFile", ec2GoFile.toString());
+
+		GoDatabaseFixture fixture = generator.buildDatabaseFixture();
+		// The update's InstanceEdits are authored by the fixture's Person.
+		fixture.getInstances().stream()
+				.filter(instance -> instance.getClassName().equals(ReactomeJavaConstants.Person))
+				.findFirst()
+				.ifPresent(person -> this.props.putIfAbsent("personId", String.valueOf(person.getDbId())));
+
+		String dataDirectory = this.props.getProperty("dataDirectory");
+		this.gkCentral = new EmbeddedGkCentral(dataDirectory != null ? Paths.get(dataDirectory) : null);
+		try
+		{
+			if (schemaFile != null)
+			{
+				this.gkCentral.runSqlFile(Paths.get(schemaFile));
+			}
+			else
+			{
+				this.gkCentral.runSqlResource(EmbeddedGkCentral.BUNDLED_SCHEMA);
+			}
+			this.gkCentral.load(fixture);
+		}
+		catch (Exception e)
+		{
+			this.gkCentral.close();
+			throw e;
+		}
+		logger.info("gk_central has {} instances", fixture.getInstances().size());
+	}
+
+	/**
+	 * Runs the GO update once, with a new adaptor.
+	 * @throws Exception
+	 */
+	void run() throws Exception
+	{
+		MySQLAdaptor adaptor = this.gkCentral.newAdaptor();
+		try
+		{
+			new GoUpdateStep().executeStep(this.props, adaptor);
+		}
+		finally
+		{
+			adaptor.cleanUp();
+		}
+	}
+
+	/**
+	 * Stops the database, and deletes it.
+	 */
+	@Override
+	public void close() throws Exception
+	{
+		this.gkCentral.close();
+	}
+
+	/**
+	 * Runs the GO update once, end-to-end. To profile it, add the profiler to the java command (for example,
+	 * <code>-XX:StartFlightRecording=filename=go-update.jfr</code>), or set profileSql=true.
+	 * @param args - The path to the properties file.
+	 * @throws Exception
+	 */
+	public static void main(String[] args) throws Exception
+	{
+		if (args.length == 0)
+		{
+			throw new IllegalArgumentException("Usage: FullUpdateRun <properties file>");
+		}
+		Properties props = new Properties();
+		try (InputStream input = new FileInputStream(args[0]))
+		{
+			props.load(input);
+		}
+		try (FullUpdateRun run = new FullUpdateRun(props))
+		{
+			long start = System.currentTimeMillis();
+			run.run();
+			logger.info("The GO update took {} ms", System.currentTimeMillis() - start);
+		}
+	}
+}
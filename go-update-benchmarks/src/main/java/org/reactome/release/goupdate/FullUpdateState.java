@@ -0,0 +1,58 @@
+package org.reactome.release.goupdate;
+
+import java.nio.file.Files;
+import java.util.Properties;
+
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+
+/**
+ * An embedded gk_central and a synthetic GO release to update it with, set up once per trial (see {@link FullUpdateRun}). Every run is in
+ * test mode, so it is rolled back and the database is the same for the next one.<br/>
+ * The size of the input is set with <code>termCount</code> and <code>churnRate</code>. The schema of the database is the minimal one that
+ * comes with the benchmarks, unless <code>schemaFile</code> is set.
+ */
+@State(Scope.Benchmark)
+public class FullUpdateState
+{
+	/** A schema-only dump of gk_central, with the contents of its DataModel table. Empty for the minimal schema that comes with the benchmarks. */
+	@Param({ "" })
+	public String schemaFile;
+
+	/** The number of terms in the previous GO release, which is also about the number of GO terms in the database. */
+	@Param({ "5000", "45000" })
+	public int termCount;
+
+	/** The fraction of live GO terms that change, for each kind of change, between the previous and the current release. */
+	@Param({ "0.02" })
+	public double churnRate;
+
+	FullUpdateRun run;
+
+	@Setup(Level.Trial)
+	public void setup() throws Exception
+	{
+		Properties props = new Properties();
+		if (!this.schemaFile.isEmpty())
+		{
+			props.setProperty("schemaFile", this.schemaFile);
+		}
+		props.setProperty("termCount", String.valueOf(this.termCount));
+		props.setProperty("churnRate", String.valueOf(this.churnRate));
+		props.setProperty("outputDirectory", Files.createTempDirectory("go-update-benchmark").toString());
+		props.setProperty("testMode", "true");
+		// Progress lines would only get in the way of the benchmark's output.
+		props.setProperty("progressLogSeconds", "0");
+		this.run = new FullUpdateRun(props);
+	}
+
+	@TearDown(Level.Trial)
+	public void tearDown() throws Exception
+	{
+		this.run.close();
+	}
+}
@@ -0,0 +1,260 @@
+package org.reactome.release.goupdate;
+
+import java.io.IOException;
+import java.io.Writer;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+import org.gk.model.ReactomeJavaConstants;
+import org.gk.schema.InvalidAttributeException;
+import org.gk.schema.Schema;
+import org.gk.schema.SchemaAttribute;
+import org.gk.schema.SchemaClass;
+
+/**
+ * The contents of a (small) gk_central: instances, with their class, display name and attribute values. Values are Strings, numbers, or
+ * other {@link Instance}s of the fixture.<br/>
+ * A fixture is written out as SQL, to load into a database that has the Reactome schema: a gk_central, or an {@link EmbeddedGkCentral}.
+ */
+class GoDatabaseFixture
+{
+	// Rows per INSERT statement.
+	private static final int ROWS_PER_INSERT = 500;
+	private static final String CLASS_COLUMN = "_class";
+	private static final String DISPLAY_NAME_COLUMN = "_displayName";
+
+	private final List<Instance> instances = new ArrayList<>();
+	private long nextDbId = 1;
+
+	/**
+	 * An instance in the fixture.
+	 */
+	static class Instance
+	{
+		private final long dbId;
+		private final String className;
+		private final String displayName;
+		private final Map<String, List<Object>> values = new LinkedHashMap<>();
+
+		private Instance(long dbId, String className, String displayName)
+		{
+			this.dbId = dbId;
+			this.className = className;
+			this.displayName = displayName;
+		}
+
+		/**
+		 * Adds a value to an attribute. For a multi-valued attribute, values are kept in the order they are added.
+		 * @param attribute - The name of the attribute.
+		 * @param value - The value: a String, a number, or another Instance.
+		 * @return This instance.
+		 */
+		Instance add(String attribute, Object value)
+		{
+			this.values.computeIfAbsent(attribute, a -> new ArrayList<>()).add(value);
+			return this;
+		}
+
+		long getDbId()
+		{
+			return this.dbId;
+		}
+
+		String getClassName()
+		{
+			return this.className;
+		}
+
+		String getDisplayName()
+		{
+			return this.displayName;
+		}
+
+		/**
+		 * @return The attribute values, keyed by attribute name. Unmodifiable.
+		 */
+		Map<String, List<Object>> getValues()
+		{
+			return Collections.unmodifiableMap(this.values);
+		}
+
+		@Override
+		public String toString()
+		{
+			return "[" + this.className + ":" + this.dbId + "] " + this.displayName;
+		}
+	}
+
+	/**
+	 * Adds an instance, with the next DB_ID.
+	 * @param className - The name of the instance's class.
+	 * @param displayName - The display name.
+	 * @return The instance, so its attribute values can be added.
+	 */
+	Instance add(String className, String displayName)
+	{
+		Instance instance = new Instance(this.nextDbId++, className, displayName);
+		this.instances.add(instance);
+		return instance;
+	}
+
+	/**
+	 * @return All the instances, in DB_ID order. Unmodifiable.
+	 */
+	List<Instance> getInstances()
+	{
+		return Collections.unmodifiableList(this.instances);
+	}
+
+	/**
+	 * Writes the fixture as INSERT statements. The layout of the tables comes from the schema, the same way as in {@link BulkCreator}: a row
+	 * in the table of the instance's class and of each of its ancestors, single-valued attributes as columns on the table of the class that
+	 * defines them, and multi-valued attributes in their own "_2_" tables. Instance-valued attributes also get their "_class" column.
+	 * @param writer - Where to write the SQL.
+	 * @param schema - The schema of the database the SQL is for.
+	 * @throws IOException
+	 * @throws IllegalArgumentException If an instance's class, or one of its attributes, is not in the schema.
+	 */
+	void writeSql(Writer writer, Schema schema) throws IOException
+	{
+		// Table -> columns (in the order they were first seen) and rows (column -> value).
+		Map<String, Set<String>> columns = new LinkedHashMap<>();
+		Map<String, List<Map<String, Object>>> rows = new LinkedHashMap<>();
+		for (Instance instance : this.instances)
+		{
+			SchemaClass schemaClass = schema.getClassByName(instance.className);
+			if (schemaClass == null)
+			{
+				throw new IllegalArgumentException(instance + ": there is no class " + instance.className + " in the schema.");
+			}
+			// The tables of the class and its ancestors, DatabaseObject first.
+			List<SchemaClass> classes = BulkSqlUtils.classAndAncestors(schemaClass);
+			classes.sort((a, b) -> Integer.compare(BulkSqlUtils.depth(a), BulkSqlUtils.depth(b)));
+			Map<String, Map<String, Object>> classTableRows = new LinkedHashMap<>();
+			for (SchemaClass classInHierarchy : classes)
+			{
+				Map<String, Object> row = new LinkedHashMap<>();
+				row.put("DB_ID", instance.dbId);
+				classTableRows.put(classInHierarchy.getName(), row);
+			}
+			classTableRows.get(ReactomeJavaConstants.DatabaseObject).put(CLASS_COLUMN, instance.className);
+			classTableRows.get(ReactomeJavaConstants.DatabaseObject).put(DISPLAY_NAME_COLUMN, instance.displayName);
+			for (Map.Entry<String, List<Object>> value : instance.values.entrySet())
+			{
+				SchemaAttribute attribute;
+				try
+				{
+					attribute = schemaClass.getAttribute(value.getKey());
+				}
+				catch (InvalidAttributeException e)
+				{
+					throw new IllegalArgumentException(instance + ": " + value.getKey() + " is not a valid attribute of " + instance.className + ".", e);
+				}
+				String column = attribute.getName();
+				if (attribute.isMultiple())
+				{
+					String table = BulkSqlUtils.tableName(attribute);
+					for (int rank = 0; rank < value.getValue().size(); rank++)
+					{
+						Map<String, Object> row = new LinkedHashMap<>();
+						row.put("DB_ID", instance.dbId);
+						row.put(column + "_rank", rank);
+						addValue(row, column, value.getValue().get(rank), attribute);
+						addRow(columns, rows, table, row);
+					}
+				}
+				else
+				{
+					addValue(classTableRows.get(BulkSqlUtils.tableName(attribute)), column, value.getValue().get(0), attribute);
+				}
+			}
+			for (Map.Entry<String, Map<String, Object>> classTableRow : classTableRows.entrySet())
+			{
+				addRow(columns, rows, classTableRow.getKey(), classTableRow.getValue());
+			}
+		}
+
+		writer.write("-- GO update fixture: " + this.instances.size() + " instances.\n");
+		for (Map.Entry<String, List<Map<String, Object>>> table : rows.entrySet())
+		{
+			List<String> tableColumns = new ArrayList<>(columns.get(table.getKey()));
+			List<Map<String, Object>> tableRows = table.getValue();
+			for (int i = 0; i < tableRows.size(); i += ROWS_PER_INSERT)
+			{
+				writer.write("INSERT INTO " + table.getKey() + " (" + String.join(", ", tableColumns) + ") VALUES\n");
+				for (int j = i; j < Math.min(i + ROWS_PER_INSERT, tableRows.size()); j++)
+				{
+					StringBuilder values = new StringBuilder(j > i ? ",\n(" : "(");
+					for (int c = 0; c < tableColumns.size(); c++)
+					{
+						values.append(c > 0 ? ", " : "").append(sqlLiteral(tableRows.get(j).get(tableColumns.get(c))));
+					}
+					writer.write(values.append(')').toString());
+				}
+				writer.write(";\n");
+			}
+		}
+	}
+
+	private static void addValue(Map<String, Object> row, String column, Object value, SchemaAttribute attribute)
+	{
+		if (value instanceof Instance)
+		{
+			row.put(column, ((Instance) value).dbId);
+			row.put(column + CLASS_COLUMN, ((Instance) value).className);
+		}
+		else if (attribute.isInstanceTypeAttribute())
+		{
+			throw new IllegalArgumentException(column + " refers to instances, but its value is \"" + value + "\".");
+		}
+		else
+		{
+			row.put(column, value);
+		}
+	}
+
+	private static void addRow(Map<String, Set<String>> columns, Map<String, List<Map<String, Object>>> rows, String table, Map<String, Object> row)
+	{
+		columns.computeIfAbsent(table, t -> new LinkedHashSet<>()).addAll(row.keySet());
+		rows.computeIfAbsent(table, t -> new ArrayList<>()).add(row);
+	}
+
+	/*
+	 * A MySQL literal for a value: NULL, a number, or a quoted (and escaped) string.
+	 */
+	static String sqlLiteral(Object value)
+	{
+		if (value == null)
+		{
+			return "NULL";
+		}
+		if (value instanceof Number)
+		{
+			return value.toString();
+		}
+		StringBuilder literal = new StringBuilder("'");
+		for (char c : value.toString().toCharArray())
+		{
+			switch (c)
+			{
+				case '\'':
+					literal.append("\\'");
+					break;
+				case '\\':
+					literal.append("\\\\");
+					break;
+				case '\n':
+					literal.append("\\n");
+					break;
+				default:
+					literal.append(c);
+			}
+		}
+		return literal.append('\'').toString();
+	}
+}
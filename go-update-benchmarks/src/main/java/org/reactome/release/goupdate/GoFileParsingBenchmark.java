@@ -0,0 +1,43 @@
+package org.reactome.release.goupdate;
+
+import java.util.HashMap;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Warmup;
+
+/**
+ * Benchmarks for reading the GO file: {@link GoLineProcessor#processLine(String, String, Map)} over every line of every [Term] stanza (which is what
+ * the reader did before it had a projection), and {@link GoOboReader#readTerms()} over the content of the file.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3)
+@Measurement(iterations = 5)
+@Fork(value = 1, jvmArgsAppend = BenchmarkRunner.LOG_CONFIGURATION)
+public class GoFileParsingBenchmark
+{
+	@Benchmark
+	public Map<String, Map<String, Object>> processLine(GoFileState goFile)
+	{
+		Map<String, Map<String, Object>> goTerms = new HashMap<>();
+		String currentGOID = "";
+		for (String line : goFile.termLines)
+		{
+			currentGOID = GoLineProcessor.processLine(line, currentGOID, goTerms);
+		}
+		return goTerms;
+	}
+
+	@Benchmark
+	public Map<String, Map<String, Object>> readTerms(GoFileState goFile)
+	{
+		return new GoOboReader(goFile.content.duplicate()).readTerms();
+	}
+}
@@ -0,0 +1,90 @@
+package org.reactome.release.goupdate;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Paths;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+
+/**
+ * A GO file, read once per trial: its content, the lines that {@link GoOboReader} passes to {@link GoLineProcessor}, and the parsed terms.<br/>
+ * The size of the input is set with <code>termCount</code>: the file is cut off after that many [Term] stanzas (0 means the whole file).
+ */
+@State(Scope.Benchmark)
+public class GoFileState
+{
+	/** The path to a GO file. The default is the path that the GO update uses by default, from the benchmark module's directory. */
+	@Param({ "../src/main/resources/go.obo" })
+	public String goFile;
+
+	/** The number of [Term] stanzas to use from the GO file, or 0 for all of them. */
+	@Param({ "5000", "20000", "0" })
+	public int termCount;
+
+	ByteBuffer content;
+	List<String> termLines;
+	Map<String, Map<String, Object>> goTerms;
+
+	@Setup(Level.Trial)
+	public void setup() throws IOException
+	{
+		List<String> lines = truncate(Files.readAllLines(Paths.get(this.goFile), StandardCharsets.UTF_8), this.termCount);
+		this.content = ByteBuffer.wrap((String.join("\n", lines) + "\n").getBytes(StandardCharsets.UTF_8));
+		this.termLines = termLines(lines);
+		this.goTerms = new GoOboReader(this.content.duplicate()).readTerms();
+	}
+
+	/*
+	 * The lines up to (not including) the [Term] stanza after the first termCount.
+	 */
+	private static List<String> truncate(List<String> lines, int termCount)
+	{
+		if (termCount <= 0)
+		{
+			return lines;
+		}
+		int terms = 0;
+		for (int i = 0; i < lines.size(); i++)
+		{
+			if (lines.get(i).equals("[Term]") && ++terms > termCount)
+			{
+				return lines.subList(0, i);
+			}
+		}
+		return lines;
+	}
+
+	/*
+	 * The lines inside [Term] stanzas, which are the lines GoOboReader passes on to GoLineProcessor when nothing is left out of its projection.
+	 */
+	private static List<String> termLines(List<String> lines)
+	{
+		List<String> termLines = new ArrayList<>();
+		boolean inTerm = false;
+		for (String line : lines)
+		{
+			if (line.trim().isEmpty())
+			{
+				inTerm = false;
+			}
+			else if (line.startsWith("["))
+			{
+				inTerm = line.equals("[Term]");
+			}
+			else if (inTerm)
+			{
+				termLines.add(line);
+			}
+		}
+		return termLines;
+	}
+}
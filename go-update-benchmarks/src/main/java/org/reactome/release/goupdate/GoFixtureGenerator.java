@@ -0,0 +1,758 @@
+package org.reactome.release.goupdate;
+
+import java.io.FileInputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.Writer;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.EnumMap;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Properties;
+import java.util.Random;
+
+import org.gk.model.ReactomeJavaConstants;
+import org.gk.persistence.MySQLAdaptor;
+import org.reactome.util.general.DBUtils;
+
+/**
+ * Generates inputs for the GO update that can be scaled: two releases of a synthetic GO ontology, and a gk_central to go with them.<br/>
+ * The <em>previous</em> release is the ontology that the database is in sync with. The <em>current</em> release is the previous one
+ * with some churn: new terms, terms that became obsolete (some replaced by other terms, so there are replacement chains), terms that
+ * were merged into other terms (and so are now their alt_ids), new names and definitions, terms that moved to another namespace, new
+ * is_a parents, and new EC numbers. The current release is written as a go.obo and an ec2go file, for the GO update to read.<br/>
+ * The database fixture has a GO term instance (with its EC numbers and, for cellular components, its relationships) for every live term
+ * of the previous release, and instances that refer to them: Reactions for biological processes, CatalystActivities for molecular
+ * functions, and SimpleEntities for Compartments.<br/>
+ * Everything comes from one seeded Random, so the same settings always give the same files.
+ */
+class GoFixtureGenerator
+{
+	private static final String[] NAME_WORDS = { "actin", "amino acid", "ATP", "calcium", "cell wall", "chromatin", "cilium", "DNA",
+			"endosome", "fatty acid", "glucose", "Golgi", "heme", "histone", "ion", "kinase", "lipid", "lysosome", "membrane", "microtubule",
+			"mitochondrial", "mRNA", "nuclear", "peptide", "phosphate", "polysaccharide", "protein", "proton", "purine", "receptor", "ribosome",
+			"RNA", "sodium", "sterol", "sugar", "synaptic", "transcription", "tRNA", "ubiquitin", "vesicle" };
+	private static final String[] DEFINITION_WORDS = { "the", "a", "of", "in", "by", "which", "chemical", "reactions", "pathways",
+			"resulting", "formation", "breakdown", "process", "any", "that", "modulates", "frequency", "rate", "extent", "cell", "binding",
+			"selectively", "non-covalently", "interacting", "with", "complex", "located", "region", "part", "structure" };
+	private static final Map<GONamespace, String> NAME_SUFFIXES = new EnumMap<>(GONamespace.class);
+	static
+	{
+		NAME_SUFFIXES.put(GONamespace.biological_process, "process");
+		NAME_SUFFIXES.put(GONamespace.molecular_function, "activity");
+		NAME_SUFFIXES.put(GONamespace.cellular_component, "complex");
+	}
+	// The share of the terms in each namespace, about as in the real GO.
+	private static final double BIOLOGICAL_PROCESS_SHARE = 0.65;
+	private static final double MOLECULAR_FUNCTION_SHARE = 0.25;
+
+	/**
+	 * The settings of the generator. Each one can be set in a properties file, with the name of the field as the key.
+	 */
+	static class Settings
+	{
+		/** The seed of the Random that everything is generated from. */
+		long seed = 1;
+		/** The number of terms (live and obsolete) in the previous release. */
+		int termCount = 45000;
+		/** The fraction of the terms in a release that are obsolete. */
+		double obsoleteRate = 0.1;
+		/** The fraction of obsolete terms that have a replaced_by. The others have a consider. */
+		double replacedByRate = 0.6;
+		/** The fraction of live terms that have an alt_id. */
+		double altIdRate = 0.05;
+		/** The average number of is_a parents of a live term (at least 1). */
+		double isAFanOut = 1.6;
+		/** The average number of part_of relationships of a live term. */
+		double partOfFanOut = 0.3;
+		/** The average number of has_part relationships of a live term. */
+		double hasPartFanOut = 0.05;
+		/** The average number of synonyms of a term. Synonyms are not read by the GO update, but they make up a lot of the real file. */
+		double synonymFanOut = 2.5;
+		/** The fraction of molecular functions that have an EC number in ec2go. */
+		double ecRate = 0.4;
+		/** For each kind of change between the previous and the current release, the fraction of live terms that change. */
+		double churnRate = 0.02;
+		/** The fraction of cellular components that are Compartments in the database. */
+		double compartmentRate = 0.1;
+		/** The average number of Reactions that refer to a biological process. */
+		double referrersPerBiologicalProcess = 0.5;
+		/** The average number of CatalystActivities that refer to a molecular function. */
+		double referrersPerMolecularFunction = 1.0;
+		/** The average number of SimpleEntities that refer to a Compartment. */
+		double referrersPerCompartment = 20.0;
+
+		/**
+		 * @param props - The properties to read the settings from.
+		 * @return Settings, with the defaults for anything that is not in <code>props</code>.
+		 */
+		static Settings fromProperties(Properties props)
+		{
+			Settings settings = new Settings();
+			settings.seed = Long.parseLong(props.getProperty("seed", String.valueOf(settings.seed)));
+			settings.termCount = Integer.parseInt(props.getProperty("termCount", String.valueOf(settings.termCount)));
+			settings.obsoleteRate = doubleProperty(props, "obsoleteRate", settings.obsoleteRate);
+			settings.replacedByRate = doubleProperty(props, "replacedByRate", settings.replacedByRate);
+			settings.altIdRate = doubleProperty(props, "altIdRate", settings.altIdRate);
+			settings.isAFanOut = doubleProperty(props, "isAFanOut", settings.isAFanOut);
+			settings.partOfFanOut = doubleProperty(props, "partOfFanOut", settings.partOfFanOut);
+			settings.hasPartFanOut = doubleProperty(props, "hasPartFanOut", settings.hasPartFanOut);
+			settings.synonymFanOut = doubleProperty(props, "synonymFanOut", settings.synonymFanOut);
+			settings.ecRate = doubleProperty(props, "ecRate", settings.ecRate);
+			settings.churnRate = doubleProperty(props, "churnRate", settings.churnRate);
+			settings.compartmentRate = doubleProperty(props, "compartmentRate", settings.compartmentRate);
+			settings.referrersPerBiologicalProcess = doubleProperty(props, "referrersPerBiologicalProcess", settings.referrersPerBiologicalProcess);
+			settings.referrersPerMolecularFunction = doubleProperty(props, "referrersPerMolecularFunction", settings.referrersPerMolecularFunction);
+			settings.referrersPerCompartment = doubleProperty(props, "referrersPerCompartment", settings.referrersPerCompartment);
+			return settings;
+		}
+
+		private static double doubleProperty(Properties props, String key, double defaultValue)
+		{
+			return Double.parseDouble(props.getProperty(key, String.valueOf(defaultValue)));
+		}
+	}
+
+	/*
+	 * A GO term, in one release. Related terms are kept as accessions, so that a release can be copied and changed without touching the
+	 * other one.
+	 */
+	private static class Term
+	{
+		final int accession;
+		// Parents (is_a, part_of) always come before their children in this order, so the ontology has no cycles.
+		final int order;
+		GONamespace namespace;
+		String name;
+		String definition;
+		boolean obsolete;
+		List<Integer> isA = new ArrayList<>();
+		List<Integer> partOf = new ArrayList<>();
+		List<Integer> hasPart = new ArrayList<>();
+		List<Integer> altIds = new ArrayList<>();
+		List<Integer> replacedBy = new ArrayList<>();
+		List<Integer> consider = new ArrayList<>();
+		List<String> synonyms = new ArrayList<>();
+		List<String> ecNumbers = new ArrayList<>();
+
+		Term(int accession, int order, GONamespace namespace)
+		{
+			this.accession = accession;
+			this.order = order;
+			this.namespace = namespace;
+		}
+
+		Term copy()
+		{
+			Term copy = new Term(this.accession, this.order, this.namespace);
+			copy.name = this.name;
+			copy.definition = this.definition;
+			copy.obsolete = this.obsolete;
+			copy.isA.addAll(this.isA);
+			copy.partOf.addAll(this.partOf);
+			copy.hasPart.addAll(this.hasPart);
+			copy.altIds.addAll(this.altIds);
+			copy.replacedBy.addAll(this.replacedBy);
+			copy.consider.addAll(this.consider);
+			copy.synonyms.addAll(this.synonyms);
+			copy.ecNumbers.addAll(this.ecNumbers);
+			return copy;
+		}
+	}
+
+	private final Settings settings;
+	private final Random random;
+	private int lastAccession;
+	private int nextOrder;
+	private final List<String> ecNumberPool = new ArrayList<>();
+	// Accession -> term, in file order.
+	private final Map<Integer, Term> previousRelease = new LinkedHashMap<>();
+	private final Map<Integer, Term> currentRelease = new LinkedHashMap<>();
+	// The root term of each namespace, which is never changed by churn.
+	private final Map<GONamespace, Integer> roots = new EnumMap<>(GONamespace.class);
+
+	/**
+	 * Generates both releases.
+	 * @param settings - The settings.
+	 */
+	GoFixtureGenerator(Settings settings)
+	{
+		this.settings = settings;
+		this.random = new Random(settings.seed);
+		this.generatePreviousRelease();
+		for (Term term : this.previousRelease.values())
+		{
+			this.currentRelease.put(term.accession, term.copy());
+		}
+		this.applyChurn();
+	}
+
+	/**
+	 * Writes the current release as an OBO file: a header, the [Term] stanzas, and a few [Typedef] stanzas at the end (as in the real file).
+	 * @param writer - Where to write the file.
+	 * @throws IOException
+	 */
+	void writeGoFile(Writer writer) throws IOException
+	{
+		writer.write("format-version: 1.2\n");
+		writer.write("data-version: releases/synthetic-" + this.settings.seed + "\n");
+		writer.write("default-namespace: gene_ontology\n");
+		writer.write("ontology: go\n");
+		for (Term term : this.currentRelease.values())
+		{
+			StringBuilder stanza = new StringBuilder("\n[Term]\n");
+			stanza.append("id: ").append(goId(term.accession)).append('\n');
+			stanza.append("name: ").append(term.name).append('\n');
+			stanza.append("namespace: ").append(term.namespace.name()).append('\n');
+			for (int altId : term.altIds)
+			{
+				stanza.append("alt_id: ").append(goId(altId)).append('\n');
+			}
+			stanza.append("def: \"").append(escape(term.definition)).append("\" [GOC:synthetic]\n");
+			for (String synonym : term.synonyms)
+			{
+				stanza.append("synonym: \"").append(escape(synonym)).append("\" EXACT []\n");
+			}
+			for (int parent : term.isA)
+			{
+				stanza.append("is_a: ").append(goId(parent)).append(" ! ").append(this.currentRelease.get(parent).name).append('\n');
+			}
+			this.appendRelationships(stanza, GoUpdateConstants.PART_OF, term.partOf);
+			this.appendRelationships(stanza, GoUpdateConstants.HAS_PART, term.hasPart);
+			if (term.obsolete)
+			{
+				stanza.append("is_obsolete: true\n");
+			}
+			for (int replacement : term.replacedBy)
+			{
+				stanza.append("replaced_by: ").append(goId(replacement)).append('\n');
+			}
+			for (int consider : term.consider)
+			{
+				stanza.append("consider: ").append(goId(consider)).append('\n');
+			}
+			writer.write(stanza.toString());
+		}
+		for (String typedef : new String[] { GoUpdateConstants.PART_OF, GoUpdateConstants.HAS_PART, "regulates" })
+		{
+			writer.write("\n[Typedef]\nid: " + typedef + "\nname: " + typedef.replace('_', ' ') + "\nxref: BFO:0000050\nis_transitive: true\n");
+		}
+	}
+
+	/**
+	 * Writes the EC numbers of the current release as an ec2go file, sorted by EC number.
+	 * @param writer - Where to write the file.
+	 * @throws IOException
+	 */
+	void writeEc2GoFile(Writer writer) throws IOException
+	{
+		List<String> lines = new ArrayList<>();
+		for (Term term : this.currentRelease.values())
+		{
+			for (String ecNumber : term.ecNumbers)
+			{
+				lines.add("EC:" + ecNumber + " > GO:" + term.name + " ; " + goId(term.accession));
+			}
+		}
+		Collections.sort(lines);
+		writer.write("!version date: synthetic-" + this.settings.seed + "\n");
+		writer.write("!description: Mapping of EC numbers to GO terms, generated by GoFixtureGenerator.\n");
+		for (String line : lines)
+		{
+			writer.write(line + "\n");
+		}
+	}
+
+	/**
+	 * Builds the database that goes with the previous release: the "GO" ReferenceDatabase, a Person and the InstanceEdit that created
+	 * everything, a GO term instance for every live term of the previous release, and the instances that refer to them.
+	 * @return The fixture.
+	 */
+	GoDatabaseFixture buildDatabaseFixture()
+	{
+		// The fixture has its own Random, so that it is the same however many times it is built.
+		Random random = new Random(this.settings.seed);
+		GoDatabaseFixture fixture = new GoDatabaseFixture();
+		GoDatabaseFixture.Instance person = fixture.add(ReactomeJavaConstants.Person, "Generator, S")
+				.add(ReactomeJavaConstants.firstname, "Synthetic")
+				.add(ReactomeJavaConstants.surname, "Generator");
+		GoDatabaseFixture.Instance created = fixture.add(ReactomeJavaConstants.InstanceEdit, "Generator, S, 2020-01-01")
+				.add(ReactomeJavaConstants.author, person)
+				.add(ReactomeJavaConstants.dateTime, "2020-01-01 00:00:00");
+		GoDatabaseFixture.Instance goRefDb = fixture.add(ReactomeJavaConstants.ReferenceDatabase, "GO")
+				.add(ReactomeJavaConstants.name, "GO")
+				.add(ReactomeJavaConstants.url, "http://www.geneontology.org")
+				.add(ReactomeJavaConstants.accessUrl, "http://amigo.geneontology.org/amigo/term/GO:###ID###");
+
+		Map<Integer, GoDatabaseFixture.Instance> goInstances = new HashMap<>();
+		List<GoDatabaseFixture.Instance> compartments = new ArrayList<>();
+		for (Term term : this.previousRelease.values())
+		{
+			if (term.obsolete)
+			{
+				continue;
+			}
+			String className = term.namespace.getReactomeName();
+			if (term.namespace == GONamespace.cellular_component && random.nextDouble() < this.settings.compartmentRate)
+			{
+				className = ReactomeJavaConstants.Compartment;
+			}
+			GoDatabaseFixture.Instance instance = fixture.add(className, term.name)
+					.add(ReactomeJavaConstants.accession, accession(term.accession))
+					.add(ReactomeJavaConstants.name, term.name)
+					.add(ReactomeJavaConstants.definition, term.definition)
+					.add(ReactomeJavaConstants.referenceDatabase, goRefDb)
+					.add(ReactomeJavaConstants.created, created);
+			for (String ecNumber : term.ecNumbers)
+			{
+				instance.add(ReactomeJavaConstants.ecNumber, ecNumber);
+			}
+			goInstances.put(term.accession, instance);
+			if (className.equals(ReactomeJavaConstants.Compartment))
+			{
+				compartments.add(instance);
+			}
+		}
+		// Relationships are only stored for cellular components.
+		for (Term term : this.previousRelease.values())
+		{
+			if (!term.obsolete && term.namespace == GONamespace.cellular_component)
+			{
+				GoDatabaseFixture.Instance instance = goInstances.get(term.accession);
+				addRelated(instance, ReactomeJavaConstants.instanceOf, term.isA, goInstances);
+				addRelated(instance, ReactomeJavaConstants.componentOf, term.partOf, goInstances);
+				addRelated(instance, "hasPart", term.hasPart, goInstances);
+			}
+		}
+
+		// The referrers. SimpleEntities come first, so that CatalystActivities can use them as their physicalEntity.
+		List<GoDatabaseFixture.Instance> entities = new ArrayList<>();
+		for (GoDatabaseFixture.Instance compartment : compartments)
+		{
+			for (int i = sampleCount(random, this.settings.referrersPerCompartment); i > 0; i--)
+			{
+				entities.add(fixture.add(ReactomeJavaConstants.SimpleEntity, "Entity " + (entities.size() + 1) + " [" + compartment.getDisplayName() + "]")
+						.add(ReactomeJavaConstants.name, "Entity " + (entities.size() + 1))
+						.add(ReactomeJavaConstants.compartment, compartment)
+						.add(ReactomeJavaConstants.created, created));
+			}
+		}
+		int reactions = 0;
+		int catalystActivities = 0;
+		for (Term term : this.previousRelease.values())
+		{
+			GoDatabaseFixture.Instance instance = goInstances.get(term.accession);
+			if (instance == null)
+			{
+				continue;
+			}
+			if (term.namespace == GONamespace.biological_process)
+			{
+				for (int i = sampleCount(random, this.settings.referrersPerBiologicalProcess); i > 0; i--)
+				{
+					reactions++;
+					fixture.add(ReactomeJavaConstants.Reaction, "Reaction " + reactions)
+							.add(ReactomeJavaConstants.name, "Reaction " + reactions)
+							.add(ReactomeJavaConstants.goBiologicalProcess, instance)
+							.add(ReactomeJavaConstants.created, created);
+				}
+			}
+			else if (term.namespace == GONamespace.molecular_function)
+			{
+				for (int i = sampleCount(random, this.settings.referrersPerMolecularFunction); i > 0; i--)
+				{
+					catalystActivities++;
+					GoDatabaseFixture.Instance catalystActivity = fixture.add(ReactomeJavaConstants.CatalystActivity, term.name + " of catalyst " + catalystActivities)
+							.add(ReactomeJavaConstants.activity, instance)
+							.add(ReactomeJavaConstants.created, created);
+					if (!entities.isEmpty())
+					{
+						catalystActivity.add(ReactomeJavaConstants.physicalEntity, entities.get(random.nextInt(entities.size())));
+					}
+				}
+			}
+		}
+		return fixture;
+	}
+
+	private void generatePreviousRelease()
+	{
+		// The roots come first, so that every other term has a parent to pick from.
+		for (GONamespace namespace : GONamespace.values())
+		{
+			Term root = this.newTerm(namespace);
+			root.name = namespace.name().replace('_', ' ');
+			this.previousRelease.put(root.accession, root);
+			this.roots.put(namespace, root.accession);
+		}
+		Map<GONamespace, List<Term>> liveTerms = this.liveTermsByNamespace(this.previousRelease);
+		while (this.previousRelease.size() < this.settings.termCount)
+		{
+			Term term = this.newTerm(this.randomNamespace());
+			if (this.random.nextDouble() < this.settings.obsoleteRate)
+			{
+				this.makeObsolete(term, liveTerms.get(term.namespace));
+			}
+			else
+			{
+				this.addParents(term, liveTerms);
+				if (this.random.nextDouble() < this.settings.altIdRate)
+				{
+					term.altIds.add(this.nextAccession());
+				}
+				liveTerms.get(term.namespace).add(term);
+			}
+			this.previousRelease.put(term.accession, term);
+		}
+	}
+
+	private void applyChurn()
+	{
+		Map<GONamespace, List<Term>> liveTerms = this.liveTermsByNamespace(this.currentRelease);
+		int changes = (int) Math.round(this.settings.churnRate * liveTerms.values().stream().mapToInt(List::size).sum());
+		// New terms.
+		for (int i = 0; i < changes; i++)
+		{
+			Term term = this.newTerm(this.randomNamespace());
+			this.addParents(term, liveTerms);
+			liveTerms.get(term.namespace).add(term);
+			this.currentRelease.put(term.accession, term);
+		}
+		// New names and definitions.
+		for (int i = 0; i < changes; i++)
+		{
+			Term renamed = this.randomChurnableTerm(liveTerms);
+			renamed.name = this.randomName(renamed.namespace);
+			this.randomChurnableTerm(liveTerms).definition = this.randomDefinition();
+		}
+		// New is_a parents. Parents must come first in the order, so the root is the fallback.
+		for (int i = 0; i < changes; i++)
+		{
+			Term term = this.randomChurnableTerm(liveTerms);
+			Term parent = this.randomEarlierTerm(liveTerms.get(term.namespace), term);
+			if (!term.isA.contains(parent.accession))
+			{
+				term.isA.add(parent.accession);
+			}
+		}
+		// New EC numbers.
+		List<Term> molecularFunctions = liveTerms.get(GONamespace.molecular_function);
+		for (int i = 0; i < changes && molecularFunctions.size() > 1; i++)
+		{
+			Term term = molecularFunctions.get(1 + this.random.nextInt(molecularFunctions.size() - 1));
+			if (!term.ecNumbers.isEmpty() && this.random.nextBoolean())
+			{
+				term.ecNumbers.remove(0);
+			}
+			term.ecNumbers.add(this.randomECNumber());
+		}
+		// Terms that moved to another namespace: they get the root of their new namespace as their only parent.
+		for (int i = 0; i < Math.max(1, changes / 10); i++)
+		{
+			Term term = this.randomChurnableTerm(liveTerms);
+			liveTerms.get(term.namespace).remove(term);
+			term.namespace = GONamespace.values()[(term.namespace.ordinal() + 1 + this.random.nextInt(2)) % GONamespace.values().length];
+			term.isA.clear();
+			term.isA.add(this.roots.get(term.namespace));
+			term.ecNumbers.clear();
+			liveTerms.get(term.namespace).add(term);
+		}
+		// Terms that were merged into another term, which takes over their accession (and their alt_ids) as alt_ids.
+		for (int i = 0; i < changes / 2; i++)
+		{
+			Term term = this.randomChurnableTerm(liveTerms);
+			liveTerms.get(term.namespace).remove(term);
+			Term target = liveTerms.get(term.namespace).get(this.random.nextInt(liveTerms.get(term.namespace).size()));
+			target.altIds.add(term.accession);
+			target.altIds.addAll(term.altIds);
+			this.currentRelease.remove(term.accession);
+		}
+		// Terms that became obsolete. Their replacement can become obsolete later in this loop, which makes a replacement chain.
+		for (int i = 0; i < changes; i++)
+		{
+			Term term = this.randomChurnableTerm(liveTerms);
+			liveTerms.get(term.namespace).remove(term);
+			this.makeObsolete(term, liveTerms.get(term.namespace));
+		}
+		this.removeDanglingRelationships();
+	}
+
+	/*
+	 * After churn, relationships can point to terms that are now obsolete, merged away or in another namespace (is_a only). Those are
+	 * dropped, and a term that is left with no is_a gets the root of its namespace.
+	 */
+	private void removeDanglingRelationships()
+	{
+		for (Term term : this.currentRelease.values())
+		{
+			if (term.obsolete)
+			{
+				continue;
+			}
+			term.isA.removeIf(parent -> !this.isLive(parent) || this.currentRelease.get(parent).namespace != term.namespace);
+			term.partOf.removeIf(parent -> !this.isLive(parent));
+			term.hasPart.removeIf(part -> !this.isLive(part));
+			if (term.isA.isEmpty() && term.accession != this.roots.get(term.namespace))
+			{
+				term.isA.add(this.roots.get(term.namespace));
+			}
+		}
+	}
+
+	private boolean isLive(int accession)
+	{
+		Term term = this.currentRelease.get(accession);
+		return term != null && !term.obsolete;
+	}
+
+	private Term newTerm(GONamespace namespace)
+	{
+		Term term = new Term(this.nextAccession(), this.nextOrder++, namespace);
+		term.name = this.randomName(namespace);
+		term.definition = this.randomDefinition();
+		for (int i = sampleCount(this.random, this.settings.synonymFanOut); i > 0; i--)
+		{
+			term.synonyms.add(this.randomName(namespace));
+		}
+		if (namespace == GONamespace.molecular_function && this.random.nextDouble() < this.settings.ecRate)
+		{
+			term.ecNumbers.add(this.randomECNumber());
+		}
+		return term;
+	}
+
+	private void addParents(Term term, Map<GONamespace, List<Term>> liveTerms)
+	{
+		List<Term> candidates = liveTerms.get(term.namespace);
+		for (int i = Math.max(1, sampleCount(this.random, this.settings.isAFanOut)); i > 0; i--)
+		{
+			addIfAbsent(term.isA, this.randomEarlierTerm(candidates, term).accession);
+		}
+		// part_of can cross namespaces, so its targets are picked from all of them.
+		for (int i = sampleCount(this.random, this.settings.partOfFanOut); i > 0; i--)
+		{
+			addIfAbsent(term.partOf, this.randomEarlierTerm(liveTerms.get(this.randomNamespace()), term).accession);
+		}
+		for (int i = sampleCount(this.random, this.settings.hasPartFanOut); i > 0; i--)
+		{
+			addIfAbsent(term.hasPart, this.randomEarlierTerm(candidates, term).accession);
+		}
+	}
+
+	private void makeObsolete(Term term, List<Term> liveTermsInNamespace)
+	{
+		term.obsolete = true;
+		term.name = "obsolete " + term.name;
+		term.definition = "OBSOLETE. " + term.definition;
+		term.isA.clear();
+		term.partOf.clear();
+		term.hasPart.clear();
+		term.altIds.clear();
+		term.ecNumbers.clear();
+		int replacement = liveTermsInNamespace.get(this.random.nextInt(liveTermsInNamespace.size())).accession;
+		if (this.random.nextDouble() < this.settings.replacedByRate)
+		{
+			term.replacedBy.add(replacement);
+		}
+		else
+		{
+			term.consider.add(replacement);
+		}
+	}
+
+	/*
+	 * A random term from the list that comes before the given term in the order, or the first term in the list (the root) if a few tries
+	 * do not find one.
+	 */
+	private Term randomEarlierTerm(List<Term> candidates, Term term)
+	{
+		for (int tries = 0; tries < 5; tries++)
+		{
+			Term candidate = candidates.get(this.random.nextInt(candidates.size()));
+			if (candidate.order < term.order)
+			{
+				return candidate;
+			}
+		}
+		return candidates.get(0);
+	}
+
+	/*
+	 * A random live term that is not a root.
+	 */
+	private Term randomChurnableTerm(Map<GONamespace, List<Term>> liveTerms)
+	{
+		while (true)
+		{
+			List<Term> terms = liveTerms.get(this.randomNamespace());
+			if (terms.size() > 1)
+			{
+				return terms.get(1 + this.random.nextInt(terms.size() - 1));
+			}
+		}
+	}
+
+	private Map<GONamespace, List<Term>> liveTermsByNamespace(Map<Integer, Term> release)
+	{
+		Map<GONamespace, List<Term>> liveTerms = new EnumMap<>(GONamespace.class);
+		for (GONamespace namespace : GONamespace.values())
+		{
+			// The root goes first, and stays first.
+			liveTerms.put(namespace, new ArrayList<>(Collections.singletonList(release.get(this.roots.get(namespace)))));
+		}
+		for (Term term : release.values())
+		{
+			if (!term.obsolete && term.accession != this.roots.get(term.namespace))
+			{
+				liveTerms.get(term.namespace).add(term);
+			}
+		}
+		return liveTerms;
+	}
+
+	private GONamespace randomNamespace()
+	{
+		double r = this.random.nextDouble();
+		if (r < BIOLOGICAL_PROCESS_SHARE)
+		{
+			return GONamespace.biological_process;
+		}
+		return r < BIOLOGICAL_PROCESS_SHARE + MOLECULAR_FUNCTION_SHARE ? GONamespace.molecular_function : GONamespace.cellular_component;
+	}
+
+	private int nextAccession()
+	{
+		// Accessions are not contiguous in the real GO either.
+		this.lastAccession += 1 + this.random.nextInt(3);
+		return this.lastAccession;
+	}
+
+	private String randomName(GONamespace namespace)
+	{
+		StringBuilder name = new StringBuilder();
+		for (int i = 2 + this.random.nextInt(3); i > 0; i--)
+		{
+			name.append(NAME_WORDS[this.random.nextInt(NAME_WORDS.length)]).append(' ');
+		}
+		return name.append(NAME_SUFFIXES.get(namespace)).toString();
+	}
+
+	private String randomDefinition()
+	{
+		StringBuilder definition = new StringBuilder("The");
+		for (int i = 8 + this.random.nextInt(25); i > 0; i--)
+		{
+			String word = DEFINITION_WORDS[this.random.nextInt(DEFINITION_WORDS.length)];
+			// Some definitions quote a word, so the OBO escaping gets exercised.
+			definition.append(' ').append(this.random.nextInt(500) == 0 ? "\"" + word + "\"" : word);
+		}
+		return definition.append('.').toString();
+	}
+
+	/*
+	 * EC numbers are picked from a pool that grows slowly, so that (as in the real ec2go) many of them are shared by several GO terms.
+	 */
+	private String randomECNumber()
+	{
+		if (this.ecNumberPool.isEmpty() || this.random.nextInt(3) == 0)
+		{
+			this.ecNumberPool.add((1 + this.random.nextInt(7)) + "." + (1 + this.random.nextInt(20)) + "." + (1 + this.random.nextInt(30)) + "."
+					+ (1 + this.random.nextInt(300)));
+		}
+		return this.ecNumberPool.get(this.random.nextInt(this.ecNumberPool.size()));
+	}
+
+	/*
+	 * A whole number whose average is the given average: the whole part, plus one with a probability of the fractional part.
+	 */
+	private static int sampleCount(Random random, double average)
+	{
+		int count = (int) average;
+		return count + (random.nextDouble() < average - count ? 1 : 0);
+	}
+
+	private void appendRelationships(StringBuilder stanza, String relationship, List<Integer> accessions)
+	{
+		for (int accession : accessions)
+		{
+			stanza.append("relationship: ").append(relationship).append(' ').append(goId(accession)).append(" ! ")
+					.append(this.currentRelease.get(accession).name).append('\n');
+		}
+	}
+
+	private static void addRelated(GoDatabaseFixture.Instance instance, String attribute, List<Integer> accessions, Map<Integer, GoDatabaseFixture.Instance> goInstances)
+	{
+		for (int accession : accessions)
+		{
+			instance.add(attribute, goInstances.get(accession));
+		}
+	}
+
+	private static void addIfAbsent(List<Integer> accessions, int accession)
+	{
+		if (!accessions.contains(accession))
+		{
+			accessions.add(accession);
+		}
+	}
+
+	private static String accession(int accession)
+	{
+		return String.format("%07d", accession);
+	}
+
+	private static String goId(int accession)
+	{
+		return "GO:" + accession(accession);
+	}
+
+	private static String escape(String text)
+	{
+		return text.replace("\\", "\\\\").replace("\"", "\\\"");
+	}
+
+	/**
+	 * Writes go.obo and ec2go (the current release) to <code>outputDirectory</code>. If the properties have database settings (the same
+	 * ones as the GO update's), the database fixture is also written, as gk_central_fixture.sql, using the schema of that database.
+	 * @param args - The path to a properties file with the generator's settings (see {@link Settings}), and optionally
+	 * <code>outputDirectory</code> and the database settings. Without it, everything is generated with the default settings.
+	 * @throws Exception
+	 */
+	public static void main(String[] args) throws Exception
+	{
+		Properties props = new Properties();
+		if (args.length > 0)
+		{
+			try (InputStream input = new FileInputStream(args[0]))
+			{
+				props.load(input);
+			}
+		}
+		GoFixtureGenerator generator = new GoFixtureGenerator(Settings.fromProperties(props));
+		Path outputDirectory = Paths.get(props.getProperty("outputDirectory", "."));
+		Files.createDirectories(outputDirectory);
+		try (Writer writer = Files.newBufferedWriter(outputDirectory.resolve("go.obo"), StandardCharsets.UTF_8))
+		{
+			generator.writeGoFile(writer);
+		}
+		try (Writer writer = Files.newBufferedWriter(outputDirectory.resolve("ec2go"), StandardCharsets.UTF_8))
+		{
+			generator.writeEc2GoFile(writer);
+		}
+		if (props.containsKey("db.name"))
+		{
+			MySQLAdaptor adaptor = DBUtils.getCuratorDbAdaptor(props);
+			try (Writer writer = Files.newBufferedWriter(outputDirectory.resolve("gk_central_fixture.sql"), StandardCharsets.UTF_8))
+			{
+				generator.buildDatabaseFixture().writeSql(writer, adaptor.getSchema());
+			}
+		}
+	}
+}
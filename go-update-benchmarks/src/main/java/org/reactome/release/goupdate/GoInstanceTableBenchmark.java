@@ -0,0 +1,39 @@
+package org.reactome.release.goupdate;
+
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.infra.Blackhole;
+
+/**
+ * Benchmarks for the {@link GoInstanceTable}: building it (including its accession index) from the rows that the SQL queries would return,
+ * and looking up every accession from the GO file in it, as the main loop of the update does.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3)
+@Measurement(iterations = 5)
+@Fork(value = 1, jvmArgsAppend = BenchmarkRunner.LOG_CONFIGURATION)
+public class GoInstanceTableBenchmark
+{
+	@Benchmark
+	public GoInstanceTable build(GoInstanceTableState tableState)
+	{
+		return tableState.newBuilder().build();
+	}
+
+	@Benchmark
+	public void lookUpAccessions(GoFileState goFile, GoInstanceTableState tableState, Blackhole blackhole)
+	{
+		for (String accession : goFile.goTerms.keySet())
+		{
+			blackhole.consume(tableState.table.getRows(accession));
+		}
+	}
+}
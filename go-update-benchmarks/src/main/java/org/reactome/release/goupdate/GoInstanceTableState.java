@@ -0,0 +1,111 @@
+package org.reactome.release.goupdate;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+import org.gk.model.ReactomeJavaConstants;
+import org.gk.persistence.MySQLAdaptor;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+
+/**
+ * The GO term instances that a database would have if it was already in sync with the GO file: one instance for every term in the file
+ * (obsolete ones included, since they are still in the database until the update deletes them), with the file's name and definition, the
+ * ec2go file's EC numbers for molecular functions, and instanceOf/componentOf/hasPart for cellular components. As in gk_central, some of
+ * the cellular components are Compartments.<br/>
+ * The rows are kept as they would come out of the SQL queries in {@link GoInstanceTable#load(MySQLAdaptor, GoUpdateMetrics)}, so that building a table
+ * from them can be measured without a database.
+ */
+@State(Scope.Benchmark)
+public class GoInstanceTableState
+{
+	// One cellular component in this many is a Compartment.
+	private static final int COMPARTMENT_INTERVAL = 10;
+
+	MySQLAdaptor adaptor;
+	GoInstanceTable table;
+
+	private List<Object[]> rows = new ArrayList<>();
+	private List<Object[]> ecNumbers = new ArrayList<>();
+	private List<Object[]> relationships = new ArrayList<>();
+
+	@Setup(Level.Trial)
+	public void setup(GoFileState goFile, Ec2GoState ec2Go)
+	{
+		this.adaptor = BenchmarkSchema.adaptor();
+		Map<String, Long> dbIds = new HashMap<>();
+		long nextDbId = 1;
+		for (String accession : goFile.goTerms.keySet())
+		{
+			dbIds.put(accession, nextDbId++);
+		}
+		int cellularComponents = 0;
+		for (Map.Entry<String, Map<String, Object>> term : goFile.goTerms.entrySet())
+		{
+			long dbId = dbIds.get(term.getKey());
+			Map<String, Object> goTerm = term.getValue();
+			String className = ((GONamespace) goTerm.get(GoUpdateConstants.NAMESPACE)).getReactomeName();
+			if (className.equals(ReactomeJavaConstants.GO_CellularComponent))
+			{
+				if (cellularComponents++ % COMPARTMENT_INTERVAL == 0)
+				{
+					className = ReactomeJavaConstants.Compartment;
+				}
+				this.addRelationships(ReactomeJavaConstants.instanceOf, dbId, goTerm.get(GoUpdateConstants.IS_A), dbIds);
+				this.addRelationships(ReactomeJavaConstants.componentOf, dbId, goTerm.get(GoUpdateConstants.PART_OF), dbIds);
+				this.addRelationships("hasPart", dbId, goTerm.get(GoUpdateConstants.HAS_PART), dbIds);
+			}
+			else if (className.equals(ReactomeJavaConstants.GO_MolecularFunction))
+			{
+				for (String ecNumber : ec2Go.mapping.getECNumbers(term.getKey()))
+				{
+					this.ecNumbers.add(new Object[] { dbId, ecNumber });
+				}
+			}
+			this.rows.add(new Object[] { dbId, className, term.getKey(), goTerm.get(GoUpdateConstants.NAME), goTerm.get(GoUpdateConstants.DEF) });
+		}
+		this.table = this.newBuilder().build();
+	}
+
+	/**
+	 * @return A builder, with all the rows, EC numbers and relationships added to it.
+	 */
+	GoInstanceTable.Builder newBuilder()
+	{
+		GoInstanceTable.Builder builder = new GoInstanceTable.Builder(this.adaptor);
+		for (Object[] row : this.rows)
+		{
+			builder.addRow((Long) row[0], (String) row[1], (String) row[2], (String) row[3], (String) row[4]);
+		}
+		for (Object[] ecNumber : this.ecNumbers)
+		{
+			builder.addECNumber((Long) ecNumber[0], (String) ecNumber[1]);
+		}
+		for (Object[] relationship : this.relationships)
+		{
+			builder.addRelationship((String) relationship[0], (Long) relationship[1], (Long) relationship[2]);
+		}
+		return builder;
+	}
+
+	@SuppressWarnings("unchecked")
+	private void addRelationships(String relationship, long dbId, Object targetAccessions, Map<String, Long> dbIds)
+	{
+		if (targetAccessions != null)
+		{
+			for (String targetAccession : (List<String>) targetAccessions)
+			{
+				Long targetDbId = dbIds.get(targetAccession);
+				// The target might be in the part of the file that was cut off.
+				if (targetDbId != null)
+				{
+					this.relationships.add(new Object[] { relationship, dbId, targetDbId });
+				}
+			}
+		}
+	}
+}
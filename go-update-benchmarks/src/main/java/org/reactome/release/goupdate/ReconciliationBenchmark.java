@@ -0,0 +1,30 @@
+package org.reactome.release.goupdate;
+
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Warmup;
+
+/**
+ * Benchmark for reconciling the GO file (and ec2go) with the GO term instances, using a {@link GoInstanceTable} built in memory rather than
+ * loaded from a database. The table is in sync with the file, so every name, definition, relationship and EC number is compared and no
+ * reconciliation errors are logged.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3)
+@Measurement(iterations = 5)
+@Fork(value = 1, jvmArgsAppend = BenchmarkRunner.LOG_CONFIGURATION)
+public class ReconciliationBenchmark
+{
+	@Benchmark
+	public void reconcile(GoFileState goFile, Ec2GoState ec2Go, GoInstanceTableState tableState)
+	{
+		GoTermsReconciler.reconcile(tableState.table, goFile.goTerms, ec2Go.mapping, new GoUpdateMetrics());
+	}
+}
@@ -0,0 +1,1499 @@
+-- A minimal gk_central: the tables, and the DataModel rows, of the part of the Reactome schema that the GO update and the benchmark
+-- fixture (GoFixtureGenerator) use. It has the same layout as gk_central (a table per class, keyed by DB_ID; single-valued attributes
+-- as columns of the class that defines them; multi-valued attributes in <class>_2_<attribute> tables; a <attribute>_class column next
+-- to each instance-valued attribute), so that the update runs against it the way it does against gk_central.
+-- For a run against the whole schema, use a schema-only dump of gk_central instead (see the README).
+
+DROP TABLE IF EXISTS `DatabaseObject`;
+CREATE TABLE `DatabaseObject` (
+  `DB_ID` int(10) unsigned NOT NULL AUTO_INCREMENT,
+  `_class` varchar(64) DEFAULT NULL,
+  `_displayName` text,
+  `_timestamp` timestamp NOT NULL DEFAULT CURRENT_TIMESTAMP ON UPDATE CURRENT_TIMESTAMP,
+  `created` int(10) unsigned DEFAULT NULL,
+  `created_class` varchar(64) DEFAULT NULL,
+  PRIMARY KEY (`DB_ID`),
+  KEY `_class` (`_class`),
+  KEY `created` (`created`)
+) ENGINE=InnoDB DEFAULT CHARSET=utf8;
+
+DROP TABLE IF EXISTS `DatabaseObject_2_modified`;
+CREATE TABLE `DatabaseObject_2_modified` (
+  `DB_ID` int(10) unsigned DEFAULT NULL,
+  `modified_rank` int(10) unsigned DEFAULT NULL,
+  `modified` int(10) unsigned DEFAULT NULL,
+  `modified_class` varchar(64) DEFAULT NULL,
+  KEY `DB_ID` (`DB_ID`),
+  KEY `modified` (`modified`)
+) ENGINE=InnoDB DEFAULT CHARSET=utf8;
+
+DROP TABLE IF EXISTS `InstanceEdit`;
+CREATE TABLE `InstanceEdit` (
+  `DB_ID` int(10) unsigned NOT NULL DEFAULT '0',
+  `dateTime` varchar(255) DEFAULT NULL,
+  `note` text,
+  PRIMARY KEY (`DB_ID`)
+) ENGINE=InnoDB DEFAULT CHARSET=utf8;
+
+DROP TABLE IF EXISTS `InstanceEdit_2_author`;
+CREATE TABLE `InstanceEdit_2_author` (
+  `DB_ID` int(10) unsigned DEFAULT NULL,
+  `author_rank` int(10) unsigned DEFAULT NULL,
+  `author` int(10) unsigned DEFAULT NULL,
+  `author_class` varchar(64) DEFAULT NULL,
+  KEY `DB_ID` (`DB_ID`),
+  KEY `author` (`author`)
+) ENGINE=InnoDB DEFAULT CHARSET=utf8;
+
+DROP TABLE IF EXISTS `Person`;
+CREATE TABLE `Person` (
+  `DB_ID` int(10) unsigned NOT NULL DEFAULT '0',
+  `firstname` text,
+  `initial` varchar(10) DEFAULT NULL,
+  `surname` text,
+  PRIMARY KEY (`DB_ID`)
+) ENGINE=InnoDB DEFAULT CHARSET=utf8;
+
+DROP TABLE IF EXISTS `ReferenceDatabase`;
+CREATE TABLE `ReferenceDatabase` (
+  `DB_ID` int(10) unsigned NOT NULL DEFAULT '0',
+  `accessUrl` text,
+  `url` text,
+  PRIMARY KEY (`DB_ID`)
+) ENGINE=InnoDB DEFAULT CHARSET=utf8;
+
+DROP TABLE IF EXISTS `ReferenceDatabase_2_name`;
+CREATE TABLE `ReferenceDatabase_2_name` (
+  `DB_ID` int(10) unsigned DEFAULT NULL,
+  `name_rank` int(10) unsigned DEFAULT NULL,
+  `name` text,
+  KEY `DB_ID` (`DB_ID`)
+) ENGINE=InnoDB DEFAULT CHARSET=utf8;
+
+DROP TABLE IF EXISTS `GO_BiologicalProcess`;
+CREATE TABLE `GO_BiologicalProcess` (
+  `DB_ID` int(10) unsigned NOT NULL DEFAULT '0',
+  `accession` varchar(20) DEFAULT NULL,
+  `definition` text,
+  `name` text,
+  `referenceDatabase` int(10) unsigned DEFAULT NULL,
+  `referenceDatabase_class` varchar(64) DEFAULT NULL,
+  PRIMARY KEY (`DB_ID`),
+  KEY `accession` (`accession`),
+  KEY `referenceDatabase` (`referenceDatabase`)
+) ENGINE=InnoDB DEFAULT CHARSET=utf8;
+
+DROP TABLE IF EXISTS `GO_MolecularFunction`;
+CREATE TABLE `GO_MolecularFunction` (
+  `DB_ID` int(10) unsigned NOT NULL DEFAULT '0',
+  `accession` varchar(20) DEFAULT NULL,
+  `definition` text,
+  `name` text,
+  `referenceDatabase` int(10) unsigned DEFAULT NULL,
+  `referenceDatabase_class` varchar(64) DEFAULT NULL,
+  PRIMARY KEY (`DB_ID`),
+  KEY `accession` (`accession`),
+  KEY `referenceDatabase` (`referenceDatabase`)
+) ENGINE=InnoDB DEFAULT CHARSET=utf8;
+
+DROP TABLE IF EXISTS `GO_MolecularFunction_2_ecNumber`;
+CREATE TABLE `GO_MolecularFunction_2_ecNumber` (
+  `DB_ID` int(10) unsigned DEFAULT NULL,
+  `ecNumber_rank` int(10) unsigned DEFAULT NULL,
+  `ecNumber` varchar(20) DEFAULT NULL,
+  KEY `DB_ID` (`DB_ID`),
+  KEY `ecNumber` (`ecNumber`)
+) ENGINE=InnoDB DEFAULT CHARSET=utf8;
+
+DROP TABLE IF EXISTS `GO_CellularComponent`;
+CREATE TABLE `GO_CellularComponent` (
+  `DB_ID` int(10) unsigned NOT NULL DEFAULT '0',
+  `accession` varchar(20) DEFAULT NULL,
+  `definition` text,
+  `name` text,
+  `referenceDatabase` int(10) unsigned DEFAULT NULL,
+  `referenceDatabase_class` varchar(64) DEFAULT NULL,
+  PRIMARY KEY (`DB_ID`),
+  KEY `accession` (`accession`),
+  KEY `referenceDatabase` (`referenceDatabase`)
+) ENGINE=InnoDB DEFAULT CHARSET=utf8;
+
+DROP TABLE IF EXISTS `GO_CellularComponent_2_componentOf`;
+CREATE TABLE `GO_CellularComponent_2_componentOf` (
+  `DB_ID` int(10) unsigned DEFAULT NULL,
+  `componentOf_rank` int(10) unsigned DEFAULT NULL,
+  `componentOf` int(10) unsigned DEFAULT NULL,
+  `componentOf_class` varchar(64) DEFAULT NULL,
+  KEY `DB_ID` (`DB_ID`),
+  KEY `componentOf` (`componentOf`)
+) ENGINE=InnoDB DEFAULT CHARSET=utf8;
+
+DROP TABLE IF EXISTS `GO_CellularComponent_2_hasPart`;
+CREATE TABLE `GO_CellularComponent_2_hasPart` (
+  `DB_ID` int(10) unsigned DEFAULT NULL,
+  `hasPart_rank` int(10) unsigned DEFAULT NULL,
+  `hasPart` int(10) unsigned DEFAULT NULL,
+  `hasPart_class` varchar(64) DEFAULT NULL,
+  KEY `DB_ID` (`DB_ID`),
+  KEY `hasPart` (`hasPart`)
+) ENGINE=InnoDB DEFAULT CHARSET=utf8;
+
+DROP TABLE IF EXISTS `GO_CellularComponent_2_instanceOf`;
+CREATE TABLE `GO_CellularComponent_2_instanceOf` (
+  `DB_ID` int(10) unsigned DEFAULT NULL,
+  `instanceOf_rank` int(10) unsigned DEFAULT NULL,
+  `instanceOf` int(10) unsigned DEFAULT NULL,
+  `instanceOf_class` varchar(64) DEFAULT NULL,
+  KEY `DB_ID` (`DB_ID`),
+  KEY `instanceOf` (`instanceOf`)
+) ENGINE=InnoDB DEFAULT CHARSET=utf8;
+
+DROP TABLE IF EXISTS `Compartment`;
+CREATE TABLE `Compartment` (
+  `DB_ID` int(10) unsigned NOT NULL DEFAULT '0',
+  PRIMARY KEY (`DB_ID`)
+) ENGINE=InnoDB DEFAULT CHARSET=utf8;
+
+DROP TABLE IF EXISTS `EntityCompartment`;
+CREATE TABLE `EntityCompartment` (
+  `DB_ID` int(10) unsigned NOT NULL DEFAULT '0',
+  PRIMARY KEY (`DB_ID`)
+) ENGINE=InnoDB DEFAULT CHARSET=utf8;
+
+DROP TABLE IF EXISTS `Event`;
+CREATE TABLE `Event` (
+  `DB_ID` int(10) unsigned NOT NULL DEFAULT '0',
+  `goBiologicalProcess` int(10) unsigned DEFAULT NULL,
+  `goBiologicalProcess_class` varchar(64) DEFAULT NULL,
+  PRIMARY KEY (`DB_ID`),
+  KEY `goBiologicalProcess` (`goBiologicalProcess`)
+) ENGINE=InnoDB DEFAULT CHARSET=utf8;
+
+DROP TABLE IF EXISTS `Event_2_compartment`;
+CREATE TABLE `Event_2_compartment` (
+  `DB_ID` int(10) unsigned DEFAULT NULL,
+  `compartment_rank` int(10) unsigned DEFAULT NULL,
+  `compartment` int(10) unsigned DEFAULT NULL,
+  `compartment_class` varchar(64) DEFAULT NULL,
+  KEY `DB_ID` (`DB_ID`),
+  KEY `compartment` (`compartment`)
+) ENGINE=InnoDB DEFAULT CHARSET=utf8;
+
+DROP TABLE IF EXISTS `Event_2_name`;
+CREATE TABLE `Event_2_name` (
+  `DB_ID` int(10) unsigned DEFAULT NULL,
+  `name_rank` int(10) unsigned DEFAULT NULL,
+  `name` text,
+  KEY `DB_ID` (`DB_ID`)
+) ENGINE=InnoDB DEFAULT CHARSET=utf8;
+
+DROP TABLE IF EXISTS `ReactionlikeEvent`;
+CREATE TABLE `ReactionlikeEvent` (
+  `DB_ID` int(10) unsigned NOT NULL DEFAULT '0',
+  PRIMARY KEY (`DB_ID`)
+) ENGINE=InnoDB DEFAULT CHARSET=utf8;
+
+DROP TABLE IF EXISTS `ReactionlikeEvent_2_catalystActivity`;
+CREATE TABLE `ReactionlikeEvent_2_catalystActivity` (
+  `DB_ID` int(10) unsigned DEFAULT NULL,
+  `catalystActivity_rank` int(10) unsigned DEFAULT NULL,
+  `catalystActivity` int(10) unsigned DEFAULT NULL,
+  `catalystActivity_class` varchar(64) DEFAULT NULL,
+  KEY `DB_ID` (`DB_ID`),
+  KEY `catalystActivity` (`catalystActivity`)
+) ENGINE=InnoDB DEFAULT CHARSET=utf8;
+
+DROP TABLE IF EXISTS `Reaction`;
+CREATE TABLE `Reaction` (
+  `DB_ID` int(10) unsigned NOT NULL DEFAULT '0',
+  PRIMARY KEY (`DB_ID`)
+) ENGINE=InnoDB DEFAULT CHARSET=utf8;
+
+DROP TABLE IF EXISTS `PhysicalEntity`;
+CREATE TABLE `PhysicalEntity` (
+  `DB_ID` int(10) unsigned NOT NULL DEFAULT '0',
+  PRIMARY KEY (`DB_ID`)
+) ENGINE=InnoDB DEFAULT CHARSET=utf8;
+
+DROP TABLE IF EXISTS `PhysicalEntity_2_compartment`;
+CREATE TABLE `PhysicalEntity_2_compartment` (
+  `DB_ID` int(10) unsigned DEFAULT NULL,
+  `compartment_rank` int(10) unsigned DEFAULT NULL,
+  `compartment` int(10) unsigned DEFAULT NULL,
+  `compartment_class` varchar(64) DEFAULT NULL,
+  KEY `DB_ID` (`DB_ID`),
+  KEY `compartment` (`compartment`)
+) ENGINE=InnoDB DEFAULT CHARSET=utf8;
+
+DROP TABLE IF EXISTS `PhysicalEntity_2_name`;
+CREATE TABLE `PhysicalEntity_2_name` (
+  `DB_ID` int(10) unsigned DEFAULT NULL,
+  `name_rank` int(10) unsigned DEFAULT NULL,
+  `name` text,
+  KEY `DB_ID` (`DB_ID`)
+) ENGINE=InnoDB DEFAULT CHARSET=utf8;
+
+DROP TABLE IF EXISTS `SimpleEntity`;
+CREATE TABLE `SimpleEntity` (
+  `DB_ID` int(10) unsigned NOT NULL DEFAULT '0',
+  PRIMARY KEY (`DB_ID`)
+) ENGINE=InnoDB DEFAULT CHARSET=utf8;
+
+DROP TABLE IF EXISTS `CatalystActivity`;
+CREATE TABLE `CatalystActivity` (
+  `DB_ID` int(10) unsigned NOT NULL DEFAULT '0',
+  `activity` int(10) unsigned DEFAULT NULL,
+  `activity_class` varchar(64) DEFAULT NULL,
+  `physicalEntity` int(10) unsigned DEFAULT NULL,
+  `physicalEntity_class` varchar(64) DEFAULT NULL,
+  PRIMARY KEY (`DB_ID`),
+  KEY `activity` (`activity`),
+  KEY `physicalEntity` (`physicalEntity`)
+) ENGINE=InnoDB DEFAULT CHARSET=utf8;
+
+DROP TABLE IF EXISTS `DataModel`;
+CREATE TABLE `DataModel` (
+  `thing` varchar(255) NOT NULL DEFAULT '',
+  `thing_class` enum('SchemaClassAttribute','SchemaClass','Schema') DEFAULT NULL,
+  `property_name` varchar(255) NOT NULL DEFAULT '',
+  `property_value` text,
+  `property_value_type` enum('INTEGER','SYMBOL','STRING','INSTANCE','SchemaClassAttribute','SchemaClass') DEFAULT NULL,
+  `property_value_rank` int(10) unsigned NOT NULL DEFAULT '0'
+) ENGINE=MyISAM DEFAULT CHARSET=utf8;
+
+INSERT INTO `DataModel` VALUES
+('DatabaseObject','SchemaClass','abstract','TRUE','SYMBOL',0),
+('DatabaseObject','SchemaClass','attributes','DatabaseObject:DB_ID','SchemaClassAttribute',0),
+('DatabaseObject','SchemaClass','attributes','DatabaseObject:_displayName','SchemaClassAttribute',1),
+('DatabaseObject','SchemaClass','attributes','DatabaseObject:created','SchemaClassAttribute',2),
+('DatabaseObject','SchemaClass','attributes','DatabaseObject:modified','SchemaClassAttribute',3),
+('DatabaseObject:DB_ID','SchemaClassAttribute','name','DB_ID','STRING',0),
+('DatabaseObject:DB_ID','SchemaClassAttribute','class','DatabaseObject','SchemaClass',0),
+('DatabaseObject:DB_ID','SchemaClassAttribute','origin','DatabaseObject','SchemaClass',0),
+('DatabaseObject:DB_ID','SchemaClassAttribute','type','db_integer_type','SYMBOL',0),
+('DatabaseObject:DB_ID','SchemaClassAttribute','multiple','FALSE','SYMBOL',0),
+('DatabaseObject:DB_ID','SchemaClassAttribute','db_col_type','INT(10) UNSIGNED','STRING',0),
+('DatabaseObject:DB_ID','SchemaClassAttribute','category','NOMANUALEDIT','SYMBOL',0),
+('DatabaseObject:DB_ID','SchemaClassAttribute','min_cardinality','1','INTEGER',0),
+('DatabaseObject:DB_ID','SchemaClassAttribute','max_cardinality','1','INTEGER',0),
+('DatabaseObject:_displayName','SchemaClassAttribute','name','_displayName','STRING',0),
+('DatabaseObject:_displayName','SchemaClassAttribute','class','DatabaseObject','SchemaClass',0),
+('DatabaseObject:_displayName','SchemaClassAttribute','origin','DatabaseObject','SchemaClass',0),
+('DatabaseObject:_displayName','SchemaClassAttribute','type','db_string_type','SYMBOL',0),
+('DatabaseObject:_displayName','SchemaClassAttribute','multiple','FALSE','SYMBOL',0),
+('DatabaseObject:_displayName','SchemaClassAttribute','db_col_type','TEXT','STRING',0),
+('DatabaseObject:_displayName','SchemaClassAttribute','category','NOMANUALEDIT','SYMBOL',0),
+('DatabaseObject:_displayName','SchemaClassAttribute','min_cardinality','0','INTEGER',0),
+('DatabaseObject:_displayName','SchemaClassAttribute','max_cardinality','1','INTEGER',0),
+('DatabaseObject:created','SchemaClassAttribute','name','created','STRING',0),
+('DatabaseObject:created','SchemaClassAttribute','class','DatabaseObject','SchemaClass',0),
+('DatabaseObject:created','SchemaClassAttribute','origin','DatabaseObject','SchemaClass',0),
+('DatabaseObject:created','SchemaClassAttribute','type','db_instance_type','SYMBOL',0),
+('DatabaseObject:created','SchemaClassAttribute','multiple','FALSE','SYMBOL',0),
+('DatabaseObject:created','SchemaClassAttribute','allowed_classes','InstanceEdit','SchemaClass',0),
+('DatabaseObject:created','SchemaClassAttribute','db_col_type','INTEGER(10) UNSIGNED','STRING',0),
+('DatabaseObject:created','SchemaClassAttribute','category','OPTIONAL','SYMBOL',0),
+('DatabaseObject:created','SchemaClassAttribute','min_cardinality','0','INTEGER',0),
+('DatabaseObject:created','SchemaClassAttribute','max_cardinality','1','INTEGER',0),
+('DatabaseObject:modified','SchemaClassAttribute','name','modified','STRING',0),
+('DatabaseObject:modified','SchemaClassAttribute','class','DatabaseObject','SchemaClass',0),
+('DatabaseObject:modified','SchemaClassAttribute','origin','DatabaseObject','SchemaClass',0),
+('DatabaseObject:modified','SchemaClassAttribute','type','db_instance_type','SYMBOL',0),
+('DatabaseObject:modified','SchemaClassAttribute','multiple','TRUE','SYMBOL',0),
+('DatabaseObject:modified','SchemaClassAttribute','allowed_classes','InstanceEdit','SchemaClass',0),
+('DatabaseObject:modified','SchemaClassAttribute','db_col_type','INTEGER(10) UNSIGNED','STRING',0),
+('DatabaseObject:modified','SchemaClassAttribute','category','OPTIONAL','SYMBOL',0),
+('DatabaseObject:modified','SchemaClassAttribute','min_cardinality','0','INTEGER',0);
+
+INSERT INTO `DataModel` VALUES
+('InstanceEdit','SchemaClass','abstract','FALSE','SYMBOL',0),
+('InstanceEdit','SchemaClass','super_classes','DatabaseObject','SchemaClass',0),
+('InstanceEdit','SchemaClass','attributes','InstanceEdit:DB_ID','SchemaClassAttribute',0),
+('InstanceEdit','SchemaClass','attributes','InstanceEdit:_displayName','SchemaClassAttribute',1),
+('InstanceEdit','SchemaClass','attributes','InstanceEdit:created','SchemaClassAttribute',2),
+('InstanceEdit','SchemaClass','attributes','InstanceEdit:modified','SchemaClassAttribute',3),
+('InstanceEdit','SchemaClass','attributes','InstanceEdit:author','SchemaClassAttribute',4),
+('InstanceEdit','SchemaClass','attributes','InstanceEdit:dateTime','SchemaClassAttribute',5),
+('InstanceEdit','SchemaClass','attributes','InstanceEdit:note','SchemaClassAttribute',6),
+('InstanceEdit:DB_ID','SchemaClassAttribute','name','DB_ID','STRING',0),
+('InstanceEdit:DB_ID','SchemaClassAttribute','class','InstanceEdit','SchemaClass',0),
+('InstanceEdit:DB_ID','SchemaClassAttribute','origin','DatabaseObject','SchemaClass',0),
+('InstanceEdit:DB_ID','SchemaClassAttribute','type','db_integer_type','SYMBOL',0),
+('InstanceEdit:DB_ID','SchemaClassAttribute','multiple','FALSE','SYMBOL',0),
+('InstanceEdit:DB_ID','SchemaClassAttribute','db_col_type','INT(10) UNSIGNED','STRING',0),
+('InstanceEdit:DB_ID','SchemaClassAttribute','category','NOMANUALEDIT','SYMBOL',0),
+('InstanceEdit:DB_ID','SchemaClassAttribute','min_cardinality','1','INTEGER',0),
+('InstanceEdit:DB_ID','SchemaClassAttribute','max_cardinality','1','INTEGER',0),
+('InstanceEdit:_displayName','SchemaClassAttribute','name','_displayName','STRING',0),
+('InstanceEdit:_displayName','SchemaClassAttribute','class','InstanceEdit','SchemaClass',0),
+('InstanceEdit:_displayName','SchemaClassAttribute','origin','DatabaseObject','SchemaClass',0),
+('InstanceEdit:_displayName','SchemaClassAttribute','type','db_string_type','SYMBOL',0),
+('InstanceEdit:_displayName','SchemaClassAttribute','multiple','FALSE','SYMBOL',0),
+('InstanceEdit:_displayName','SchemaClassAttribute','db_col_type','TEXT','STRING',0),
+('InstanceEdit:_displayName','SchemaClassAttribute','category','NOMANUALEDIT','SYMBOL',0),
+('InstanceEdit:_displayName','SchemaClassAttribute','min_cardinality','0','INTEGER',0),
+('InstanceEdit:_displayName','SchemaClassAttribute','max_cardinality','1','INTEGER',0),
+('InstanceEdit:created','SchemaClassAttribute','name','created','STRING',0),
+('InstanceEdit:created','SchemaClassAttribute','class','InstanceEdit','SchemaClass',0),
+('InstanceEdit:created','SchemaClassAttribute','origin','DatabaseObject','SchemaClass',0),
+('InstanceEdit:created','SchemaClassAttribute','type','db_instance_type','SYMBOL',0),
+('InstanceEdit:created','SchemaClassAttribute','multiple','FALSE','SYMBOL',0),
+('InstanceEdit:created','SchemaClassAttribute','allowed_classes','InstanceEdit','SchemaClass',0),
+('InstanceEdit:created','SchemaClassAttribute','db_col_type','INTEGER(10) UNSIGNED','STRING',0),
+('InstanceEdit:created','SchemaClassAttribute','category','OPTIONAL','SYMBOL',0),
+('InstanceEdit:created','SchemaClassAttribute','min_cardinality','0','INTEGER',0),
+('InstanceEdit:created','SchemaClassAttribute','max_cardinality','1','INTEGER',0),
+('InstanceEdit:modified','SchemaClassAttribute','name','modified','STRING',0),
+('InstanceEdit:modified','SchemaClassAttribute','class','InstanceEdit','SchemaClass',0),
+('InstanceEdit:modified','SchemaClassAttribute','origin','DatabaseObject','SchemaClass',0),
+('InstanceEdit:modified','SchemaClassAttribute','type','db_instance_type','SYMBOL',0),
+('InstanceEdit:modified','SchemaClassAttribute','multiple','TRUE','SYMBOL',0),
+('InstanceEdit:modified','SchemaClassAttribute','allowed_classes','InstanceEdit','SchemaClass',0),
+('InstanceEdit:modified','SchemaClassAttribute','db_col_type','INTEGER(10) UNSIGNED','STRING',0),
+('InstanceEdit:modified','SchemaClassAttribute','category','OPTIONAL','SYMBOL',0),
+('InstanceEdit:modified','SchemaClassAttribute','min_cardinality','0','INTEGER',0),
+('InstanceEdit:author','SchemaClassAttribute','name','author','STRING',0),
+('InstanceEdit:author','SchemaClassAttribute','class','InstanceEdit','SchemaClass',0),
+('InstanceEdit:author','SchemaClassAttribute','origin','InstanceEdit','SchemaClass',0),
+('InstanceEdit:author','SchemaClassAttribute','type','db_instance_type','SYMBOL',0),
+('InstanceEdit:author','SchemaClassAttribute','multiple','TRUE','SYMBOL',0),
+('InstanceEdit:author','SchemaClassAttribute','allowed_classes','Person','SchemaClass',0),
+('InstanceEdit:author','SchemaClassAttribute','db_col_type','INTEGER(10) UNSIGNED','STRING',0),
+('InstanceEdit:author','SchemaClassAttribute','category','OPTIONAL','SYMBOL',0),
+('InstanceEdit:author','SchemaClassAttribute','min_cardinality','0','INTEGER',0),
+('InstanceEdit:dateTime','SchemaClassAttribute','name','dateTime','STRING',0),
+('InstanceEdit:dateTime','SchemaClassAttribute','class','InstanceEdit','SchemaClass',0),
+('InstanceEdit:dateTime','SchemaClassAttribute','origin','InstanceEdit','SchemaClass',0),
+('InstanceEdit:dateTime','SchemaClassAttribute','type','db_string_type','SYMBOL',0),
+('InstanceEdit:dateTime','SchemaClassAttribute','multiple','FALSE','SYMBOL',0),
+('InstanceEdit:dateTime','SchemaClassAttribute','db_col_type','VARCHAR(255)','STRING',0),
+('InstanceEdit:dateTime','SchemaClassAttribute','category','OPTIONAL','SYMBOL',0),
+('InstanceEdit:dateTime','SchemaClassAttribute','min_cardinality','0','INTEGER',0),
+('InstanceEdit:dateTime','SchemaClassAttribute','max_cardinality','1','INTEGER',0),
+('InstanceEdit:note','SchemaClassAttribute','name','note','STRING',0),
+('InstanceEdit:note','SchemaClassAttribute','class','InstanceEdit','SchemaClass',0),
+('InstanceEdit:note','SchemaClassAttribute','origin','InstanceEdit','SchemaClass',0),
+('InstanceEdit:note','SchemaClassAttribute','type','db_string_type','SYMBOL',0),
+('InstanceEdit:note','SchemaClassAttribute','multiple','FALSE','SYMBOL',0),
+('InstanceEdit:note','SchemaClassAttribute','db_col_type','TEXT','STRING',0),
+('InstanceEdit:note','SchemaClassAttribute','category','OPTIONAL','SYMBOL',0),
+('InstanceEdit:note','SchemaClassAttribute','min_cardinality','0','INTEGER',0),
+('InstanceEdit:note','SchemaClassAttribute','max_cardinality','1','INTEGER',0);
+
+INSERT INTO `DataModel` VALUES
+('Person','SchemaClass','abstract','FALSE','SYMBOL',0),
+('Person','SchemaClass','super_classes','DatabaseObject','SchemaClass',0),
+('Person','SchemaClass','attributes','Person:DB_ID','SchemaClassAttribute',0),
+('Person','SchemaClass','attributes','Person:_displayName','SchemaClassAttribute',1),
+('Person','SchemaClass','attributes','Person:created','SchemaClassAttribute',2),
+('Person','SchemaClass','attributes','Person:modified','SchemaClassAttribute',3),
+('Person','SchemaClass','attributes','Person:firstname','SchemaClassAttribute',4),
+('Person','SchemaClass','attributes','Person:initial','SchemaClassAttribute',5),
+('Person','SchemaClass','attributes','Person:surname','SchemaClassAttribute',6),
+('Person:DB_ID','SchemaClassAttribute','name','DB_ID','STRING',0),
+('Person:DB_ID','SchemaClassAttribute','class','Person','SchemaClass',0),
+('Person:DB_ID','SchemaClassAttribute','origin','DatabaseObject','SchemaClass',0),
+('Person:DB_ID','SchemaClassAttribute','type','db_integer_type','SYMBOL',0),
+('Person:DB_ID','SchemaClassAttribute','multiple','FALSE','SYMBOL',0),
+('Person:DB_ID','SchemaClassAttribute','db_col_type','INT(10) UNSIGNED','STRING',0),
+('Person:DB_ID','SchemaClassAttribute','category','NOMANUALEDIT','SYMBOL',0),
+('Person:DB_ID','SchemaClassAttribute','min_cardinality','1','INTEGER',0),
+('Person:DB_ID','SchemaClassAttribute','max_cardinality','1','INTEGER',0),
+('Person:_displayName','SchemaClassAttribute','name','_displayName','STRING',0),
+('Person:_displayName','SchemaClassAttribute','class','Person','SchemaClass',0),
+('Person:_displayName','SchemaClassAttribute','origin','DatabaseObject','SchemaClass',0),
+('Person:_displayName','SchemaClassAttribute','type','db_string_type','SYMBOL',0),
+('Person:_displayName','SchemaClassAttribute','multiple','FALSE','SYMBOL',0),
+('Person:_displayName','SchemaClassAttribute','db_col_type','TEXT','STRING',0),
+('Person:_displayName','SchemaClassAttribute','category','NOMANUALEDIT','SYMBOL',0),
+('Person:_displayName','SchemaClassAttribute','min_cardinality','0','INTEGER',0),
+('Person:_displayName','SchemaClassAttribute','max_cardinality','1','INTEGER',0),
+('Person:created','SchemaClassAttribute','name','created','STRING',0),
+('Person:created','SchemaClassAttribute','class','Person','SchemaClass',0),
+('Person:created','SchemaClassAttribute','origin','DatabaseObject','SchemaClass',0),
+('Person:created','SchemaClassAttribute','type','db_instance_type','SYMBOL',0),
+('Person:created','SchemaClassAttribute','multiple','FALSE','SYMBOL',0),
+('Person:created','SchemaClassAttribute','allowed_classes','InstanceEdit','SchemaClass',0),
+('Person:created','SchemaClassAttribute','db_col_type','INTEGER(10) UNSIGNED','STRING',0),
+('Person:created','SchemaClassAttribute','category','OPTIONAL','SYMBOL',0),
+('Person:created','SchemaClassAttribute','min_cardinality','0','INTEGER',0),
+('Person:created','SchemaClassAttribute','max_cardinality','1','INTEGER',0),
+('Person:modified','SchemaClassAttribute','name','modified','STRING',0),
+('Person:modified','SchemaClassAttribute','class','Person','SchemaClass',0),
+('Person:modified','SchemaClassAttribute','origin','DatabaseObject','SchemaClass',0),
+('Person:modified','SchemaClassAttribute','type','db_instance_type','SYMBOL',0),
+('Person:modified','SchemaClassAttribute','multiple','TRUE','SYMBOL',0),
+('Person:modified','SchemaClassAttribute','allowed_classes','InstanceEdit','SchemaClass',0),
+('Person:modified','SchemaClassAttribute','db_col_type','INTEGER(10) UNSIGNED','STRING',0),
+('Person:modified','SchemaClassAttribute','category','OPTIONAL','SYMBOL',0),
+('Person:modified','SchemaClassAttribute','min_cardinality','0','INTEGER',0),
+('Person:firstname','SchemaClassAttribute','name','firstname','STRING',0),
+('Person:firstname','SchemaClassAttribute','class','Person','SchemaClass',0),
+('Person:firstname','SchemaClassAttribute','origin','Person','SchemaClass',0),
+('Person:firstname','SchemaClassAttribute','type','db_string_type','SYMBOL',0),
+('Person:firstname','SchemaClassAttribute','multiple','FALSE','SYMBOL',0),
+('Person:firstname','SchemaClassAttribute','db_col_type','TEXT','STRING',0),
+('Person:firstname','SchemaClassAttribute','category','OPTIONAL','SYMBOL',0),
+('Person:firstname','SchemaClassAttribute','min_cardinality','0','INTEGER',0),
+('Person:firstname','SchemaClassAttribute','max_cardinality','1','INTEGER',0),
+('Person:initial','SchemaClassAttribute','name','initial','STRING',0),
+('Person:initial','SchemaClassAttribute','class','Person','SchemaClass',0),
+('Person:initial','SchemaClassAttribute','origin','Person','SchemaClass',0),
+('Person:initial','SchemaClassAttribute','type','db_string_type','SYMBOL',0),
+('Person:initial','SchemaClassAttribute','multiple','FALSE','SYMBOL',0),
+('Person:initial','SchemaClassAttribute','db_col_type','VARCHAR(10)','STRING',0),
+('Person:initial','SchemaClassAttribute','category','OPTIONAL','SYMBOL',0),
+('Person:initial','SchemaClassAttribute','min_cardinality','0','INTEGER',0),
+('Person:initial','SchemaClassAttribute','max_cardinality','1','INTEGER',0),
+('Person:surname','SchemaClassAttribute','name','surname','STRING',0),
+('Person:surname','SchemaClassAttribute','class','Person','SchemaClass',0),
+('Person:surname','SchemaClassAttribute','origin','Person','SchemaClass',0),
+('Person:surname','SchemaClassAttribute','type','db_string_type','SYMBOL',0),
+('Person:surname','SchemaClassAttribute','multiple','FALSE','SYMBOL',0),
+('Person:surname','SchemaClassAttribute','db_col_type','TEXT','STRING',0),
+('Person:surname','SchemaClassAttribute','category','OPTIONAL','SYMBOL',0),
+('Person:surname','SchemaClassAttribute','min_cardinality','0','INTEGER',0),
+('Person:surname','SchemaClassAttribute','max_cardinality','1','INTEGER',0);
+
+INSERT INTO `DataModel` VALUES
+('ReferenceDatabase','SchemaClass','abstract','FALSE','SYMBOL',0),
+('ReferenceDatabase','SchemaClass','super_classes','DatabaseObject','SchemaClass',0),
+('ReferenceDatabase','SchemaClass','attributes','ReferenceDatabase:DB_ID','SchemaClassAttribute',0),
+('ReferenceDatabase','SchemaClass','attributes','ReferenceDatabase:_displayName','SchemaClassAttribute',1),
+('ReferenceDatabase','SchemaClass','attributes','ReferenceDatabase:created','SchemaClassAttribute',2),
+('ReferenceDatabase','SchemaClass','attributes','ReferenceDatabase:modified','SchemaClassAttribute',3),
+('ReferenceDatabase','SchemaClass','attributes','ReferenceDatabase:accessUrl','SchemaClassAttribute',4),
+('ReferenceDatabase','SchemaClass','attributes','ReferenceDatabase:name','SchemaClassAttribute',5),
+('ReferenceDatabase','SchemaClass','attributes','ReferenceDatabase:url','SchemaClassAttribute',6),
+('ReferenceDatabase:DB_ID','SchemaClassAttribute','name','DB_ID','STRING',0),
+('ReferenceDatabase:DB_ID','SchemaClassAttribute','class','ReferenceDatabase','SchemaClass',0),
+('ReferenceDatabase:DB_ID','SchemaClassAttribute','origin','DatabaseObject','SchemaClass',0),
+('ReferenceDatabase:DB_ID','SchemaClassAttribute','type','db_integer_type','SYMBOL',0),
+('ReferenceDatabase:DB_ID','SchemaClassAttribute','multiple','FALSE','SYMBOL',0),
+('ReferenceDatabase:DB_ID','SchemaClassAttribute','db_col_type','INT(10) UNSIGNED','STRING',0),
+('ReferenceDatabase:DB_ID','SchemaClassAttribute','category','NOMANUALEDIT','SYMBOL',0),
+('ReferenceDatabase:DB_ID','SchemaClassAttribute','min_cardinality','1','INTEGER',0),
+('ReferenceDatabase:DB_ID','SchemaClassAttribute','max_cardinality','1','INTEGER',0),
+('ReferenceDatabase:_displayName','SchemaClassAttribute','name','_displayName','STRING',0),
+('ReferenceDatabase:_displayName','SchemaClassAttribute','class','ReferenceDatabase','SchemaClass',0),
+('ReferenceDatabase:_displayName','SchemaClassAttribute','origin','DatabaseObject','SchemaClass',0),
+('ReferenceDatabase:_displayName','SchemaClassAttribute','type','db_string_type','SYMBOL',0),
+('ReferenceDatabase:_displayName','SchemaClassAttribute','multiple','FALSE','SYMBOL',0),
+('ReferenceDatabase:_displayName','SchemaClassAttribute','db_col_type','TEXT','STRING',0),
+('ReferenceDatabase:_displayName','SchemaClassAttribute','category','NOMANUALEDIT','SYMBOL',0),
+('ReferenceDatabase:_displayName','SchemaClassAttribute','min_cardinality','0','INTEGER',0),
+('ReferenceDatabase:_displayName','SchemaClassAttribute','max_cardinality','1','INTEGER',0),
+('ReferenceDatabase:created','SchemaClassAttribute','name','created','STRING',0),
+('ReferenceDatabase:created','SchemaClassAttribute','class','ReferenceDatabase','SchemaClass',0),
+('ReferenceDatabase:created','SchemaClassAttribute','origin','DatabaseObject','SchemaClass',0),
+('ReferenceDatabase:created','SchemaClassAttribute','type','db_instance_type','SYMBOL',0),
+('ReferenceDatabase:created','SchemaClassAttribute','multiple','FALSE','SYMBOL',0),
+('ReferenceDatabase:created','SchemaClassAttribute','allowed_classes','InstanceEdit','SchemaClass',0),
+('ReferenceDatabase:created','SchemaClassAttribute','db_col_type','INTEGER(10) UNSIGNED','STRING',0),
+('ReferenceDatabase:created','SchemaClassAttribute','category','OPTIONAL','SYMBOL',0),
+('ReferenceDatabase:created','SchemaClassAttribute','min_cardinality','0','INTEGER',0),
+('ReferenceDatabase:created','SchemaClassAttribute','max_cardinality','1','INTEGER',0),
+('ReferenceDatabase:modified','SchemaClassAttribute','name','modified','STRING',0),
+('ReferenceDatabase:modified','SchemaClassAttribute','class','ReferenceDatabase','SchemaClass',0),
+('ReferenceDatabase:modified','SchemaClassAttribute','origin','DatabaseObject','SchemaClass',0),
+('ReferenceDatabase:modified','SchemaClassAttribute','type','db_instance_type','SYMBOL',0),
+('ReferenceDatabase:modified','SchemaClassAttribute','multiple','TRUE','SYMBOL',0),
+('ReferenceDatabase:modified','SchemaClassAttribute','allowed_classes','InstanceEdit','SchemaClass',0),
+('ReferenceDatabase:modified','SchemaClassAttribute','db_col_type','INTEGER(10) UNSIGNED','STRING',0),
+('ReferenceDatabase:modified','SchemaClassAttribute','category','OPTIONAL','SYMBOL',0),
+('ReferenceDatabase:modified','SchemaClassAttribute','min_cardinality','0','INTEGER',0),
+('ReferenceDatabase:accessUrl','SchemaClassAttribute','name','accessUrl','STRING',0),
+('ReferenceDatabase:accessUrl','SchemaClassAttribute','class','ReferenceDatabase','SchemaClass',0),
+('ReferenceDatabase:accessUrl','SchemaClassAttribute','origin','ReferenceDatabase','SchemaClass',0),
+('ReferenceDatabase:accessUrl','SchemaClassAttribute','type','db_string_type','SYMBOL',0),
+('ReferenceDatabase:accessUrl','SchemaClassAttribute','multiple','FALSE','SYMBOL',0),
+('ReferenceDatabase:accessUrl','SchemaClassAttribute','db_col_type','TEXT','STRING',0),
+('ReferenceDatabase:accessUrl','SchemaClassAttribute','category','OPTIONAL','SYMBOL',0),
+('ReferenceDatabase:accessUrl','SchemaClassAttribute','min_cardinality','0','INTEGER',0),
+('ReferenceDatabase:accessUrl','SchemaClassAttribute','max_cardinality','1','INTEGER',0),
+('ReferenceDatabase:name','SchemaClassAttribute','name','name','STRING',0),
+('ReferenceDatabase:name','SchemaClassAttribute','class','ReferenceDatabase','SchemaClass',0),
+('ReferenceDatabase:name','SchemaClassAttribute','origin','ReferenceDatabase','SchemaClass',0),
+('ReferenceDatabase:name','SchemaClassAttribute','type','db_string_type','SYMBOL',0),
+('ReferenceDatabase:name','SchemaClassAttribute','multiple','TRUE','SYMBOL',0),
+('ReferenceDatabase:name','SchemaClassAttribute','db_col_type','TEXT','STRING',0),
+('ReferenceDatabase:name','SchemaClassAttribute','category','OPTIONAL','SYMBOL',0),
+('ReferenceDatabase:name','SchemaClassAttribute','min_cardinality','0','INTEGER',0),
+('ReferenceDatabase:url','SchemaClassAttribute','name','url','STRING',0),
+('ReferenceDatabase:url','SchemaClassAttribute','class','ReferenceDatabase','SchemaClass',0),
+('ReferenceDatabase:url','SchemaClassAttribute','origin','ReferenceDatabase','SchemaClass',0),
+('ReferenceDatabase:url','SchemaClassAttribute','type','db_string_type','SYMBOL',0),
+('ReferenceDatabase:url','SchemaClassAttribute','multiple','FALSE','SYMBOL',0),
+('ReferenceDatabase:url','SchemaClassAttribute','db_col_type','TEXT','STRING',0),
+('ReferenceDatabase:url','SchemaClassAttribute','category','OPTIONAL','SYMBOL',0),
+('ReferenceDatabase:url','SchemaClassAttribute','min_cardinality','0','INTEGER',0),
+('ReferenceDatabase:url','SchemaClassAttribute','max_cardinality','1','INTEGER',0);
+
+INSERT INTO `DataModel` VALUES
+('GO_BiologicalProcess','SchemaClass','abstract','FALSE','SYMBOL',0),
+('GO_BiologicalProcess','SchemaClass','super_classes','DatabaseObject','SchemaClass',0),
+('GO_BiologicalProcess','SchemaClass','attributes','GO_BiologicalProcess:DB_ID','SchemaClassAttribute',0),
+('GO_BiologicalProcess','SchemaClass','attributes','GO_BiologicalProcess:_displayName','SchemaClassAttribute',1),
+('GO_BiologicalProcess','SchemaClass','attributes','GO_BiologicalProcess:created','SchemaClassAttribute',2),
+('GO_BiologicalProcess','SchemaClass','attributes','GO_BiologicalProcess:modified','SchemaClassAttribute',3),
+('GO_BiologicalProcess','SchemaClass','attributes','GO_BiologicalProcess:accession','SchemaClassAttribute',4),
+('GO_BiologicalProcess','SchemaClass','attributes','GO_BiologicalProcess:definition','SchemaClassAttribute',5),
+('GO_BiologicalProcess','SchemaClass','attributes','GO_BiologicalProcess:name','SchemaClassAttribute',6),
+('GO_BiologicalProcess','SchemaClass','attributes','GO_BiologicalProcess:referenceDatabase','SchemaClassAttribute',7),
+('GO_BiologicalProcess:DB_ID','SchemaClassAttribute','name','DB_ID','STRING',0),
+('GO_BiologicalProcess:DB_ID','SchemaClassAttribute','class','GO_BiologicalProcess','SchemaClass',0),
+('GO_BiologicalProcess:DB_ID','SchemaClassAttribute','origin','DatabaseObject','SchemaClass',0),
+('GO_BiologicalProcess:DB_ID','SchemaClassAttribute','type','db_integer_type','SYMBOL',0),
+('GO_BiologicalProcess:DB_ID','SchemaClassAttribute','multiple','FALSE','SYMBOL',0),
+('GO_BiologicalProcess:DB_ID','SchemaClassAttribute','db_col_type','INT(10) UNSIGNED','STRING',0),
+('GO_BiologicalProcess:DB_ID','SchemaClassAttribute','category','NOMANUALEDIT','SYMBOL',0),
+('GO_BiologicalProcess:DB_ID','SchemaClassAttribute','min_cardinality','1','INTEGER',0),
+('GO_BiologicalProcess:DB_ID','SchemaClassAttribute','max_cardinality','1','INTEGER',0),
+('GO_BiologicalProcess:_displayName','SchemaClassAttribute','name','_displayName','STRING',0),
+('GO_BiologicalProcess:_displayName','SchemaClassAttribute','class','GO_BiologicalProcess','SchemaClass',0),
+('GO_BiologicalProcess:_displayName','SchemaClassAttribute','origin','DatabaseObject','SchemaClass',0),
+('GO_BiologicalProcess:_displayName','SchemaClassAttribute','type','db_string_type','SYMBOL',0),
+('GO_BiologicalProcess:_displayName','SchemaClassAttribute','multiple','FALSE','SYMBOL',0),
+('GO_BiologicalProcess:_displayName','SchemaClassAttribute','db_col_type','TEXT','STRING',0),
+('GO_BiologicalProcess:_displayName','SchemaClassAttribute','category','NOMANUALEDIT','SYMBOL',0),
+('GO_BiologicalProcess:_displayName','SchemaClassAttribute','min_cardinality','0','INTEGER',0),
+('GO_BiologicalProcess:_displayName','SchemaClassAttribute','max_cardinality','1','INTEGER',0),
+('GO_BiologicalProcess:created','SchemaClassAttribute','name','created','STRING',0),
+('GO_BiologicalProcess:created','SchemaClassAttribute','class','GO_BiologicalProcess','SchemaClass',0),
+('GO_BiologicalProcess:created','SchemaClassAttribute','origin','DatabaseObject','SchemaClass',0),
+('GO_BiologicalProcess:created','SchemaClassAttribute','type','db_instance_type','SYMBOL',0),
+('GO_BiologicalProcess:created','SchemaClassAttribute','multiple','FALSE','SYMBOL',0),
+('GO_BiologicalProcess:created','SchemaClassAttribute','allowed_classes','InstanceEdit','SchemaClass',0),
+('GO_BiologicalProcess:created','SchemaClassAttribute','db_col_type','INTEGER(10) UNSIGNED','STRING',0),
+('GO_BiologicalProcess:created','SchemaClassAttribute','category','OPTIONAL','SYMBOL',0),
+('GO_BiologicalProcess:created','SchemaClassAttribute','min_cardinality','0','INTEGER',0),
+('GO_BiologicalProcess:created','SchemaClassAttribute','max_cardinality','1','INTEGER',0),
+('GO_BiologicalProcess:modified','SchemaClassAttribute','name','modified','STRING',0),
+('GO_BiologicalProcess:modified','SchemaClassAttribute','class','GO_BiologicalProcess','SchemaClass',0),
+('GO_BiologicalProcess:modified','SchemaClassAttribute','origin','DatabaseObject','SchemaClass',0),
+('GO_BiologicalProcess:modified','SchemaClassAttribute','type','db_instance_type','SYMBOL',0),
+('GO_BiologicalProcess:modified','SchemaClassAttribute','multiple','TRUE','SYMBOL',0),
+('GO_BiologicalProcess:modified','SchemaClassAttribute','allowed_classes','InstanceEdit','SchemaClass',0),
+('GO_BiologicalProcess:modified','SchemaClassAttribute','db_col_type','INTEGER(10) UNSIGNED','STRING',0),
+('GO_BiologicalProcess:modified','SchemaClassAttribute','category','OPTIONAL','SYMBOL',0),
+('GO_BiologicalProcess:modified','SchemaClassAttribute','min_cardinality','0','INTEGER',0),
+('GO_BiologicalProcess:accession','SchemaClassAttribute','name','accession','STRING',0),
+('GO_BiologicalProcess:accession','SchemaClassAttribute','class','GO_BiologicalProcess','SchemaClass',0),
+('GO_BiologicalProcess:accession','SchemaClassAttribute','origin','GO_BiologicalProcess','SchemaClass',0),
+('GO_BiologicalProcess:accession','SchemaClassAttribute','type','db_string_type','SYMBOL',0),
+('GO_BiologicalProcess:accession','SchemaClassAttribute','multiple','FALSE','SYMBOL',0),
+('GO_BiologicalProcess:accession','SchemaClassAttribute','db_col_type','VARCHAR(20)','STRING',0),
+('GO_BiologicalProcess:accession','SchemaClassAttribute','category','OPTIONAL','SYMBOL',0),
+('GO_BiologicalProcess:accession','SchemaClassAttribute','min_cardinality','0','INTEGER',0),
+('GO_BiologicalProcess:accession','SchemaClassAttribute','max_cardinality','1','INTEGER',0),
+('GO_BiologicalProcess:definition','SchemaClassAttribute','name','definition','STRING',0),
+('GO_BiologicalProcess:definition','SchemaClassAttribute','class','GO_BiologicalProcess','SchemaClass',0),
+('GO_BiologicalProcess:definition','SchemaClassAttribute','origin','GO_BiologicalProcess','SchemaClass',0),
+('GO_BiologicalProcess:definition','SchemaClassAttribute','type','db_string_type','SYMBOL',0),
+('GO_BiologicalProcess:definition','SchemaClassAttribute','multiple','FALSE','SYMBOL',0),
+('GO_BiologicalProcess:definition','SchemaClassAttribute','db_col_type','TEXT','STRING',0),
+('GO_BiologicalProcess:definition','SchemaClassAttribute','category','OPTIONAL','SYMBOL',0),
+('GO_BiologicalProcess:definition','SchemaClassAttribute','min_cardinality','0','INTEGER',0),
+('GO_BiologicalProcess:definition','SchemaClassAttribute','max_cardinality','1','INTEGER',0),
+('GO_BiologicalProcess:name','SchemaClassAttribute','name','name','STRING',0),
+('GO_BiologicalProcess:name','SchemaClassAttribute','class','GO_BiologicalProcess','SchemaClass',0),
+('GO_BiologicalProcess:name','SchemaClassAttribute','origin','GO_BiologicalProcess','SchemaClass',0),
+('GO_BiologicalProcess:name','SchemaClassAttribute','type','db_string_type','SYMBOL',0),
+('GO_BiologicalProcess:name','SchemaClassAttribute','multiple','FALSE','SYMBOL',0),
+('GO_BiologicalProcess:name','SchemaClassAttribute','db_col_type','TEXT','STRING',0),
+('GO_BiologicalProcess:name','SchemaClassAttribute','category','OPTIONAL','SYMBOL',0),
+('GO_BiologicalProcess:name','SchemaClassAttribute','min_cardinality','0','INTEGER',0),
+('GO_BiologicalProcess:name','SchemaClassAttribute','max_cardinality','1','INTEGER',0),
+('GO_BiologicalProcess:referenceDatabase','SchemaClassAttribute','name','referenceDatabase','STRING',0),
+('GO_BiologicalProcess:referenceDatabase','SchemaClassAttribute','class','GO_BiologicalProcess','SchemaClass',0),
+('GO_BiologicalProcess:referenceDatabase','SchemaClassAttribute','origin','GO_BiologicalProcess','SchemaClass',0),
+('GO_BiologicalProcess:referenceDatabase','SchemaClassAttribute','type','db_instance_type','SYMBOL',0),
+('GO_BiologicalProcess:referenceDatabase','SchemaClassAttribute','multiple','FALSE','SYMBOL',0),
+('GO_BiologicalProcess:referenceDatabase','SchemaClassAttribute','allowed_classes','ReferenceDatabase','SchemaClass',0),
+('GO_BiologicalProcess:referenceDatabase','SchemaClassAttribute','db_col_type','INTEGER(10) UNSIGNED','STRING',0),
+('GO_BiologicalProcess:referenceDatabase','SchemaClassAttribute','category','OPTIONAL','SYMBOL',0),
+('GO_BiologicalProcess:referenceDatabase','SchemaClassAttribute','min_cardinality','0','INTEGER',0),
+('GO_BiologicalProcess:referenceDatabase','SchemaClassAttribute','max_cardinality','1','INTEGER',0);
+
+INSERT INTO `DataModel` VALUES
+('GO_MolecularFunction','SchemaClass','abstract','FALSE','SYMBOL',0),
+('GO_MolecularFunction','SchemaClass','super_classes','DatabaseObject','SchemaClass',0),
+('GO_MolecularFunction','SchemaClass','attributes','GO_MolecularFunction:DB_ID','SchemaClassAttribute',0),
+('GO_MolecularFunction','SchemaClass','attributes','GO_MolecularFunction:_displayName','SchemaClassAttribute',1),
+('GO_MolecularFunction','SchemaClass','attributes','GO_MolecularFunction:created','SchemaClassAttribute',2),
+('GO_MolecularFunction','SchemaClass','attributes','GO_MolecularFunction:modified','SchemaClassAttribute',3),
+('GO_MolecularFunction','SchemaClass','attributes','GO_MolecularFunction:accession','SchemaClassAttribute',4),
+('GO_MolecularFunction','SchemaClass','attributes','GO_MolecularFunction:definition','SchemaClassAttribute',5),
+('GO_MolecularFunction','SchemaClass','attributes','GO_MolecularFunction:ecNumber','SchemaClassAttribute',6),
+('GO_MolecularFunction','SchemaClass','attributes','GO_MolecularFunction:name','SchemaClassAttribute',7),
+('GO_MolecularFunction','SchemaClass','attributes','GO_MolecularFunction:referenceDatabase','SchemaClassAttribute',8),
+('GO_MolecularFunction:DB_ID','SchemaClassAttribute','name','DB_ID','STRING',0),
+('GO_MolecularFunction:DB_ID','SchemaClassAttribute','class','GO_MolecularFunction','SchemaClass',0),
+('GO_MolecularFunction:DB_ID','SchemaClassAttribute','origin','DatabaseObject','SchemaClass',0),
+('GO_MolecularFunction:DB_ID','SchemaClassAttribute','type','db_integer_type','SYMBOL',0),
+('GO_MolecularFunction:DB_ID','SchemaClassAttribute','multiple','FALSE','SYMBOL',0),
+('GO_MolecularFunction:DB_ID','SchemaClassAttribute','db_col_type','INT(10) UNSIGNED','STRING',0),
+('GO_MolecularFunction:DB_ID','SchemaClassAttribute','category','NOMANUALEDIT','SYMBOL',0),
+('GO_MolecularFunction:DB_ID','SchemaClassAttribute','min_cardinality','1','INTEGER',0),
+('GO_MolecularFunction:DB_ID','SchemaClassAttribute','max_cardinality','1','INTEGER',0),
+('GO_MolecularFunction:_displayName','SchemaClassAttribute','name','_displayName','STRING',0),
+('GO_MolecularFunction:_displayName','SchemaClassAttribute','class','GO_MolecularFunction','SchemaClass',0),
+('GO_MolecularFunction:_displayName','SchemaClassAttribute','origin','DatabaseObject','SchemaClass',0),
+('GO_MolecularFunction:_displayName','SchemaClassAttribute','type','db_string_type','SYMBOL',0),
+('GO_MolecularFunction:_displayName','SchemaClassAttribute','multiple','FALSE','SYMBOL',0),
+('GO_MolecularFunction:_displayName','SchemaClassAttribute','db_col_type','TEXT','STRING',0),
+('GO_MolecularFunction:_displayName','SchemaClassAttribute','category','NOMANUALEDIT','SYMBOL',0),
+('GO_MolecularFunction:_displayName','SchemaClassAttribute','min_cardinality','0','INTEGER',0),
+('GO_MolecularFunction:_displayName','SchemaClassAttribute','max_cardinality','1','INTEGER',0),
+('GO_MolecularFunction:created','SchemaClassAttribute','name','created','STRING',0),
+('GO_MolecularFunction:created','SchemaClassAttribute','class','GO_MolecularFunction','SchemaClass',0),
+('GO_MolecularFunction:created','SchemaClassAttribute','origin','DatabaseObject','SchemaClass',0),
+('GO_MolecularFunction:created','SchemaClassAttribute','type','db_instance_type','SYMBOL',0),
+('GO_MolecularFunction:created','SchemaClassAttribute','multiple','FALSE','SYMBOL',0),
+('GO_MolecularFunction:created','SchemaClassAttribute','allowed_classes','InstanceEdit','SchemaClass',0),
+('GO_MolecularFunction:created','SchemaClassAttribute','db_col_type','INTEGER(10) UNSIGNED','STRING',0),
+('GO_MolecularFunction:created','SchemaClassAttribute','category','OPTIONAL','SYMBOL',0),
+('GO_MolecularFunction:created','SchemaClassAttribute','min_cardinality','0','INTEGER',0),
+('GO_MolecularFunction:created','SchemaClassAttribute','max_cardinality','1','INTEGER',0),
+('GO_MolecularFunction:modified','SchemaClassAttribute','name','modified','STRING',0),
+('GO_MolecularFunction:modified','SchemaClassAttribute','class','GO_MolecularFunction','SchemaClass',0),
+('GO_MolecularFunction:modified','SchemaClassAttribute','origin','DatabaseObject','SchemaClass',0),
+('GO_MolecularFunction:modified','SchemaClassAttribute','type','db_instance_type','SYMBOL',0),
+('GO_MolecularFunction:modified','SchemaClassAttribute','multiple','TRUE','SYMBOL',0),
+('GO_MolecularFunction:modified','SchemaClassAttribute','allowed_classes','InstanceEdit','SchemaClass',0),
+('GO_MolecularFunction:modified','SchemaClassAttribute','db_col_type','INTEGER(10) UNSIGNED','STRING',0),
+('GO_MolecularFunction:modified','SchemaClassAttribute','category','OPTIONAL','SYMBOL',0),
+('GO_MolecularFunction:modified','SchemaClassAttribute','min_cardinality','0','INTEGER',0),
+('GO_MolecularFunction:accession','SchemaClassAttribute','name','accession','STRING',0),
+('GO_MolecularFunction:accession','SchemaClassAttribute','class','GO_MolecularFunction','SchemaClass',0),
+('GO_MolecularFunction:accession','SchemaClassAttribute','origin','GO_MolecularFunction','SchemaClass',0),
+('GO_MolecularFunction:accession','SchemaClassAttribute','type','db_string_type','SYMBOL',0),
+('GO_MolecularFunction:accession','SchemaClassAttribute','multiple','FALSE','SYMBOL',0),
+('GO_MolecularFunction:accession','SchemaClassAttribute','db_col_type','VARCHAR(20)','STRING',0),
+('GO_MolecularFunction:accession','SchemaClassAttribute','category','OPTIONAL','SYMBOL',0),
+('GO_MolecularFunction:accession','SchemaClassAttribute','min_cardinality','0','INTEGER',0),
+('GO_MolecularFunction:accession','SchemaClassAttribute','max_cardinality','1','INTEGER',0),
+('GO_MolecularFunction:definition','SchemaClassAttribute','name','definition','STRING',0),
+('GO_MolecularFunction:definition','SchemaClassAttribute','class','GO_MolecularFunction','SchemaClass',0),
+('GO_MolecularFunction:definition','SchemaClassAttribute','origin','GO_MolecularFunction','SchemaClass',0),
+('GO_MolecularFunction:definition','SchemaClassAttribute','type','db_string_type','SYMBOL',0),
+('GO_MolecularFunction:definition','SchemaClassAttribute','multiple','FALSE','SYMBOL',0),
+('GO_MolecularFunction:definition','SchemaClassAttribute','db_col_type','TEXT','STRING',0),
+('GO_MolecularFunction:definition','SchemaClassAttribute','category','OPTIONAL','SYMBOL',0),
+('GO_MolecularFunction:definition','SchemaClassAttribute','min_cardinality','0','INTEGER',0),
+('GO_MolecularFunction:definition','SchemaClassAttribute','max_cardinality','1','INTEGER',0),
+('GO_MolecularFunction:ecNumber','SchemaClassAttribute','name','ecNumber','STRING',0),
+('GO_MolecularFunction:ecNumber','SchemaClassAttribute','class','GO_MolecularFunction','SchemaClass',0),
+('GO_MolecularFunction:ecNumber','SchemaClassAttribute','origin','GO_MolecularFunction','SchemaClass',0),
+('GO_MolecularFunction:ecNumber','SchemaClassAttribute','type','db_string_type','SYMBOL',0),
+('GO_MolecularFunction:ecNumber','SchemaClassAttribute','multiple','TRUE','SYMBOL',0),
+('GO_MolecularFunction:ecNumber','SchemaClassAttribute','db_col_type','VARCHAR(20)','STRING',0),
+('GO_MolecularFunction:ecNumber','SchemaClassAttribute','category','OPTIONAL','SYMBOL',0),
+('GO_MolecularFunction:ecNumber','SchemaClassAttribute','min_cardinality','0','INTEGER',0),
+('GO_MolecularFunction:name','SchemaClassAttribute','name','name','STRING',0),
+('GO_MolecularFunction:name','SchemaClassAttribute','class','GO_MolecularFunction','SchemaClass',0),
+('GO_MolecularFunction:name','SchemaClassAttribute','origin','GO_MolecularFunction','SchemaClass',0),
+('GO_MolecularFunction:name','SchemaClassAttribute','type','db_string_type','SYMBOL',0),
+('GO_MolecularFunction:name','SchemaClassAttribute','multiple','FALSE','SYMBOL',0),
+('GO_MolecularFunction:name','SchemaClassAttribute','db_col_type','TEXT','STRING',0),
+('GO_MolecularFunction:name','SchemaClassAttribute','category','OPTIONAL','SYMBOL',0),
+('GO_MolecularFunction:name','SchemaClassAttribute','min_cardinality','0','INTEGER',0),
+('GO_MolecularFunction:name','SchemaClassAttribute','max_cardinality','1','INTEGER',0),
+('GO_MolecularFunction:referenceDatabase','SchemaClassAttribute','name','referenceDatabase','STRING',0),
+('GO_MolecularFunction:referenceDatabase','SchemaClassAttribute','class','GO_MolecularFunction','SchemaClass',0),
+('GO_MolecularFunction:referenceDatabase','SchemaClassAttribute','origin','GO_MolecularFunction','SchemaClass',0),
+('GO_MolecularFunction:referenceDatabase','SchemaClassAttribute','type','db_instance_type','SYMBOL',0),
+('GO_MolecularFunction:referenceDatabase','SchemaClassAttribute','multiple','FALSE','SYMBOL',0),
+('GO_MolecularFunction:referenceDatabase','SchemaClassAttribute','allowed_classes','ReferenceDatabase','SchemaClass',0),
+('GO_MolecularFunction:referenceDatabase','SchemaClassAttribute','db_col_type','INTEGER(10) UNSIGNED','STRING',0),
+('GO_MolecularFunction:referenceDatabase','SchemaClassAttribute','category','OPTIONAL','SYMBOL',0),
+('GO_MolecularFunction:referenceDatabase','SchemaClassAttribute','min_cardinality','0','INTEGER',0),
+('GO_MolecularFunction:referenceDatabase','SchemaClassAttribute','max_cardinality','1','INTEGER',0);
+
+INSERT INTO `DataModel` VALUES
+('GO_CellularComponent','SchemaClass','abstract','FALSE','SYMBOL',0),
+('GO_CellularComponent','SchemaClass','super_classes','DatabaseObject','SchemaClass',0),
+('GO_CellularComponent','SchemaClass','attributes','GO_CellularComponent:DB_ID','SchemaClassAttribute',0),
+('GO_CellularComponent','SchemaClass','attributes','GO_CellularComponent:_displayName','SchemaClassAttribute',1),
+('GO_CellularComponent','SchemaClass','attributes','GO_CellularComponent:created','SchemaClassAttribute',2),
+('GO_CellularComponent','SchemaClass','attributes','GO_CellularComponent:modified','SchemaClassAttribute',3),
+('GO_CellularComponent','SchemaClass','attributes','GO_CellularComponent:accession','SchemaClassAttribute',4),
+('GO_CellularComponent','SchemaClass','attributes','GO_CellularComponent:componentOf','SchemaClassAttribute',5),
+('GO_CellularComponent','SchemaClass','attributes','GO_CellularComponent:definition','SchemaClassAttribute',6),
+('GO_CellularComponent','SchemaClass','attributes','GO_CellularComponent:hasPart','SchemaClassAttribute',7),
+('GO_CellularComponent','SchemaClass','attributes','GO_CellularComponent:instanceOf','SchemaClassAttribute',8),
+('GO_CellularComponent','SchemaClass','attributes','GO_CellularComponent:name','SchemaClassAttribute',9),
+('GO_CellularComponent','SchemaClass','attributes','GO_CellularComponent:referenceDatabase','SchemaClassAttribute',10),
+('GO_CellularComponent:DB_ID','SchemaClassAttribute','name','DB_ID','STRING',0),
+('GO_CellularComponent:DB_ID','SchemaClassAttribute','class','GO_CellularComponent','SchemaClass',0),
+('GO_CellularComponent:DB_ID','SchemaClassAttribute','origin','DatabaseObject','SchemaClass',0),
+('GO_CellularComponent:DB_ID','SchemaClassAttribute','type','db_integer_type','SYMBOL',0),
+('GO_CellularComponent:DB_ID','SchemaClassAttribute','multiple','FALSE','SYMBOL',0),
+('GO_CellularComponent:DB_ID','SchemaClassAttribute','db_col_type','INT(10) UNSIGNED','STRING',0),
+('GO_CellularComponent:DB_ID','SchemaClassAttribute','category','NOMANUALEDIT','SYMBOL',0),
+('GO_CellularComponent:DB_ID','SchemaClassAttribute','min_cardinality','1','INTEGER',0),
+('GO_CellularComponent:DB_ID','SchemaClassAttribute','max_cardinality','1','INTEGER',0),
+('GO_CellularComponent:_displayName','SchemaClassAttribute','name','_displayName','STRING',0),
+('GO_CellularComponent:_displayName','SchemaClassAttribute','class','GO_CellularComponent','SchemaClass',0),
+('GO_CellularComponent:_displayName','SchemaClassAttribute','origin','DatabaseObject','SchemaClass',0),
+('GO_CellularComponent:_displayName','SchemaClassAttribute','type','db_string_type','SYMBOL',0),
+('GO_CellularComponent:_displayName','SchemaClassAttribute','multiple','FALSE','SYMBOL',0),
+('GO_CellularComponent:_displayName','SchemaClassAttribute','db_col_type','TEXT','STRING',0),
+('GO_CellularComponent:_displayName','SchemaClassAttribute','category','NOMANUALEDIT','SYMBOL',0),
+('GO_CellularComponent:_displayName','SchemaClassAttribute','min_cardinality','0','INTEGER',0),
+('GO_CellularComponent:_displayName','SchemaClassAttribute','max_cardinality','1','INTEGER',0),
+('GO_CellularComponent:created','SchemaClassAttribute','name','created','STRING',0),
+('GO_CellularComponent:created','SchemaClassAttribute','class','GO_CellularComponent','SchemaClass',0),
+('GO_CellularComponent:created','SchemaClassAttribute','origin','DatabaseObject','SchemaClass',0),
+('GO_CellularComponent:created','SchemaClassAttribute','type','db_instance_type','SYMBOL',0),
+('GO_CellularComponent:created','SchemaClassAttribute','multiple','FALSE','SYMBOL',0),
+('GO_CellularComponent:created','SchemaClassAttribute','allowed_classes','InstanceEdit','SchemaClass',0),
+('GO_CellularComponent:created','SchemaClassAttribute','db_col_type','INTEGER(10) UNSIGNED','STRING',0),
+('GO_CellularComponent:created','SchemaClassAttribute','category','OPTIONAL','SYMBOL',0),
+('GO_CellularComponent:created','SchemaClassAttribute','min_cardinality','0','INTEGER',0),
+('GO_CellularComponent:created','SchemaClassAttribute','max_cardinality','1','INTEGER',0),
+('GO_CellularComponent:modified','SchemaClassAttribute','name','modified','STRING',0),
+('GO_CellularComponent:modified','SchemaClassAttribute','class','GO_CellularComponent','SchemaClass',0),
+('GO_CellularComponent:modified','SchemaClassAttribute','origin','DatabaseObject','SchemaClass',0),
+('GO_CellularComponent:modified','SchemaClassAttribute','type','db_instance_type','SYMBOL',0),
+('GO_CellularComponent:modified','SchemaClassAttribute','multiple','TRUE','SYMBOL',0),
+('GO_CellularComponent:modified','SchemaClassAttribute','allowed_classes','InstanceEdit','SchemaClass',0),
+('GO_CellularComponent:modified','SchemaClassAttribute','db_col_type','INTEGER(10) UNSIGNED','STRING',0),
+('GO_CellularComponent:modified','SchemaClassAttribute','category','OPTIONAL','SYMBOL',0),
+('GO_CellularComponent:modified','SchemaClassAttribute','min_cardinality','0','INTEGER',0),
+('GO_CellularComponent:accession','SchemaClassAttribute','name','accession','STRING',0),
+('GO_CellularComponent:accession','SchemaClassAttribute','class','GO_CellularComponent','SchemaClass',0),
+('GO_CellularComponent:accession','SchemaClassAttribute','origin','GO_CellularComponent','SchemaClass',0),
+('GO_CellularComponent:accession','SchemaClassAttribute','type','db_string_type','SYMBOL',0),
+('GO_CellularComponent:accession','SchemaClassAttribute','multiple','FALSE','SYMBOL',0),
+('GO_CellularComponent:accession','SchemaClassAttribute','db_col_type','VARCHAR(20)','STRING',0),
+('GO_CellularComponent:accession','SchemaClassAttribute','category','OPTIONAL','SYMBOL',0),
+('GO_CellularComponent:accession','SchemaClassAttribute','min_cardinality','0','INTEGER',0),
+('GO_CellularComponent:accession','SchemaClassAttribute','max_cardinality','1','INTEGER',0),
+('GO_CellularComponent:componentOf','SchemaClassAttribute','name','componentOf','STRING',0),
+('GO_CellularComponent:componentOf','SchemaClassAttribute','class','GO_CellularComponent','SchemaClass',0),
+('GO_CellularComponent:componentOf','SchemaClassAttribute','origin','GO_CellularComponent','SchemaClass',0),
+('GO_CellularComponent:componentOf','SchemaClassAttribute','type','db_instance_type','SYMBOL',0),
+('GO_CellularComponent:componentOf','SchemaClassAttribute','multiple','TRUE','SYMBOL',0),
+('GO_CellularComponent:componentOf','SchemaClassAttribute','allowed_classes','GO_CellularComponent','SchemaClass',0),
+('GO_CellularComponent:componentOf','SchemaClassAttribute','db_col_type','INTEGER(10) UNSIGNED','STRING',0),
+('GO_CellularComponent:componentOf','SchemaClassAttribute','category','OPTIONAL','SYMBOL',0),
+('GO_CellularComponent:componentOf','SchemaClassAttribute','min_cardinality','0','INTEGER',0),
+('GO_CellularComponent:definition','SchemaClassAttribute','name','definition','STRING',0),
+('GO_CellularComponent:definition','SchemaClassAttribute','class','GO_CellularComponent','SchemaClass',0),
+('GO_CellularComponent:definition','SchemaClassAttribute','origin','GO_CellularComponent','SchemaClass',0),
+('GO_CellularComponent:definition','SchemaClassAttribute','type','db_string_type','SYMBOL',0),
+('GO_CellularComponent:definition','SchemaClassAttribute','multiple','FALSE','SYMBOL',0),
+('GO_CellularComponent:definition','SchemaClassAttribute','db_col_type','TEXT','STRING',0),
+('GO_CellularComponent:definition','SchemaClassAttribute','category','OPTIONAL','SYMBOL',0),
+('GO_CellularComponent:definition','SchemaClassAttribute','min_cardinality','0','INTEGER',0),
+('GO_CellularComponent:definition','SchemaClassAttribute','max_cardinality','1','INTEGER',0),
+('GO_CellularComponent:hasPart','SchemaClassAttribute','name','hasPart','STRING',0),
+('GO_CellularComponent:hasPart','SchemaClassAttribute','class','GO_CellularComponent','SchemaClass',0),
+('GO_CellularComponent:hasPart','SchemaClassAttribute','origin','GO_CellularComponent','SchemaClass',0),
+('GO_CellularComponent:hasPart','SchemaClassAttribute','type','db_instance_type','SYMBOL',0),
+('GO_CellularComponent:hasPart','SchemaClassAttribute','multiple','TRUE','SYMBOL',0),
+('GO_CellularComponent:hasPart','SchemaClassAttribute','allowed_classes','GO_CellularComponent','SchemaClass',0),
+('GO_CellularComponent:hasPart','SchemaClassAttribute','db_col_type','INTEGER(10) UNSIGNED','STRING',0),
+('GO_CellularComponent:hasPart','SchemaClassAttribute','category','OPTIONAL','SYMBOL',0),
+('GO_CellularComponent:hasPart','SchemaClassAttribute','min_cardinality','0','INTEGER',0),
+('GO_CellularComponent:instanceOf','SchemaClassAttribute','name','instanceOf','STRING',0),
+('GO_CellularComponent:instanceOf','SchemaClassAttribute','class','GO_CellularComponent','SchemaClass',0),
+('GO_CellularComponent:instanceOf','SchemaClassAttribute','origin','GO_CellularComponent','SchemaClass',0),
+('GO_CellularComponent:instanceOf','SchemaClassAttribute','type','db_instance_type','SYMBOL',0),
+('GO_CellularComponent:instanceOf','SchemaClassAttribute','multiple','TRUE','SYMBOL',0),
+('GO_CellularComponent:instanceOf','SchemaClassAttribute','allowed_classes','GO_CellularComponent','SchemaClass',0),
+('GO_CellularComponent:instanceOf','SchemaClassAttribute','db_col_type','INTEGER(10) UNSIGNED','STRING',0),
+('GO_CellularComponent:instanceOf','SchemaClassAttribute','category','OPTIONAL','SYMBOL',0),
+('GO_CellularComponent:instanceOf','SchemaClassAttribute','min_cardinality','0','INTEGER',0),
+('GO_CellularComponent:name','SchemaClassAttribute','name','name','STRING',0),
+('GO_CellularComponent:name','SchemaClassAttribute','class','GO_CellularComponent','SchemaClass',0),
+('GO_CellularComponent:name','SchemaClassAttribute','origin','GO_CellularComponent','SchemaClass',0),
+('GO_CellularComponent:name','SchemaClassAttribute','type','db_string_type','SYMBOL',0),
+('GO_CellularComponent:name','SchemaClassAttribute','multiple','FALSE','SYMBOL',0),
+('GO_CellularComponent:name','SchemaClassAttribute','db_col_type','TEXT','STRING',0),
+('GO_CellularComponent:name','SchemaClassAttribute','category','OPTIONAL','SYMBOL',0),
+('GO_CellularComponent:name','SchemaClassAttribute','min_cardinality','0','INTEGER',0),
+('GO_CellularComponent:name','SchemaClassAttribute','max_cardinality','1','INTEGER',0),
+('GO_CellularComponent:referenceDatabase','SchemaClassAttribute','name','referenceDatabase','STRING',0),
+('GO_CellularComponent:referenceDatabase','SchemaClassAttribute','class','GO_CellularComponent','SchemaClass',0),
+('GO_CellularComponent:referenceDatabase','SchemaClassAttribute','origin','GO_CellularComponent','SchemaClass',0),
+('GO_CellularComponent:referenceDatabase','SchemaClassAttribute','type','db_instance_type','SYMBOL',0),
+('GO_CellularComponent:referenceDatabase','SchemaClassAttribute','multiple','FALSE','SYMBOL',0),
+('GO_CellularComponent:referenceDatabase','SchemaClassAttribute','allowed_classes','ReferenceDatabase','SchemaClass',0),
+('GO_CellularComponent:referenceDatabase','SchemaClassAttribute','db_col_type','INTEGER(10) UNSIGNED','STRING',0),
+('GO_CellularComponent:referenceDatabase','SchemaClassAttribute','category','OPTIONAL','SYMBOL',0),
+('GO_CellularComponent:referenceDatabase','SchemaClassAttribute','min_cardinality','0','INTEGER',0),
+('GO_CellularComponent:referenceDatabase','SchemaClassAttribute','max_cardinality','1','INTEGER',0);
+
+INSERT INTO `DataModel` VALUES
+('Compartment','SchemaClass','abstract','FALSE','SYMBOL',0),
+('Compartment','SchemaClass','super_classes','GO_CellularComponent','SchemaClass',0),
+('Compartment','SchemaClass','attributes','Compartment:DB_ID','SchemaClassAttribute',0),
+('Compartment','SchemaClass','attributes','Compartment:_displayName','SchemaClassAttribute',1),
+('Compartment','SchemaClass','attributes','Compartment:created','SchemaClassAttribute',2),
+('Compartment','SchemaClass','attributes','Compartment:modified','SchemaClassAttribute',3),
+('Compartment','SchemaClass','attributes','Compartment:accession','SchemaClassAttribute',4),
+('Compartment','SchemaClass','attributes','Compartment:componentOf','SchemaClassAttribute',5),
+('Compartment','SchemaClass','attributes','Compartment:definition','SchemaClassAttribute',6),
+('Compartment','SchemaClass','attributes','Compartment:hasPart','SchemaClassAttribute',7),
+('Compartment','SchemaClass','attributes','Compartment:instanceOf','SchemaClassAttribute',8),
+('Compartment','SchemaClass','attributes','Compartment:name','SchemaClassAttribute',9),
+('Compartment','SchemaClass','attributes','Compartment:referenceDatabase','SchemaClassAttribute',10),
+('Compartment:DB_ID','SchemaClassAttribute','name','DB_ID','STRING',0),
+('Compartment:DB_ID','SchemaClassAttribute','class','Compartment','SchemaClass',0),
+('Compartment:DB_ID','SchemaClassAttribute','origin','DatabaseObject','SchemaClass',0),
+('Compartment:DB_ID','SchemaClassAttribute','type','db_integer_type','SYMBOL',0),
+('Compartment:DB_ID','SchemaClassAttribute','multiple','FALSE','SYMBOL',0),
+('Compartment:DB_ID','SchemaClassAttribute','db_col_type','INT(10) UNSIGNED','STRING',0),
+('Compartment:DB_ID','SchemaClassAttribute','category','NOMANUALEDIT','SYMBOL',0),
+('Compartment:DB_ID','SchemaClassAttribute','min_cardinality','1','INTEGER',0),
+('Compartment:DB_ID','SchemaClassAttribute','max_cardinality','1','INTEGER',0),
+('Compartment:_displayName','SchemaClassAttribute','name','_displayName','STRING',0),
+('Compartment:_displayName','SchemaClassAttribute','class','Compartment','SchemaClass',0),
+('Compartment:_displayName','SchemaClassAttribute','origin','DatabaseObject','SchemaClass',0),
+('Compartment:_displayName','SchemaClassAttribute','type','db_string_type','SYMBOL',0),
+('Compartment:_displayName','SchemaClassAttribute','multiple','FALSE','SYMBOL',0),
+('Compartment:_displayName','SchemaClassAttribute','db_col_type','TEXT','STRING',0),
+('Compartment:_displayName','SchemaClassAttribute','category','NOMANUALEDIT','SYMBOL',0),
+('Compartment:_displayName','SchemaClassAttribute','min_cardinality','0','INTEGER',0),
+('Compartment:_displayName','SchemaClassAttribute','max_cardinality','1','INTEGER',0),
+('Compartment:created','SchemaClassAttribute','name','created','STRING',0),
+('Compartment:created','SchemaClassAttribute','class','Compartment','SchemaClass',0),
+('Compartment:created','SchemaClassAttribute','origin','DatabaseObject','SchemaClass',0),
+('Compartment:created','SchemaClassAttribute','type','db_instance_type','SYMBOL',0),
+('Compartment:created','SchemaClassAttribute','multiple','FALSE','SYMBOL',0),
+('Compartment:created','SchemaClassAttribute','allowed_classes','InstanceEdit','SchemaClass',0),
+('Compartment:created','SchemaClassAttribute','db_col_type','INTEGER(10) UNSIGNED','STRING',0),
+('Compartment:created','SchemaClassAttribute','category','OPTIONAL','SYMBOL',0),
+('Compartment:created','SchemaClassAttribute','min_cardinality','0','INTEGER',0),
+('Compartment:created','SchemaClassAttribute','max_cardinality','1','INTEGER',0),
+('Compartment:modified','SchemaClassAttribute','name','modified','STRING',0),
+('Compartment:modified','SchemaClassAttribute','class','Compartment','SchemaClass',0),
+('Compartment:modified','SchemaClassAttribute','origin','DatabaseObject','SchemaClass',0),
+('Compartment:modified','SchemaClassAttribute','type','db_instance_type','SYMBOL',0),
+('Compartment:modified','SchemaClassAttribute','multiple','TRUE','SYMBOL',0),
+('Compartment:modified','SchemaClassAttribute','allowed_classes','InstanceEdit','SchemaClass',0),
+('Compartment:modified','SchemaClassAttribute','db_col_type','INTEGER(10) UNSIGNED','STRING',0),
+('Compartment:modified','SchemaClassAttribute','category','OPTIONAL','SYMBOL',0),
+('Compartment:modified','SchemaClassAttribute','min_cardinality','0','INTEGER',0),
+('Compartment:accession','SchemaClassAttribute','name','accession','STRING',0),
+('Compartment:accession','SchemaClassAttribute','class','Compartment','SchemaClass',0),
+('Compartment:accession','SchemaClassAttribute','origin','GO_CellularComponent','SchemaClass',0),
+('Compartment:accession','SchemaClassAttribute','type','db_string_type','SYMBOL',0),
+('Compartment:accession','SchemaClassAttribute','multiple','FALSE','SYMBOL',0),
+('Compartment:accession','SchemaClassAttribute','db_col_type','VARCHAR(20)','STRING',0),
+('Compartment:accession','SchemaClassAttribute','category','OPTIONAL','SYMBOL',0),
+('Compartment:accession','SchemaClassAttribute','min_cardinality','0','INTEGER',0),
+('Compartment:accession','SchemaClassAttribute','max_cardinality','1','INTEGER',0),
+('Compartment:componentOf','SchemaClassAttribute','name','componentOf','STRING',0),
+('Compartment:componentOf','SchemaClassAttribute','class','Compartment','SchemaClass',0),
+('Compartment:componentOf','SchemaClassAttribute','origin','GO_CellularComponent','SchemaClass',0),
+('Compartment:componentOf','SchemaClassAttribute','type','db_instance_type','SYMBOL',0),
+('Compartment:componentOf','SchemaClassAttribute','multiple','TRUE','SYMBOL',0),
+('Compartment:componentOf','SchemaClassAttribute','allowed_classes','GO_CellularComponent','SchemaClass',0),
+('Compartment:componentOf','SchemaClassAttribute','db_col_type','INTEGER(10) UNSIGNED','STRING',0),
+('Compartment:componentOf','SchemaClassAttribute','category','OPTIONAL','SYMBOL',0),
+('Compartment:componentOf','SchemaClassAttribute','min_cardinality','0','INTEGER',0),
+('Compartment:definition','SchemaClassAttribute','name','definition','STRING',0),
+('Compartment:definition','SchemaClassAttribute','class','Compartment','SchemaClass',0),
+('Compartment:definition','SchemaClassAttribute','origin','GO_CellularComponent','SchemaClass',0),
+('Compartment:definition','SchemaClassAttribute','type','db_string_type','SYMBOL',0),
+('Compartment:definition','SchemaClassAttribute','multiple','FALSE','SYMBOL',0),
+('Compartment:definition','SchemaClassAttribute','db_col_type','TEXT','STRING',0),
+('Compartment:definition','SchemaClassAttribute','category','OPTIONAL','SYMBOL',0),
+('Compartment:definition','SchemaClassAttribute','min_cardinality','0','INTEGER',0),
+('Compartment:definition','SchemaClassAttribute','max_cardinality','1','INTEGER',0),
+('Compartment:hasPart','SchemaClassAttribute','name','hasPart','STRING',0),
+('Compartment:hasPart','SchemaClassAttribute','class','Compartment','SchemaClass',0),
+('Compartment:hasPart','SchemaClassAttribute','origin','GO_CellularComponent','SchemaClass',0),
+('Compartment:hasPart','SchemaClassAttribute','type','db_instance_type','SYMBOL',0),
+('Compartment:hasPart','SchemaClassAttribute','multiple','TRUE','SYMBOL',0),
+('Compartment:hasPart','SchemaClassAttribute','allowed_classes','GO_CellularComponent','SchemaClass',0),
+('Compartment:hasPart','SchemaClassAttribute','db_col_type','INTEGER(10) UNSIGNED','STRING',0),
+('Compartment:hasPart','SchemaClassAttribute','category','OPTIONAL','SYMBOL',0),
+('Compartment:hasPart','SchemaClassAttribute','min_cardinality','0','INTEGER',0),
+('Compartment:instanceOf','SchemaClassAttribute','name','instanceOf','STRING',0),
+('Compartment:instanceOf','SchemaClassAttribute','class','Compartment','SchemaClass',0),
+('Compartment:instanceOf','SchemaClassAttribute','origin','GO_CellularComponent','SchemaClass',0),
+('Compartment:instanceOf','SchemaClassAttribute','type','db_instance_type','SYMBOL',0),
+('Compartment:instanceOf','SchemaClassAttribute','multiple','TRUE','SYMBOL',0),
+('Compartment:instanceOf','SchemaClassAttribute','allowed_classes','GO_CellularComponent','SchemaClass',0),
+('Compartment:instanceOf','SchemaClassAttribute','db_col_type','INTEGER(10) UNSIGNED','STRING',0),
+('Compartment:instanceOf','SchemaClassAttribute','category','OPTIONAL','SYMBOL',0),
+('Compartment:instanceOf','SchemaClassAttribute','min_cardinality','0','INTEGER',0),
+('Compartment:name','SchemaClassAttribute','name','name','STRING',0),
+('Compartment:name','SchemaClassAttribute','class','Compartment','SchemaClass',0),
+('Compartment:name','SchemaClassAttribute','origin','GO_CellularComponent','SchemaClass',0),
+('Compartment:name','SchemaClassAttribute','type','db_string_type','SYMBOL',0),
+('Compartment:name','SchemaClassAttribute','multiple','FALSE','SYMBOL',0),
+('Compartment:name','SchemaClassAttribute','db_col_type','TEXT','STRING',0),
+('Compartment:name','SchemaClassAttribute','category','OPTIONAL','SYMBOL',0),
+('Compartment:name','SchemaClassAttribute','min_cardinality','0','INTEGER',0),
+('Compartment:name','SchemaClassAttribute','max_cardinality','1','INTEGER',0),
+('Compartment:referenceDatabase','SchemaClassAttribute','name','referenceDatabase','STRING',0),
+('Compartment:referenceDatabase','SchemaClassAttribute','class','Compartment','SchemaClass',0),
+('Compartment:referenceDatabase','SchemaClassAttribute','origin','GO_CellularComponent','SchemaClass',0),
+('Compartment:referenceDatabase','SchemaClassAttribute','type','db_instance_type','SYMBOL',0),
+('Compartment:referenceDatabase','SchemaClassAttribute','multiple','FALSE','SYMBOL',0),
+('Compartment:referenceDatabase','SchemaClassAttribute','allowed_classes','ReferenceDatabase','SchemaClass',0),
+('Compartment:referenceDatabase','SchemaClassAttribute','db_col_type','INTEGER(10) UNSIGNED','STRING',0),
+('Compartment:referenceDatabase','SchemaClassAttribute','category','OPTIONAL','SYMBOL',0),
+('Compartment:referenceDatabase','SchemaClassAttribute','min_cardinality','0','INTEGER',0),
+('Compartment:referenceDatabase','SchemaClassAttribute','max_cardinality','1','INTEGER',0);
+
+INSERT INTO `DataModel` VALUES
+('EntityCompartment','SchemaClass','abstract','FALSE','SYMBOL',0),
+('EntityCompartment','SchemaClass','super_classes','Compartment','SchemaClass',0),
+('EntityCompartment','SchemaClass','attributes','EntityCompartment:DB_ID','SchemaClassAttribute',0),
+('EntityCompartment','SchemaClass','attributes','EntityCompartment:_displayName','SchemaClassAttribute',1),
+('EntityCompartment','SchemaClass','attributes','EntityCompartment:created','SchemaClassAttribute',2),
+('EntityCompartment','SchemaClass','attributes','EntityCompartment:modified','SchemaClassAttribute',3),
+('EntityCompartment','SchemaClass','attributes','EntityCompartment:accession','SchemaClassAttribute',4),
+('EntityCompartment','SchemaClass','attributes','EntityCompartment:componentOf','SchemaClassAttribute',5),
+('EntityCompartment','SchemaClass','attributes','EntityCompartment:definition','SchemaClassAttribute',6),
+('EntityCompartment','SchemaClass','attributes','EntityCompartment:hasPart','SchemaClassAttribute',7),
+('EntityCompartment','SchemaClass','attributes','EntityCompartment:instanceOf','SchemaClassAttribute',8),
+('EntityCompartment','SchemaClass','attributes','EntityCompartment:name','SchemaClassAttribute',9),
+('EntityCompartment','SchemaClass','attributes','EntityCompartment:referenceDatabase','SchemaClassAttribute',10),
+('EntityCompartment:DB_ID','SchemaClassAttribute','name','DB_ID','STRING',0),
+('EntityCompartment:DB_ID','SchemaClassAttribute','class','EntityCompartment','SchemaClass',0),
+('EntityCompartment:DB_ID','SchemaClassAttribute','origin','DatabaseObject','SchemaClass',0),
+('EntityCompartment:DB_ID','SchemaClassAttribute','type','db_integer_type','SYMBOL',0),
+('EntityCompartment:DB_ID','SchemaClassAttribute','multiple','FALSE','SYMBOL',0),
+('EntityCompartment:DB_ID','SchemaClassAttribute','db_col_type','INT(10) UNSIGNED','STRING',0),
+('EntityCompartment:DB_ID','SchemaClassAttribute','category','NOMANUALEDIT','SYMBOL',0),
+('EntityCompartment:DB_ID','SchemaClassAttribute','min_cardinality','1','INTEGER',0),
+('EntityCompartment:DB_ID','SchemaClassAttribute','max_cardinality','1','INTEGER',0),
+('EntityCompartment:_displayName','SchemaClassAttribute','name','_displayName','STRING',0),
+('EntityCompartment:_displayName','SchemaClassAttribute','class','EntityCompartment','SchemaClass',0),
+('EntityCompartment:_displayName','SchemaClassAttribute','origin','DatabaseObject','SchemaClass',0),
+('EntityCompartment:_displayName','SchemaClassAttribute','type','db_string_type','SYMBOL',0),
+('EntityCompartment:_displayName','SchemaClassAttribute','multiple','FALSE','SYMBOL',0),
+('EntityCompartment:_displayName','SchemaClassAttribute','db_col_type','TEXT','STRING',0),
+('EntityCompartment:_displayName','SchemaClassAttribute','category','NOMANUALEDIT','SYMBOL',0),
+('EntityCompartment:_displayName','SchemaClassAttribute','min_cardinality','0','INTEGER',0),
+('EntityCompartment:_displayName','SchemaClassAttribute','max_cardinality','1','INTEGER',0),
+('EntityCompartment:created','SchemaClassAttribute','name','created','STRING',0),
+('EntityCompartment:created','SchemaClassAttribute','class','EntityCompartment','SchemaClass',0),
+('EntityCompartment:created','SchemaClassAttribute','origin','DatabaseObject','SchemaClass',0),
+('EntityCompartment:created','SchemaClassAttribute','type','db_instance_type','SYMBOL',0),
+('EntityCompartment:created','SchemaClassAttribute','multiple','FALSE','SYMBOL',0),
+('EntityCompartment:created','SchemaClassAttribute','allowed_classes','InstanceEdit','SchemaClass',0),
+('EntityCompartment:created','SchemaClassAttribute','db_col_type','INTEGER(10) UNSIGNED','STRING',0),
+('EntityCompartment:created','SchemaClassAttribute','category','OPTIONAL','SYMBOL',0),
+('EntityCompartment:created','SchemaClassAttribute','min_cardinality','0','INTEGER',0),
+('EntityCompartment:created','SchemaClassAttribute','max_cardinality','1','INTEGER',0),
+('EntityCompartment:modified','SchemaClassAttribute','name','modified','STRING',0),
+('EntityCompartment:modified','SchemaClassAttribute','class','EntityCompartment','SchemaClass',0),
+('EntityCompartment:modified','SchemaClassAttribute','origin','DatabaseObject','SchemaClass',0),
+('EntityCompartment:modified','SchemaClassAttribute','type','db_instance_type','SYMBOL',0),
+('EntityCompartment:modified','SchemaClassAttribute','multiple','TRUE','SYMBOL',0),
+('EntityCompartment:modified','SchemaClassAttribute','allowed_classes','InstanceEdit','SchemaClass',0),
+('EntityCompartment:modified','SchemaClassAttribute','db_col_type','INTEGER(10) UNSIGNED','STRING',0),
+('EntityCompartment:modified','SchemaClassAttribute','category','OPTIONAL','SYMBOL',0),
+('EntityCompartment:modified','SchemaClassAttribute','min_cardinality','0','INTEGER',0),
+('EntityCompartment:accession','SchemaClassAttribute','name','accession','STRING',0),
+('EntityCompartment:accession','SchemaClassAttribute','class','EntityCompartment','SchemaClass',0),
+('EntityCompartment:accession','SchemaClassAttribute','origin','GO_CellularComponent','SchemaClass',0),
+('EntityCompartment:accession','SchemaClassAttribute','type','db_string_type','SYMBOL',0),
+('EntityCompartment:accession','SchemaClassAttribute','multiple','FALSE','SYMBOL',0),
+('EntityCompartment:accession','SchemaClassAttribute','db_col_type','VARCHAR(20)','STRING',0),
+('EntityCompartment:accession','SchemaClassAttribute','category','OPTIONAL','SYMBOL',0),
+('EntityCompartment:accession','SchemaClassAttribute','min_cardinality','0','INTEGER',0),
+('EntityCompartment:accession','SchemaClassAttribute','max_cardinality','1','INTEGER',0),
+('EntityCompartment:componentOf','SchemaClassAttribute','name','componentOf','STRING',0),
+('EntityCompartment:componentOf','SchemaClassAttribute','class','EntityCompartment','SchemaClass',0),
+('EntityCompartment:componentOf','SchemaClassAttribute','origin','GO_CellularComponent','SchemaClass',0),
+('EntityCompartment:componentOf','SchemaClassAttribute','type','db_instance_type','SYMBOL',0),
+('EntityCompartment:componentOf','SchemaClassAttribute','multiple','TRUE','SYMBOL',0),
+('EntityCompartment:componentOf','SchemaClassAttribute','allowed_classes','GO_CellularComponent','SchemaClass',0),
+('EntityCompartment:componentOf','SchemaClassAttribute','db_col_type','INTEGER(10) UNSIGNED','STRING',0),
+('EntityCompartment:componentOf','SchemaClassAttribute','category','OPTIONAL','SYMBOL',0),
+('EntityCompartment:componentOf','SchemaClassAttribute','min_cardinality','0','INTEGER',0),
+('EntityCompartment:definition','SchemaClassAttribute','name','definition','STRING',0),
+('EntityCompartment:definition','SchemaClassAttribute','class','EntityCompartment','SchemaClass',0),
+('EntityCompartment:definition','SchemaClassAttribute','origin','GO_CellularComponent','SchemaClass',0),
+('EntityCompartment:definition','SchemaClassAttribute','type','db_string_type','SYMBOL',0),
+('EntityCompartment:definition','SchemaClassAttribute','multiple','FALSE','SYMBOL',0),
+('EntityCompartment:definition','SchemaClassAttribute','db_col_type','TEXT','STRING',0),
+('EntityCompartment:definition','SchemaClassAttribute','category','OPTIONAL','SYMBOL',0),
+('EntityCompartment:definition','SchemaClassAttribute','min_cardinality','0','INTEGER',0),
+('EntityCompartment:definition','SchemaClassAttribute','max_cardinality','1','INTEGER',0),
+('EntityCompartment:hasPart','SchemaClassAttribute','name','hasPart','STRING',0),
+('EntityCompartment:hasPart','SchemaClassAttribute','class','EntityCompartment','SchemaClass',0),
+('EntityCompartment:hasPart','SchemaClassAttribute','origin','GO_CellularComponent','SchemaClass',0),
+('EntityCompartment:hasPart','SchemaClassAttribute','type','db_instance_type','SYMBOL',0),
+('EntityCompartment:hasPart','SchemaClassAttribute','multiple','TRUE','SYMBOL',0),
+('EntityCompartment:hasPart','SchemaClassAttribute','allowed_classes','GO_CellularComponent','SchemaClass',0),
+('EntityCompartment:hasPart','SchemaClassAttribute','db_col_type','INTEGER(10) UNSIGNED','STRING',0),
+('EntityCompartment:hasPart','SchemaClassAttribute','category','OPTIONAL','SYMBOL',0),
+('EntityCompartment:hasPart','SchemaClassAttribute','min_cardinality','0','INTEGER',0),
+('EntityCompartment:instanceOf','SchemaClassAttribute','name','instanceOf','STRING',0),
+('EntityCompartment:instanceOf','SchemaClassAttribute','class','EntityCompartment','SchemaClass',0),
+('EntityCompartment:instanceOf','SchemaClassAttribute','origin','GO_CellularComponent','SchemaClass',0),
+('EntityCompartment:instanceOf','SchemaClassAttribute','type','db_instance_type','SYMBOL',0),
+('EntityCompartment:instanceOf','SchemaClassAttribute','multiple','TRUE','SYMBOL',0),
+('EntityCompartment:instanceOf','SchemaClassAttribute','allowed_classes','GO_CellularComponent','SchemaClass',0),
+('EntityCompartment:instanceOf','SchemaClassAttribute','db_col_type','INTEGER(10) UNSIGNED','STRING',0),
+('EntityCompartment:instanceOf','SchemaClassAttribute','category','OPTIONAL','SYMBOL',0),
+('EntityCompartment:instanceOf','SchemaClassAttribute','min_cardinality','0','INTEGER',0),
+('EntityCompartment:name','SchemaClassAttribute','name','name','STRING',0),
+('EntityCompartment:name','SchemaClassAttribute','class','EntityCompartment','SchemaClass',0),
+('EntityCompartment:name','SchemaClassAttribute','origin','GO_CellularComponent','SchemaClass',0),
+('EntityCompartment:name','SchemaClassAttribute','type','db_string_type','SYMBOL',0),
+('EntityCompartment:name','SchemaClassAttribute','multiple','FALSE','SYMBOL',0),
+('EntityCompartment:name','SchemaClassAttribute','db_col_type','TEXT','STRING',0),
+('EntityCompartment:name','SchemaClassAttribute','category','OPTIONAL','SYMBOL',0),
+('EntityCompartment:name','SchemaClassAttribute','min_cardinality','0','INTEGER',0),
+('EntityCompartment:name','SchemaClassAttribute','max_cardinality','1','INTEGER',0),
+('EntityCompartment:referenceDatabase','SchemaClassAttribute','name','referenceDatabase','STRING',0),
+('EntityCompartment:referenceDatabase','SchemaClassAttribute','class','EntityCompartment','SchemaClass',0),
+('EntityCompartment:referenceDatabase','SchemaClassAttribute','origin','GO_CellularComponent','SchemaClass',0),
+('EntityCompartment:referenceDatabase','SchemaClassAttribute','type','db_instance_type','SYMBOL',0),
+('EntityCompartment:referenceDatabase','SchemaClassAttribute','multiple','FALSE','SYMBOL',0),
+('EntityCompartment:referenceDatabase','SchemaClassAttribute','allowed_classes','ReferenceDatabase','SchemaClass',0),
+('EntityCompartment:referenceDatabase','SchemaClassAttribute','db_col_type','INTEGER(10) UNSIGNED','STRING',0),
+('EntityCompartment:referenceDatabase','SchemaClassAttribute','category','OPTIONAL','SYMBOL',0),
+('EntityCompartment:referenceDatabase','SchemaClassAttribute','min_cardinality','0','INTEGER',0),
+('EntityCompartment:referenceDatabase','SchemaClassAttribute','max_cardinality','1','INTEGER',0);
+
+INSERT INTO `DataModel` VALUES
+('Event','SchemaClass','abstract','TRUE','SYMBOL',0),
+('Event','SchemaClass','super_classes','DatabaseObject','SchemaClass',0),
+('Event','SchemaClass','attributes','Event:DB_ID','SchemaClassAttribute',0),
+('Event','SchemaClass','attributes','Event:_displayName','SchemaClassAttribute',1),
+('Event','SchemaClass','attributes','Event:created','SchemaClassAttribute',2),
+('Event','SchemaClass','attributes','Event:modified','SchemaClassAttribute',3),
+('Event','SchemaClass','attributes','Event:compartment','SchemaClassAttribute',4),
+('Event','SchemaClass','attributes','Event:goBiologicalProcess','SchemaClassAttribute',5),
+('Event','SchemaClass','attributes','Event:name','SchemaClassAttribute',6),
+('Event:DB_ID','SchemaClassAttribute','name','DB_ID','STRING',0),
+('Event:DB_ID','SchemaClassAttribute','class','Event','SchemaClass',0),
+('Event:DB_ID','SchemaClassAttribute','origin','DatabaseObject','SchemaClass',0),
+('Event:DB_ID','SchemaClassAttribute','type','db_integer_type','SYMBOL',0),
+('Event:DB_ID','SchemaClassAttribute','multiple','FALSE','SYMBOL',0),
+('Event:DB_ID','SchemaClassAttribute','db_col_type','INT(10) UNSIGNED','STRING',0),
+('Event:DB_ID','SchemaClassAttribute','category','NOMANUALEDIT','SYMBOL',0),
+('Event:DB_ID','SchemaClassAttribute','min_cardinality','1','INTEGER',0),
+('Event:DB_ID','SchemaClassAttribute','max_cardinality','1','INTEGER',0),
+('Event:_displayName','SchemaClassAttribute','name','_displayName','STRING',0),
+('Event:_displayName','SchemaClassAttribute','class','Event','SchemaClass',0),
+('Event:_displayName','SchemaClassAttribute','origin','DatabaseObject','SchemaClass',0),
+('Event:_displayName','SchemaClassAttribute','type','db_string_type','SYMBOL',0),
+('Event:_displayName','SchemaClassAttribute','multiple','FALSE','SYMBOL',0),
+('Event:_displayName','SchemaClassAttribute','db_col_type','TEXT','STRING',0),
+('Event:_displayName','SchemaClassAttribute','category','NOMANUALEDIT','SYMBOL',0),
+('Event:_displayName','SchemaClassAttribute','min_cardinality','0','INTEGER',0),
+('Event:_displayName','SchemaClassAttribute','max_cardinality','1','INTEGER',0),
+('Event:created','SchemaClassAttribute','name','created','STRING',0),
+('Event:created','SchemaClassAttribute','class','Event','SchemaClass',0),
+('Event:created','SchemaClassAttribute','origin','DatabaseObject','SchemaClass',0),
+('Event:created','SchemaClassAttribute','type','db_instance_type','SYMBOL',0),
+('Event:created','SchemaClassAttribute','multiple','FALSE','SYMBOL',0),
+('Event:created','SchemaClassAttribute','allowed_classes','InstanceEdit','SchemaClass',0),
+('Event:created','SchemaClassAttribute','db_col_type','INTEGER(10) UNSIGNED','STRING',0),
+('Event:created','SchemaClassAttribute','category','OPTIONAL','SYMBOL',0),
+('Event:created','SchemaClassAttribute','min_cardinality','0','INTEGER',0),
+('Event:created','SchemaClassAttribute','max_cardinality','1','INTEGER',0),
+('Event:modified','SchemaClassAttribute','name','modified','STRING',0),
+('Event:modified','SchemaClassAttribute','class','Event','SchemaClass',0),
+('Event:modified','SchemaClassAttribute','origin','DatabaseObject','SchemaClass',0),
+('Event:modified','SchemaClassAttribute','type','db_instance_type','SYMBOL',0),
+('Event:modified','SchemaClassAttribute','multiple','TRUE','SYMBOL',0),
+('Event:modified','SchemaClassAttribute','allowed_classes','InstanceEdit','SchemaClass',0),
+('Event:modified','SchemaClassAttribute','db_col_type','INTEGER(10) UNSIGNED','STRING',0),
+('Event:modified','SchemaClassAttribute','category','OPTIONAL','SYMBOL',0),
+('Event:modified','SchemaClassAttribute','min_cardinality','0','INTEGER',0),
+('Event:compartment','SchemaClassAttribute','name','compartment','STRING',0),
+('Event:compartment','SchemaClassAttribute','class','Event','SchemaClass',0),
+('Event:compartment','SchemaClassAttribute','origin','Event','SchemaClass',0),
+('Event:compartment','SchemaClassAttribute','type','db_instance_type','SYMBOL',0),
+('Event:compartment','SchemaClassAttribute','multiple','TRUE','SYMBOL',0),
+('Event:compartment','SchemaClassAttribute','allowed_classes','Compartment','SchemaClass',0),
+('Event:compartment','SchemaClassAttribute','db_col_type','INTEGER(10) UNSIGNED','STRING',0),
+('Event:compartment','SchemaClassAttribute','category','OPTIONAL','SYMBOL',0),
+('Event:compartment','SchemaClassAttribute','min_cardinality','0','INTEGER',0),
+('Event:goBiologicalProcess','SchemaClassAttribute','name','goBiologicalProcess','STRING',0),
+('Event:goBiologicalProcess','SchemaClassAttribute','class','Event','SchemaClass',0),
+('Event:goBiologicalProcess','SchemaClassAttribute','origin','Event','SchemaClass',0),
+('Event:goBiologicalProcess','SchemaClassAttribute','type','db_instance_type','SYMBOL',0),
+('Event:goBiologicalProcess','SchemaClassAttribute','multiple','FALSE','SYMBOL',0),
+('Event:goBiologicalProcess','SchemaClassAttribute','allowed_classes','GO_BiologicalProcess','SchemaClass',0),
+('Event:goBiologicalProcess','SchemaClassAttribute','db_col_type','INTEGER(10) UNSIGNED','STRING',0),
+('Event:goBiologicalProcess','SchemaClassAttribute','category','OPTIONAL','SYMBOL',0),
+('Event:goBiologicalProcess','SchemaClassAttribute','min_cardinality','0','INTEGER',0),
+('Event:goBiologicalProcess','SchemaClassAttribute','max_cardinality','1','INTEGER',0),
+('Event:name','SchemaClassAttribute','name','name','STRING',0),
+('Event:name','SchemaClassAttribute','class','Event','SchemaClass',0),
+('Event:name','SchemaClassAttribute','origin','Event','SchemaClass',0),
+('Event:name','SchemaClassAttribute','type','db_string_type','SYMBOL',0),
+('Event:name','SchemaClassAttribute','multiple','TRUE','SYMBOL',0),
+('Event:name','SchemaClassAttribute','db_col_type','TEXT','STRING',0),
+('Event:name','SchemaClassAttribute','category','OPTIONAL','SYMBOL',0),
+('Event:name','SchemaClassAttribute','min_cardinality','0','INTEGER',0);
+
+INSERT INTO `DataModel` VALUES
+('ReactionlikeEvent','SchemaClass','abstract','TRUE','SYMBOL',0),
+('ReactionlikeEvent','SchemaClass','super_classes','Event','SchemaClass',0),
+('ReactionlikeEvent','SchemaClass','attributes','ReactionlikeEvent:DB_ID','SchemaClassAttribute',0),
+('ReactionlikeEvent','SchemaClass','attributes','ReactionlikeEvent:_displayName','SchemaClassAttribute',1),
+('ReactionlikeEvent','SchemaClass','attributes','ReactionlikeEvent:created','SchemaClassAttribute',2),
+('ReactionlikeEvent','SchemaClass','attributes','ReactionlikeEvent:modified','SchemaClassAttribute',3),
+('ReactionlikeEvent','SchemaClass','attributes','ReactionlikeEvent:compartment','SchemaClassAttribute',4),
+('ReactionlikeEvent','SchemaClass','attributes','ReactionlikeEvent:goBiologicalProcess','SchemaClassAttribute',5),
+('ReactionlikeEvent','SchemaClass','attributes','ReactionlikeEvent:name','SchemaClassAttribute',6),
+('ReactionlikeEvent','SchemaClass','attributes','ReactionlikeEvent:catalystActivity','SchemaClassAttribute',7),
+('ReactionlikeEvent:DB_ID','SchemaClassAttribute','name','DB_ID','STRING',0),
+('ReactionlikeEvent:DB_ID','SchemaClassAttribute','class','ReactionlikeEvent','SchemaClass',0),
+('ReactionlikeEvent:DB_ID','SchemaClassAttribute','origin','DatabaseObject','SchemaClass',0),
+('ReactionlikeEvent:DB_ID','SchemaClassAttribute','type','db_integer_type','SYMBOL',0),
+('ReactionlikeEvent:DB_ID','SchemaClassAttribute','multiple','FALSE','SYMBOL',0),
+('ReactionlikeEvent:DB_ID','SchemaClassAttribute','db_col_type','INT(10) UNSIGNED','STRING',0),
+('ReactionlikeEvent:DB_ID','SchemaClassAttribute','category','NOMANUALEDIT','SYMBOL',0),
+('ReactionlikeEvent:DB_ID','SchemaClassAttribute','min_cardinality','1','INTEGER',0),
+('ReactionlikeEvent:DB_ID','SchemaClassAttribute','max_cardinality','1','INTEGER',0),
+('ReactionlikeEvent:_displayName','SchemaClassAttribute','name','_displayName','STRING',0),
+('ReactionlikeEvent:_displayName','SchemaClassAttribute','class','ReactionlikeEvent','SchemaClass',0),
+('ReactionlikeEvent:_displayName','SchemaClassAttribute','origin','DatabaseObject','SchemaClass',0),
+('ReactionlikeEvent:_displayName','SchemaClassAttribute','type','db_string_type','SYMBOL',0),
+('ReactionlikeEvent:_displayName','SchemaClassAttribute','multiple','FALSE','SYMBOL',0),
+('ReactionlikeEvent:_displayName','SchemaClassAttribute','db_col_type','TEXT','STRING',0),
+('ReactionlikeEvent:_displayName','SchemaClassAttribute','category','NOMANUALEDIT','SYMBOL',0),
+('ReactionlikeEvent:_displayName','SchemaClassAttribute','min_cardinality','0','INTEGER',0),
+('ReactionlikeEvent:_displayName','SchemaClassAttribute','max_cardinality','1','INTEGER',0),
+('ReactionlikeEvent:created','SchemaClassAttribute','name','created','STRING',0),
+('ReactionlikeEvent:created','SchemaClassAttribute','class','ReactionlikeEvent','SchemaClass',0),
+('ReactionlikeEvent:created','SchemaClassAttribute','origin','DatabaseObject','SchemaClass',0),
+('ReactionlikeEvent:created','SchemaClassAttribute','type','db_instance_type','SYMBOL',0),
+('ReactionlikeEvent:created','SchemaClassAttribute','multiple','FALSE','SYMBOL',0),
+('ReactionlikeEvent:created','SchemaClassAttribute','allowed_classes','InstanceEdit','SchemaClass',0),
+('ReactionlikeEvent:created','SchemaClassAttribute','db_col_type','INTEGER(10) UNSIGNED','STRING',0),
+('ReactionlikeEvent:created','SchemaClassAttribute','category','OPTIONAL','SYMBOL',0),
+('ReactionlikeEvent:created','SchemaClassAttribute','min_cardinality','0','INTEGER',0),
+('ReactionlikeEvent:created','SchemaClassAttribute','max_cardinality','1','INTEGER',0),
+('ReactionlikeEvent:modified','SchemaClassAttribute','name','modified','STRING',0),
+('ReactionlikeEvent:modified','SchemaClassAttribute','class','ReactionlikeEvent','SchemaClass',0),
+('ReactionlikeEvent:modified','SchemaClassAttribute','origin','DatabaseObject','SchemaClass',0),
+('ReactionlikeEvent:modified','SchemaClassAttribute','type','db_instance_type','SYMBOL',0),
+('ReactionlikeEvent:modified','SchemaClassAttribute','multiple','TRUE','SYMBOL',0),
+('ReactionlikeEvent:modified','SchemaClassAttribute','allowed_classes','InstanceEdit','SchemaClass',0),
+('ReactionlikeEvent:modified','SchemaClassAttribute','db_col_type','INTEGER(10) UNSIGNED','STRING',0),
+('ReactionlikeEvent:modified','SchemaClassAttribute','category','OPTIONAL','SYMBOL',0),
+('ReactionlikeEvent:modified','SchemaClassAttribute','min_cardinality','0','INTEGER',0),
+('ReactionlikeEvent:compartment','SchemaClassAttribute','name','compartment','STRING',0),
+('ReactionlikeEvent:compartment','SchemaClassAttribute','class','ReactionlikeEvent','SchemaClass',0),
+('ReactionlikeEvent:compartment','SchemaClassAttribute','origin','Event','SchemaClass',0),
+('ReactionlikeEvent:compartment','SchemaClassAttribute','type','db_instance_type','SYMBOL',0),
+('ReactionlikeEvent:compartment','SchemaClassAttribute','multiple','TRUE','SYMBOL',0),
+('ReactionlikeEvent:compartment','SchemaClassAttribute','allowed_classes','Compartment','SchemaClass',0),
+('ReactionlikeEvent:compartment','SchemaClassAttribute','db_col_type','INTEGER(10) UNSIGNED','STRING',0),
+('ReactionlikeEvent:compartment','SchemaClassAttribute','category','OPTIONAL','SYMBOL',0),
+('ReactionlikeEvent:compartment','SchemaClassAttribute','min_cardinality','0','INTEGER',0),
+('ReactionlikeEvent:goBiologicalProcess','SchemaClassAttribute','name','goBiologicalProcess','STRING',0),
+('ReactionlikeEvent:goBiologicalProcess','SchemaClassAttribute','class','ReactionlikeEvent','SchemaClass',0),
+('ReactionlikeEvent:goBiologicalProcess','SchemaClassAttribute','origin','Event','SchemaClass',0),
+('ReactionlikeEvent:goBiologicalProcess','SchemaClassAttribute','type','db_instance_type','SYMBOL',0),
+('ReactionlikeEvent:goBiologicalProcess','SchemaClassAttribute','multiple','FALSE','SYMBOL',0),
+('ReactionlikeEvent:goBiologicalProcess','SchemaClassAttribute','allowed_classes','GO_BiologicalProcess','SchemaClass',0),
+('ReactionlikeEvent:goBiologicalProcess','SchemaClassAttribute','db_col_type','INTEGER(10) UNSIGNED','STRING',0),
+('ReactionlikeEvent:goBiologicalProcess','SchemaClassAttribute','category','OPTIONAL','SYMBOL',0),
+('ReactionlikeEvent:goBiologicalProcess','SchemaClassAttribute','min_cardinality','0','INTEGER',0),
+('ReactionlikeEvent:goBiologicalProcess','SchemaClassAttribute','max_cardinality','1','INTEGER',0),
+('ReactionlikeEvent:name','SchemaClassAttribute','name','name','STRING',0),
+('ReactionlikeEvent:name','SchemaClassAttribute','class','ReactionlikeEvent','SchemaClass',0),
+('ReactionlikeEvent:name','SchemaClassAttribute','origin','Event','SchemaClass',0),
+('ReactionlikeEvent:name','SchemaClassAttribute','type','db_string_type','SYMBOL',0),
+('ReactionlikeEvent:name','SchemaClassAttribute','multiple','TRUE','SYMBOL',0),
+('ReactionlikeEvent:name','SchemaClassAttribute','db_col_type','TEXT','STRING',0),
+('ReactionlikeEvent:name','SchemaClassAttribute','category','OPTIONAL','SYMBOL',0),
+('ReactionlikeEvent:name','SchemaClassAttribute','min_cardinality','0','INTEGER',0),
+('ReactionlikeEvent:catalystActivity','SchemaClassAttribute','name','catalystActivity','STRING',0),
+('ReactionlikeEvent:catalystActivity','SchemaClassAttribute','class','ReactionlikeEvent','SchemaClass',0),
+('ReactionlikeEvent:catalystActivity','SchemaClassAttribute','origin','ReactionlikeEvent','SchemaClass',0),
+('ReactionlikeEvent:catalystActivity','SchemaClassAttribute','type','db_instance_type','SYMBOL',0),
+('ReactionlikeEvent:catalystActivity','SchemaClassAttribute','multiple','TRUE','SYMBOL',0),
+('ReactionlikeEvent:catalystActivity','SchemaClassAttribute','allowed_classes','CatalystActivity','SchemaClass',0),
+('ReactionlikeEvent:catalystActivity','SchemaClassAttribute','db_col_type','INTEGER(10) UNSIGNED','STRING',0),
+('ReactionlikeEvent:catalystActivity','SchemaClassAttribute','category','OPTIONAL','SYMBOL',0),
+('ReactionlikeEvent:catalystActivity','SchemaClassAttribute','min_cardinality','0','INTEGER',0);
+
+INSERT INTO `DataModel` VALUES
+('Reaction','SchemaClass','abstract','FALSE','SYMBOL',0),
+('Reaction','SchemaClass','super_classes','ReactionlikeEvent','SchemaClass',0),
+('Reaction','SchemaClass','attributes','Reaction:DB_ID','SchemaClassAttribute',0),
+('Reaction','SchemaClass','attributes','Reaction:_displayName','SchemaClassAttribute',1),
+('Reaction','SchemaClass','attributes','Reaction:created','SchemaClassAttribute',2),
+('Reaction','SchemaClass','attributes','Reaction:modified','SchemaClassAttribute',3),
+('Reaction','SchemaClass','attributes','Reaction:compartment','SchemaClassAttribute',4),
+('Reaction','SchemaClass','attributes','Reaction:goBiologicalProcess','SchemaClassAttribute',5),
+('Reaction','SchemaClass','attributes','Reaction:name','SchemaClassAttribute',6),
+('Reaction','SchemaClass','attributes','Reaction:catalystActivity','SchemaClassAttribute',7),
+('Reaction:DB_ID','SchemaClassAttribute','name','DB_ID','STRING',0),
+('Reaction:DB_ID','SchemaClassAttribute','class','Reaction','SchemaClass',0),
+('Reaction:DB_ID','SchemaClassAttribute','origin','DatabaseObject','SchemaClass',0),
+('Reaction:DB_ID','SchemaClassAttribute','type','db_integer_type','SYMBOL',0),
+('Reaction:DB_ID','SchemaClassAttribute','multiple','FALSE','SYMBOL',0),
+('Reaction:DB_ID','SchemaClassAttribute','db_col_type','INT(10) UNSIGNED','STRING',0),
+('Reaction:DB_ID','SchemaClassAttribute','category','NOMANUALEDIT','SYMBOL',0),
+('Reaction:DB_ID','SchemaClassAttribute','min_cardinality','1','INTEGER',0),
+('Reaction:DB_ID','SchemaClassAttribute','max_cardinality','1','INTEGER',0),
+('Reaction:_displayName','SchemaClassAttribute','name','_displayName','STRING',0),
+('Reaction:_displayName','SchemaClassAttribute','class','Reaction','SchemaClass',0),
+('Reaction:_displayName','SchemaClassAttribute','origin','DatabaseObject','SchemaClass',0),
+('Reaction:_displayName','SchemaClassAttribute','type','db_string_type','SYMBOL',0),
+('Reaction:_displayName','SchemaClassAttribute','multiple','FALSE','SYMBOL',0),
+('Reaction:_displayName','SchemaClassAttribute','db_col_type','TEXT','STRING',0),
+('Reaction:_displayName','SchemaClassAttribute','category','NOMANUALEDIT','SYMBOL',0),
+('Reaction:_displayName','SchemaClassAttribute','min_cardinality','0','INTEGER',0),
+('Reaction:_displayName','SchemaClassAttribute','max_cardinality','1','INTEGER',0),
+('Reaction:created','SchemaClassAttribute','name','created','STRING',0),
+('Reaction:created','SchemaClassAttribute','class','Reaction','SchemaClass',0),
+('Reaction:created','SchemaClassAttribute','origin','DatabaseObject','SchemaClass',0),
+('Reaction:created','SchemaClassAttribute','type','db_instance_type','SYMBOL',0),
+('Reaction:created','SchemaClassAttribute','multiple','FALSE','SYMBOL',0),
+('Reaction:created','SchemaClassAttribute','allowed_classes','InstanceEdit','SchemaClass',0),
+('Reaction:created','SchemaClassAttribute','db_col_type','INTEGER(10) UNSIGNED','STRING',0),
+('Reaction:created','SchemaClassAttribute','category','OPTIONAL','SYMBOL',0),
+('Reaction:created','SchemaClassAttribute','min_cardinality','0','INTEGER',0),
+('Reaction:created','SchemaClassAttribute','max_cardinality','1','INTEGER',0),
+('Reaction:modified','SchemaClassAttribute','name','modified','STRING',0),
+('Reaction:modified','SchemaClassAttribute','class','Reaction','SchemaClass',0),
+('Reaction:modified','SchemaClassAttribute','origin','DatabaseObject','SchemaClass',0),
+('Reaction:modified','SchemaClassAttribute','type','db_instance_type','SYMBOL',0),
+('Reaction:modified','SchemaClassAttribute','multiple','TRUE','SYMBOL',0),
+('Reaction:modified','SchemaClassAttribute','allowed_classes','InstanceEdit','SchemaClass',0),
+('Reaction:modified','SchemaClassAttribute','db_col_type','INTEGER(10) UNSIGNED','STRING',0),
+('Reaction:modified','SchemaClassAttribute','category','OPTIONAL','SYMBOL',0),
+('Reaction:modified','SchemaClassAttribute','min_cardinality','0','INTEGER',0),
+('Reaction:compartment','SchemaClassAttribute','name','compartment','STRING',0),
+('Reaction:compartment','SchemaClassAttribute','class','Reaction','SchemaClass',0),
+('Reaction:compartment','SchemaClassAttribute','origin','Event','SchemaClass',0),
+('Reaction:compartment','SchemaClassAttribute','type','db_instance_type','SYMBOL',0),
+('Reaction:compartment','SchemaClassAttribute','multiple','TRUE','SYMBOL',0),
+('Reaction:compartment','SchemaClassAttribute','allowed_classes','Compartment','SchemaClass',0),
+('Reaction:compartment','SchemaClassAttribute','db_col_type','INTEGER(10) UNSIGNED','STRING',0),
+('Reaction:compartment','SchemaClassAttribute','category','OPTIONAL','SYMBOL',0),
+('Reaction:compartment','SchemaClassAttribute','min_cardinality','0','INTEGER',0),
+('Reaction:goBiologicalProcess','SchemaClassAttribute','name','goBiologicalProcess','STRING',0),
+('Reaction:goBiologicalProcess','SchemaClassAttribute','class','Reaction','SchemaClass',0),
+('Reaction:goBiologicalProcess','SchemaClassAttribute','origin','Event','SchemaClass',0),
+('Reaction:goBiologicalProcess','SchemaClassAttribute','type','db_instance_type','SYMBOL',0),
+('Reaction:goBiologicalProcess','SchemaClassAttribute','multiple','FALSE','SYMBOL',0),
+('Reaction:goBiologicalProcess','SchemaClassAttribute','allowed_classes','GO_BiologicalProcess','SchemaClass',0),
+('Reaction:goBiologicalProcess','SchemaClassAttribute','db_col_type','INTEGER(10) UNSIGNED','STRING',0),
+('Reaction:goBiologicalProcess','SchemaClassAttribute','category','OPTIONAL','SYMBOL',0),
+('Reaction:goBiologicalProcess','SchemaClassAttribute','min_cardinality','0','INTEGER',0),
+('Reaction:goBiologicalProcess','SchemaClassAttribute','max_cardinality','1','INTEGER',0),
+('Reaction:name','SchemaClassAttribute','name','name','STRING',0),
+('Reaction:name','SchemaClassAttribute','class','Reaction','SchemaClass',0),
+('Reaction:name','SchemaClassAttribute','origin','Event','SchemaClass',0),
+('Reaction:name','SchemaClassAttribute','type','db_string_type','SYMBOL',0),
+('Reaction:name','SchemaClassAttribute','multiple','TRUE','SYMBOL',0),
+('Reaction:name','SchemaClassAttribute','db_col_type','TEXT','STRING',0),
+('Reaction:name','SchemaClassAttribute','category','OPTIONAL','SYMBOL',0),
+('Reaction:name','SchemaClassAttribute','min_cardinality','0','INTEGER',0),
+('Reaction:catalystActivity','SchemaClassAttribute','name','catalystActivity','STRING',0),
+('Reaction:catalystActivity','SchemaClassAttribute','class','Reaction','SchemaClass',0),
+('Reaction:catalystActivity','SchemaClassAttribute','origin','ReactionlikeEvent','SchemaClass',0),
+('Reaction:catalystActivity','SchemaClassAttribute','type','db_instance_type','SYMBOL',0),
+('Reaction:catalystActivity','SchemaClassAttribute','multiple','TRUE','SYMBOL',0),
+('Reaction:catalystActivity','SchemaClassAttribute','allowed_classes','CatalystActivity','SchemaClass',0),
+('Reaction:catalystActivity','SchemaClassAttribute','db_col_type','INTEGER(10) UNSIGNED','STRING',0),
+('Reaction:catalystActivity','SchemaClassAttribute','category','OPTIONAL','SYMBOL',0),
+('Reaction:catalystActivity','SchemaClassAttribute','min_cardinality','0','INTEGER',0);
+
+INSERT INTO `DataModel` VALUES
+('PhysicalEntity','SchemaClass','abstract','TRUE','SYMBOL',0),
+('PhysicalEntity','SchemaClass','super_classes','DatabaseObject','SchemaClass',0),
+('PhysicalEntity','SchemaClass','attributes','PhysicalEntity:DB_ID','SchemaClassAttribute',0),
+('PhysicalEntity','SchemaClass','attributes','PhysicalEntity:_displayName','SchemaClassAttribute',1),
+('PhysicalEntity','SchemaClass','attributes','PhysicalEntity:created','SchemaClassAttribute',2),
+('PhysicalEntity','SchemaClass','attributes','PhysicalEntity:modified','SchemaClassAttribute',3),
+('PhysicalEntity','SchemaClass','attributes','PhysicalEntity:compartment','SchemaClassAttribute',4),
+('PhysicalEntity','SchemaClass','attributes','PhysicalEntity:name','SchemaClassAttribute',5),
+('PhysicalEntity:DB_ID','SchemaClassAttribute','name','DB_ID','STRING',0),
+('PhysicalEntity:DB_ID','SchemaClassAttribute','class','PhysicalEntity','SchemaClass',0),
+('PhysicalEntity:DB_ID','SchemaClassAttribute','origin','DatabaseObject','SchemaClass',0),
+('PhysicalEntity:DB_ID','SchemaClassAttribute','type','db_integer_type','SYMBOL',0),
+('PhysicalEntity:DB_ID','SchemaClassAttribute','multiple','FALSE','SYMBOL',0),
+('PhysicalEntity:DB_ID','SchemaClassAttribute','db_col_type','INT(10) UNSIGNED','STRING',0),
+('PhysicalEntity:DB_ID','SchemaClassAttribute','category','NOMANUALEDIT','SYMBOL',0),
+('PhysicalEntity:DB_ID','SchemaClassAttribute','min_cardinality','1','INTEGER',0),
+('PhysicalEntity:DB_ID','SchemaClassAttribute','max_cardinality','1','INTEGER',0),
+('PhysicalEntity:_displayName','SchemaClassAttribute','name','_displayName','STRING',0),
+('PhysicalEntity:_displayName','SchemaClassAttribute','class','PhysicalEntity','SchemaClass',0),
+('PhysicalEntity:_displayName','SchemaClassAttribute','origin','DatabaseObject','SchemaClass',0),
+('PhysicalEntity:_displayName','SchemaClassAttribute','type','db_string_type','SYMBOL',0),
+('PhysicalEntity:_displayName','SchemaClassAttribute','multiple','FALSE','SYMBOL',0),
+('PhysicalEntity:_displayName','SchemaClassAttribute','db_col_type','TEXT','STRING',0),
+('PhysicalEntity:_displayName','SchemaClassAttribute','category','NOMANUALEDIT','SYMBOL',0),
+('PhysicalEntity:_displayName','SchemaClassAttribute','min_cardinality','0','INTEGER',0),
+('PhysicalEntity:_displayName','SchemaClassAttribute','max_cardinality','1','INTEGER',0),
+('PhysicalEntity:created','SchemaClassAttribute','name','created','STRING',0),
+('PhysicalEntity:created','SchemaClassAttribute','class','PhysicalEntity','SchemaClass',0),
+('PhysicalEntity:created','SchemaClassAttribute','origin','DatabaseObject','SchemaClass',0),
+('PhysicalEntity:created','SchemaClassAttribute','type','db_instance_type','SYMBOL',0),
+('PhysicalEntity:created','SchemaClassAttribute','multiple','FALSE','SYMBOL',0),
+('PhysicalEntity:created','SchemaClassAttribute','allowed_classes','InstanceEdit','SchemaClass',0),
+('PhysicalEntity:created','SchemaClassAttribute','db_col_type','INTEGER(10) UNSIGNED','STRING',0),
+('PhysicalEntity:created','SchemaClassAttribute','category','OPTIONAL','SYMBOL',0),
+('PhysicalEntity:created','SchemaClassAttribute','min_cardinality','0','INTEGER',0),
+('PhysicalEntity:created','SchemaClassAttribute','max_cardinality','1','INTEGER',0),
+('PhysicalEntity:modified','SchemaClassAttribute','name','modified','STRING',0),
+('PhysicalEntity:modified','SchemaClassAttribute','class','PhysicalEntity','SchemaClass',0),
+('PhysicalEntity:modified','SchemaClassAttribute','origin','DatabaseObject','SchemaClass',0),
+('PhysicalEntity:modified','SchemaClassAttribute','type','db_instance_type','SYMBOL',0),
+('PhysicalEntity:modified','SchemaClassAttribute','multiple','TRUE','SYMBOL',0),
+('PhysicalEntity:modified','SchemaClassAttribute','allowed_classes','InstanceEdit','SchemaClass',0),
+('PhysicalEntity:modified','SchemaClassAttribute','db_col_type','INTEGER(10) UNSIGNED','STRING',0),
+('PhysicalEntity:modified','SchemaClassAttribute','category','OPTIONAL','SYMBOL',0),
+('PhysicalEntity:modified','SchemaClassAttribute','min_cardinality','0','INTEGER',0),
+('PhysicalEntity:compartment','SchemaClassAttribute','name','compartment','STRING',0),
+('PhysicalEntity:compartment','SchemaClassAttribute','class','PhysicalEntity','SchemaClass',0),
+('PhysicalEntity:compartment','SchemaClassAttribute','origin','PhysicalEntity','SchemaClass',0),
+('PhysicalEntity:compartment','SchemaClassAttribute','type','db_instance_type','SYMBOL',0),
+('PhysicalEntity:compartment','SchemaClassAttribute','multiple','TRUE','SYMBOL',0),
+('PhysicalEntity:compartment','SchemaClassAttribute','allowed_classes','Compartment','SchemaClass',0),
+('PhysicalEntity:compartment','SchemaClassAttribute','db_col_type','INTEGER(10) UNSIGNED','STRING',0),
+('PhysicalEntity:compartment','SchemaClassAttribute','category','OPTIONAL','SYMBOL',0),
+('PhysicalEntity:compartment','SchemaClassAttribute','min_cardinality','0','INTEGER',0),
+('PhysicalEntity:name','SchemaClassAttribute','name','name','STRING',0),
+('PhysicalEntity:name','SchemaClassAttribute','class','PhysicalEntity','SchemaClass',0),
+('PhysicalEntity:name','SchemaClassAttribute','origin','PhysicalEntity','SchemaClass',0),
+('PhysicalEntity:name','SchemaClassAttribute','type','db_string_type','SYMBOL',0),
+('PhysicalEntity:name','SchemaClassAttribute','multiple','TRUE','SYMBOL',0),
+('PhysicalEntity:name','SchemaClassAttribute','db_col_type','TEXT','STRING',0),
+('PhysicalEntity:name','SchemaClassAttribute','category','OPTIONAL','SYMBOL',0),
+('PhysicalEntity:name','SchemaClassAttribute','min_cardinality','0','INTEGER',0);
+
+INSERT INTO `DataModel` VALUES
+('SimpleEntity','SchemaClass','abstract','FALSE','SYMBOL',0),
+('SimpleEntity','SchemaClass','super_classes','PhysicalEntity','SchemaClass',0),
+('SimpleEntity','SchemaClass','attributes','SimpleEntity:DB_ID','SchemaClassAttribute',0),
+('SimpleEntity','SchemaClass','attributes','SimpleEntity:_displayName','SchemaClassAttribute',1),
+('SimpleEntity','SchemaClass','attributes','SimpleEntity:created','SchemaClassAttribute',2),
+('SimpleEntity','SchemaClass','attributes','SimpleEntity:modified','SchemaClassAttribute',3),
+('SimpleEntity','SchemaClass','attributes','SimpleEntity:compartment','SchemaClassAttribute',4),
+('SimpleEntity','SchemaClass','attributes','SimpleEntity:name','SchemaClassAttribute',5),
+('SimpleEntity:DB_ID','SchemaClassAttribute','name','DB_ID','STRING',0),
+('SimpleEntity:DB_ID','SchemaClassAttribute','class','SimpleEntity','SchemaClass',0),
+('SimpleEntity:DB_ID','SchemaClassAttribute','origin','DatabaseObject','SchemaClass',0),
+('SimpleEntity:DB_ID','SchemaClassAttribute','type','db_integer_type','SYMBOL',0),
+('SimpleEntity:DB_ID','SchemaClassAttribute','multiple','FALSE','SYMBOL',0),
+('SimpleEntity:DB_ID','SchemaClassAttribute','db_col_type','INT(10) UNSIGNED','STRING',0),
+('SimpleEntity:DB_ID','SchemaClassAttribute','category','NOMANUALEDIT','SYMBOL',0),
+('SimpleEntity:DB_ID','SchemaClassAttribute','min_cardinality','1','INTEGER',0),
+('SimpleEntity:DB_ID','SchemaClassAttribute','max_cardinality','1','INTEGER',0),
+('SimpleEntity:_displayName','SchemaClassAttribute','name','_displayName','STRING',0),
+('SimpleEntity:_displayName','SchemaClassAttribute','class','SimpleEntity','SchemaClass',0),
+('SimpleEntity:_displayName','SchemaClassAttribute','origin','DatabaseObject','SchemaClass',0),
+('SimpleEntity:_displayName','SchemaClassAttribute','type','db_string_type','SYMBOL',0),
+('SimpleEntity:_displayName','SchemaClassAttribute','multiple','FALSE','SYMBOL',0),
+('SimpleEntity:_displayName','SchemaClassAttribute','db_col_type','TEXT','STRING',0),
+('SimpleEntity:_displayName','SchemaClassAttribute','category','NOMANUALEDIT','SYMBOL',0),
+('SimpleEntity:_displayName','SchemaClassAttribute','min_cardinality','0','INTEGER',0),
+('SimpleEntity:_displayName','SchemaClassAttribute','max_cardinality','1','INTEGER',0),
+('SimpleEntity:created','SchemaClassAttribute','name','created','STRING',0),
+('SimpleEntity:created','SchemaClassAttribute','class','SimpleEntity','SchemaClass',0),
+('SimpleEntity:created','SchemaClassAttribute','origin','DatabaseObject','SchemaClass',0),
+('SimpleEntity:created','SchemaClassAttribute','type','db_instance_type','SYMBOL',0),
+('SimpleEntity:created','SchemaClassAttribute','multiple','FALSE','SYMBOL',0),
+('SimpleEntity:created','SchemaClassAttribute','allowed_classes','InstanceEdit','SchemaClass',0),
+('SimpleEntity:created','SchemaClassAttribute','db_col_type','INTEGER(10) UNSIGNED','STRING',0),
+('SimpleEntity:created','SchemaClassAttribute','category','OPTIONAL','SYMBOL',0),
+('SimpleEntity:created','SchemaClassAttribute','min_cardinality','0','INTEGER',0),
+('SimpleEntity:created','SchemaClassAttribute','max_cardinality','1','INTEGER',0),
+('SimpleEntity:modified','SchemaClassAttribute','name','modified','STRING',0),
+('SimpleEntity:modified','SchemaClassAttribute','class','SimpleEntity','SchemaClass',0),
+('SimpleEntity:modified','SchemaClassAttribute','origin','DatabaseObject','SchemaClass',0),
+('SimpleEntity:modified','SchemaClassAttribute','type','db_instance_type','SYMBOL',0),
+('SimpleEntity:modified','SchemaClassAttribute','multiple','TRUE','SYMBOL',0),
+('SimpleEntity:modified','SchemaClassAttribute','allowed_classes','InstanceEdit','SchemaClass',0),
+('SimpleEntity:modified','SchemaClassAttribute','db_col_type','INTEGER(10) UNSIGNED','STRING',0),
+('SimpleEntity:modified','SchemaClassAttribute','category','OPTIONAL','SYMBOL',0),
+('SimpleEntity:modified','SchemaClassAttribute','min_cardinality','0','INTEGER',0),
+('SimpleEntity:compartment','SchemaClassAttribute','name','compartment','STRING',0),
+('SimpleEntity:compartment','SchemaClassAttribute','class','SimpleEntity','SchemaClass',0),
+('SimpleEntity:compartment','SchemaClassAttribute','origin','PhysicalEntity','SchemaClass',0),
+('SimpleEntity:compartment','SchemaClassAttribute','type','db_instance_type','SYMBOL',0),
+('SimpleEntity:compartment','SchemaClassAttribute','multiple','TRUE','SYMBOL',0),
+('SimpleEntity:compartment','SchemaClassAttribute','allowed_classes','Compartment','SchemaClass',0),
+('SimpleEntity:compartment','SchemaClassAttribute','db_col_type','INTEGER(10) UNSIGNED','STRING',0),
+('SimpleEntity:compartment','SchemaClassAttribute','category','OPTIONAL','SYMBOL',0),
+('SimpleEntity:compartment','SchemaClassAttribute','min_cardinality','0','INTEGER',0),
+('SimpleEntity:name','SchemaClassAttribute','name','name','STRING',0),
+('SimpleEntity:name','SchemaClassAttribute','class','SimpleEntity','SchemaClass',0),
+('SimpleEntity:name','SchemaClassAttribute','origin','PhysicalEntity','SchemaClass',0),
+('SimpleEntity:name','SchemaClassAttribute','type','db_string_type','SYMBOL',0),
+('SimpleEntity:name','SchemaClassAttribute','multiple','TRUE','SYMBOL',0),
+('SimpleEntity:name','SchemaClassAttribute','db_col_type','TEXT','STRING',0),
+('SimpleEntity:name','SchemaClassAttribute','category','OPTIONAL','SYMBOL',0),
+('SimpleEntity:name','SchemaClassAttribute','min_cardinality','0','INTEGER',0);
+
+INSERT INTO `DataModel` VALUES
+('CatalystActivity','SchemaClass','abstract','FALSE','SYMBOL',0),
+('CatalystActivity','SchemaClass','super_classes','DatabaseObject','SchemaClass',0),
+('CatalystActivity','SchemaClass','attributes','CatalystActivity:DB_ID','SchemaClassAttribute',0),
+('CatalystActivity','SchemaClass','attributes','CatalystActivity:_displayName','SchemaClassAttribute',1),
+('CatalystActivity','SchemaClass','attributes','CatalystActivity:created','SchemaClassAttribute',2),
+('CatalystActivity','SchemaClass','attributes','CatalystActivity:modified','SchemaClassAttribute',3),
+('CatalystActivity','SchemaClass','attributes','CatalystActivity:activity','SchemaClassAttribute',4),
+('CatalystActivity','SchemaClass','attributes','CatalystActivity:physicalEntity','SchemaClassAttribute',5),
+('CatalystActivity:DB_ID','SchemaClassAttribute','name','DB_ID','STRING',0),
+('CatalystActivity:DB_ID','SchemaClassAttribute','class','CatalystActivity','SchemaClass',0),
+('CatalystActivity:DB_ID','SchemaClassAttribute','origin','DatabaseObject','SchemaClass',0),
+('CatalystActivity:DB_ID','SchemaClassAttribute','type','db_integer_type','SYMBOL',0),
+('CatalystActivity:DB_ID','SchemaClassAttribute','multiple','FALSE','SYMBOL',0),
+('CatalystActivity:DB_ID','SchemaClassAttribute','db_col_type','INT(10) UNSIGNED','STRING',0),
+('CatalystActivity:DB_ID','SchemaClassAttribute','category','NOMANUALEDIT','SYMBOL',0),
+('CatalystActivity:DB_ID','SchemaClassAttribute','min_cardinality','1','INTEGER',0),
+('CatalystActivity:DB_ID','SchemaClassAttribute','max_cardinality','1','INTEGER',0),
+('CatalystActivity:_displayName','SchemaClassAttribute','name','_displayName','STRING',0),
+('CatalystActivity:_displayName','SchemaClassAttribute','class','CatalystActivity','SchemaClass',0),
+('CatalystActivity:_displayName','SchemaClassAttribute','origin','DatabaseObject','SchemaClass',0),
+('CatalystActivity:_displayName','SchemaClassAttribute','type','db_string_type','SYMBOL',0),
+('CatalystActivity:_displayName','SchemaClassAttribute','multiple','FALSE','SYMBOL',0),
+('CatalystActivity:_displayName','SchemaClassAttribute','db_col_type','TEXT','STRING',0),
+('CatalystActivity:_displayName','SchemaClassAttribute','category','NOMANUALEDIT','SYMBOL',0),
+('CatalystActivity:_displayName','SchemaClassAttribute','min_cardinality','0','INTEGER',0),
+('CatalystActivity:_displayName','SchemaClassAttribute','max_cardinality','1','INTEGER',0),
+('CatalystActivity:created','SchemaClassAttribute','name','created','STRING',0),
+('CatalystActivity:created','SchemaClassAttribute','class','CatalystActivity','SchemaClass',0),
+('CatalystActivity:created','SchemaClassAttribute','origin','DatabaseObject','SchemaClass',0),
+('CatalystActivity:created','SchemaClassAttribute','type','db_instance_type','SYMBOL',0),
+('CatalystActivity:created','SchemaClassAttribute','multiple','FALSE','SYMBOL',0),
+('CatalystActivity:created','SchemaClassAttribute','allowed_classes','InstanceEdit','SchemaClass',0),
+('CatalystActivity:created','SchemaClassAttribute','db_col_type','INTEGER(10) UNSIGNED','STRING',0),
+('CatalystActivity:created','SchemaClassAttribute','category','OPTIONAL','SYMBOL',0),
+('CatalystActivity:created','SchemaClassAttribute','min_cardinality','0','INTEGER',0),
+('CatalystActivity:created','SchemaClassAttribute','max_cardinality','1','INTEGER',0),
+('CatalystActivity:modified','SchemaClassAttribute','name','modified','STRING',0),
+('CatalystActivity:modified','SchemaClassAttribute','class','CatalystActivity','SchemaClass',0),
+('CatalystActivity:modified','SchemaClassAttribute','origin','DatabaseObject','SchemaClass',0),
+('CatalystActivity:modified','SchemaClassAttribute','type','db_instance_type','SYMBOL',0),
+('CatalystActivity:modified','SchemaClassAttribute','multiple','TRUE','SYMBOL',0),
+('CatalystActivity:modified','SchemaClassAttribute','allowed_classes','InstanceEdit','SchemaClass',0),
+('CatalystActivity:modified','SchemaClassAttribute','db_col_type','INTEGER(10) UNSIGNED','STRING',0),
+('CatalystActivity:modified','SchemaClassAttribute','category','OPTIONAL','SYMBOL',0),
+('CatalystActivity:modified','SchemaClassAttribute','min_cardinality','0','INTEGER',0),
+('CatalystActivity:activity','SchemaClassAttribute','name','activity','STRING',0),
+('CatalystActivity:activity','SchemaClassAttribute','class','CatalystActivity','SchemaClass',0),
+('CatalystActivity:activity','SchemaClassAttribute','origin','CatalystActivity','SchemaClass',0),
+('CatalystActivity:activity','SchemaClassAttribute','type','db_instance_type','SYMBOL',0),
+('CatalystActivity:activity','SchemaClassAttribute','multiple','FALSE','SYMBOL',0),
+('CatalystActivity:activity','SchemaClassAttribute','allowed_classes','GO_MolecularFunction','SchemaClass',0),
+('CatalystActivity:activity','SchemaClassAttribute','db_col_type','INTEGER(10) UNSIGNED','STRING',0),
+('CatalystActivity:activity','SchemaClassAttribute','category','OPTIONAL','SYMBOL',0),
+('CatalystActivity:activity','SchemaClassAttribute','min_cardinality','0','INTEGER',0),
+('CatalystActivity:activity','SchemaClassAttribute','max_cardinality','1','INTEGER',0),
+('CatalystActivity:physicalEntity','SchemaClassAttribute','name','physicalEntity','STRING',0),
+('CatalystActivity:physicalEntity','SchemaClassAttribute','class','CatalystActivity','SchemaClass',0),
+('CatalystActivity:physicalEntity','SchemaClassAttribute','origin','CatalystActivity','SchemaClass',0),
+('CatalystActivity:physicalEntity','SchemaClassAttribute','type','db_instance_type','SYMBOL',0),
+('CatalystActivity:physicalEntity','SchemaClassAttribute','multiple','FALSE','SYMBOL',0),
+('CatalystActivity:physicalEntity','SchemaClassAttribute','allowed_classes','PhysicalEntity','SchemaClass',0),
+('CatalystActivity:physicalEntity','SchemaClassAttribute','db_col_type','INTEGER(10) UNSIGNED','STRING',0),
+('CatalystActivity:physicalEntity','SchemaClassAttribute','category','OPTIONAL','SYMBOL',0),
+('CatalystActivity:physicalEntity','SchemaClassAttribute','min_cardinality','0','INTEGER',0),
+('CatalystActivity:physicalEntity','SchemaClassAttribute','max_cardinality','1','INTEGER',0);
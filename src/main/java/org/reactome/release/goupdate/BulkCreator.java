@@ -0,0 +1,317 @@
+package org.reactome.release.goupdate;
+
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+import org.apache.logging.log4j.LogManager;
+import org.apache.logging.log4j.Logger;
+import org.gk.model.GKInstance;
+import org.gk.model.ReactomeJavaConstants;
+import org.gk.persistence.InstanceCache;
+import org.gk.persistence.MySQLAdaptor;
+import org.gk.schema.SchemaAttribute;
+import org.gk.schema.SchemaClass;
+
+/**
+ * Stores many new GO term instances at once, directly in the database.<br/>
+ * Storing instances one at a time through the adaptor writes every class table and attribute table once per instance, and the
+ * instances then have to be fetched back to be used. This class writes each table with a single JDBC batch (per chunk of rows):
+ * DatabaseObject first, whose DB_IDs are generated by the database (AUTO_INCREMENT, the same as when the adaptor stores an instance)
+ * and read back from the batch, then the other class tables (down to the most specific class) and the tables of multi-valued attributes
+ * (such as ecNumber), with those DB_IDs. Which tables and columns are written is derived from the schema, and from the attribute values
+ * that are set on the new instances.<br/>
+ * After {@link #store()}, the instances have their DB_IDs and are in the adaptor's cache, so they can be used right away. Their DB_IDs are
+ * recorded in the run's {@link UndoLog}.
+ */
+class BulkCreator
+{
+	private static final Logger logger = LogManager.getLogger();
+
+	private static final String DISPLAY_NAME_COLUMN = "_displayName";
+	private static final String CLASS_COLUMN = "_class";
+
+	private MySQLAdaptor adaptor;
+	private GoUpdateContext context;
+	private List<GKInstance> pendingInstances = new ArrayList<>();
+
+	/**
+	 * Creates a new bulk creator.
+	 * @param adaptor - The adaptor to use.
+	 * @param context - The run.
+	 */
+	BulkCreator(MySQLAdaptor adaptor, GoUpdateContext context)
+	{
+		this.adaptor = adaptor;
+		this.context = context;
+	}
+
+	/**
+	 * Adds a new instance, to be stored by the next call to {@link #store()}.
+	 * @param instance - The new instance. It must not have a DB_ID. Any instances it refers to must already be in the database.
+	 */
+	void add(GKInstance instance)
+	{
+		if (instance.getDBID() != null)
+		{
+			throw new IllegalArgumentException("\"" + instance + "\" already has a DB_ID (" + instance.getDBID() + ") so it cannot be created.");
+		}
+		this.pendingInstances.add(instance);
+	}
+
+	/**
+	 * @return The number of instances waiting to be stored.
+	 */
+	int getPendingCount()
+	{
+		return this.pendingInstances.size();
+	}
+
+	/**
+	 * Stores all of the pending instances. Each instance gets its DB_ID set, and is put into the adaptor's instance cache.
+	 * @return The number of instances that were stored.
+	 * @throws Exception
+	 */
+	int store() throws Exception
+	{
+		if (this.pendingInstances.isEmpty())
+		{
+			return 0;
+		}
+		Connection connection = this.adaptor.getConnection();
+		// The instances don't have DB_IDs until DatabaseObject is written, so rows are keyed by each instance's position in pendingInstances.
+		// Rows for each class table: table name -> position -> column -> value.
+		Map<String, Map<Integer, Map<String, Object>>> classTableRows = new HashMap<>();
+		// Whether each column of each class table holds an instance (and so has a matching "_class" column).
+		Map<String, Map<String, Boolean>> classTableColumns = new HashMap<>();
+		Map<String, Integer> classDepths = new HashMap<>();
+		// Rows for each multi-valued attribute table: table name -> rows of (position, rank, value).
+		Map<String, List<Object[]>> attributeTableRows = new LinkedHashMap<>();
+		Map<String, SchemaAttribute> attributeTables = new HashMap<>();
+		for (int position = 0; position < this.pendingInstances.size(); position++)
+		{
+			GKInstance instance = this.pendingInstances.get(position);
+			SchemaClass schemaClass = instance.getSchemClass();
+			for (SchemaClass classInHierarchy : BulkSqlUtils.classAndAncestors(schemaClass))
+			{
+				classTableRows.computeIfAbsent(classInHierarchy.getName(), t -> new LinkedHashMap<>()).put(position, new HashMap<>());
+				classTableColumns.computeIfAbsent(classInHierarchy.getName(), t -> new LinkedHashMap<>());
+				classDepths.computeIfAbsent(classInHierarchy.getName(), t -> BulkSqlUtils.depth(classInHierarchy));
+			}
+			Map<String, Object> databaseObjectRow = classTableRows.get(ReactomeJavaConstants.DatabaseObject).get(position);
+			databaseObjectRow.put(CLASS_COLUMN, schemaClass.getName());
+			databaseObjectRow.put(DISPLAY_NAME_COLUMN, instance.getDisplayName());
+			classTableColumns.get(ReactomeJavaConstants.DatabaseObject).put(CLASS_COLUMN, false);
+			classTableColumns.get(ReactomeJavaConstants.DatabaseObject).put(DISPLAY_NAME_COLUMN, false);
+
+			@SuppressWarnings("unchecked")
+			Collection<SchemaAttribute> attributes = (Collection<SchemaAttribute>) schemaClass.getAttributes();
+			for (SchemaAttribute attribute : attributes)
+			{
+				if (attribute.getName().equals(DISPLAY_NAME_COLUMN))
+				{
+					continue;
+				}
+				List<?> values = instance.getAttributeValuesList(attribute);
+				if (values == null || values.isEmpty())
+				{
+					continue;
+				}
+				String table = BulkSqlUtils.tableName(attribute);
+				if (attribute.isMultiple())
+				{
+					attributeTables.putIfAbsent(table, attribute);
+					List<Object[]> rows = attributeTableRows.computeIfAbsent(table, t -> new ArrayList<>());
+					for (int rank = 0; rank < values.size(); rank++)
+					{
+						rows.add(new Object[] { position, rank, values.get(rank) });
+					}
+				}
+				else
+				{
+					classTableRows.get(table).get(position).put(attribute.getName(), values.get(0));
+					classTableColumns.get(table).put(attribute.getName(), attribute.isInstanceTypeAttribute());
+				}
+			}
+		}
+
+		// DatabaseObject first (which gives the instances their DB_IDs), then down to the most specific classes.
+		List<String> orderedClassTables = new ArrayList<>(classTableRows.keySet());
+		orderedClassTables.sort((a, b) -> Integer.compare(classDepths.get(a), classDepths.get(b)));
+		List<Long> dbIds = insertDatabaseObjectRows(connection, classTableColumns.get(ReactomeJavaConstants.DatabaseObject), classTableRows.get(ReactomeJavaConstants.DatabaseObject));
+		for (int position = 0; position < this.pendingInstances.size(); position++)
+		{
+			this.pendingInstances.get(position).setDBID(dbIds.get(position));
+		}
+		this.context.getUndoLog().recordCreated(dbIds);
+		int rowCount = dbIds.size();
+		for (String table : orderedClassTables.subList(1, orderedClassTables.size()))
+		{
+			rowCount += insertClassTableRows(connection, table, classTableColumns.get(table), classTableRows.get(table), dbIds);
+		}
+		for (Map.Entry<String, List<Object[]>> entry : attributeTableRows.entrySet())
+		{
+			rowCount += insertAttributeTableRows(connection, entry.getKey(), attributeTables.get(entry.getKey()), entry.getValue(), dbIds);
+		}
+
+		InstanceCache cache = this.adaptor.getInstanceCache();
+		for (GKInstance instance : this.pendingInstances)
+		{
+			instance.setDbAdaptor(this.adaptor);
+			// Everything about the instance was set in memory, so there is nothing to load from the database.
+			instance.setIsInflated(true);
+			if (cache != null)
+			{
+				cache.put(instance);
+			}
+		}
+		int storedCount = this.pendingInstances.size();
+		logger.info("{} new instances were stored (DB_IDs {} to {}, {} rows in {} tables).", storedCount, dbIds.get(0), dbIds.get(storedCount - 1), rowCount, classTableRows.size() + attributeTableRows.size());
+		this.pendingInstances.clear();
+		return storedCount;
+	}
+
+	/*
+	 * Inserts the rows of DatabaseObject without DB_IDs, so that the database generates them, and returns the generated DB_IDs
+	 * in the order of the rows.
+	 */
+	private static List<Long> insertDatabaseObjectRows(Connection connection, Map<String, Boolean> columns, Map<Integer, Map<String, Object>> rows) throws SQLException
+	{
+		String sql = insertStatement(ReactomeJavaConstants.DatabaseObject, columns, false);
+		List<Long> dbIds = new ArrayList<>();
+		try (PreparedStatement insert = connection.prepareStatement(sql, Statement.RETURN_GENERATED_KEYS))
+		{
+			for (List<Integer> chunk : BulkSqlUtils.chunk(new ArrayList<>(rows.keySet())))
+			{
+				for (Integer position : chunk)
+				{
+					setColumnValues(insert, 1, columns, rows.get(position));
+					insert.addBatch();
+				}
+				insert.executeBatch();
+				try (ResultSet keys = insert.getGeneratedKeys())
+				{
+					while (keys.next())
+					{
+						dbIds.add(keys.getLong(1));
+					}
+				}
+			}
+		}
+		if (dbIds.size() != rows.size())
+		{
+			throw new SQLException(rows.size() + " rows were inserted into " + ReactomeJavaConstants.DatabaseObject + " but " + dbIds.size() + " DB_IDs were generated.");
+		}
+		return dbIds;
+	}
+
+	private static int insertClassTableRows(Connection connection, String table, Map<String, Boolean> columns, Map<Integer, Map<String, Object>> rows, List<Long> dbIds) throws SQLException
+	{
+		String sql = insertStatement(table, columns, true);
+		try (PreparedStatement insert = connection.prepareStatement(sql))
+		{
+			for (List<Integer> chunk : BulkSqlUtils.chunk(new ArrayList<>(rows.keySet())))
+			{
+				for (Integer position : chunk)
+				{
+					insert.setLong(1, dbIds.get(position));
+					setColumnValues(insert, 2, columns, rows.get(position));
+					insert.addBatch();
+				}
+				insert.executeBatch();
+			}
+		}
+		return rows.size();
+	}
+
+	private static String insertStatement(String table, Map<String, Boolean> columns, boolean withDbId)
+	{
+		List<String> columnNames = new ArrayList<>();
+		if (withDbId)
+		{
+			columnNames.add("DB_ID");
+		}
+		for (Map.Entry<String, Boolean> column : columns.entrySet())
+		{
+			columnNames.add(column.getKey());
+			if (column.getValue())
+			{
+				columnNames.add(column.getKey() + CLASS_COLUMN);
+			}
+		}
+		return "INSERT INTO " + table + " (" + String.join(", ", columnNames) + ") VALUES (" + BulkSqlUtils.placeholders(columnNames.size()) + ")";
+	}
+
+	private static void setColumnValues(PreparedStatement insert, int firstIndex, Map<String, Boolean> columns, Map<String, Object> row) throws SQLException
+	{
+		int index = firstIndex;
+		for (Map.Entry<String, Boolean> column : columns.entrySet())
+		{
+			Object value = row.get(column.getKey());
+			setValue(insert, index++, value);
+			if (column.getValue())
+			{
+				insert.setString(index++, value != null ? ((GKInstance) value).getSchemClass().getName() : null);
+			}
+		}
+	}
+
+	private static int insertAttributeTableRows(Connection connection, String table, SchemaAttribute attribute, List<Object[]> rows, List<Long> dbIds) throws SQLException
+	{
+		String column = attribute.getName();
+		String sql = attribute.isInstanceTypeAttribute()
+					? "INSERT INTO " + table + " (DB_ID, " + column + "_rank, " + column + ", " + column + CLASS_COLUMN + ") VALUES (?, ?, ?, ?)"
+					: "INSERT INTO " + table + " (DB_ID, " + column + "_rank, " + column + ") VALUES (?, ?, ?)";
+		try (PreparedStatement insert = connection.prepareStatement(sql))
+		{
+			for (int i = 0; i < rows.size(); i += BulkSqlUtils.ID_CHUNK_SIZE)
+			{
+				for (Object[] row : rows.subList(i, Math.min(i + BulkSqlUtils.ID_CHUNK_SIZE, rows.size())))
+				{
+					insert.setLong(1, dbIds.get((Integer) row[0]));
+					insert.setInt(2, (Integer) row[1]);
+					setValue(insert, 3, row[2]);
+					if (attribute.isInstanceTypeAttribute())
+					{
+						insert.setString(4, ((GKInstance) row[2]).getSchemClass().getName());
+					}
+					insert.addBatch();
+				}
+				insert.executeBatch();
+			}
+		}
+		return rows.size();
+	}
+
+	/*
+	 * Instances are stored by DB_ID (they must already be in the database), and booleans the way the adaptor stores them.
+	 */
+	private static void setValue(PreparedStatement statement, int index, Object value) throws SQLException
+	{
+		if (value instanceof GKInstance)
+		{
+			Long referredDbId = ((GKInstance) value).getDBID();
+			if (referredDbId == null)
+			{
+				throw new IllegalStateException("\"" + value + "\" must be stored before instances that refer to it can be created.");
+			}
+			statement.setLong(index, referredDbId);
+		}
+		else if (value instanceof Boolean)
+		{
+			statement.setString(index, ((Boolean) value) ? "TRUE" : "FALSE");
+		}
+		else
+		{
+			statement.setObject(index, value);
+		}
+	}
+}
@@ -0,0 +1,346 @@
+package org.reactome.release.goupdate;
+
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.LinkedHashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+import org.apache.logging.log4j.LogManager;
+import org.apache.logging.log4j.Logger;
+import org.gk.model.GKInstance;
+import org.gk.model.ReactomeJavaConstants;
+import org.gk.persistence.MySQLAdaptor;
+import org.gk.schema.GKSchemaAttribute;
+import org.gk.schema.SchemaAttribute;
+import org.gk.schema.SchemaClass;
+import org.reactome.release.goupdate.GoUpdateInstanceEditUtils.GOUpdateInstEditType;
+
+/**
+ * Deletes many GO term instances at once, directly in the database.<br/>
+ * Deleting instances one at a time through the adaptor touches every class table and attribute table once per instance. This class
+ * deletes a whole set of instances with one statement per table (per chunk of DB_IDs):
+ * <ol>
+ * <li>References to the instances <em>from other GO terms</em> are cleared (as {@link GoTermInstanceModifier} does before deleting
+ * a single term), and the REF_CLEARED InstanceEdit is added to those GO terms in bulk.</li>
+ * <li>Rows are deleted from the tables of multi-valued attributes, then from the class tables, from the most specific class up to
+ * DatabaseObject. Which tables are involved (and their order) is derived from the schema.</li>
+ * </ol>
+ * References from instances that are not GO terms are not touched: callers are expected to redirect those first (see {@link ReferrerRedirector}).
+ * Before anything is changed, all such references that are left are looked up (with one statement per referring attribute), and the instances
+ * they refer to are not deleted: they are reported by {@link #getUndeletable()} instead, so that nothing is left referring to a deleted instance.<br/>
+ * The deleted instances and the cleared references are recorded in the run's {@link UndoLog}.
+ */
+class BulkDeleter
+{
+	private static final Logger logger = LogManager.getLogger();
+
+	private static final String[] GO_CLASSES = { ReactomeJavaConstants.GO_BiologicalProcess, ReactomeJavaConstants.GO_MolecularFunction, ReactomeJavaConstants.GO_CellularComponent };
+
+	private MySQLAdaptor adaptor;
+	private GoUpdateContext context;
+	private boolean addInstanceEdits;
+	// Instances that were not deleted, and the DB_IDs of the instances that still refer to them.
+	private Map<Long, Set<Long>> undeletable = new LinkedHashMap<>();
+
+	/**
+	 * Creates a new bulk deleter.
+	 * @param adaptor - The adaptor to use.
+	 * @param context - The run.
+	 */
+	BulkDeleter(MySQLAdaptor adaptor, GoUpdateContext context)
+	{
+		this(adaptor, context, true);
+	}
+
+	/**
+	 * Creates a new bulk deleter.
+	 * @param adaptor - The adaptor to use.
+	 * @param context - The run.
+	 * @param addInstanceEdits - If false, the REF_CLEARED InstanceEdit is not added to GO terms whose references are cleared (see {@link UndoLogReplayer}).
+	 */
+	BulkDeleter(MySQLAdaptor adaptor, GoUpdateContext context, boolean addInstanceEdits)
+	{
+		this.adaptor = adaptor;
+		this.context = context;
+		this.addInstanceEdits = addInstanceEdits;
+	}
+
+	/**
+	 * Deletes instances.
+	 * @param instances - The instances to delete.
+	 * @return The number of instances that were deleted.
+	 * @throws Exception
+	 */
+	int deleteInstances(Collection<GKInstance> instances) throws Exception
+	{
+		Set<Long> dbIds = new LinkedHashSet<>();
+		for (GKInstance instance : instances)
+		{
+			dbIds.add(instance.getDBID());
+		}
+		return this.delete(dbIds);
+	}
+
+	/**
+	 * Deletes instances by DB_ID. Instances that are still referred to by anything other than GO terms are not deleted (see {@link #getUndeletable()}).
+	 * @param dbIds - The DB_IDs of the instances to delete.
+	 * @return The number of instances that were deleted.
+	 * @throws Exception
+	 */
+	int delete(Set<Long> dbIds) throws Exception
+	{
+		if (dbIds.isEmpty())
+		{
+			return 0;
+		}
+		Connection connection = this.adaptor.getConnection();
+		Map<String, Set<Long>> dbIdsByClass = BulkSqlUtils.selectDbIdsByClass(connection, dbIds);
+		if (dbIdsByClass.isEmpty())
+		{
+			return 0;
+		}
+		Set<Long> existingIds = new HashSet<>();
+		dbIdsByClass.values().forEach(existingIds::addAll);
+		int foundCount = existingIds.size();
+
+		Map<Long, Set<Long>> blocked = this.findReferencesNotFromGOTerms(connection, dbIdsByClass.keySet(), existingIds);
+		if (!blocked.isEmpty())
+		{
+			for (Map.Entry<Long, Set<Long>> entry : blocked.entrySet())
+			{
+				logger.warn("DB_ID {} will not be deleted, because it is still referred to by {} instances that are not GO terms: {}", entry.getKey(), entry.getValue().size(), entry.getValue());
+			}
+			this.undeletable.putAll(blocked);
+			existingIds.removeAll(blocked.keySet());
+			dbIdsByClass.values().forEach(ids -> ids.removeAll(blocked.keySet()));
+			dbIdsByClass.values().removeIf(Set::isEmpty);
+			if (dbIdsByClass.isEmpty())
+			{
+				return 0;
+			}
+		}
+		for (Map.Entry<String, Set<Long>> entry : dbIdsByClass.entrySet())
+		{
+			this.context.getUndoLog().recordDeleted(connection, this.adaptor.getSchema().getClassByName(entry.getKey()), entry.getValue());
+		}
+
+		this.clearReferencesFromGOTerms(connection, dbIdsByClass.keySet(), existingIds);
+
+		// Work out which tables each instance has rows in. A table can be shared by several classes (an ancestor's table, or the table
+		// of an inherited multi-valued attribute) so the DB_IDs for each table are merged, and each table is only visited once.
+		Map<String, Set<Long>> attributeTables = new LinkedHashMap<>();
+		Map<String, Set<Long>> classTables = new HashMap<>();
+		Map<String, Integer> classDepths = new HashMap<>();
+		for (Map.Entry<String, Set<Long>> entry : dbIdsByClass.entrySet())
+		{
+			SchemaClass schemaClass = this.adaptor.getSchema().getClassByName(entry.getKey());
+			@SuppressWarnings("unchecked")
+			Collection<SchemaAttribute> attributes = (Collection<SchemaAttribute>) schemaClass.getAttributes();
+			for (SchemaAttribute attribute : attributes)
+			{
+				if (attribute.isMultiple())
+				{
+					attributeTables.computeIfAbsent(BulkSqlUtils.tableName(attribute), t -> new LinkedHashSet<>()).addAll(entry.getValue());
+				}
+			}
+			for (SchemaClass classInHierarchy : BulkSqlUtils.classAndAncestors(schemaClass))
+			{
+				classTables.computeIfAbsent(classInHierarchy.getName(), t -> new LinkedHashSet<>()).addAll(entry.getValue());
+				classDepths.computeIfAbsent(classInHierarchy.getName(), t -> BulkSqlUtils.depth(classInHierarchy));
+			}
+		}
+		// Most specific classes first, DatabaseObject last.
+		List<String> orderedClassTables = new ArrayList<>(classTables.keySet());
+		orderedClassTables.sort((a, b) -> Integer.compare(classDepths.get(b), classDepths.get(a)));
+
+		int rowsDeleted = 0;
+		for (Map.Entry<String, Set<Long>> table : attributeTables.entrySet())
+		{
+			rowsDeleted += deleteRows(connection, table.getKey(), table.getValue());
+		}
+		for (String table : orderedClassTables)
+		{
+			rowsDeleted += deleteRows(connection, table, classTables.get(table));
+		}
+		BulkSqlUtils.evictFromCache(this.adaptor, existingIds);
+		logger.info("{} instances were deleted ({} rows from {} tables).", existingIds.size(), rowsDeleted, attributeTables.size() + classTables.size());
+		if (foundCount < dbIds.size())
+		{
+			logger.warn("{} of the DB_IDs to delete were not in the database.", dbIds.size() - foundCount);
+		}
+		return existingIds.size();
+	}
+
+	/**
+	 * @return The instances that were not deleted because they were still referred to by instances other than GO terms (keyed by DB_ID),
+	 * and the DB_IDs of those referrers. This covers all the calls to delete so far.
+	 */
+	Map<Long, Set<Long>> getUndeletable()
+	{
+		return this.undeletable;
+	}
+
+	/*
+	 * Finds references to the instances being deleted that clearReferencesFromGOTerms will not clear: those via attributes of classes that are not
+	 * GO classes. Referrers that are themselves being deleted don't count, unless they are kept because of their own referrers.
+	 * Returns the referred-to DB_IDs, and the DB_IDs of their remaining referrers.
+	 */
+	private Map<Long, Set<Long>> findReferencesNotFromGOTerms(Connection connection, Set<String> classNames, Set<Long> dbIds) throws Exception
+	{
+		Map<String, GKSchemaAttribute> referringAttributes = new LinkedHashMap<>();
+		for (String className : classNames)
+		{
+			@SuppressWarnings("unchecked")
+			Collection<GKSchemaAttribute> attributes = (Collection<GKSchemaAttribute>) this.adaptor.getSchema().getClassByName(className).getReferers();
+			for (GKSchemaAttribute attribute : attributes)
+			{
+				if (!isGOClass(attribute.getOrigin()))
+				{
+					referringAttributes.putIfAbsent(BulkSqlUtils.tableName(attribute) + "." + attribute.getName(), attribute);
+				}
+			}
+		}
+		Map<Long, Set<Long>> referrersByReferredId = new LinkedHashMap<>();
+		for (GKSchemaAttribute attribute : referringAttributes.values())
+		{
+			String table = BulkSqlUtils.tableName(attribute);
+			String column = attribute.getName();
+			for (List<Long> chunk : BulkSqlUtils.chunk(dbIds))
+			{
+				try (PreparedStatement select = connection.prepareStatement("SELECT DB_ID, " + column + " FROM " + table + " WHERE " + column + " IN (" + BulkSqlUtils.placeholders(chunk.size()) + ")"))
+				{
+					BulkSqlUtils.setIds(select, 1, chunk);
+					try (ResultSet results = select.executeQuery())
+					{
+						while (results.next())
+						{
+							referrersByReferredId.computeIfAbsent(results.getLong(2), id -> new LinkedHashSet<>()).add(results.getLong(1));
+						}
+					}
+				}
+			}
+		}
+		// An instance is kept if any of its referrers is kept: either it is not being deleted, or it is itself kept.
+		Map<Long, Set<Long>> blocked = new LinkedHashMap<>();
+		boolean changed = true;
+		while (changed)
+		{
+			changed = false;
+			for (Map.Entry<Long, Set<Long>> entry : referrersByReferredId.entrySet())
+			{
+				if (blocked.containsKey(entry.getKey()))
+				{
+					continue;
+				}
+				Set<Long> remainingReferrers = new LinkedHashSet<>();
+				for (Long referrer : entry.getValue())
+				{
+					if (!dbIds.contains(referrer) || blocked.containsKey(referrer))
+					{
+						remainingReferrers.add(referrer);
+					}
+				}
+				if (!remainingReferrers.isEmpty())
+				{
+					blocked.put(entry.getKey(), remainingReferrers);
+					changed = true;
+				}
+			}
+		}
+		return blocked;
+	}
+
+	/*
+	 * Clears the attributes of GO terms that refer to any of the instances being deleted. Multi-valued references are removed
+	 * (the other values keep their ranks), single-valued references are set to NULL.
+	 */
+	private void clearReferencesFromGOTerms(Connection connection, Set<String> classNames, Set<Long> dbIds) throws Exception
+	{
+		// The attributes (of GO term classes) that can refer to any of the classes being deleted.
+		Map<String, GKSchemaAttribute> referringAttributes = new LinkedHashMap<>();
+		for (String className : classNames)
+		{
+			@SuppressWarnings("unchecked")
+			Collection<GKSchemaAttribute> attributes = (Collection<GKSchemaAttribute>) this.adaptor.getSchema().getClassByName(className).getReferers();
+			for (GKSchemaAttribute attribute : attributes)
+			{
+				if (isGOClass(attribute.getOrigin()))
+				{
+					referringAttributes.putIfAbsent(BulkSqlUtils.tableName(attribute) + "." + attribute.getName(), attribute);
+				}
+			}
+		}
+		Set<Long> modifiedReferrers = new LinkedHashSet<>();
+		for (GKSchemaAttribute attribute : referringAttributes.values())
+		{
+			String table = BulkSqlUtils.tableName(attribute);
+			String column = attribute.getName();
+			Set<Long> referrers = new HashSet<>();
+			BulkSqlUtils.selectReferringIds(connection, table, column, dbIds, referrers);
+			// Referrers that are themselves being deleted don't need to be modified.
+			referrers.removeAll(dbIds);
+			if (referrers.isEmpty())
+			{
+				continue;
+			}
+			String statement = attribute.isMultiple()
+								? "DELETE FROM " + table + " WHERE " + column + " IN (%s)"
+								: "UPDATE " + table + " SET " + column + " = NULL, " + column + "_class = NULL WHERE " + column + " IN (%s)";
+			this.context.getUndoLog().recordAttribute(connection, attribute, referrers);
+			int cleared = 0;
+			for (List<Long> chunk : BulkSqlUtils.chunk(dbIds))
+			{
+				try (PreparedStatement clear = connection.prepareStatement(String.format(statement, BulkSqlUtils.placeholders(chunk.size()))))
+				{
+					BulkSqlUtils.setIds(clear, 1, chunk);
+					cleared += clear.executeUpdate();
+				}
+			}
+			logger.info("CLEARED {} references via {}.{} on {} GO terms, because they refer to GO terms that are being deleted.", cleared, table, column, referrers.size());
+			modifiedReferrers.addAll(referrers);
+		}
+		if (!modifiedReferrers.isEmpty())
+		{
+			if (this.addInstanceEdits)
+			{
+				GKInstance instEd = GoUpdateInstanceEditUtils.getInstanceEditForClass(GOUpdateInstEditType.REF_CLEARED, this.getClass());
+				BulkSqlUtils.appendModifiedInstanceEdit(connection, instEd, modifiedReferrers);
+			}
+			BulkSqlUtils.evictFromCache(this.adaptor, modifiedReferrers);
+		}
+	}
+
+	private static int deleteRows(Connection connection, String table, Set<Long> dbIds) throws Exception
+	{
+		int rowsDeleted = 0;
+		for (List<Long> chunk : BulkSqlUtils.chunk(dbIds))
+		{
+			try (PreparedStatement delete = connection.prepareStatement("DELETE FROM " + table + " WHERE DB_ID IN (" + BulkSqlUtils.placeholders(chunk.size()) + ")"))
+			{
+				BulkSqlUtils.setIds(delete, 1, chunk);
+				rowsDeleted += delete.executeUpdate();
+			}
+		}
+		return rowsDeleted;
+	}
+
+	private static boolean isGOClass(SchemaClass schemaClass)
+	{
+		for (String goClass : GO_CLASSES)
+		{
+			if (schemaClass.isa(goClass))
+			{
+				return true;
+			}
+		}
+		return false;
+	}
+}
@@ -0,0 +1,225 @@
+package org.reactome.release.goupdate;
+
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+import org.gk.model.GKInstance;
+import org.gk.model.ReactomeJavaConstants;
+import org.gk.persistence.InstanceCache;
+import org.gk.persistence.MySQLAdaptor;
+import org.gk.schema.SchemaAttribute;
+import org.gk.schema.SchemaClass;
+
+/**
+ * Helpers for the set-based SQL statements used by {@link ReferrerRedirector}, {@link BulkDeleter} and {@link BulkCreator}.
+ */
+final class BulkSqlUtils
+{
+	// Keeps IN (...) lists to a reasonable size.
+	static final int ID_CHUNK_SIZE = 1000;
+
+	private BulkSqlUtils() {}
+
+	/**
+	 * Splits a collection of DB_IDs (or of rows) into chunks of at most {@link #ID_CHUNK_SIZE}.
+	 * @param ids - The DB_IDs.
+	 * @return The chunks.
+	 */
+	static <T> List<List<T>> chunk(Collection<T> ids)
+	{
+		List<T> idList = new ArrayList<>(ids);
+		List<List<T>> chunks = new ArrayList<>();
+		for (int i = 0; i < idList.size(); i += ID_CHUNK_SIZE)
+		{
+			chunks.add(idList.subList(i, Math.min(i + ID_CHUNK_SIZE, idList.size())));
+		}
+		return chunks;
+	}
+
+	/**
+	 * @param count - The number of placeholders.
+	 * @return <code>count</code> comma-separated "?" placeholders, for an IN (...) list.
+	 */
+	static String placeholders(int count)
+	{
+		return String.join(",", Collections.nCopies(count, "?"));
+	}
+
+	/**
+	 * Sets DB_IDs as the parameters of a statement.
+	 * @param statement - The statement.
+	 * @param firstIndex - The index of the first parameter to set.
+	 * @param ids - The DB_IDs.
+	 * @throws SQLException
+	 */
+	static void setIds(PreparedStatement statement, int firstIndex, List<Long> ids) throws SQLException
+	{
+		for (int i = 0; i < ids.size(); i++)
+		{
+			statement.setLong(firstIndex + i, ids.get(i));
+		}
+	}
+
+	/**
+	 * Selects the distinct DB_IDs of rows in a table whose column refers to any of a set of DB_IDs.
+	 * @param connection - The database connection.
+	 * @param table - The table.
+	 * @param column - The referring column.
+	 * @param referredIds - The DB_IDs being referred to.
+	 * @param result - The DB_IDs of the referring rows are added to this set.
+	 * @throws SQLException
+	 */
+	static void selectReferringIds(Connection connection, String table, String column, Collection<Long> referredIds, Set<Long> result) throws SQLException
+	{
+		for (List<Long> chunk : chunk(referredIds))
+		{
+			try (PreparedStatement select = connection.prepareStatement("SELECT DISTINCT DB_ID FROM " + table + " WHERE " + column + " IN (" + placeholders(chunk.size()) + ")"))
+			{
+				setIds(select, 1, chunk);
+				try (ResultSet results = select.executeQuery())
+				{
+					while (results.next())
+					{
+						result.add(results.getLong(1));
+					}
+				}
+			}
+		}
+	}
+
+	/**
+	 * Looks up the _class of many instances, with one SELECT per chunk of DB_IDs.
+	 * @param connection - The database connection.
+	 * @param dbIds - The DB_IDs.
+	 * @return The DB_IDs, grouped by the name of their class. DB_IDs that are not in the database are left out.
+	 * @throws SQLException
+	 */
+	static Map<String, Set<Long>> selectDbIdsByClass(Connection connection, Collection<Long> dbIds) throws SQLException
+	{
+		Map<String, Set<Long>> dbIdsByClass = new LinkedHashMap<>();
+		for (List<Long> chunk : chunk(dbIds))
+		{
+			try (PreparedStatement select = connection.prepareStatement("SELECT DB_ID, _class FROM " + ReactomeJavaConstants.DatabaseObject
+																		+ " WHERE DB_ID IN (" + placeholders(chunk.size()) + ")"))
+			{
+				setIds(select, 1, chunk);
+				try (ResultSet results = select.executeQuery())
+				{
+					while (results.next())
+					{
+						dbIdsByClass.computeIfAbsent(results.getString(2), c -> new LinkedHashSet<>()).add(results.getLong(1));
+					}
+				}
+			}
+		}
+		return dbIdsByClass;
+	}
+
+	/**
+	 * Appends an InstanceEdit to the "modified" list of many instances, with one INSERT ... SELECT per chunk of DB_IDs.
+	 * @param connection - The database connection.
+	 * @param instanceEdit - The InstanceEdit.
+	 * @param dbIds - The DB_IDs of the instances that were modified.
+	 * @throws SQLException
+	 */
+	static void appendModifiedInstanceEdit(Connection connection, GKInstance instanceEdit, Collection<Long> dbIds) throws SQLException
+	{
+		String modifiedTable = ReactomeJavaConstants.DatabaseObject + "_2_" + ReactomeJavaConstants.modified;
+		for (List<Long> chunk : chunk(dbIds))
+		{
+			try (PreparedStatement insert = connection.prepareStatement("INSERT INTO " + modifiedTable + " (DB_ID, modified_rank, modified, modified_class)"
+																		+ " SELECT d.DB_ID, IFNULL(MAX(m.modified_rank) + 1, 0), ?, ?"
+																		+ " FROM " + ReactomeJavaConstants.DatabaseObject + " d LEFT JOIN " + modifiedTable + " m ON m.DB_ID = d.DB_ID"
+																		+ " WHERE d.DB_ID IN (" + placeholders(chunk.size()) + ") GROUP BY d.DB_ID"))
+			{
+				insert.setLong(1, instanceEdit.getDBID());
+				insert.setString(2, ReactomeJavaConstants.InstanceEdit);
+				setIds(insert, 3, chunk);
+				insert.executeUpdate();
+			}
+		}
+	}
+
+	/**
+	 * Drops instances from the adaptor's cache. Needed after instances have been changed (or deleted) with SQL, behind the adaptor's back.
+	 * @param adaptor - The adaptor.
+	 * @param dbIds - The DB_IDs of the instances.
+	 */
+	static void evictFromCache(MySQLAdaptor adaptor, Collection<Long> dbIds)
+	{
+		InstanceCache cache = adaptor.getInstanceCache();
+		if (cache != null)
+		{
+			for (Long dbId : dbIds)
+			{
+				cache.remove(dbId);
+			}
+		}
+	}
+
+	/**
+	 * Single-valued attributes are columns on the table of the class that defines them; multi-valued attributes have their own table.
+	 * @param attribute - The attribute.
+	 * @return The name of the table that holds the values of <code>attribute</code>.
+	 */
+	static String tableName(SchemaAttribute attribute)
+	{
+		String origin = attribute.getOrigin().getName();
+		return attribute.isMultiple() ? origin + "_2_" + attribute.getName() : origin;
+	}
+
+	/**
+	 * @param schemaClass - A class.
+	 * @return The class and all of its ancestors (each one once), starting with the class itself.
+	 */
+	static List<SchemaClass> classAndAncestors(SchemaClass schemaClass)
+	{
+		List<SchemaClass> classes = new ArrayList<>();
+		List<SchemaClass> toVisit = new ArrayList<>();
+		toVisit.add(schemaClass);
+		while (!toVisit.isEmpty())
+		{
+			SchemaClass current = toVisit.remove(toVisit.size() - 1);
+			if (!classes.contains(current))
+			{
+				classes.add(current);
+				@SuppressWarnings("unchecked")
+				Collection<SchemaClass> superClasses = (Collection<SchemaClass>) current.getSuperClasses();
+				if (superClasses != null)
+				{
+					toVisit.addAll(superClasses);
+				}
+			}
+		}
+		return classes;
+	}
+
+	/**
+	 * @param schemaClass - A class.
+	 * @return The length of the longest path from the class up to the root of the hierarchy (DatabaseObject has depth 0).
+	 */
+	static int depth(SchemaClass schemaClass)
+	{
+		@SuppressWarnings("unchecked")
+		Collection<SchemaClass> superClasses = (Collection<SchemaClass>) schemaClass.getSuperClasses();
+		int depth = 0;
+		if (superClasses != null)
+		{
+			for (SchemaClass superClass : superClasses)
+			{
+				depth = Math.max(depth, depth(superClass) + 1);
+			}
+		}
+		return depth;
+	}
+}
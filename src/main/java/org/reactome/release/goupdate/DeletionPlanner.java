@@ -0,0 +1,239 @@
+package org.reactome.release.goupdate;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.EnumMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.function.Predicate;
+
+import org.apache.logging.log4j.LogManager;
+import org.apache.logging.log4j.Logger;
+import org.gk.model.GKInstance;
+
+/**
+ * Decides what happens to each obsolete GO term instance, before anything is deleted.<br/>
+ * Candidates are tracked by DB_ID, so adding the same instance twice is harmless. When {@link #plan()} is called, each candidate's referrers
+ * are looked up once (through a shared {@link ReferrerIndex}) and the candidate is classified as one of the {@link Action}s. The resulting
+ * plan is used both for the obsolete GO terms report and by the code that does the deleting.
+ */
+class DeletionPlanner
+{
+	private static final Logger logger = LogManager.getLogger();
+
+	/**
+	 * What will be done with an obsolete GO term instance.
+	 */
+	enum Action
+	{
+		/** The instance will be deleted, and its referrers will be redirected to its replacement. */
+		AUTO_DELETE_WITH_REDIRECT("Automatic Deletion (referrers will be redirected)"),
+		/** The instance will be deleted. Nothing (other than, possibly, other GO terms) refers to it. */
+		AUTO_DELETE_NO_REFERRERS("Automatic Deletion (no referrers)"),
+		/** The instance will not be deleted, because it has referrers and either no replacement (or one that is not in the database), or referrers that prevent deletion. */
+		MANUAL("Manual cleanup (referrers exist)");
+
+		private String description;
+
+		Action(String description)
+		{
+			this.description = description;
+		}
+
+		/**
+		 * @return The description of the action, as used in the obsolete GO terms report.
+		 */
+		public String getDescription()
+		{
+			return this.description;
+		}
+	}
+
+	/**
+	 * The decision for a single obsolete GO term instance.
+	 */
+	static class PlannedDeletion
+	{
+		private final GKInstance instance;
+		private final String accession;
+		private final Action action;
+		private final String replacementAccession;
+		private final String suggestedReplacements;
+		private final List<GKInstance> blockingReferrers;
+
+		PlannedDeletion(GKInstance instance, String accession, Action action, String replacementAccession, String suggestedReplacements, List<GKInstance> blockingReferrers)
+		{
+			this.instance = instance;
+			this.accession = accession;
+			this.action = action;
+			this.replacementAccession = replacementAccession;
+			this.suggestedReplacements = suggestedReplacements;
+			this.blockingReferrers = blockingReferrers;
+		}
+
+		GKInstance getInstance()
+		{
+			return this.instance;
+		}
+
+		String getAccession()
+		{
+			return this.accession;
+		}
+
+		Action getAction()
+		{
+			return this.action;
+		}
+
+		/**
+		 * @return The accession that referrers should be redirected to (the final target of the replacement chain), or null if the term has no replacement.
+		 */
+		String getReplacementAccession()
+		{
+			return this.replacementAccession;
+		}
+
+		/**
+		 * @return The text for the "New/replacement GO Terms" column of the obsolete GO terms report.
+		 */
+		String getSuggestedReplacements()
+		{
+			return this.suggestedReplacements;
+		}
+
+		/**
+		 * @return The referrers that prevent automatic deletion. Empty unless the action is {@link Action#MANUAL}.
+		 */
+		List<GKInstance> getBlockingReferrers()
+		{
+			return this.blockingReferrers;
+		}
+	}
+
+	private Map<String, Map<String, Object>> goTermsFromFile;
+	private ReplacementResolver replacementResolver;
+	private ReferrerIndex referrerIndex;
+	private Predicate<String> isInDatabase;
+	// Both keyed by DB_ID.
+	private Map<Long, GKInstance> candidates = new LinkedHashMap<>();
+	private Map<Long, String> candidateAccessions = new LinkedHashMap<>();
+
+	/**
+	 * Creates a new planner.
+	 * @param goTermsFromFile - The GO terms from the file.
+	 * @param replacementResolver - Used to find the final target of a term's replaced_by chain.
+	 * @param referrerIndex - Used to look up referrers.
+	 * @param isInDatabase - Tests if there is a GO term (in the database, or created by this run) for an accession. It is only used by {@link #plan()}, so it
+	 * should reflect the GO terms that will exist when the deletions are done.
+	 */
+	DeletionPlanner(Map<String, Map<String, Object>> goTermsFromFile, ReplacementResolver replacementResolver, ReferrerIndex referrerIndex, Predicate<String> isInDatabase)
+	{
+		this.goTermsFromFile = goTermsFromFile;
+		this.replacementResolver = replacementResolver;
+		this.referrerIndex = referrerIndex;
+		this.isInDatabase = isInDatabase;
+	}
+
+	/**
+	 * Adds an obsolete GO term instance as a candidate for deletion.
+	 * @param instance - The instance.
+	 * @param goID - The GO ID of the instance, which must be in the GO terms from the file.
+	 * @return true if the instance was added, false if it was already a candidate.
+	 */
+	boolean addCandidate(GKInstance instance, String goID)
+	{
+		if (this.candidates.putIfAbsent(instance.getDBID(), instance) != null)
+		{
+			return false;
+		}
+		this.candidateAccessions.put(instance.getDBID(), goID);
+		return true;
+	}
+
+	/**
+	 * @return The number of candidates.
+	 */
+	int getCandidateCount()
+	{
+		return this.candidates.size();
+	}
+
+	/**
+	 * Classifies every candidate.
+	 * @return The plan for each candidate, in the order the candidates were added.
+	 * @throws Exception
+	 */
+	List<PlannedDeletion> plan() throws Exception
+	{
+		List<PlannedDeletion> plan = new ArrayList<>(this.candidates.size());
+		Map<Action, Integer> counts = new EnumMap<>(Action.class);
+		for (Map.Entry<Long, GKInstance> candidate : this.candidates.entrySet())
+		{
+			PlannedDeletion plannedDeletion = this.classify(candidate.getValue(), this.candidateAccessions.get(candidate.getKey()));
+			counts.merge(plannedDeletion.getAction(), 1, Integer::sum);
+			plan.add(plannedDeletion);
+		}
+		logger.info("Deletion plan for {} obsolete GO term instances: {}", plan.size(), counts);
+		return plan;
+	}
+
+	/*
+	 * The rules:
+	 * - A term with a replacement can be deleted (its referrers redirected) unless it is used in the slot that makes it undeletable: goBiologicalProcess
+	 *   for a GO_BiologicalProcess, compartment for a GO_CellularComponent, activity for a GO_MolecularFunction (see GoTermInstanceModifier.getDeletionBlockingAttribute).
+	 * - A term with no replacement can only be deleted if nothing other than GO terms refers to it.
+	 * A replacement that is not in the database can't be redirected to, so then the term is treated as if it had no replacement.
+	 */
+	private PlannedDeletion classify(GKInstance instance, String goID) throws Exception
+	{
+		Map<String, Object> goTerm = this.goTermsFromFile.get(goID);
+		List<String> replacedBy = listValue(goTerm, GoUpdateConstants.REPLACED_BY);
+		List<GKInstance> nonGOReferrers = this.referrerIndex.getReferrers(instance, GoTermsUpdater.isNotGOEntity);
+		if (!replacedBy.isEmpty())
+		{
+			String finalTarget = this.replacementResolver.getFinalTarget(goID);
+			String replacementAccession = finalTarget != null ? finalTarget : replacedBy.get(0);
+			String blockingAttribute = GoTermInstanceModifier.getDeletionBlockingAttribute(instance.getSchemClass());
+			List<GKInstance> blockingReferrers = blockingAttribute != null ? this.referrerIndex.getReferrers(instance, blockingAttribute) : Collections.emptyList();
+			if (blockingReferrers.isEmpty() && !nonGOReferrers.isEmpty() && !this.isInDatabase.test(replacementAccession))
+			{
+				logger.warn("GO:{} ({}) is replaced by GO:{}, but that is not in the database, and {} instances (other than GO terms) refer to GO:{}. It will not be deleted.",
+							goID, instance, replacementAccession, nonGOReferrers.size(), goID);
+				return new PlannedDeletion(instance, goID, Action.MANUAL, replacementAccession, suggestions(goTerm), nonGOReferrers);
+			}
+			if (blockingReferrers.isEmpty())
+			{
+				Action action = nonGOReferrers.isEmpty() ? Action.AUTO_DELETE_NO_REFERRERS : Action.AUTO_DELETE_WITH_REDIRECT;
+				return new PlannedDeletion(instance, goID, action, replacementAccession, replacementAccession, Collections.emptyList());
+			}
+			return new PlannedDeletion(instance, goID, Action.MANUAL, replacementAccession, suggestions(goTerm), blockingReferrers);
+		}
+		if (nonGOReferrers.isEmpty())
+		{
+			return new PlannedDeletion(instance, goID, Action.AUTO_DELETE_NO_REFERRERS, null, "N/A", Collections.emptyList());
+		}
+		return new PlannedDeletion(instance, goID, Action.MANUAL, null, suggestions(goTerm), nonGOReferrers);
+	}
+
+	/*
+	 * Suggestions about REPLACED_BY/CONSIDER terms, for terms that need manual cleanup.
+	 */
+	private static String suggestions(Map<String, Object> goTerm)
+	{
+		List<String> replaceByList = listValue(goTerm, GoUpdateConstants.REPLACED_BY);
+		List<String> considerList = listValue(goTerm, GoUpdateConstants.CONSIDER);
+		String replaceBy = !replaceByList.isEmpty() ? "Replace by: " + String.join(", ", replaceByList) : "";
+		String consider = !considerList.isEmpty() ? "Consider: " + String.join(", ", considerList) : "";
+		String replacementTermString = replaceBy + consider;
+		return replacementTermString.length() == 0 ? "N/A" : replacementTermString;
+	}
+
+	@SuppressWarnings("unchecked")
+	private static List<String> listValue(Map<String, Object> goTerm, String key)
+	{
+		Object value = goTerm.get(key);
+		return value == null ? Collections.emptyList() : (List<String>) value;
+	}
+}
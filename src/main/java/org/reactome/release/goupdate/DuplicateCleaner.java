@@ -61,7 +61,7 @@ public class DuplicateCleaner extends ReleaseStep
 		this.adaptor = DBUtils.getCuratorDbAdaptor(props);
 		int instancesWithSignificantReferrers = 0;
 		
-		DuplicateReporter dupeReporter = new DuplicateReporter(adaptor);
+		DuplicateReporter dupeReporter = new DuplicateReporter(adaptor, new GoUpdateMetrics());
 		Set<Long> dbIDsToDelete = new HashSet<>();
 
 		Map<String, Integer> duplicates = dupeReporter.getDuplicateAccessions();
@@ -125,10 +125,12 @@ public class DuplicateCleaner extends ReleaseStep
 		{
 			GKInstance instance = adaptor.fetchInstance(dbID);
 			logger.info("DB ID {} (for accession {}) will be deleted", dbID, instance.getAttributeValue(ReactomeJavaConstants.accession));
-			if (!this.testMode)
-			{
-				adaptor.deleteByDBID(dbID);
-			}
+		}
+		if (!this.testMode)
+		{
+			// GO terms that still refer to a deleted duplicate have that reference cleared, but are not given an InstanceEdit: this step
+			// has no person to create one for (GoUpdateInstanceEditUtils is only set up by GoUpdateStep).
+			new BulkDeleter(adaptor, new GoUpdateContext(), false).delete(dbIDsToDelete);
 		}
 		adaptor.commit();
 	}
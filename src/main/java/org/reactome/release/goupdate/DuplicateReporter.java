@@ -44,10 +44,16 @@ public class DuplicateReporter
 			"having count(db_id) > 1;\n" ;
 
 	private MySQLAdaptor adaptor;
+	private GoUpdateMetrics metrics;
 
-	public DuplicateReporter(MySQLAdaptor adaptor)
+	/**
+	 * @param adaptor - The adaptor.
+	 * @param metrics - The metrics to record the report's figures in.
+	 */
+	public DuplicateReporter(MySQLAdaptor adaptor, GoUpdateMetrics metrics)
 	{
 		this.adaptor = adaptor;
+		this.metrics = metrics;
 	}
 
 	/**
@@ -57,6 +63,7 @@ public class DuplicateReporter
 	 */
 	public Map<String, Integer> getDuplicateAccessions() throws Exception
 	{
+		GoUpdateMetrics.Timer timer = this.metrics.time("duplicateReporter.getDuplicateAccessions");
 		List<GKInstance> goInstances = new ArrayList<>();
 		goInstances.addAll(this.adaptor.fetchInstancesByClass(ReactomeJavaConstants.GO_BiologicalProcess));
 		goInstances.addAll(this.adaptor.fetchInstancesByClass(ReactomeJavaConstants.GO_MolecularFunction));
@@ -77,6 +84,8 @@ public class DuplicateReporter
 				)
 			);
 
+		timer.close();
+		this.metrics.add("duplicateReporter.duplicatedAccessions", accessionToDuplicateGoInstanceCount.size());
 		return accessionToDuplicateGoInstanceCount;
 	}
 
@@ -123,6 +132,7 @@ public class DuplicateReporter
 				{
 					long dbid = i.getDBID();
 					int refCount = getReferrerCountforInstance(i, classesToIgnore);
+					this.metrics.increment("duplicateReporter.referrerCounts");
 					referrerCounts.put(dbid, refCount);
 				}
 			}
@@ -0,0 +1,315 @@
+package org.reactome.release.goupdate;
+
+import java.io.IOException;
+import java.io.Reader;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+
+import org.apache.logging.log4j.LogManager;
+import org.apache.logging.log4j.Logger;
+
+/**
+ * The mapping of GO accessions to EC numbers, as read from the ec2go file.<br/>
+ * The file is parsed as a stream of characters (no regular expressions, no String per line) and the
+ * result is stored as a primitive multimap: a sorted array of numeric GO accessions, and for each accession
+ * a range in a shared array of EC numbers. EC numbers repeat heavily in ec2go, so they are pooled: each distinct
+ * EC number is only one String instance.
+ */
+class Ec2GoMapping
+{
+	private static final Logger logger = LogManager.getLogger();
+
+	private static final char[] EC_PREFIX = "EC:".toCharArray();
+	private static final char[] GO_SEPARATOR = " > GO:".toCharArray();
+	private static final char[] GO_PREFIX = "GO:".toCharArray();
+	private static final int READ_BUFFER_SIZE = 8192;
+
+	// Sorted, distinct GO accessions.
+	private final int[] accessions;
+	// The EC numbers for accessions[i] are ecNumbers[offsets[i]] .. ecNumbers[offsets[i+1]-1], in the order they appeared in the file.
+	private final int[] offsets;
+	private final String[] ecNumbers;
+	private final int distinctECNumberCount;
+
+	private Ec2GoMapping(int[] accessions, int[] offsets, String[] ecNumbers, int distinctECNumberCount)
+	{
+		this.accessions = accessions;
+		this.offsets = offsets;
+		this.ecNumbers = ecNumbers;
+		this.distinctECNumberCount = distinctECNumberCount;
+	}
+
+	/**
+	 * Parses an ec2go file.
+	 * @param pathToEc2GoFile - The path to the file.
+	 * @return The mapping of GO accessions to EC numbers.
+	 * @throws IOException
+	 */
+	static Ec2GoMapping parse(Path pathToEc2GoFile) throws IOException
+	{
+		try (Reader reader = Files.newBufferedReader(pathToEc2GoFile))
+		{
+			return parse(reader);
+		}
+	}
+
+	/**
+	 * Parses ec2go content from a Reader. The reader will not be closed.
+	 * @param reader - The reader to read the ec2go content from.
+	 * @return The mapping of GO accessions to EC numbers.
+	 * @throws IOException
+	 */
+	static Ec2GoMapping parse(Reader reader) throws IOException
+	{
+		Builder builder = new Builder();
+		char[] buffer = new char[READ_BUFFER_SIZE];
+		// The current line is assembled in a reusable buffer, rather than in a new String.
+		char[] line = new char[256];
+		int lineLength = 0;
+		int charsRead;
+		while ((charsRead = reader.read(buffer)) != -1)
+		{
+			for (int i = 0; i < charsRead; i++)
+			{
+				char c = buffer[i];
+				if (c == '\n')
+				{
+					builder.processLine(line, lineLength);
+					lineLength = 0;
+				}
+				else
+				{
+					if (lineLength == line.length)
+					{
+						line = Arrays.copyOf(line, line.length * 2);
+					}
+					line[lineLength++] = c;
+				}
+			}
+		}
+		if (lineLength > 0)
+		{
+			builder.processLine(line, lineLength);
+		}
+		Ec2GoMapping mapping = builder.build();
+		logger.info("{} EC-to-GO mappings read for {} GO accessions ({} distinct EC numbers).", mapping.mappingCount(), mapping.accessionCount(), mapping.distinctECNumberCount());
+		return mapping;
+	}
+
+	/**
+	 * Gets the EC numbers for a GO accession.
+	 * @param goAccession - The GO accession, without the "GO:" prefix.
+	 * @return An unmodifiable list of EC numbers, in the order they appear in the file. The list will be empty if the accession has no EC numbers.
+	 */
+	List<String> getECNumbers(String goAccession)
+	{
+		return this.getECNumbers(accessionToInt(goAccession));
+	}
+
+	/**
+	 * Gets the EC numbers for a numeric GO accession.
+	 * @param goAccession - The GO accession, as a number.
+	 * @return An unmodifiable list of EC numbers, in the order they appear in the file. The list will be empty if the accession has no EC numbers.
+	 */
+	List<String> getECNumbers(int goAccession)
+	{
+		int index = goAccession < 0 ? -1 : Arrays.binarySearch(this.accessions, goAccession);
+		if (index < 0)
+		{
+			return Collections.emptyList();
+		}
+		return Collections.unmodifiableList(Arrays.asList(this.ecNumbers).subList(this.offsets[index], this.offsets[index + 1]));
+	}
+
+	/**
+	 * @param goAccession - The GO accession, without the "GO:" prefix.
+	 * @return true if there is at least one EC number for <code>goAccession</code>.
+	 */
+	boolean hasECNumbers(String goAccession)
+	{
+		int accession = accessionToInt(goAccession);
+		return accession >= 0 && Arrays.binarySearch(this.accessions, accession) >= 0;
+	}
+
+	/**
+	 * @return The number of GO accessions that have EC numbers.
+	 */
+	int accessionCount()
+	{
+		return this.accessions.length;
+	}
+
+	/**
+	 * @return The total number of EC-to-GO mappings.
+	 */
+	int mappingCount()
+	{
+		return this.ecNumbers.length;
+	}
+
+	/**
+	 * @return The number of distinct EC numbers.
+	 */
+	int distinctECNumberCount()
+	{
+		return this.distinctECNumberCount;
+	}
+
+	/**
+	 * Converts a GO accession (without the "GO:" prefix) to a number.
+	 * @param goAccession - The accession.
+	 * @return The accession as a number, or -1 if the accession is null, not numeric, or too large.
+	 */
+	static int accessionToInt(CharSequence goAccession)
+	{
+		if (goAccession == null || goAccession.length() == 0)
+		{
+			return -1;
+		}
+		long value = 0;
+		for (int i = 0; i < goAccession.length(); i++)
+		{
+			char c = goAccession.charAt(i);
+			if (c < '0' || c > '9')
+			{
+				return -1;
+			}
+			value = value * 10 + (c - '0');
+			if (value > Integer.MAX_VALUE)
+			{
+				return -1;
+			}
+		}
+		return (int) value;
+	}
+
+	/**
+	 * Accumulates (accession, EC number) pairs while the file is being read.
+	 */
+	private static class Builder
+	{
+		private final StringPool ecNumberPool = new StringPool();
+		// Each entry is the accession in the high 32 bits, and the index of the EC number in the low 32 bits.
+		// Sorting the entries groups them by accession while keeping the file order within each accession.
+		private long[] entries = new long[4096];
+		private String[] values = new String[4096];
+		private int count;
+
+		/**
+		 * Processes a line with the same rules as the old regular expression: <code>^EC:([0-9\.]+) > GO:.*GO:([0-9]+)</code>
+		 * @param line - The characters of the line.
+		 * @param length - The length of the line.
+		 */
+		void processLine(char[] line, int length)
+		{
+			// Tolerate Windows line endings.
+			if (length > 0 && line[length - 1] == '\r')
+			{
+				length--;
+			}
+			if (!regionMatches(line, length, 0, EC_PREFIX))
+			{
+				return;
+			}
+			int ecStart = EC_PREFIX.length;
+			int ecEnd = ecStart;
+			while (ecEnd < length && (isDigit(line[ecEnd]) || line[ecEnd] == '.'))
+			{
+				ecEnd++;
+			}
+			if (ecEnd == ecStart || !regionMatches(line, length, ecEnd, GO_SEPARATOR))
+			{
+				return;
+			}
+			// The GO accession is the run of digits at the very end of the line, which must follow the last "GO:".
+			int accessionStart = length;
+			while (accessionStart > 0 && isDigit(line[accessionStart - 1]))
+			{
+				accessionStart--;
+			}
+			int goPrefixStart = accessionStart - GO_PREFIX.length;
+			if (accessionStart == length || goPrefixStart < ecEnd + GO_SEPARATOR.length || !regionMatches(line, length, goPrefixStart, GO_PREFIX))
+			{
+				return;
+			}
+			long accession = 0;
+			for (int i = accessionStart; i < length; i++)
+			{
+				accession = accession * 10 + (line[i] - '0');
+				if (accession > Integer.MAX_VALUE)
+				{
+					logger.warn("GO accession {} in ec2go is too large and will be ignored.", new String(line, accessionStart, length - accessionStart));
+					return;
+				}
+			}
+			this.add((int) accession, this.ecNumberPool.intern(line, ecStart, ecEnd));
+		}
+
+		private void add(int accession, String ecNumber)
+		{
+			if (this.count == this.entries.length)
+			{
+				this.entries = Arrays.copyOf(this.entries, this.count * 2);
+				this.values = Arrays.copyOf(this.values, this.count * 2);
+			}
+			this.values[this.count] = ecNumber;
+			this.entries[this.count] = ((long) accession << 32) | this.count;
+			this.count++;
+		}
+
+		Ec2GoMapping build()
+		{
+			long[] sortedEntries = Arrays.copyOf(this.entries, this.count);
+			Arrays.sort(sortedEntries);
+			int distinctAccessions = 0;
+			for (int i = 0; i < this.count; i++)
+			{
+				if (i == 0 || (sortedEntries[i] >>> 32) != (sortedEntries[i - 1] >>> 32))
+				{
+					distinctAccessions++;
+				}
+			}
+			int[] accessions = new int[distinctAccessions];
+			int[] offsets = new int[distinctAccessions + 1];
+			String[] ecNumbers = new String[this.count];
+			int accessionIndex = -1;
+			for (int i = 0; i < this.count; i++)
+			{
+				int accession = (int) (sortedEntries[i] >>> 32);
+				if (accessionIndex < 0 || accessions[accessionIndex] != accession)
+				{
+					accessionIndex++;
+					accessions[accessionIndex] = accession;
+					offsets[accessionIndex] = i;
+				}
+				ecNumbers[i] = this.values[(int) sortedEntries[i]];
+			}
+			offsets[distinctAccessions] = this.count;
+			return new Ec2GoMapping(accessions, offsets, ecNumbers, this.ecNumberPool.size());
+		}
+
+		private static boolean isDigit(char c)
+		{
+			return c >= '0' && c <= '9';
+		}
+
+		private static boolean regionMatches(char[] line, int length, int offset, char[] expected)
+		{
+			if (offset < 0 || offset + expected.length > length)
+			{
+				return false;
+			}
+			for (int i = 0; i < expected.length; i++)
+			{
+				if (line[offset + i] != expected[i])
+				{
+					return false;
+				}
+			}
+			return true;
+		}
+	}
+}
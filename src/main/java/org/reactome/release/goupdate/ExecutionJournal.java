@@ -0,0 +1,184 @@
+package org.reactome.release.goupdate;
+
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.time.LocalDateTime;
+import java.util.Collections;
+import java.util.EnumSet;
+import java.util.List;
+import java.util.Set;
+
+import org.apache.logging.log4j.LogManager;
+import org.apache.logging.log4j.Logger;
+
+/**
+ * An append-only record of the phases of a GO Update run that have been committed, so that a run that fails part of the way through
+ * can be restarted from the first phase that was not committed instead of from the beginning.<br/>
+ * The journal is a text file with one tab-separated record per line:
+ * <ul>
+ * <li><code>RUN &lt;key&gt; &lt;time&gt;</code> - a run started. The key identifies the input (see {@link #runKey(Path...)}).</li>
+ * <li><code>PHASE &lt;phase&gt; &lt;time&gt;</code> - a whole phase was committed.</li>
+ * <li><code>FINISHED &lt;time&gt;</code> - the run finished.</li>
+ * </ul>
+ * A run resumes from the journal only if the last run in it had the same key and did not finish. A phase that was not finished is done
+ * again from the start, even if some chunks of it were committed; that is safe, since every phase only changes what still differs from
+ * the file. Records are written <em>after</em> the matching commit, so a crash between the two just means the phase is done again.
+ */
+class ExecutionJournal
+{
+	private static final Logger logger = LogManager.getLogger();
+
+	private static final String RUN = "RUN";
+	private static final String PHASE = "PHASE";
+	private static final String FINISHED = "FINISHED";
+
+	/**
+	 * The phases of a GO Update run, in the order they are executed. Each one is committed separately.
+	 */
+	enum Phase
+	{
+		/** Updating existing GO terms from the file, and moving mismatched GO terms to the correct class. */
+		UPDATES,
+		/** Storing new GO terms. */
+		CREATES,
+		/** Merging secondary (alt_id) GO terms into their primary GO terms. */
+		MERGES,
+		/** Deleting obsolete GO terms. */
+		DELETIONS,
+		/** Updating the relationships between GO terms. */
+		RELATIONSHIPS
+	}
+
+	private Path path;
+	private Set<Phase> completedPhases = EnumSet.noneOf(Phase.class);
+	private boolean resumed;
+
+	private ExecutionJournal(Path path)
+	{
+		this.path = path;
+	}
+
+	/**
+	 * Opens a journal. If the last run in the journal has the same key and did not finish, its progress is loaded
+	 * (see {@link #isResumed()}); otherwise a new run is started.
+	 * @param path - The journal file. It will be created if it does not exist.
+	 * @param runKey - Identifies the input of the run.
+	 * @return The journal.
+	 * @throws IOException
+	 */
+	static ExecutionJournal open(Path path, String runKey) throws IOException
+	{
+		ExecutionJournal journal = new ExecutionJournal(path);
+		List<String> lines = Files.exists(path) ? Files.readAllLines(path, StandardCharsets.UTF_8) : Collections.emptyList();
+		int lastRun = -1;
+		for (int i = 0; i < lines.size(); i++)
+		{
+			if (lines.get(i).startsWith(RUN + "\t"))
+			{
+				lastRun = i;
+			}
+		}
+		if (lastRun >= 0 && lines.get(lastRun).split("\t")[1].equals(runKey))
+		{
+			for (String line : lines.subList(lastRun + 1, lines.size()))
+			{
+				String[] parts = line.split("\t");
+				switch (parts[0])
+				{
+					case PHASE:
+						journal.completedPhases.add(Phase.valueOf(parts[1]));
+						break;
+					case FINISHED:
+						// The last run with this input finished, so this is a new run.
+						journal.completedPhases.clear();
+						break;
+					default:
+						logger.warn("Unrecognised line in the execution journal {}: {}", path, line);
+				}
+			}
+			journal.resumed = !journal.completedPhases.isEmpty();
+		}
+		if (journal.resumed)
+		{
+			logger.info("Resuming from the execution journal {}. Completed phases: {}", path, journal.completedPhases);
+		}
+		else
+		{
+			journal.append(RUN, runKey);
+		}
+		return journal;
+	}
+
+	/**
+	 * Makes a key that identifies the input files of a run: their names, sizes and modification times.
+	 * @param inputFiles - The input files.
+	 * @return The key.
+	 * @throws IOException
+	 */
+	static String runKey(Path... inputFiles) throws IOException
+	{
+		StringBuilder key = new StringBuilder();
+		for (Path inputFile : inputFiles)
+		{
+			if (key.length() > 0)
+			{
+				key.append(';');
+			}
+			key.append(inputFile.getFileName()).append(':').append(Files.size(inputFile)).append(':').append(Files.getLastModifiedTime(inputFile).toMillis());
+		}
+		return key.toString();
+	}
+
+	/**
+	 * @return true if this journal continues a run that did not finish.
+	 */
+	boolean isResumed()
+	{
+		return this.resumed;
+	}
+
+	/**
+	 * @param phase - A phase.
+	 * @return true if the whole phase has been committed.
+	 */
+	boolean isComplete(Phase phase)
+	{
+		return this.completedPhases.contains(phase);
+	}
+
+	/**
+	 * Records that a whole phase has been committed.
+	 * @param phase - The phase.
+	 */
+	void recordPhase(Phase phase)
+	{
+		this.append(PHASE, phase.name());
+		this.completedPhases.add(phase);
+	}
+
+	/**
+	 * Records that the run has finished. The next run will start from the beginning.
+	 */
+	void recordFinished()
+	{
+		this.append(FINISHED);
+	}
+
+	private void append(String... fields)
+	{
+		String line = String.join("\t", fields) + "\t" + LocalDateTime.now() + "\n";
+		try
+		{
+			// DSYNC: the record must be on disk before the run carries on, or a crash could lose it.
+			Files.write(this.path, line.getBytes(StandardCharsets.UTF_8), StandardOpenOption.CREATE, StandardOpenOption.APPEND, StandardOpenOption.DSYNC);
+		}
+		catch (IOException e)
+		{
+			// Not fatal for the update itself, but the next run will not be able to resume from here.
+			logger.error("Could not write to the execution journal " + this.path, e);
+		}
+	}
+}
@@ -0,0 +1,445 @@
+package org.reactome.release.goupdate;
+
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+import org.apache.logging.log4j.LogManager;
+import org.apache.logging.log4j.Logger;
+import org.gk.model.ReactomeJavaConstants;
+import org.gk.persistence.MySQLAdaptor;
+import org.gk.schema.SchemaAttribute;
+import org.gk.schema.SchemaClass;
+
+/**
+ * A read-only, column-oriented snapshot of all the GO term instances in the database: for each instance, its DB_ID, class, accession,
+ * name, definition, EC numbers and the DB_IDs of the GO terms it is related to (instanceOf, componentOf, hasPart).<br/>
+ * It is loaded with a handful of SQL queries and kept in parallel arrays (multi-valued columns are stored as one flat array per column,
+ * with the start of each row's values in an offset array), so deciding what needs to change does not need a GKInstance - or a slot in the
+ * adaptor's instance cache - for every GO term. A GKInstance only needs to be fetched (by DB_ID) for a row that is actually going to be written.<br/>
+ * The table is not updated when the database changes: load a new one when an up-to-date view is needed.
+ */
+class GoInstanceTable
+{
+	private static final Logger logger = LogManager.getLogger();
+
+	// The order the classes are loaded in, which is also the order of the rows for accessions that are duplicated across classes.
+	private static final String[] GO_CLASSES = { ReactomeJavaConstants.GO_BiologicalProcess, ReactomeJavaConstants.GO_CellularComponent, ReactomeJavaConstants.GO_MolecularFunction };
+	/** The instance-valued attributes that hold relationships between GO terms. */
+	static final List<String> RELATIONSHIP_ATTRIBUTES = Collections.unmodifiableList(Arrays.asList(ReactomeJavaConstants.instanceOf, ReactomeJavaConstants.componentOf, "hasPart"));
+	private static final int[] NO_ROWS = new int[0];
+
+	private MySQLAdaptor adaptor;
+	private int size;
+	private long[] dbIds;
+	private String[] classNames;
+	private String[] accessions;
+	private String[] names;
+	private String[] definitions;
+	// The EC numbers of row i are ecNumbers[ecNumberStarts[i] .. ecNumberStarts[i+1]).
+	private int[] ecNumberStarts;
+	private String[] ecNumbers;
+	// The same layout, for each relationship attribute.
+	private Map<String, int[]> relationshipStarts = new HashMap<>();
+	private Map<String, long[]> relationshipTargets = new HashMap<>();
+	// DB_IDs in ascending order, and the row of each one, for looking rows up by DB_ID.
+	private long[] sortedDbIds;
+	private int[] sortedRows;
+	private Map<String, int[]> rowsByAccession = new HashMap<>();
+	private Map<String, SchemaClass> schemaClasses = new HashMap<>();
+
+	GoInstanceTable(MySQLAdaptor adaptor)
+	{
+		this.adaptor = adaptor;
+	}
+
+	/**
+	 * Loads all GO_BiologicalProcess, GO_CellularComponent and GO_MolecularFunction instances (including instances of their subclasses).
+	 * @param adaptor - The adaptor.
+	 * @param metrics - The metrics that the time it takes is recorded in.
+	 * @return The table.
+	 * @throws Exception
+	 */
+	static GoInstanceTable load(MySQLAdaptor adaptor, GoUpdateMetrics metrics) throws Exception
+	{
+		GoUpdateMetrics.Timer timer = metrics.time("goInstanceTable.load");
+		Builder builder = new Builder(adaptor);
+		Connection connection = adaptor.getConnection();
+		// A table can hold values for more than one of the GO classes, so each one is only read once.
+		Set<String> loadedValueTables = new HashSet<>();
+		for (String goClassName : GO_CLASSES)
+		{
+			SchemaClass goClass = adaptor.getSchema().getClassByName(goClassName);
+			int before = builder.size;
+			loadRows(connection, goClass, builder);
+			logger.info("{} {} instances in the database.", builder.size - before, goClassName);
+			if (goClass.isValidAttribute(ReactomeJavaConstants.ecNumber))
+			{
+				SchemaAttribute ecNumber = goClass.getAttribute(ReactomeJavaConstants.ecNumber);
+				if (loadedValueTables.add(BulkSqlUtils.tableName(ecNumber) + "." + ecNumber.getName()))
+				{
+					loadValues(connection, ecNumber, (dbId, results) -> builder.addECNumber(dbId, results.getString(2)));
+				}
+			}
+			for (String relationship : RELATIONSHIP_ATTRIBUTES)
+			{
+				if (goClass.isValidAttribute(relationship))
+				{
+					SchemaAttribute attribute = goClass.getAttribute(relationship);
+					if (loadedValueTables.add(BulkSqlUtils.tableName(attribute) + "." + attribute.getName()))
+					{
+						loadValues(connection, attribute, (dbId, results) -> builder.addRelationship(relationship, dbId, results.getLong(2)));
+					}
+				}
+			}
+		}
+		GoInstanceTable table = builder.build();
+		timer.close();
+		return table;
+	}
+
+	/*
+	 * One row per instance of the class (or of its subclasses - they all have a row in the class's table), with its single-valued columns.
+	 */
+	private static void loadRows(Connection connection, SchemaClass goClass, Builder builder) throws Exception
+	{
+		StringBuilder joins = new StringBuilder();
+		String accession = column(goClass, ReactomeJavaConstants.accession, joins);
+		String name = column(goClass, ReactomeJavaConstants.name, joins);
+		String definition = column(goClass, ReactomeJavaConstants.definition, joins);
+		String sql = "SELECT r.DB_ID, d._class, " + accession + ", " + name + ", " + definition + " FROM " + goClass.getName() + " r"
+					+ " JOIN " + ReactomeJavaConstants.DatabaseObject + " d ON d.DB_ID = r.DB_ID" + joins + " ORDER BY r.DB_ID";
+		try (PreparedStatement select = connection.prepareStatement(sql);
+			ResultSet results = select.executeQuery())
+		{
+			while (results.next())
+			{
+				builder.addRow(results.getLong(1), results.getString(2), results.getString(3), results.getString(4), results.getString(5));
+			}
+		}
+	}
+
+	/*
+	 * The SQL expression for a column of the row query. Attributes that are not on the class's own table are joined in (for a multi-valued
+	 * attribute, only the first value is used).
+	 */
+	private static String column(SchemaClass goClass, String attributeName, StringBuilder joins) throws Exception
+	{
+		if (!goClass.isValidAttribute(attributeName))
+		{
+			return "NULL";
+		}
+		SchemaAttribute attribute = goClass.getAttribute(attributeName);
+		if (!attribute.isMultiple() && attribute.getOrigin().getName().equals(goClass.getName()))
+		{
+			return "r." + attributeName;
+		}
+		String alias = "t_" + attributeName;
+		joins.append(" LEFT JOIN ").append(BulkSqlUtils.tableName(attribute)).append(' ').append(alias).append(" ON ").append(alias).append(".DB_ID = r.DB_ID");
+		if (attribute.isMultiple())
+		{
+			joins.append(" AND ").append(alias).append('.').append(attributeName).append("_rank = 0");
+		}
+		return alias + "." + attributeName;
+	}
+
+	@FunctionalInterface
+	private interface ValueConsumer
+	{
+		void accept(long dbId, ResultSet results) throws Exception;
+	}
+
+	/*
+	 * All the (DB_ID, value) pairs of an attribute, in rank order.
+	 */
+	private static void loadValues(Connection connection, SchemaAttribute attribute, ValueConsumer consumer) throws Exception
+	{
+		String column = attribute.getName();
+		String sql = attribute.isMultiple()
+					? "SELECT DB_ID, " + column + " FROM " + BulkSqlUtils.tableName(attribute) + " ORDER BY DB_ID, " + column + "_rank"
+					: "SELECT DB_ID, " + column + " FROM " + BulkSqlUtils.tableName(attribute) + " WHERE " + column + " IS NOT NULL";
+		try (PreparedStatement select = connection.prepareStatement(sql);
+			ResultSet results = select.executeQuery())
+		{
+			while (results.next())
+			{
+				consumer.accept(results.getLong(1), results);
+			}
+		}
+	}
+
+	/**
+	 * @return The number of rows.
+	 */
+	int size()
+	{
+		return this.size;
+	}
+
+	long getDbId(int row)
+	{
+		return this.dbIds[row];
+	}
+
+	/**
+	 * @param row - A row.
+	 * @return The name of the instance's class (which might be a subclass of one of the GO classes, such as Compartment).
+	 */
+	String getClassName(int row)
+	{
+		return this.classNames[row];
+	}
+
+	/**
+	 * @param row - A row.
+	 * @param className - A class name.
+	 * @return true if the instance's class is <code>className</code> or one of its subclasses.
+	 */
+	boolean isa(int row, String className)
+	{
+		return this.getSchemaClass(row).isa(className);
+	}
+
+	/**
+	 * @param row - A row.
+	 * @param attributeName - An attribute name.
+	 * @return true if the attribute is valid for the instance's class.
+	 */
+	boolean hasAttribute(int row, String attributeName)
+	{
+		return this.getSchemaClass(row).isValidAttribute(attributeName);
+	}
+
+	private SchemaClass getSchemaClass(int row)
+	{
+		return this.schemaClasses.computeIfAbsent(this.classNames[row], c -> this.adaptor.getSchema().getClassByName(c));
+	}
+
+	String getAccession(int row)
+	{
+		return this.accessions[row];
+	}
+
+	String getName(int row)
+	{
+		return this.names[row];
+	}
+
+	String getDefinition(int row)
+	{
+		return this.definitions[row];
+	}
+
+	/**
+	 * @param row - A row.
+	 * @return The instance's EC numbers, in rank order. Empty if it has none.
+	 */
+	List<String> getECNumbers(int row)
+	{
+		return Collections.unmodifiableList(Arrays.asList(this.ecNumbers).subList(this.ecNumberStarts[row], this.ecNumberStarts[row + 1]));
+	}
+
+	/**
+	 * @param row - A row.
+	 * @param relationship - One of {@link #RELATIONSHIP_ATTRIBUTES}.
+	 * @return The DB_IDs that the instance refers to via the relationship, in rank order. Empty if it has none, or if its class does not have the relationship.
+	 */
+	long[] getRelationship(int row, String relationship)
+	{
+		int[] starts = this.relationshipStarts.get(relationship);
+		if (starts == null)
+		{
+			return new long[0];
+		}
+		return Arrays.copyOfRange(this.relationshipTargets.get(relationship), starts[row], starts[row + 1]);
+	}
+
+	/**
+	 * @param accession - A GO accession (without the "GO:" prefix).
+	 * @return The rows with that accession, in load order. Empty if there are none.
+	 */
+	int[] getRows(String accession)
+	{
+		return this.rowsByAccession.getOrDefault(accession, NO_ROWS);
+	}
+
+	/**
+	 * @param dbId - A DB_ID.
+	 * @return The row of the instance with that DB_ID, or -1 if it is not in the table.
+	 */
+	int getRow(long dbId)
+	{
+		int i = Arrays.binarySearch(this.sortedDbIds, dbId);
+		return i >= 0 ? this.sortedRows[i] : -1;
+	}
+
+	/**
+	 * Builds a table. Used by {@link GoInstanceTable#load(MySQLAdaptor, GoUpdateMetrics)}, and by tests.
+	 */
+	static class Builder
+	{
+		private MySQLAdaptor adaptor;
+		private StringPool pool = new StringPool();
+		private int size;
+		private long[] dbIds = new long[1024];
+		private List<String> classNames = new ArrayList<>();
+		private List<String> accessions = new ArrayList<>();
+		private List<String> names = new ArrayList<>();
+		private List<String> definitions = new ArrayList<>();
+		// Multi-valued columns are collected as (DB_ID, value) pairs, and put in row order by build().
+		private int ecNumberCount;
+		private long[] ecNumberDbIds = new long[1024];
+		private List<String> ecNumberValues = new ArrayList<>();
+		private Map<String, int[]> relationshipCounts = new HashMap<>();
+		private Map<String, long[][]> relationshipPairs = new HashMap<>();
+
+		/**
+		 * @param adaptor - The adaptor whose schema {@link GoInstanceTable#isa(int, String)} will use.
+		 */
+		Builder(MySQLAdaptor adaptor)
+		{
+			this.adaptor = adaptor;
+		}
+
+		Builder addRow(long dbId, String className, String accession, String name, String definition)
+		{
+			if (this.size == this.dbIds.length)
+			{
+				this.dbIds = Arrays.copyOf(this.dbIds, this.size * 2);
+			}
+			this.dbIds[this.size++] = dbId;
+			this.classNames.add(this.pool.intern(className));
+			this.accessions.add(accession);
+			this.names.add(name);
+			this.definitions.add(definition);
+			return this;
+		}
+
+		Builder addECNumber(long dbId, String ecNumber)
+		{
+			if (this.ecNumberCount == this.ecNumberDbIds.length)
+			{
+				this.ecNumberDbIds = Arrays.copyOf(this.ecNumberDbIds, this.ecNumberCount * 2);
+			}
+			this.ecNumberDbIds[this.ecNumberCount++] = dbId;
+			// EC numbers repeat a lot.
+			this.ecNumberValues.add(this.pool.intern(ecNumber));
+			return this;
+		}
+
+		Builder addRelationship(String relationship, long dbId, long targetDbId)
+		{
+			int[] count = this.relationshipCounts.computeIfAbsent(relationship, r -> new int[1]);
+			long[][] pairs = this.relationshipPairs.computeIfAbsent(relationship, r -> new long[][] { new long[1024], new long[1024] });
+			if (count[0] == pairs[0].length)
+			{
+				pairs[0] = Arrays.copyOf(pairs[0], count[0] * 2);
+				pairs[1] = Arrays.copyOf(pairs[1], count[0] * 2);
+			}
+			pairs[0][count[0]] = dbId;
+			pairs[1][count[0]] = targetDbId;
+			count[0]++;
+			return this;
+		}
+
+		GoInstanceTable build()
+		{
+			GoInstanceTable table = new GoInstanceTable(this.adaptor);
+			table.size = this.size;
+			table.dbIds = Arrays.copyOf(this.dbIds, this.size);
+			table.classNames = this.classNames.toArray(new String[0]);
+			table.accessions = this.accessions.toArray(new String[0]);
+			table.names = this.names.toArray(new String[0]);
+			table.definitions = this.definitions.toArray(new String[0]);
+
+			Integer[] order = new Integer[this.size];
+			for (int i = 0; i < this.size; i++)
+			{
+				order[i] = i;
+			}
+			Arrays.sort(order, (a, b) -> Long.compare(table.dbIds[a], table.dbIds[b]));
+			table.sortedDbIds = new long[this.size];
+			table.sortedRows = new int[this.size];
+			for (int i = 0; i < this.size; i++)
+			{
+				table.sortedRows[i] = order[i];
+				table.sortedDbIds[i] = table.dbIds[order[i]];
+			}
+			for (int row = 0; row < this.size; row++)
+			{
+				// A null accession is indexed as "", the same as DuplicateReporter does.
+				String accession = table.accessions[row] != null ? table.accessions[row] : "";
+				int[] rows = table.rowsByAccession.get(accession);
+				rows = rows == null ? new int[1] : Arrays.copyOf(rows, rows.length + 1);
+				rows[rows.length - 1] = row;
+				table.rowsByAccession.put(accession, rows);
+			}
+
+			int[][] ecNumberLayout = layout(table, this.ecNumberDbIds, this.ecNumberCount);
+			table.ecNumberStarts = ecNumberLayout[0];
+			table.ecNumbers = new String[this.ecNumberCount];
+			for (int i = 0; i < this.ecNumberCount; i++)
+			{
+				if (ecNumberLayout[1][i] >= 0)
+				{
+					table.ecNumbers[ecNumberLayout[1][i]] = this.ecNumberValues.get(i);
+				}
+			}
+			for (Map.Entry<String, long[][]> entry : this.relationshipPairs.entrySet())
+			{
+				long[][] pairs = entry.getValue();
+				int count = this.relationshipCounts.get(entry.getKey())[0];
+				int[][] layout = layout(table, pairs[0], count);
+				long[] targets = new long[count];
+				for (int i = 0; i < count; i++)
+				{
+					if (layout[1][i] >= 0)
+					{
+						targets[layout[1][i]] = pairs[1][i];
+					}
+				}
+				table.relationshipStarts.put(entry.getKey(), layout[0]);
+				table.relationshipTargets.put(entry.getKey(), targets);
+			}
+			return table;
+		}
+
+		/*
+		 * Works out where each (DB_ID, value) pair goes in a flat, row-ordered array. Pairs keep their order within a row, so values stay in
+		 * rank order. Returns the start of each row's values (plus one entry for the end), and the position of each pair (-1 for pairs whose
+		 * DB_ID is not in the table; those positions are left at the end of the array, unused).
+		 */
+		private static int[][] layout(GoInstanceTable table, long[] pairDbIds, int count)
+		{
+			int[] starts = new int[table.size + 1];
+			int[] pairRows = new int[count];
+			for (int i = 0; i < count; i++)
+			{
+				pairRows[i] = table.getRow(pairDbIds[i]);
+				if (pairRows[i] >= 0)
+				{
+					starts[pairRows[i] + 1]++;
+				}
+			}
+			for (int row = 0; row < table.size; row++)
+			{
+				starts[row + 1] += starts[row];
+			}
+			int[] next = Arrays.copyOf(starts, table.size);
+			int[] positions = new int[count];
+			for (int i = 0; i < count; i++)
+			{
+				positions[i] = pairRows[i] >= 0 ? next[pairRows[i]]++ : -1;
+			}
+			return new int[][] { starts, positions };
+		}
+	}
+}
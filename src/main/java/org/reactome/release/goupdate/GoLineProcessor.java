@@ -84,8 +84,8 @@ class GoLineProcessor
 					case GoUpdateConstants.NAME:
 					{
 						m = GoUpdateConstants.NAME_REGEX.matcher(line);
-						String name = m.matches() ? m.group(1) : "";
-						if (!name.trim().isEmpty())
+						String name = m.matches() ? OboText.unescape(m.group(1)).trim() : "";
+						if (!name.isEmpty())
 						{
 							if (!goTerms.get(currentGOID).containsKey(name))
 							{
@@ -112,9 +112,9 @@ class GoLineProcessor
 					}
 					case GoUpdateConstants.DEF:
 					{
-						m = GoUpdateConstants.DEF_REGEX.matcher(line);
-						String def = m.matches() ? m.group(1) : "";
-						if (!def.trim().isEmpty())
+						// The definition is a quoted string which may contain escaped quotes, so it is not extracted with a regex.
+						String def = line.startsWith(GoUpdateConstants.DEF + ": ") ? OboText.parseQuotedString(line, GoUpdateConstants.DEF.length() + 2) : null;
+						if (def != null && !def.trim().isEmpty())
 						{
 							goTerms.get(currentGOID).put(GoUpdateConstants.DEF, def);
 						}
@@ -0,0 +1,349 @@
+package org.reactome.release.goupdate;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+import org.apache.logging.log4j.LogManager;
+import org.apache.logging.log4j.Logger;
+
+/**
+ * Reads the GO (OBO) file as a stream of bytes, and passes the lines of [Term] stanzas to {@link GoLineProcessor}.<br/>
+ * The reader takes a <em>projection</em>: the set of tags that consumers actually need. Lines whose tag is not in the projection
+ * are skipped at the byte level - no String is ever created for them. Lines with no tag at all are always passed on, since
+ * GoLineProcessor checks those for the "pending obsoletion" marker.<br/>
+ * Outside of [Term] stanzas nothing is read line-by-line: the header and other stanzas ([Typedef], [Instance]) are skipped by
+ * scanning ahead to the next line that starts a [Term] stanza.
+ */
+class GoOboReader
+{
+	private static final Logger logger = LogManager.getLogger();
+
+	/**
+	 * The tags that are read by GoTermsUpdater, GoTermInstanceModifier and GoTermsReconciler. Notably, this does <em>not</em> include
+	 * "synonym", which is the biggest contributor to the size of the file but is not used by anything.
+	 */
+	static final Set<String> DEFAULT_PROJECTION = Collections.unmodifiableSet(new HashSet<>(Arrays.asList(
+			GoUpdateConstants.ID, GoUpdateConstants.ALT_ID, GoUpdateConstants.NAME, GoUpdateConstants.NAMESPACE, GoUpdateConstants.DEF,
+			GoUpdateConstants.RELATIONSHIP, GoUpdateConstants.IS_A, GoUpdateConstants.CONSIDER, GoUpdateConstants.REPLACED_BY,
+			GoUpdateConstants.IS_OBSOLETE)));
+
+	private static final byte[] TERM_STANZA = "[Term]".getBytes(StandardCharsets.US_ASCII);
+
+	private final ByteBuffer buffer;
+	private final byte[][] projectedTags;
+
+	private int lineCount;
+	private int termCount;
+	private int skippedLineCount;
+	private int skippedStanzaCount;
+	// Secondary (alt_id) accession -> primary accession.
+	private Map<String, String> alternateIndex = Collections.emptyMap();
+
+	/**
+	 * Creates a reader over the content of a GO file, using {@link #DEFAULT_PROJECTION}.
+	 * @param buffer - The content of the GO file. Reading starts at the buffer's position.
+	 */
+	GoOboReader(ByteBuffer buffer)
+	{
+		this(buffer, DEFAULT_PROJECTION);
+	}
+
+	/**
+	 * Creates a reader over the content of a GO file.
+	 * @param buffer - The content of the GO file. Reading starts at the buffer's position.
+	 * @param projection - The tags that should be read. Lines with any other tag will be skipped.
+	 */
+	GoOboReader(ByteBuffer buffer, Set<String> projection)
+	{
+		this.buffer = buffer;
+		this.projectedTags = projection.stream().map(tag -> tag.getBytes(StandardCharsets.US_ASCII)).toArray(byte[][]::new);
+	}
+
+	/**
+	 * Creates a reader for a GO file. The file is memory-mapped rather than read into the heap.
+	 * @param pathToGOFile - The path to the GO file.
+	 * @param projection - The tags that should be read.
+	 * @return A reader for the file.
+	 * @throws IOException
+	 */
+	static GoOboReader open(Path pathToGOFile, Set<String> projection) throws IOException
+	{
+		try (FileChannel channel = FileChannel.open(pathToGOFile, StandardOpenOption.READ))
+		{
+			// The mapping stays valid after the channel is closed.
+			return new GoOboReader(channel.map(FileChannel.MapMode.READ_ONLY, 0, channel.size()), projection);
+		}
+	}
+
+	/**
+	 * Creates a reader for a GO file, using {@link #DEFAULT_PROJECTION}.
+	 * @param pathToGOFile - The path to the GO file.
+	 * @return A reader for the file.
+	 * @throws IOException
+	 */
+	static GoOboReader open(Path pathToGOFile) throws IOException
+	{
+		return open(pathToGOFile, DEFAULT_PROJECTION);
+	}
+
+	/**
+	 * Reads all the GO terms.
+	 * @return The GO terms, keyed by GO ID. Values are maps of the (projected) tags to values from the file. See {@link GoLineProcessor#processLine(String, String, Map)}.
+	 */
+	Map<String, Map<String, Object>> readTerms()
+	{
+		Map<String, Map<String, Object>> goTerms = new HashMap<>();
+		ByteBuffer content = this.buffer.duplicate();
+		int limit = content.limit();
+		int position = content.position();
+		byte[] lineBytes = new byte[512];
+		boolean termStarted = false;
+		String currentGOID = "";
+		this.lineCount = 0;
+		this.termCount = 0;
+		this.skippedLineCount = 0;
+		this.skippedStanzaCount = 0;
+		while (position < limit)
+		{
+			if (!termStarted)
+			{
+				// Nothing outside of a [Term] stanza is needed, so jump straight to the next one.
+				position = this.skipToNextTermStanza(content, position, limit);
+				if (position >= limit)
+				{
+					break;
+				}
+			}
+			int lineStart = position;
+			int lineEnd = indexOfNewline(content, lineStart, limit);
+			position = lineEnd + 1;
+			this.lineCount++;
+			// Tolerate Windows line endings.
+			if (lineEnd > lineStart && content.get(lineEnd - 1) == '\r')
+			{
+				lineEnd--;
+			}
+			// Empty line means end of a Term.
+			if (isBlank(content, lineStart, lineEnd))
+			{
+				termStarted = false;
+			}
+			// We are starting a new Term.
+			else if (regionEquals(content, lineStart, lineEnd, TERM_STANZA))
+			{
+				termStarted = true;
+				this.termCount++;
+			}
+			// Some other stanza header, with no blank line before it, also ends the Term.
+			else if (content.get(lineStart) == '[')
+			{
+				termStarted = false;
+				this.skippedStanzaCount++;
+			}
+			else
+			{
+				if (this.isProjected(content, lineStart, lineEnd))
+				{
+					int length = lineEnd - lineStart;
+					if (length > lineBytes.length)
+					{
+						lineBytes = new byte[Math.max(length, lineBytes.length * 2)];
+					}
+					for (int i = 0; i < length; i++)
+					{
+						lineBytes[i] = content.get(lineStart + i);
+					}
+					String line = new String(lineBytes, 0, length, StandardCharsets.UTF_8);
+					currentGOID = GoLineProcessor.processLine(line, currentGOID, goTerms);
+				}
+				else
+				{
+					this.skippedLineCount++;
+				}
+			}
+		}
+		this.alternateIndex = buildAlternateIndex(goTerms);
+		logger.info("{} lines read from the GO file, {} lines were skipped because their tags are not needed, {} non-Term stanzas were skipped.",
+				this.lineCount, this.skippedLineCount, this.skippedStanzaCount);
+		return goTerms;
+	}
+
+	/**
+	 * @return The number of lines read by the last call to {@link #readTerms()}.
+	 */
+	int getLineCount()
+	{
+		return this.lineCount;
+	}
+
+	/**
+	 * @return The number of [Term] stanzas read by the last call to {@link #readTerms()}.
+	 */
+	int getTermCount()
+	{
+		return this.termCount;
+	}
+
+	/**
+	 * @return The number of lines inside [Term] stanzas that were skipped (not materialized) by the last call to {@link #readTerms()}.
+	 */
+	int getSkippedLineCount()
+	{
+		return this.skippedLineCount;
+	}
+
+	/**
+	 * @return The reverse alt_id index from the last call to {@link #readTerms()}: each secondary (alt_id) accession, mapped to the primary accession
+	 * whose stanza lists it. Unmodifiable.
+	 */
+	Map<String, String> getAlternateIndex()
+	{
+		return this.alternateIndex;
+	}
+
+	/**
+	 * Builds the index of secondary (alt_id) accessions.
+	 * @param goTerms - GO terms, as returned by {@link #readTerms()}.
+	 * @return Secondary accessions, mapped to their primary accessions. Unmodifiable.
+	 */
+	static Map<String, String> buildAlternateIndex(Map<String, Map<String, Object>> goTerms)
+	{
+		Map<String, String> alternateIndex = new HashMap<>();
+		for (Map.Entry<String, Map<String, Object>> goTerm : goTerms.entrySet())
+		{
+			@SuppressWarnings("unchecked")
+			List<String> alternates = (List<String>) goTerm.getValue().get(GoUpdateConstants.ALT_ID);
+			if (alternates != null)
+			{
+				for (String alternate : alternates)
+				{
+					String otherPrimary = alternateIndex.putIfAbsent(alternate, goTerm.getKey());
+					if (otherPrimary != null && !otherPrimary.equals(goTerm.getKey()))
+					{
+						logger.warn("GO:{} is an alt_id of both GO:{} and GO:{}; only GO:{} will be used.", alternate, otherPrimary, goTerm.getKey(), otherPrimary);
+					}
+				}
+			}
+		}
+		return Collections.unmodifiableMap(alternateIndex);
+	}
+
+	/**
+	 * @return The number of stanzas other than [Term] (such as [Typedef]) that were skipped by the last call to {@link #readTerms()}.
+	 */
+	int getSkippedStanzaCount()
+	{
+		return this.skippedStanzaCount;
+	}
+
+	/*
+	 * Scans forward from the start of a line to the start of the next line that is exactly "[Term]" (or the end of the content).
+	 * Lines are only counted, never examined individually. Other stanza headers that are passed over are counted as skipped stanzas.
+	 */
+	private int skipToNextTermStanza(ByteBuffer content, int position, int limit)
+	{
+		int lineStart = position;
+		while (lineStart < limit)
+		{
+			if (content.get(lineStart) == '[')
+			{
+				int lineEnd = indexOfNewline(content, lineStart, limit);
+				int headerEnd = lineEnd > lineStart && content.get(lineEnd - 1) == '\r' ? lineEnd - 1 : lineEnd;
+				if (regionEquals(content, lineStart, headerEnd, TERM_STANZA))
+				{
+					return lineStart;
+				}
+				this.skippedStanzaCount++;
+				this.lineCount++;
+				lineStart = lineEnd + 1;
+			}
+			else
+			{
+				lineStart = indexOfNewline(content, lineStart, limit) + 1;
+				this.lineCount++;
+			}
+		}
+		return limit;
+	}
+
+	/*
+	 * A line is projected if its tag (the text before the first ':') is one of the projected tags, or if it has no tag.
+	 */
+	private boolean isProjected(ByteBuffer content, int lineStart, int lineEnd)
+	{
+		int colon = -1;
+		for (int i = lineStart; i < lineEnd; i++)
+		{
+			if (content.get(i) == ':')
+			{
+				colon = i;
+				break;
+			}
+		}
+		if (colon < 0)
+		{
+			return true;
+		}
+		for (byte[] tag : this.projectedTags)
+		{
+			if (regionEquals(content, lineStart, colon, tag))
+			{
+				return true;
+			}
+		}
+		return false;
+	}
+
+	private static int indexOfNewline(ByteBuffer content, int from, int limit)
+	{
+		for (int i = from; i < limit; i++)
+		{
+			if (content.get(i) == '\n')
+			{
+				return i;
+			}
+		}
+		return limit;
+	}
+
+	private static boolean isBlank(ByteBuffer content, int start, int end)
+	{
+		for (int i = start; i < end; i++)
+		{
+			byte b = content.get(i);
+			// Same definition of "blank" as String.trim()
+			if ((b & 0xff) > ' ')
+			{
+				return false;
+			}
+		}
+		return true;
+	}
+
+	private static boolean regionEquals(ByteBuffer content, int start, int end, byte[] expected)
+	{
+		if (end - start != expected.length)
+		{
+			return false;
+		}
+		for (int i = 0; i < expected.length; i++)
+		{
+			if (content.get(start + i) != expected[i])
+			{
+				return false;
+			}
+		}
+		return true;
+	}
+}
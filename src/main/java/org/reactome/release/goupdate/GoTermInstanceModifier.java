@@ -1,9 +1,9 @@
 package org.reactome.release.goupdate;
 
-import java.io.ByteArrayOutputStream;
-import java.io.OutputStream;
-import java.io.PrintStream;
+import java.util.ArrayList;
 import java.util.Collection;
+import java.util.HashSet;
+import java.util.LinkedHashSet;
 import java.util.List;
 import java.util.Map;
 import java.util.Set;
@@ -22,7 +22,7 @@ import org.gk.schema.SchemaClass;
 import org.reactome.release.goupdate.GoUpdateInstanceEditUtils.GOUpdateInstEditType;
 
 /**
- * This class is responsible for creating/modifying/deleting a single GO term (as a GKInstance) in the database.
+ * This class is responsible for creating/modifying a single GO term (as a GKInstance) in the database.
  * @author sshorser
  *
  */
@@ -32,37 +32,69 @@ class GoTermInstanceModifier
 	private static final Logger logger = LogManager.getLogger();
 	private static final Logger updatedGOTermLogger = LogManager.getLogger("updatedGOTermsLog");
 	private MySQLAdaptor adaptor;
+	private GoUpdateContext context;
 	private GKInstance goInstance;
+
+	/**
+	 * Describes what {@link GoTermInstanceModifier#updateGOInstance(Map, Ec2GoMapping, StringBuffer)} changed.
+	 */
+	enum UpdateOutcome
+	{
+		/** Nothing was written to the database. */
+		UNCHANGED,
+		/** Only the EC numbers were different, so only they were written. */
+		EC_NUMBERS_ONLY,
+		/** The name and/or definition were written (the EC numbers may have been written too). */
+		NAME_OR_DEFINITION
+	}
 	
 	/**
-	 * Create the data modifier that is suitable for creating updating or deleting existing GO terms in the database.
+	 * Create the data modifier that is suitable for updating existing GO terms in the database.
 	 * @param adaptor - the database adaptor to use.
-	 * @param goInstance - the GKInstance for the GO term you wish to update/delete.
+	 * @param context - the run.
+	 * @param goInstance - the GKInstance for the GO term you wish to update.
 	 */
-	public GoTermInstanceModifier(MySQLAdaptor adaptor, GKInstance goInstance)
+	public GoTermInstanceModifier(MySQLAdaptor adaptor, GoUpdateContext context, GKInstance goInstance)
 	{
 		this.adaptor = adaptor;
+		this.context = context;
 		this.goInstance = goInstance;
 	}
 	
 	/**
 	 * Create a data modifier that is suitable for creating *new* GO terms in the database.
 	 * @param adaptor - the database adaptor to use.
+	 * @param context - the run.
 	 */
-	public GoTermInstanceModifier(MySQLAdaptor adaptor)
+	public GoTermInstanceModifier(MySQLAdaptor adaptor, GoUpdateContext context)
 	{
-		this(adaptor,null);
+		this(adaptor, context, null);
 	}
 
 	
 	/**
 	 * Creates a new GO Term in the database.
 	 * @param goTerms - Map of GO terms, based on the file. Keyed by GO ID.
-	 * @param goToEcNumbers - Mapping of GO-to-EC numbers. Keyed by GO ID.
+	 * @param goToEcNumbers - Mapping of GO-to-EC numbers, from the ec2go file.
 	 * @param currentGOID - GO ID of the thing to insert.
 	 * @param currentCategory - Current category/namespace. Will help choose which Reactome SchemaClass to use: GO_BiologicalProcess, GO_MolecularFunction, GO_CellularCompartment.
 	 */
-	public Long createNewGOTerm(Map<String, Map<String, Object>> goTerms, Map<String,List<String>> goToEcNumbers, String currentGOID, String currentCategory, GKInstance goRefDB) throws Exception
+	public Long createNewGOTerm(Map<String, Map<String, Object>> goTerms, Ec2GoMapping goToEcNumbers, String currentGOID, String currentCategory, GKInstance goRefDB) throws Exception
+	{
+		GKInstance newGOTerm = this.buildNewGOTerm(goTerms, goToEcNumbers, currentGOID, currentCategory, goRefDB);
+		newGOTerm.setDbAdaptor(this.adaptor);
+		return this.adaptor.storeInstance(newGOTerm);
+	}
+
+	/**
+	 * Builds a new GO Term, but does not store it. Use this with a {@link BulkCreator} to store many new GO terms at once.
+	 * @param goTerms - Map of GO terms, based on the file. Keyed by GO ID.
+	 * @param goToEcNumbers - Mapping of GO-to-EC numbers, from the ec2go file.
+	 * @param currentGOID - GO ID of the thing to build.
+	 * @param currentCategory - Current category/namespace. Will help choose which Reactome SchemaClass to use: GO_BiologicalProcess, GO_MolecularFunction, GO_CellularCompartment.
+	 * @return The new GO term. It has no DB_ID yet.
+	 */
+	public GKInstance buildNewGOTerm(Map<String, Map<String, Object>> goTerms, Ec2GoMapping goToEcNumbers, String currentGOID, String currentCategory, GKInstance goRefDB) throws Exception
 	{
 		SchemaClass schemaClass = adaptor.getSchema().getClassByName(currentCategory);
 		GKInstance newGOTerm = new GKInstance(schemaClass);
@@ -74,17 +106,16 @@ class GoTermInstanceModifier
 			newGOTerm.setAttributeValue(ReactomeJavaConstants.referenceDatabase, goRefDB);
 			if (schemaClass.getName().equals(ReactomeJavaConstants.GO_MolecularFunction))
 			{
-				List<String> ecNumbers = goToEcNumbers.get(currentGOID);
-				if (ecNumbers!=null)
+				List<String> ecNumbers = goToEcNumbers.getECNumbers(currentGOID);
+				if (!ecNumbers.isEmpty())
 				{
-					newGOTerm.setAttributeValue(ReactomeJavaConstants.ecNumber, ecNumbers);
+					newGOTerm.setAttributeValue(ReactomeJavaConstants.ecNumber, new ArrayList<>(ecNumbers));
 				}
 			}
 			InstanceDisplayNameGenerator.setDisplayName(newGOTerm);
 			GKInstance instEd = GoUpdateInstanceEditUtils.getInstanceEditForClass(GOUpdateInstEditType.NEW, this.getClass());
 			newGOTerm.setAttributeValue(ReactomeJavaConstants.created, instEd);
-			newGOTerm.setDbAdaptor(this.adaptor);
-			return this.adaptor.storeInstance(newGOTerm);
+			return newGOTerm;
 		}
 		catch (InvalidAttributeException e)
 		{
@@ -108,9 +139,11 @@ class GoTermInstanceModifier
 	 * @param goTerms - Mapping of GO terms from the file, keyed by GO ID.
 	 * @param goToEcNumbers - Mapping of GO IDs mapped to EC numbers.
 	 * @param currentDefinition - The category/namespace.
+	 * @return What was changed. Nothing is written (and no InstanceEdit is added) unless something actually differs from the file.
 	 */
-	public void updateGOInstance(Map<String, Map<String, Object>> goTerms, Map<String, List<String>> goToEcNumbers, StringBuffer nameOrDefinitionChangeStringBuilder)
+	public UpdateOutcome updateGOInstance(Map<String, Map<String, Object>> goTerms, Ec2GoMapping goToEcNumbers, StringBuffer nameOrDefinitionChangeStringBuilder)
 	{
+		UpdateOutcome outcome = UpdateOutcome.UNCHANGED;
 		String currentGOID = null;
 		try
 		{
@@ -140,58 +173,79 @@ class GoTermInstanceModifier
 				// match the name in the file or if the existing definition does not match
 				// the one in the file, we update with the new name and def'n, and then set
 				// InstanceOf and ComponentOf to NULL, and those get updated later, from whatever's in the GO file.
-				if ( (newName!=null && !newName.equals(oldName)) || (newDefinition != null && !newDefinition.equals(oldDefinition)))
+				// Values are compared in canonical form, so differences that are only escaping or whitespace do not count as changes.
+				boolean nameChanged = newName != null && !OboText.equivalent(newName, oldName);
+				boolean definitionChanged = newDefinition != null && !OboText.equivalent(newDefinition, oldDefinition);
+				if (nameChanged || definitionChanged)
 				{
 					// Changes for name
-					if (newName!=null && !newName.equals(oldName))
+					if (nameChanged)
 					{
 						String nameUpdate = "\n\tNew name:\t\""+newName+"\"\n\told name:\t\""+this.goInstance.getAttributeValue(ReactomeJavaConstants.name)+"\"";
 						nameOrDefinitionChangeStringBuilder.append("\nChange in name/definition for GO:").append(currentGOID).append(nameUpdate);
+						this.context.getUndoLog().recordAttribute(this.goInstance, ReactomeJavaConstants.name);
 						this.goInstance.setAttributeValue(ReactomeJavaConstants.name, newName);
-						this.adaptor.updateInstanceAttribute(this.goInstance, ReactomeJavaConstants.name);
+						GoUpdateEvents.updateInstanceAttribute(this.context, this.adaptor, this.goInstance, ReactomeJavaConstants.name);
 					}
 					// Changes for definition  
-					if (newDefinition != null && !newDefinition.equals(oldDefinition))
+					if (definitionChanged)
 					{
 						String defnUpdate = "\n\tNew def'n:\t\""+newDefinition+"\"\n\told def'n:\t\""+this.goInstance.getAttributeValue(ReactomeJavaConstants.definition)+"\"";
 						nameOrDefinitionChangeStringBuilder.append("\nChange in name/definition for GO:").append(currentGOID).append(defnUpdate);
+						this.context.getUndoLog().recordAttribute(this.goInstance, ReactomeJavaConstants.definition);
 						this.goInstance.setAttributeValue(ReactomeJavaConstants.definition, newDefinition);
-						this.adaptor.updateInstanceAttribute(this.goInstance, ReactomeJavaConstants.definition);
+						GoUpdateEvents.updateInstanceAttribute(this.context, this.adaptor, this.goInstance, ReactomeJavaConstants.definition);
 					}
 					// Now, instanceOf and componentOf are *ONLY* valid for GO_CellularComponent
 					// instanceOf and componentOf get set to NULL and will be corrected later in the process.
 					if (this.goInstance.getSchemClass().isa(ReactomeJavaConstants.GO_CellularComponent))
 					{
+						this.context.getUndoLog().recordAttribute(this.goInstance, ReactomeJavaConstants.instanceOf);
+						this.context.getUndoLog().recordAttribute(this.goInstance, ReactomeJavaConstants.componentOf);
 						this.goInstance.setAttributeValue(ReactomeJavaConstants.instanceOf, null);
-						this.adaptor.updateInstanceAttribute(this.goInstance, ReactomeJavaConstants.instanceOf);
+						GoUpdateEvents.updateInstanceAttribute(this.context, this.adaptor, this.goInstance, ReactomeJavaConstants.instanceOf);
 						this.goInstance.setAttributeValue(ReactomeJavaConstants.componentOf, null);
-						this.adaptor.updateInstanceAttribute(this.goInstance, ReactomeJavaConstants.componentOf);
+						GoUpdateEvents.updateInstanceAttribute(this.context, this.adaptor, this.goInstance, ReactomeJavaConstants.componentOf);
 					}
 					modified = true;
+					outcome = UpdateOutcome.NAME_OR_DEFINITION;
 				}
 				
 				if (this.goInstance.getSchemClass().getName().equals(ReactomeJavaConstants.GO_MolecularFunction))
 				{
-					List<String> ecNumbers = goToEcNumbers.get(currentGOID);
-					if (ecNumbers!=null)
+					List<String> ecNumbers = goToEcNumbers.getECNumbers(currentGOID);
+					// Only write the EC Numbers if the set from the file is different from what is already in the database.
+					if (!ecNumbers.isEmpty() && !sameECNumbers(this.goInstance.getAttributeValuesList(ReactomeJavaConstants.ecNumber), ecNumbers))
 					{
 						// Clear out any old EC Numbers - only want to keep the freshest ones from the file.
+						this.context.getUndoLog().recordAttribute(this.goInstance, ReactomeJavaConstants.ecNumber);
 						this.goInstance.setAttributeValue(ReactomeJavaConstants.ecNumber, null);
-						this.goInstance.addAttributeValue(ReactomeJavaConstants.ecNumber, ecNumbers);
-						//nameOrDefinitionChangeStringBuilder.append("GO Term (").append(currentGOID).append(") has new EC Number(s): ").append(ecNumbers.toString()).append("\n");
+						this.goInstance.addAttributeValue(ReactomeJavaConstants.ecNumber, new ArrayList<>(new LinkedHashSet<>(ecNumbers)));
 						modified = true;
-						this.adaptor.updateInstanceAttribute(this.goInstance, ReactomeJavaConstants.ecNumber);
+						GoUpdateEvents.updateInstanceAttribute(this.context, this.adaptor, this.goInstance, ReactomeJavaConstants.ecNumber);
+						if (outcome == UpdateOutcome.UNCHANGED)
+						{
+							outcome = UpdateOutcome.EC_NUMBERS_ONLY;
+						}
 					}
 				}
 				if (modified)
 				{
+					this.context.getMetrics().increment(GoUpdateMetrics.UPDATES);
 					GKInstance instEd = GoUpdateInstanceEditUtils.getInstanceEditForClass(GOUpdateInstEditType.MODIFIED, this.getClass());
 					this.goInstance.getAttributeValuesList(ReactomeJavaConstants.modified);
 					this.goInstance.addAttributeValue(ReactomeJavaConstants.modified, instEd);
-					InstanceDisplayNameGenerator.setDisplayName(this.goInstance);
-					this.adaptor.updateInstanceAttribute(this.goInstance, ReactomeJavaConstants._displayName);
-					// Referrers might need to be updated, if their DisplayName depends on the GO_* entity which they refer to.
-					this.updateReferrersDisplayNames();
+					GoUpdateEvents.updateInstanceAttribute(this.context, this.adaptor, this.goInstance, ReactomeJavaConstants.modified);
+					// The display name of a GO term (and so the display names of its referrers) does not depend on its EC Numbers,
+					// so they only need to be regenerated when the name/definition changed.
+					if (outcome == UpdateOutcome.NAME_OR_DEFINITION)
+					{
+						this.context.getUndoLog().recordAttribute(this.goInstance, ReactomeJavaConstants._displayName);
+						InstanceDisplayNameGenerator.setDisplayName(this.goInstance);
+						GoUpdateEvents.updateInstanceAttribute(this.context, this.adaptor, this.goInstance, ReactomeJavaConstants._displayName);
+						// Referrers might need to be updated, if their DisplayName depends on the GO_* entity which they refer to.
+						this.updateReferrersDisplayNames();
+					}
 				}
 			}
 			catch (InvalidAttributeException e)
@@ -212,6 +266,45 @@ class GoTermInstanceModifier
 				e.printStackTrace();
 			}
 		}
+		return outcome;
+	}
+
+	/**
+	 * Compares EC Numbers, ignoring order and duplicates.
+	 * @param ecNumbersInDatabase - The EC Numbers currently on the instance. May be null.
+	 * @param ecNumbersFromFile - The EC Numbers from the ec2go file.
+	 * @return true if both contain the same set of EC Numbers.
+	 */
+	static boolean sameECNumbers(Collection<?> ecNumbersInDatabase, Collection<String> ecNumbersFromFile)
+	{
+		Set<Object> databaseSet = ecNumbersInDatabase == null ? new HashSet<>() : new HashSet<>(ecNumbersInDatabase);
+		return databaseSet.equals(new HashSet<>(ecNumbersFromFile));
+	}
+
+	/**
+	 * Checks if {@link #updateGOInstance(Map, Ec2GoMapping, StringBuffer)} would change a GO term, using the values in a {@link GoInstanceTable}
+	 * (so the GO term does not need to be loaded to find out). This must make the same comparisons as updateGOInstance.
+	 * @param table - The GO instance table.
+	 * @param row - The GO term's row.
+	 * @param goTerm - The GO term from the file.
+	 * @param goToEcNumbers - Mapping of GO IDs mapped to EC numbers.
+	 * @return true if the name, definition or EC numbers differ from the file.
+	 */
+	static boolean needsUpdate(GoInstanceTable table, int row, Map<String, Object> goTerm, Ec2GoMapping goToEcNumbers)
+	{
+		String newName = (String) goTerm.get(GoUpdateConstants.NAME);
+		String newDefinition = (String) goTerm.get(GoUpdateConstants.DEF);
+		if ((newName != null && !OboText.equivalent(newName, table.getName(row)))
+			|| (newDefinition != null && !OboText.equivalent(newDefinition, table.getDefinition(row))))
+		{
+			return true;
+		}
+		if (table.getClassName(row).equals(ReactomeJavaConstants.GO_MolecularFunction))
+		{
+			List<String> ecNumbers = goToEcNumbers.getECNumbers(table.getAccession(row));
+			return !ecNumbers.isEmpty() && !sameECNumbers(table.getECNumbers(row), ecNumbers);
+		}
+		return false;
 	}
 
 	/**
@@ -225,282 +318,55 @@ class GoTermInstanceModifier
 		// The old Perl code only updated PhysicalEntities and CatalystActivities that referred to GO Terms. Events that referred
 		// to GO terms via goBiologicalProcess were *not* updated in the old code. So I'm trying to keep this code consistent with
 		// that implementation.
+		int refreshedCount = 0;
 		for(GKSchemaAttribute attribute : referringAttributes.stream().filter(a -> a.getName().equals(ReactomeJavaConstants.activity)
 																		|| a.getName().equals(ReactomeJavaConstants.goCellularComponent))
 																	.collect(Collectors.toList()))
 		{
 			@SuppressWarnings("unchecked")
-			Collection<GKInstance> referrers = (Collection<GKInstance>) this.goInstance.getReferers(attribute.getName());
+			Collection<GKInstance> referrers = ReferrerIndex.fetchReferrers(this.context.getWatchdog(), this.goInstance, attribute.getName());
 			if (referrers != null)
 			{
 				for (GKInstance referrer : referrers)
 				{
+					this.context.getUndoLog().recordAttribute(referrer, ReactomeJavaConstants._displayName);
 					InstanceDisplayNameGenerator.setDisplayName(referrer);
 					GKInstance instEd = GoUpdateInstanceEditUtils.getInstanceEditForClass(GOUpdateInstEditType.DISPLAY_NAME, this.getClass());
 					referrer.getAttributeValuesList(ReactomeJavaConstants.modified);
 					referrer.addAttributeValue(ReactomeJavaConstants.modified, instEd);
-					this.adaptor.updateInstanceAttribute(referrer, ReactomeJavaConstants._displayName);
-					this.adaptor.updateInstanceAttribute(referrer, ReactomeJavaConstants.modified);
+					GoUpdateEvents.updateInstanceAttribute(this.context, this.adaptor, referrer, ReactomeJavaConstants._displayName);
+					GoUpdateEvents.updateInstanceAttribute(this.context, this.adaptor, referrer, ReactomeJavaConstants.modified);
+					refreshedCount++;
 				}
 			}
 		}
+		this.context.getMetrics().add(GoUpdateMetrics.DISPLAY_NAME_REFRESHES, refreshedCount);
+		this.context.getMetrics().record("modifier.referrersPerDisplayNameRefresh", refreshedCount);
 	}
 
 	/**
-	 * Gets a collection of GKInstances the refer to a Go Term.
-	 * @param instance - the instance to get referrers for.
-	 * @return A collection:<br/>
-	 * If the instance is a BiologicalProcess, 
-	 * all instances that refer to it via goBiologicalProcess will be returned.<br/>
-	 * If the instances is a CellularComponent then all instances that refer via compartment will be returned.<br/>
-	 * If the instance is a MolecularFunction, all instances that refer via activity will be returned.<br/>
-	 * NULL will be returned if there are no referrers.
-	 * @throws Exception
-	 */
-	public static Collection<GKInstance> getReferrersForGoTerm(GKInstance instance) throws Exception
-	{
-		Collection<GKInstance> referrers = null;
-		
-		SchemaClass instanceSchemaClass = instance.getSchemClass();
-		if (instanceSchemaClass.isa(ReactomeJavaConstants.GO_BiologicalProcess))
-		{
-			referrers = (Collection<GKInstance>) instance.getReferers(ReactomeJavaConstants.goBiologicalProcess);
-			
-		}
-		else if (instanceSchemaClass.isa(ReactomeJavaConstants.GO_CellularComponent))
-		{
-			referrers = (Collection<GKInstance>) instance.getReferers(ReactomeJavaConstants.compartment);
-			
-		}
-		else if (instanceSchemaClass.isa(ReactomeJavaConstants.GO_MolecularFunction))
-		{
-			referrers = (Collection<GKInstance>) instance.getReferers(ReactomeJavaConstants.activity);
-		}
-		
-		return referrers;
-	}
-	
-	/**
-	 * If a GO Term has certain referrers, it is not deletable. The rules (from Peter D.) are:<br/><br/><br/>
+	 * Gets the name of the referring attribute that prevents a GO term from being deleted. The rules (from Peter D.) are:<br/><br/><br/>
 	 * IF an GO biological process term has NOT been used as a goBiologicalProcess slot value for any event instance in gk_central, the obsolete GO term instance can be deleted from gk_central.<br/><br/>
 	 * IF a GO cellular component term has NOT been used as a compartment slot value for any physical entity or event instance in gk_central, the obsolete GO term instance can be deleted from gk_central.<br/><br/>
 	 * IF a GO molecular function term has NOT been used as the activity slot value for any catalystActivity instance in gk_central, the obsolete GO term instance can be deleted from gk_central.
-	 * @param instance - an instance to check.
-	 * @return true or false, if <code>instance</code> is deleteable, as per the above rules.
-	 * @throws Exception
+	 * @param instanceSchemaClass - The SchemaClass of the GO term.
+	 * @return goBiologicalProcess for GO_BiologicalProcess, compartment for GO_CellularComponent, activity for GO_MolecularFunction; otherwise null.
 	 */
-	public static boolean isGoTermDeleteable(GKInstance instance) throws Exception
+	static String getDeletionBlockingAttribute(SchemaClass instanceSchemaClass)
 	{
-		boolean isDeletable = false;
-		
-		Collection<GKInstance> referrers = GoTermInstanceModifier.getReferrersForGoTerm(instance);
-		
-		if (referrers != null && !referrers.isEmpty())
-		{
-			isDeletable = false;
-		}
-		else
-		{
-			isDeletable = true;
-		}
-		
-		return isDeletable;
-	}
-	
-	
-	public void deleteSecondaryGOInstance(GKInstance primaryGOTerm, StringBuffer deletionStringBuffer)
-	{
-		try
-		{
-			String goId = (String) this.goInstance.getAttributeValue(ReactomeJavaConstants.accession);
-			pointAllReferrersToOtherInstance(primaryGOTerm);
-			deletionStringBuffer.append("Deleting secondary GO instance: \"").append(this.goInstance.toString()).append("\" (GO:").append(goId).append(")\n");
-			adaptor.deleteInstance(this.goInstance);
-		}
-		catch (Exception e)
-		{
-			logger.error("Error occurred while trying to delete instance: \""+this.goInstance.toString()+"\": "+e.getMessage());
-			e.printStackTrace();
-		}
-	}
-	
-	/**
-	 * Deletes a GO term from the database.
-	 * @param goTerms - The list of GO terms from the file. Needed to get the alternate GO IDs for things that refer to the thing that's about to be deleted.
-	 * @param allGoInstances - ALL GO instances from the database.
-	 */
-	public void deleteGoInstance(Map<String, Map<String,Object>> goTerms, Map<String, List<GKInstance>> allGoInstances, StringBuffer deletionStringBuilder)
-	{
-		try
+		if (instanceSchemaClass.isa(ReactomeJavaConstants.GO_BiologicalProcess))
 		{
-			String goId = (String) this.goInstance.getAttributeValue(ReactomeJavaConstants.accession);
-
-			// A GO term can be deleted if it has a replacement value
-			if (goTerms.get(goId).get(GoUpdateConstants.REPLACED_BY)!= null)
-			{
-				// If there are multiple replacement options, just use the first one, no clear way to choose a replacement.
-				@SuppressWarnings("unchecked")
-				String replacementGOTermAccession = ((List<String>) goTerms.get(goId).get(GoUpdateConstants.REPLACED_BY)).get(0);
-				// this term has a replacement so we will update all referrers of *this* to point to the replacement.
-				if (allGoInstances.get(replacementGOTermAccession) != null && !allGoInstances.get(replacementGOTermAccession).isEmpty())
-				{
-					GKInstance replacementGOTerm = allGoInstances.get(replacementGOTermAccession).get(0);
-					this.pointAllReferrersToOtherInstance(replacementGOTerm);
-				}
-				deletionStringBuilder.append("Deleting GO instance: \"").append(this.goInstance.toString()).append("\" (GO:").append(goId).append(")\n");
-				adaptor.deleteInstance(this.goInstance);
-			}
-			// A GO term that has no replacement value can still be deleted if it has no referrers.
-			else if (GoTermsUpdater.getReferrerCountsExcludingGOEntities(this.goInstance).isEmpty())
-			{
-				deletionStringBuilder.append("Deleting GO instance: \"").append(this.goInstance.toString()).append("\" (GO:").append(goId).append(")\n");
-				// But... we still need to clear GO Entity *references* to this.goInstance before deleting THIS instance.
-				this.clearAttributesFromReferringGOEntities();
-				adaptor.deleteInstance(this.goInstance);
-			}
-			else
-			{
-				logger.info("GO:{} ({}) is marked as obsolete but there is no replacement value specified! Instance will *NOT* be deleted, as manual clean-up may be necessary.", goId, this.goInstance.toString());
-			}
+			return ReactomeJavaConstants.goBiologicalProcess;
 		}
-		catch (Exception e)
+		else if (instanceSchemaClass.isa(ReactomeJavaConstants.GO_CellularComponent))
 		{
-			logger.error("Error occurred while trying to delete instance: \""+this.goInstance.toString()+"\": ", e);
-			e.printStackTrace();
+			return ReactomeJavaConstants.compartment;
 		}
-	}
-
-	/*
-	 * Clears reference attributes that point TO *this* goInstance FROM other GO entities. To be used when an instance is being deleted.
-	 */
-	private void clearAttributesFromReferringGOEntities() throws Exception
-	{
-		Map<GKSchemaAttribute, Integer> goReferrerCounts = GoTermsUpdater.getReferrerCountsFilteredByClass(this.goInstance, GoTermsUpdater.isNotGOEntity.negate());
-		for (GKSchemaAttribute attrib : goReferrerCounts.keySet())
-		{
-			// set the referring attributes to NULL so that we don't end up with "dangling pointers" in the database.
-			Collection<GKInstance> attribReferrers = (Collection<GKInstance>) this.goInstance.getReferers(attrib);
-			for (GKInstance attribReferrer : attribReferrers)
-			{
-				// From a few tests, it seems that 55 is a good target length to abbreviate to.
-				final int abbrevLength = 55;
-				try
-				{
-					updatedGOTermLogger.info("CLEARING the attribute {} on \"{}\" because it refers to \"{}\", which is flagged for deletion.", attrib.getName(), abbreviate(attribReferrer.toString(), abbrevLength), abbreviate(this.goInstance.toString(), abbrevLength));
-					// if the attribute is multi-valued, we need to be a little more careful and remove *this* instance from the list, but not affect other items in the list.
-					if (attrib.isMultiple())
-					{
-						List<GKInstance> refVals = attribReferrer.getAttributeValuesList(attrib.getName());
-						int i = 0;
-						boolean done = false;
-						while (!done && i < refVals.size())
-						{
-							GKInstance refVal = refVals.get(i);
-							// Using DB_ID match for equality test. There is a compare method in InstanceUtilities, but it looks much deeper
-							// into the objects than I think is necessary in this case. I can't think of a situation where two objects are
-							// different despite having the same DB_ID!
-							if (refVal.getDBID().equals(this.goInstance.getDBID()))
-							{
-								refVals.remove(refVal);
-								done = true;
-							}
-							i++;
-						}
-						// SET the attribute to the list, which has had the offending object removed from it.
-						attribReferrer.setAttributeValue(attrib.getName(), refVals);
-						this.adaptor.updateInstanceAttribute(attribReferrer, attrib.getName());
-					}
-					// Single-valued attributes are SO much easier!
-					else
-					{
-						attribReferrer.setAttributeValue(attrib.getName(), null);
-						this.adaptor.updateInstanceAttribute(attribReferrer, attrib.getName());
-					}
-					// now that the references to *this* GO Instance have been removed, record this operation by adding a "modified" InstanceEdit.
-					GKInstance instEd = GoUpdateInstanceEditUtils.getInstanceEditForClass(GOUpdateInstEditType.REF_CLEARED, this.getClass());
-					attribReferrer.getAttributeValuesList(ReactomeJavaConstants.modified);
-					attribReferrer.addAttributeValue(ReactomeJavaConstants.modified, instEd);
-					this.adaptor.updateInstanceAttribute(attribReferrer, ReactomeJavaConstants.modified);
-				}
-				catch (Exception  e)
-				{
-					logger.error("Error trying to clear {} attribute on \"{}\", referring to \"{}\" (which is to be deleted).", attrib.getName(), abbreviate(attribReferrer.toString(), abbrevLength), abbreviate(this.goInstance.toString(), abbrevLength));
-					e.printStackTrace();
-				}
-			}
-		}
-	}
-	
-	private void pointAllReferrersToOtherInstance(GKInstance replacementGOTerm) throws Exception
-	{
-		@SuppressWarnings("unchecked")
-		Collection<GKSchemaAttribute> attributes = (Collection<GKSchemaAttribute>) this.goInstance.getSchemClass().getReferers();
-		for (GKSchemaAttribute attribute : attributes)
+		else if (instanceSchemaClass.isa(ReactomeJavaConstants.GO_MolecularFunction))
 		{
-			GKInstance currentReferrer = null;
-			String attributeName = attribute.getName();
-			try
-			{
-				@SuppressWarnings("unchecked")
-				Set<GKInstance> referrers = (Set<GKInstance>) this.goInstance.getReferers(attribute);
-				if (referrers != null)
-				{
-					for (GKInstance referrer : referrers)
-					{
-						currentReferrer = referrer;
-						// the referrer could refer to many things via the attribute.
-						// we should ONLY remove *this* GO instance that will probably be deleted
-						// and add the replacement GO term. All other values should be left alone.
-						if (referrer.getSchemClass().isValidAttribute(attributeName))
-						{
-							@SuppressWarnings("unchecked")
-							List<GKInstance> referrerAttributeValues = (List<GKInstance>) referrer.getAttributeValuesList(attributeName);
-							// remove *this* goInstance from the referrer
-							referrerAttributeValues = referrerAttributeValues.parallelStream().filter(v -> !v.getDBID().equals(this.goInstance.getDBID())).collect(Collectors.toList());
-							// add the replacement to the referrer
-							if (attribute.isMultiple())
-							{
-								referrerAttributeValues.add(replacementGOTerm);
-								referrer.setAttributeValue(attributeName, referrerAttributeValues);
-							}
-							else
-							{
-								referrer.setAttributeValue(attributeName, replacementGOTerm);
-							}
-							// The old Perl code would update referrers' displayNames if they were PhysicalEntities or CatalystActivities.
-							if (referrer.getSchemClass().isa(ReactomeJavaConstants.PhysicalEntity) || referrer.getSchemClass().isa(ReactomeJavaConstants.CatalystActivity))
-							{
-								String newReferrerDisplayName = InstanceDisplayNameGenerator.generateDisplayName(referrer);
-								referrer.setAttributeValue(ReactomeJavaConstants._displayName, newReferrerDisplayName);
-								adaptor.updateInstanceAttribute(referrer, ReactomeJavaConstants._displayName);
-							}
-							GKInstance instEd = GoUpdateInstanceEditUtils.getInstanceEditForClass(GOUpdateInstEditType.REF_ATTRIB_UPDATE, this.getClass());
-							referrer.getAttributeValuesList(ReactomeJavaConstants.modified);
-							referrer.addAttributeValue(ReactomeJavaConstants.modified, instEd);
-							// update in db.
-							adaptor.updateInstanceAttribute(referrer, attributeName);
-							adaptor.updateInstanceAttribute(referrer, ReactomeJavaConstants.modified);
-							logger.debug("\"{}\" now refers to \"{}\" via {}, instead of referring to \"{}\"", referrer.toString(), replacementGOTerm.toString(), attributeName, this.goInstance.toString());
-							
-						}
-						else
-						{
-							logger.error("Sorry, but the attribute \"{}\" is not valid for the referrer \"{}\". This happened while trying to make \"{}\" refer to \"{}\", instead of currently referring to \"GO ID: {}; {}\"",
-										attributeName, abbreviate(referrer.toString()), abbreviate(referrer.toString()),
-										abbreviate(replacementGOTerm.toString()), this.goInstance.getAttributeValue(ReactomeJavaConstants.accession) , abbreviate(this.goInstance.toString()));
-						}
-					}
-				}
-			}
-			catch (InvalidAttributeException e)
-			{
-				logger.error("Invalid Attribute Error: {}; Attribute was: \"{}\"; GO instance being processed was: \"{}\"; Referrer was: \"{}\"", e.getMessage(), attribute.toString(), goInstance.toString(), currentReferrer != null ? currentReferrer.toString() : "NULL");
-				OutputStream out = new ByteArrayOutputStream();
-				PrintStream s = new PrintStream(out);
-				e.printStackTrace(s);
-				logger.error(out.toString());
-			}
+			return ReactomeJavaConstants.activity;
 		}
+		return null;
 	}
 
 	/**
@@ -518,9 +384,11 @@ class GoTermInstanceModifier
 			List<String> otherIDs = (List<String>) goProps.get(relationshipKey);
 			try
 			{
+				this.context.getMetrics().increment(GoUpdateMetrics.RELATIONSHIP_UPDATES);
 				// Clear the values that are currently set.
+				this.context.getUndoLog().recordAttribute(this.goInstance, reactomeRelationshipName);
 				this.goInstance.setAttributeValue(reactomeRelationshipName, null);
-				this.adaptor.updateInstanceAttribute(this.goInstance, reactomeRelationshipName);
+				GoUpdateEvents.updateInstanceAttribute(this.context, this.adaptor, this.goInstance, reactomeRelationshipName);
 
 				for (String otherID : otherIDs)
 				{
@@ -536,7 +404,7 @@ class GoTermInstanceModifier
 						}
 						// Add the new value from otherInsts
 						this.goInstance.addAttributeValue(reactomeRelationshipName, otherInsts);
-						this.adaptor.updateInstanceAttribute(this.goInstance, reactomeRelationshipName);
+						GoUpdateEvents.updateInstanceAttribute(this.context, this.adaptor, this.goInstance, reactomeRelationshipName);
 						updatedGOTermLogger.info("GO:{} ({}) now has relationship \"{}\" referring to {}", this.goInstance.getAttributeValue(ReactomeJavaConstants.accession), this.goInstance.toString(), reactomeRelationshipName, 
 								otherInsts.stream().map(i -> {
 									try
@@ -567,16 +435,4 @@ class GoTermInstanceModifier
 			}
 		}
 	}
-	
-	private static String abbreviate(String s, int maxLength)
-	{
-		return s.substring(0,Math.min(s.length(), maxLength)) + ( s.length() > maxLength ? "..." : "" );
-	}
-	
-	private static String abbreviate(String s)
-	{
-		// 47 is used because if the input string is too long it will be shortened to 47 characters, plus 3 for "..." so it will be
-		// EXCATLY 50 characters long.
-		return abbreviate(s, 47);
-	}
 }
@@ -9,10 +9,8 @@ import java.util.Set;
 
 import org.apache.logging.log4j.LogManager;
 import org.apache.logging.log4j.Logger;
-import org.gk.model.GKInstance;
 import org.gk.model.ReactomeJavaConstants;
 import org.gk.persistence.MySQLAdaptor;
-import org.gk.schema.InvalidAttributeException;
 
 /**
  * This class should be used to reconcile between the GO file and the database, after updates have been attempted.
@@ -24,44 +22,63 @@ public class GoTermsReconciler
 
 	private static final Logger reconciliationLogger = LogManager.getLogger("reconciliationLog");
 	private MySQLAdaptor adaptor;
+	private GoUpdateContext context;
 	
-	public GoTermsReconciler(MySQLAdaptor adaptor)
+	public GoTermsReconciler(MySQLAdaptor adaptor, GoUpdateContext context)
 	{
 		this.adaptor = adaptor;
+		this.context = context;
 	}
 	
 	/**
-	 * Attempts to reconcile between the database and the terms from the file. Reconciliation reports are logged to a file (not returned).
+	 * Attempts to reconcile between the database and the terms from the file. Reconciliation reports are logged to a file (not returned).<br/>
+	 * The database is read with a single {@link GoInstanceTable}, so no GO terms are loaded as GKInstances.
 	 * @param goTermsFromFile - GO terms from the file.
 	 * @param goToECNumbers - GO-to-EC Numbers, from the file.
 	 * @throws Exception
 	 */
-	public void reconcile(Map<String, Map<String, Object>> goTermsFromFile, Map<String, List<String>> goToECNumbers) throws Exception
+	public void reconcile(Map<String, Map<String, Object>> goTermsFromFile, Ec2GoMapping goToECNumbers) throws Exception
+	{
+		try (GoUpdateMetrics.Timer timer = this.context.getMetrics().time("reconciler.reconcile"))
+		{
+			GoTermsReconciler.reconcile(GoInstanceTable.load(this.adaptor, this.context.getMetrics()), goTermsFromFile, goToECNumbers, this.context.getMetrics());
+		}
+	}
+
+	/**
+	 * Reconciles a GO instance table with the terms from the file. Nothing is read from the database, so this can also be run on a table
+	 * that was built in memory.
+	 * @param table - The GO terms in the database.
+	 * @param goTermsFromFile - GO terms from the file.
+	 * @param goToECNumbers - GO-to-EC Numbers, from the file.
+	 * @param metrics - The metrics that the warnings and errors are counted in.
+	 */
+	static void reconcile(GoInstanceTable table, Map<String, Map<String, Object>> goTermsFromFile, Ec2GoMapping goToECNumbers, GoUpdateMetrics metrics)
 	{
 		for (String goAccession : goTermsFromFile.keySet())
 		{
 			Map<String, Object> goTerm = goTermsFromFile.get(goAccession);
-			@SuppressWarnings("unchecked")
-			Collection<GKInstance> instances = this.adaptor.fetchInstanceByAttribute( ((GONamespace)goTerm.get(GoUpdateConstants.NAMESPACE)).getReactomeName(), ReactomeJavaConstants.accession, "=", goAccession );
-			if (instances != null)
+			metrics.increment("reconciler.terms");
+			String namespaceClassName = ((GONamespace)goTerm.get(GoUpdateConstants.NAMESPACE)).getReactomeName();
+			// The instances with this accession in the namespace's class (or its subclasses).
+			List<Integer> rows = new ArrayList<>();
+			for (int row : table.getRows(goAccession))
 			{
-				if (instances.size()>1)
+				if (table.isa(row, namespaceClassName))
 				{
-					reconciliationLogger.warn("GO Accession {} appears {} times in the database. It should probably only appear once.",goAccession, instances.size());
+					rows.add(row);
 				}
-				for (GKInstance instance : instances)
+			}
+			if (!rows.isEmpty())
+			{
+				if (rows.size()>1)
 				{
-					this.adaptor.fastLoadInstanceAttributeValues(instance);
-					// We'll just grab all relationships in advance.
-					Collection<GKInstance> instancesOfs = new ArrayList<>();
-					Collection<GKInstance> partOfs = new ArrayList<>();
-					Collection<GKInstance> hasParts = new ArrayList<>();
-					if (instance.getSchemClass().isa(ReactomeJavaConstants.GO_CellularComponent))
-					{
-						instancesOfs = (Collection<GKInstance>) instance.getAttributeValuesList(ReactomeJavaConstants.instanceOf);
-						partOfs = (Collection<GKInstance>) instance.getAttributeValuesList(ReactomeJavaConstants.componentOf);
-						hasParts = (Collection<GKInstance>) instance.getAttributeValuesList("hasPart");
-					}
+					metrics.increment("reconciler.warnings");
+					reconciliationLogger.warn("GO Accession {} appears {} times in the database. It should probably only appear once.",goAccession, rows.size());
+				}
+				for (int row : rows)
+				{
+					boolean isCellularComponent = table.isa(row, ReactomeJavaConstants.GO_CellularComponent);
 					// goTerm is a map of strings to other objects, read in from the GO file.
 					// The keys of the map are the entries for the GO term in the file, such as "id", "name", "namespace", "def", "has_part", etc...
 					for (String k : goTerm.keySet())
@@ -70,98 +87,116 @@ public class GoTermsReconciler
 						{
 							case GoUpdateConstants.DEF:
 							{
-								String definition = (String) instance.getAttributeValue(ReactomeJavaConstants.definition);
-								if (!goTerm.get(k).equals(definition))
+								String definition = table.getDefinition(row);
+								if (!OboText.equivalent((String) goTerm.get(k), definition))
 								{
+									metrics.increment("reconciler.errors");
 									reconciliationLogger.error("Reconciliation error: GO:{}; Attribute: \"definition\";\n\tValue from file: \"{}\";\n\tValue from database: \"{}\"",goAccession, goTerm.get(k), definition);
 								}
 								break;
 							}
 							case GoUpdateConstants.NAME:
 							{
-								String name = (String) instance.getAttributeValue(ReactomeJavaConstants.name);
-								if (!goTerm.get(k).equals(name))
+								String name = table.getName(row);
+								if (!OboText.equivalent((String) goTerm.get(k), name))
 								{
+									metrics.increment("reconciler.errors");
 									reconciliationLogger.error("Reconciliation error: GO:{}; Attribute: \"name\";\n\tValue from file: \"{}\";\n\tValue from database: \"{}\"",goAccession, goTerm.get(k), name);
 								}
 								break;
 							}
 							case GoUpdateConstants.NAMESPACE:
 							{
-								String dbNameSpace = instance.getSchemClass().getName();
+								String dbNameSpace = table.getClassName(row);
 								String fileNameSpace = ((GONamespace)goTerm.get(k)).getReactomeName();
 								if (!(dbNameSpace.equals(fileNameSpace)
 									|| ((dbNameSpace.equals(ReactomeJavaConstants.Compartment) || dbNameSpace.equals(ReactomeJavaConstants.EntityCompartment))
 											&& fileNameSpace.equals(GONamespace.cellular_component.getReactomeName())) )
 									)
 								{
+									metrics.increment("reconciler.errors");
 									reconciliationLogger.error("Reconciliation error: GO:{}; Attribute: \"namespace/SchemaClass\";\n\tValue from file: \"{}\";\n\tValue from database: \"{}\"",goAccession, fileNameSpace, dbNameSpace);
 								}
 								break;
 							}
 							case GoUpdateConstants.IS_A:
 							{
-								if (instance.getSchemClass().isa(ReactomeJavaConstants.GO_CellularComponent))
+								if (isCellularComponent)
 								{
-									GoTermsReconciler.reconcileRelationship(goAccession, goTerm, instancesOfs, k);
+									GoTermsReconciler.reconcileRelationship(goAccession, goTerm, relatedAccessions(table, row, ReactomeJavaConstants.instanceOf), k, metrics);
 								}
 								break;
 							}
 							case GoUpdateConstants.PART_OF:
 							{
-								if (instance.getSchemClass().isa(ReactomeJavaConstants.GO_CellularComponent))
+								if (isCellularComponent)
 								{
-									GoTermsReconciler.reconcileRelationship(goAccession, goTerm, partOfs, k);
+									GoTermsReconciler.reconcileRelationship(goAccession, goTerm, relatedAccessions(table, row, ReactomeJavaConstants.componentOf), k, metrics);
 								}
 								break;
 							}
 							case GoUpdateConstants.HAS_PART:
 							{
-								if (instance.getSchemClass().isa(ReactomeJavaConstants.GO_CellularComponent))
+								if (isCellularComponent)
 								{
-									GoTermsReconciler.reconcileRelationship(goAccession, goTerm, hasParts, k);
+									GoTermsReconciler.reconcileRelationship(goAccession, goTerm, relatedAccessions(table, row, "hasPart"), k, metrics);
 								}
 								break;
 							}
 						}
 					}
-					GoTermsReconciler.reconcileECNumbers(goToECNumbers, instance);
+					if (table.hasAttribute(row, ReactomeJavaConstants.ecNumber))
+					{
+						GoTermsReconciler.reconcileECNumbers(goToECNumbers, goAccession, table.getECNumbers(row), metrics);
+					}
 				}
 			}
 			else
 			{
 				// If there was not instance returned but the file doesn't mark the file as obsolete, that should be reported.
-				if (!((boolean) goTerm.get(GoUpdateConstants.IS_OBSOLETE)))
+				if (!Boolean.TRUE.equals(goTerm.get(GoUpdateConstants.IS_OBSOLETE)))
 				{
+					metrics.increment("reconciler.warnings");
 					reconciliationLogger.warn("GO Accession {} is not present in the database, but is NOT marked as obsolete. GO Term might have been deleted in error, or not properly created.",goAccession);
 				}
 			}
 		}
 	}
 
+	/*
+	 * The accessions of the GO terms that a row refers to via a relationship. (Referred-to instances that are not GO terms are left out.)
+	 */
+	private static Collection<String> relatedAccessions(GoInstanceTable table, int row, String relationship)
+	{
+		Collection<String> accessions = new ArrayList<>();
+		for (long relatedDbId : table.getRelationship(row, relationship))
+		{
+			int relatedRow = table.getRow(relatedDbId);
+			if (relatedRow >= 0 && table.getAccession(relatedRow) != null)
+			{
+				accessions.add(table.getAccession(relatedRow));
+			}
+		}
+		return accessions;
+	}
+
 	/**
-	 * Reconciles EC Numbers for a GO term, between the data from ec2go file and the database. Logs an ERROR if EC numbers fail to reconcile.
+	 * Reconciles EC Numbers for a GO accession, between the data from ec2go file and the database. Logs an ERROR if EC numbers fail to reconcile.
 	 * @param goToECNumbers - the GO-to-EC Number map generated from the ec2go file.
-	 * @param instance - the instance to reconcile.
-	 * @throws InvalidAttributeException
-	 * @throws Exception
+	 * @param goAccession - the GO accession.
+	 * @param ecNumbersFromDatabase - the EC Numbers of the GO term in the database.
+	 * @param metrics - the metrics that the errors are counted in.
 	 */
-	private static void reconcileECNumbers(Map<String, List<String>> goToECNumbers, GKInstance instance) throws InvalidAttributeException, Exception
+	static void reconcileECNumbers(Ec2GoMapping goToECNumbers, String goAccession, Collection<String> ecNumbersFromDatabase, GoUpdateMetrics metrics)
 	{
-		if (instance.getSchemClass().isValidAttribute(ReactomeJavaConstants.ecNumber))
+		Set<String> ecNumbersFromDB = new HashSet<>(ecNumbersFromDatabase);
+		List<String> ecNumbersFromFile = goToECNumbers.getECNumbers(goAccession);
+		for (String ecNumberFromFile : ecNumbersFromFile)
 		{
-			@SuppressWarnings("unchecked")
-			Set<String> ecNumbersFromDB = new HashSet<>(instance.getAttributeValuesList(ReactomeJavaConstants.ecNumber));
-			List<String> ecNumbersFromFile = goToECNumbers.get(instance.getAttributeValue(ReactomeJavaConstants.accession));
-			if (ecNumbersFromFile!=null)
+			if (!ecNumbersFromDB.contains(ecNumberFromFile))
 			{
-				for (String ecNumberFromFile : ecNumbersFromFile)
-				{
-					if (!ecNumbersFromDB.contains(ecNumberFromFile))
-					{
-						reconciliationLogger.error("EC Nubmer {} is in the file for GO Accession {} but is not in the database for that accession.", ecNumberFromFile, instance.getAttributeValue(ReactomeJavaConstants.accession));
-					}
-				}
+				metrics.increment("reconciler.errors");
+				reconciliationLogger.error("EC Nubmer {} is in the file for GO Accession {} but is not in the database for that accession.", ecNumberFromFile, goAccession);
 			}
 		}
 	}
@@ -170,32 +205,20 @@ public class GoTermsReconciler
 	 * Reconciles a relationship for a GO term. Will not return, but will log an ERROR message if reconciliation fails.
 	 * @param goAccession - The accession of the term to reconcile.
 	 * @param goTerm - The GO term, as it was when extracted from the file.
-	 * @param relationInstances - A list of GKInstances associated with the corresponding database instance, associated by some relationship.
+	 * @param relationAccessions - The accessions of the GO terms that the corresponding database instance is associated with by the relationship.
 	 * @param relationship - The relationship to reconcile.
-	 * @throws InvalidAttributeException
-	 * @throws Exception
+	 * @param metrics - The metrics that the errors are counted in.
 	 */
-	private static void reconcileRelationship(String goAccession, Map<String, Object> goTerm, Collection<GKInstance> relationInstances, String relationship) throws InvalidAttributeException, Exception {
-		boolean found = false;
+	private static void reconcileRelationship(String goAccession, Map<String, Object> goTerm, Collection<String> relationAccessions, String relationship, GoUpdateMetrics metrics) {
 		@SuppressWarnings("unchecked")
 		List<String> relationAccessionsFromFile = (List<String>) goTerm.get(relationship);
 		for (String relationAccessionFromFile: relationAccessionsFromFile)
 		{
-			for (GKInstance relationInstance : relationInstances)
-			{
-				String accessionFromDB = (String) relationInstance.getAttributeValue(ReactomeJavaConstants.accession);
-				if (accessionFromDB.equals(relationAccessionFromFile))
-				{
-					found = true;
-					// exit the loop early, since a match for accession was found.
-					break;
-				}
-			}
-			if (!found)
+			if (!relationAccessions.contains(relationAccessionFromFile))
 			{
+				metrics.increment("reconciler.errors");
 				reconciliationLogger.error("Reconciliation error: GO:{}; Attribute: \"{}\"; File says that GO:{} should be present but it is not in the database.",goAccession, relationship, relationAccessionFromFile);
 			}
-			found = false;
 		}
 	}
 }
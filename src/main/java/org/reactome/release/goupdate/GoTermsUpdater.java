@@ -8,12 +8,12 @@ import java.util.ArrayList;
 import java.util.Arrays;
 import java.util.Collection;
 import java.util.HashMap;
+import java.util.HashSet;
+import java.util.LinkedHashMap;
 import java.util.List;
 import java.util.Map;
 import java.util.Set;
-import java.util.function.Consumer;
 import java.util.function.Predicate;
-import java.util.regex.Matcher;
 import java.util.stream.Collectors;
 
 import org.apache.commons.csv.CSVFormat;
@@ -24,9 +24,9 @@ import org.apache.logging.log4j.Logger;
 import org.gk.model.GKInstance;
 import org.gk.model.ReactomeJavaConstants;
 import org.gk.persistence.MySQLAdaptor;
-import org.gk.schema.GKSchemaAttribute;
 import org.gk.schema.InvalidAttributeException;
 import org.gk.schema.InvalidAttributeValueException;
+import org.reactome.release.goupdate.ExecutionJournal.Phase;
 import org.reactome.release.goupdate.GoUpdateInstanceEditUtils.GOUpdateInstEditType;
 
 /**
@@ -48,8 +48,30 @@ class GoTermsUpdater
 	private CSVPrinter categoryMismatchPrinter;
 
 	private MySQLAdaptor adaptor;
-	private List<String> goLines;
-	private List<String> ec2GoLines;
+	// The run: its metrics, progress, undo log, and so on.
+	private GoUpdateContext context;
+	private GoOboReader goFileReader;
+	private Ec2GoMapping goToECNumbers;
+	// Resolves retired (alt_id/replaced_by) accessions to their final live replacement.
+	private ReplacementResolver replacementResolver;
+	// Shared by everything that needs to know the referrers of a GO term instance.
+	private ReferrerIndex referrerIndex;
+	// Keeps the adaptor's cache down to the GO terms and InstanceEdits between phases.
+	private InstanceCachePolicy cachePolicy;
+	// New GO terms are stored together, once they have all been created.
+	private BulkCreator bulkCreator;
+	// The new GO terms (not necessarily stored yet), and their accessions, in the order they were created.
+	private List<GKInstance> newGOTerms = new ArrayList<>();
+	private List<String> newGOTermAccessions = new ArrayList<>();
+	// A snapshot of the GO terms in the database, used to decide what needs to change. GKInstances are only fetched for the terms that do.
+	private GoInstanceTable goInstanceTable;
+	// New GO terms are not in the snapshot, so they are looked up here.
+	private Map<String, GKInstance> createdGOTerms = new HashMap<>();
+	// Instances in the snapshot that have since been deleted (merged into their primary terms).
+	private Set<Long> removedDbIds = new HashSet<>();
+	// If set, each phase (or chunk of a phase) is committed on its own and recorded in the journal. See setExecutionJournal.
+	private ExecutionJournal journal;
+	private int chunkSize = Integer.MAX_VALUE;
 
 	private StringBuffer nameOrDefinitionChangeStringBuilder = new StringBuffer();
 	private StringBuffer deletionStringBuilder = new StringBuffer();
@@ -58,6 +80,15 @@ class GoTermsUpdater
 	// this can be static, since there's only one "GO" ReferenceDatabase object in the database.
 	private static GKInstance goRefDB;
 
+	// The relationship attributes of GO_CellularComponent, and the keys of their values in the GO file, in the order updateRelationships sets them.
+	private static final Map<String, String> RELATIONSHIP_KEYS = new LinkedHashMap<>();
+	static
+	{
+		RELATIONSHIP_KEYS.put(ReactomeJavaConstants.instanceOf, GoUpdateConstants.IS_A);
+		RELATIONSHIP_KEYS.put("hasPart", GoUpdateConstants.HAS_PART);
+		RELATIONSHIP_KEYS.put(ReactomeJavaConstants.componentOf, GoUpdateConstants.PART_OF);
+	}
+
 	static Predicate<GKInstance> isNotGOEntity = i -> !i.getSchemClass().isa(ReactomeJavaConstants.GO_MolecularFunction)
 																&& !i.getSchemClass().isa(ReactomeJavaConstants.GO_BiologicalProcess)
 																&& !i.getSchemClass().isa(ReactomeJavaConstants.GO_CellularComponent);
@@ -66,16 +97,19 @@ class GoTermsUpdater
 	/**
 	 * Creates a new GoTermsUpdater
 	 * @param dba - The adaptor to use.
-	 * @param goLines - The lines from the GO file, probably it was named "gene_ontology_ext.obo". The <em>must</em> be in the same sequences as they were in the original file!!
-	 * @param ec2GoLines - The lines from the EC-to-GO mapping file, probably named "ec2go".
+	 * @param context - The run that this update is part of.
+	 * @param goFileReader - A reader for the GO file, probably it was named "gene_ontology_ext.obo" or "go.obo".
+	 * @param goToECNumbers - The mapping of GO accessions to EC numbers, parsed from the EC-to-GO mapping file, probably named "ec2go".
 	 * @throws Exception
 	 */
-	public GoTermsUpdater(MySQLAdaptor dba, List<String> goLines, List<String> ec2GoLines) throws Exception
+	public GoTermsUpdater(MySQLAdaptor dba, GoUpdateContext context, GoOboReader goFileReader, Ec2GoMapping goToECNumbers) throws Exception
 	{
 		this.adaptor = dba;
+		this.context = context;
+		this.referrerIndex = new ReferrerIndex(context);
 
-		this.goLines = goLines;
-		this.ec2GoLines = ec2GoLines;
+		this.goFileReader = goFileReader;
+		this.goToECNumbers = goToECNumbers;
 
 		try
 		{
@@ -90,6 +124,9 @@ class GoTermsUpdater
 			e1.printStackTrace();
 			throw new RuntimeException(message);
 		}
+		this.cachePolicy = new InstanceCachePolicy(this.adaptor);
+		// New GO terms refer to it, so it should stay the same object for the whole run.
+		this.cachePolicy.pin(GoTermsUpdater.goRefDB);
 		String dateString = LocalDateTime.now().format(DateTimeFormatter.ofPattern("yyyyMMdd_HHmmss"));
 		this.newMFPrinter = new CSVPrinter(Files.newBufferedWriter(Paths.get("reports/new_molecular_functions_"+dateString+".csv")), GO_REPORT_FORMAT.withHeader("DB_ID", "GO ID", "GO Term Name", "Definition") );
 		this.obsoleteAccessionPrinter = new CSVPrinter(Files.newBufferedWriter(Paths.get("reports/obsolete_GO_terms_"+dateString+".csv")), GO_REPORT_FORMAT.withHeader("DB_ID", "GO Type", "Obsolete Term", "Suggested action", "New/replacement GO Terms") );
@@ -98,151 +135,211 @@ class GoTermsUpdater
 		this.replacedGOTermsPrinter = new CSVPrinter(Files.newBufferedWriter(Paths.get("reports/replaced_GO_terms_"+dateString+".csv")), GO_REPORT_FORMAT.withHeader("DB_ID", "GO Term Name", "Primary accession", "Primary Class", "DB_ID (Secondary; to be deleted)", "Secondary accession (to be deleted)", "Secondary Class", "Referrers to be automatically redirected to Primary accession") );
 	}
 
+	/**
+	 * Makes the update commit each phase (and, for the long phases, each chunk of a phase) in its own transaction, and record what
+	 * has been committed in a journal. If the journal is from a run that did not finish, the phases and chunks that it says were
+	 * committed are skipped. The caller must have started a transaction, and must commit the last one.
+	 * @param journal - The execution journal.
+	 * @param chunkSize - The number of changed GO terms per chunk.
+	 */
+	void setExecutionJournal(ExecutionJournal journal, int chunkSize)
+	{
+		this.journal = journal;
+		this.chunkSize = chunkSize;
+	}
+
 	/**
 	 * Executes the GO Terms updates. Returns a StringBuilder, which contains a report about what happened.
 	 * @return
 	 */
 	public StringBuilder updateGoTerms() throws Exception
 	{
+		// The updates phase includes reading the file and loading the GO terms from the database.
+		this.startPhase(Phase.UPDATES);
 		// This map is keyed by GO ID. Values are maps of strings that map to values from the file.
-		Map<String, Map<String,Object>> goTermsFromFile = new HashMap<>();
-		// This map is keyed by GO Accession number (GO ID).
-		Map<String, List<GKInstance>> allGoInstances = getMapOfAllGOInstances(adaptor);
-		// This list will track everything that needs to be deleted.
-		List<GKInstance> instancesForDeletion = new ArrayList<>();
+		GoUpdateEvents.PhaseEvent parseEvent = GoUpdateEvents.beginPhase("PARSE");
+		Map<String, Map<String,Object>> goTermsFromFile = this.goFileReader.readTerms();
+		parseEvent.commit();
+		this.context.getProgress().setTermsTotal(goTermsFromFile.size());
+		// Resolve all replacement chains up front, so that each referrer is redirected (at most) once, straight to the final live term.
+		this.replacementResolver = ReplacementResolver.resolve(goTermsFromFile);
+		this.goInstanceTable = GoInstanceTable.load(this.adaptor, this.context.getMetrics());
+		logger.info("{} GO term instances in the database.", this.goInstanceTable.size());
+		this.bulkCreator = new BulkCreator(this.adaptor, this.context);
+		// This will track everything that might need to be deleted, and decide what to do with it.
+		DeletionPlanner deletionPlanner = new DeletionPlanner(goTermsFromFile, this.replacementResolver, this.referrerIndex, this::hasGOInstance);
 		// A map of things that can't be deleted, and the referrers that prevent it.
 		Map<GKInstance,Collection<GKInstance>> undeleteble = new HashMap<>();
-		// Maps GO IDs to EC Numbers.
-		Map<String,List<String>> goToECNumbers = new HashMap<>();
-		ec2GoLines.stream().filter(line -> !line.startsWith("!")).forEach(line -> processEc2GoLine(line, goToECNumbers));
+		// Moves instances that have the wrong category to the correct GO class.
+		SchemaClassMigrator classMigrator = new SchemaClassMigrator(this.adaptor, this.context);
 
-		int lineCount = 0;
 		int newGoTermCount = 0;
 		int obsoleteCount = 0;
 		int pendingObsoleteCount = 0;
 		int mismatchCount = 0;
-		int goTermCount = 0;
+		int nameOrDefinitionChangeCount = 0;
+		int ecNumberOnlyChangeCount = 0;
 		int deletedCount = 0;
-		boolean termStarted = false;
-		String currentGOID = "";
-		for (String line : this.goLines)
-		{
-			lineCount ++;
-			// Empty line means end of a Term.
-			if (line.trim().isEmpty())
-			{
-				termStarted = false;
-			}
-			// We are starting a new Term.
-			else if (line.equals("[Term]"))
-			{
-				termStarted = true;
-				goTermCount++;
-			}
-			else if (termStarted)
-			{
-				currentGOID = GoLineProcessor.processLine(line, currentGOID, goTermsFromFile);
-			}
-		}
+		int mergedCount = 0;
+
+		// If an earlier run committed all of the updates, they are not looked for again. Chunks that an earlier run committed before it stopped
+		// are not skipped: needsUpdate is false for the GO terms they updated.
+		boolean updatesComplete = this.isPhaseComplete(Phase.UPDATES);
+		int uncommittedUpdates = 0;
 
 		// Now process all the goTerms.
 		for (String goID : goTermsFromFile.keySet())
 		{
+			this.context.getProgress().termProcessed();
 			GoTermInstanceModifier goTermModifier;
 			GONamespace currentCategory = (GONamespace) goTermsFromFile.get(goID).get(GoUpdateConstants.NAMESPACE);
 			// Now we need to process the Term that was just finished.
-			List<GKInstance> goInstances = allGoInstances.get(goID);
-			// If there are no objects in allGoInstances whose accession is "goID", we may need to create it.
-			if (goInstances==null)
+			int[] goRows = this.goInstanceTable.getRows(goID);
+			// If there are no GO terms in the database whose accession is "goID", we may need to create it.
+			if (goRows.length == 0)
 			{
 				// BUT... only create a new instance if the data from the file is not Obsolete
 				if (!goTermsFromFile.get(goID).containsKey(GoUpdateConstants.IS_OBSOLETE) && !goTermsFromFile.get(goID).containsKey(GoUpdateConstants.PENDING_OBSOLETION))
 				{
 					// Create a new Instance if there is nothing in the current list of instances.
-					goTermModifier = new GoTermInstanceModifier(this.adaptor);
+					GoUpdateEvents.TermEvent termEvent = GoUpdateEvents.beginTerm(goID, "create", 0);
+					goTermModifier = new GoTermInstanceModifier(this.adaptor, this.context);
 					newGoTermCount++;
-					GKInstance newInst = createNewGOTerm(goTermsFromFile, goToECNumbers, goID, goTermModifier, currentCategory);
-					List<GKInstance> instList;
-					if (allGoInstances.containsKey(goID))
-					{
-						instList = allGoInstances.get(goID);
-					}
-					else
-					{
-						instList = new ArrayList<>(1);
-					}
-					instList.add(newInst);
-					allGoInstances.put(goID, instList);
+					GKInstance newInst = createNewGOTerm(goTermsFromFile, this.goToECNumbers, goID, goTermModifier, currentCategory);
+					this.createdGOTerms.put(goID, newInst);
+					termEvent.commit();
 				}
 			}
 			else // update existing instance. Including Obsolete instances, because if they can't be deleted (for some reason) they should be updated so their name/def'n indicates their obsolescence.
 			{
 				// Try to update each goInstance that has the current GO ID.
-				for (GKInstance goInst : goInstances)
+				for (int goRow : goRows)
 				{
 					// Compartment is a sub-class of GO_CellularComponent - but the GO namespaces don't seem to account for that,
 					// we we'll account for that here.
-					boolean isCellularComponentOrSubclass = (goInst.getSchemClass().isa(ReactomeJavaConstants.Compartment)
-																|| goInst.getSchemClass().isa(ReactomeJavaConstants.EntityCompartment) )
+					boolean isCellularComponentOrSubclass = (this.goInstanceTable.isa(goRow, ReactomeJavaConstants.Compartment)
+																|| this.goInstanceTable.isa(goRow, ReactomeJavaConstants.EntityCompartment) )
 															&& currentCategory.getReactomeName().equals(ReactomeJavaConstants.GO_CellularComponent);
 
 					// The category is "OK" (i.e. NOT a mismatch) if it matches the Reactome name,
 					// OR if it doesn't match exactly, but the current category is CellularComponent
 					// and the instance itself is (Entity)Compartment.
-					boolean categoryOK = goInst.getSchemClass().getName().equals(currentCategory.getReactomeName()) || isCellularComponentOrSubclass;
+					boolean categoryOK = this.goInstanceTable.getClassName(goRow).equals(currentCategory.getReactomeName()) || isCellularComponentOrSubclass;
 					if (categoryOK)
 					{
-						//Now do the update.
-						goTermModifier = new GoTermInstanceModifier(this.adaptor, goInst);
-						goTermModifier.updateGOInstance(goTermsFromFile, goToECNumbers, this.nameOrDefinitionChangeStringBuilder);
+						// Only GO terms that will actually change are fetched.
+						if (!updatesComplete && GoTermInstanceModifier.needsUpdate(this.goInstanceTable, goRow, goTermsFromFile.get(goID), this.goToECNumbers))
+						{
+							//Now do the update.
+							long updateStart = System.nanoTime();
+							GoUpdateEvents.TermEvent termEvent = GoUpdateEvents.beginTerm(goID, "update", this.goInstanceTable.getDbId(goRow));
+							goTermModifier = new GoTermInstanceModifier(this.adaptor, this.context, this.fetchGOInstance(goRow));
+							GoTermInstanceModifier.UpdateOutcome outcome = goTermModifier.updateGOInstance(goTermsFromFile, this.goToECNumbers, this.nameOrDefinitionChangeStringBuilder);
+							termEvent.commit();
+							this.context.getMetrics().record("updater.updateMicros", (System.nanoTime() - updateStart) / 1000);
+							if (outcome == GoTermInstanceModifier.UpdateOutcome.NAME_OR_DEFINITION)
+							{
+								nameOrDefinitionChangeCount++;
+							}
+							else if (outcome == GoTermInstanceModifier.UpdateOutcome.EC_NUMBERS_ONLY)
+							{
+								ecNumberOnlyChangeCount++;
+							}
+							if (outcome != GoTermInstanceModifier.UpdateOutcome.UNCHANGED)
+							{
+								uncommittedUpdates++;
+							}
+						}
 					}
 					else
 					{
 						// increment the mismatch counter.
 						mismatchCount++;
-						this.categoryMismatchPrinter.printRecord(goInst.getDBID(), goID, goInst.getSchemClass().getName(), currentCategory);
-						// Delete the instance. Don't use the GO Term modifier since it will check for a "replaced_by" value.
-						// In this case, the GO Term is not obsolete but it has the wrong category, so it should be removed and recreated.
-						this.adaptor.deleteByDBID(goInst.getDBID());
-						// Now re-create the GO term with the correct GO type.
-						goTermModifier = new GoTermInstanceModifier(this.adaptor, goInst);
-						newGoTermCount++;
-						createNewGOTerm(goTermsFromFile, goToECNumbers, goID, goTermModifier, currentCategory);
+						GoUpdateEvents.TermEvent termEvent = GoUpdateEvents.beginTerm(goID, "migrate", this.goInstanceTable.getDbId(goRow));
+						this.categoryMismatchPrinter.printRecord(this.goInstanceTable.getDbId(goRow), goID, this.goInstanceTable.getClassName(goRow), currentCategory);
+						// Move the instance to the correct GO class. It keeps its DB_ID (so its referrers stay valid), and this is done for all
+						// mismatched instances together, once the main loop is done.
+						classMigrator.addMigration(this.fetchGOInstance(goRow), currentCategory.getReactomeName());
+						termEvent.commit();
 					}
 				}
 			}
-			processAlternates(goTermsFromFile, allGoInstances, goID);
 
 			if (goTermsFromFile.get(goID).containsKey(GoUpdateConstants.PENDING_OBSOLETION) && goTermsFromFile.get(goID).get(GoUpdateConstants.PENDING_OBSOLETION).equals(true))
 			{
 				// If we have this GO term in our database, it must be reported as "pending obsolete".
-				if (goInstances!=null)
+				if (goRows.length > 0)
 				{
 					pendingObsoleteCount++;
+					GoUpdateEvents.beginTerm(goID, "pendingObsolete", this.goInstanceTable.getDbId(goRows[0])).commit();
 					String consider = goTermsFromFile.get(goID).get(GoUpdateConstants.CONSIDER) != null ? " Consider: " + goTermsFromFile.get(goID).get(GoUpdateConstants.CONSIDER) : "";
-					logger.info("GO:{} ({}) is marked as PENDING obsolete. Consider searching for a replacement.{}",goID, goInstances.toString(), consider);
+					logger.info("GO:{} ({}) is marked as PENDING obsolete. Consider searching for a replacement.{}",goID, this.describeRows(goRows), consider);
 				}
 			}
 			else if (goTermsFromFile.get(goID).containsKey(GoUpdateConstants.IS_OBSOLETE) && goTermsFromFile.get(goID).get(GoUpdateConstants.IS_OBSOLETE).equals(true))
 			{
 				// If we have this in our database, it must be reported as obsolete!
-				if (goInstances!=null)
+				if (goRows.length > 0)
 				{
 					obsoleteCount++;
-					processObsoleteGOTerm(goTermsFromFile, instancesForDeletion, goID, goInstances);
+					GoUpdateEvents.TermEvent termEvent = GoUpdateEvents.beginTerm(goID, "obsolete", this.goInstanceTable.getDbId(goRows[0]));
+					processObsoleteGOTerm(goTermsFromFile, deletionPlanner, goID, goRows);
+					termEvent.commit();
 				}
 			}
+
+			if (uncommittedUpdates >= this.chunkSize)
+			{
+				this.commitChunk(Phase.UPDATES, goID);
+				uncommittedUpdates = 0;
+			}
 		}
 
-		logger.info("Preparing to delete flagged instances.");
-		// Now that the full goTerms structure is complete, and the alternate GO IDs are set up, we can delete the obsolete/category-mismatched GO instances from the database.
-		deletedCount = deleteFlaggedInstances(goTermsFromFile, allGoInstances, instancesForDeletion, undeleteble);
+		logger.info("Moving {} GO instances with mismatched categories to the correct GO class.", classMigrator.getPendingMigrationCount());
+		migrateMismatchedInstances(classMigrator, goTermsFromFile);
+		this.endPhase(Phase.UPDATES);
+
+		this.startPhase(Phase.CREATES);
+		// (If an earlier run committed the new GO terms, they were found in the database, so there is nothing to store.)
+		logger.info("Storing {} new GO terms.", this.bulkCreator.getPendingCount());
+		// New terms can already be looked up, but they must be stored before anything else can refer to them.
+		storeNewGOTerms(goTermsFromFile);
+		this.endPhase(Phase.CREATES);
 
-		//Reload the list of GO Instances, since new ones have been created, and old ones have been deleted.
-		allGoInstances = getMapOfAllGOInstances(adaptor);
-		logger.info("Updating relationships of GO Instances.");
-		// Now that the main loop has run, update relationships between GO terms.
-		updateRelationships(goTermsFromFile, allGoInstances);
+		if (!this.isPhaseComplete(Phase.MERGES))
+		{
+			this.startPhase(Phase.MERGES);
+			logger.info("Merging secondary (alt_id) GO terms into their primary terms.");
+			// Now that all new GO terms have been created, the secondary accessions can be merged into their primary terms in one pass.
+			mergedCount = consolidateAlternates(this.goFileReader.getAlternateIndex());
+			this.endPhase(Phase.MERGES);
+		}
+
+		if (!this.isPhaseComplete(Phase.DELETIONS))
+		{
+			this.startPhase(Phase.DELETIONS);
+			logger.info("Preparing to delete flagged instances.");
+			// Now that the full goTerms structure is complete, and the alternate GO IDs are set up, we can delete the obsolete GO instances from the database.
+			deletedCount = deleteFlaggedInstances(deletionPlanner.plan(), undeleteble);
+			this.endPhase(Phase.DELETIONS);
+		}
+
+		if (!this.isPhaseComplete(Phase.RELATIONSHIPS))
+		{
+			this.startPhase(Phase.RELATIONSHIPS);
+			//Reload the GO instance table, since new GO terms have been created, and old ones have been deleted.
+			this.goInstanceTable = GoInstanceTable.load(this.adaptor, this.context.getMetrics());
+			this.createdGOTerms.clear();
+			this.removedDbIds.clear();
+			logger.info("Updating relationships of GO Instances.");
+			// Now that the main loop has run, update relationships between GO terms.
+			updateRelationships(goTermsFromFile);
+			this.endPhase(Phase.RELATIONSHIPS);
+		}
+		if (this.journal != null && this.journal.isResumed())
+		{
+			mainOutput.append("This run resumed an earlier run that did not finish: the counts and reports only cover what was done in this run.\n");
+		}
 		updatedGOTermLogger.info(this.nameOrDefinitionChangeStringBuilder.toString());
 		for (GKInstance instance : undeleteble.keySet())
 		{
@@ -254,14 +351,42 @@ class GoTermsUpdater
 			        obsoleteAccessionLogger.info("\t\"{}\", created by {} @ {}", referrer.toString(), author != null ? author.getDisplayName(): "author not found", created.getAttributeValue(ReactomeJavaConstants.dateTime));
 			}
 		}
-		mainOutput.append(lineCount + " lines from the file were processed.\n");
-		mainOutput.append(goTermCount + " GO terms were read from the file.\n");
+		mainOutput.append(this.goFileReader.getLineCount() + " lines from the file were processed.\n");
+		mainOutput.append(this.goFileReader.getTermCount() + " GO terms were read from the file.\n");
 		mainOutput.append(newGoTermCount + " new GO terms were found (and added to the database).\n");
-		mainOutput.append(mismatchCount + " existing GO term instances in the database had mismatched categories when compared to the file (and were deleted from the database).\n");
+		mainOutput.append(nameOrDefinitionChangeCount + " existing GO term instances had a new name and/or definition.\n");
+		mainOutput.append(ecNumberOnlyChangeCount + " existing GO term instances only had changes to their EC numbers.\n");
+		mainOutput.append(mismatchCount + " existing GO term instances in the database had mismatched categories when compared to the file (and were moved to the correct GO class).\n");
+		mainOutput.append(mergedCount + " secondary (alt_id) GO term instances were merged into their primary GO terms (and deleted).\n");
 		mainOutput.append(obsoleteCount + " were obsolete. "+deletedCount+ " were actually deleted, and "+undeleteble.size()+" could not be deleted due to existing referrers.\n");
 		mainOutput.append(pendingObsoleteCount + " are pending obsolescence (and will probably be deleted at a future date).\n");
-		GoTermsReconciler reconciler = new GoTermsReconciler(this.adaptor);
-		reconciler.reconcile(goTermsFromFile, goToECNumbers);
+		mainOutput.append(this.replacementResolver.getResolvedChainCount() + " replacement chains (alt_id/replaced_by) were collapsed, and "
+						+ this.replacementResolver.getCycles().size() + " replacement cycles were found (their accessions were not redirected).\n");
+		mainOutput.append("Instance cache: " + this.cachePolicy.getHitCount() + " hits and " + this.cachePolicy.getMissCount() + " misses fetching GO terms; "
+						+ this.cachePolicy.getEvictedCount() + " instances were evicted between phases (peak size: " + this.cachePolicy.getPeakSize() + "). "
+						+ this.referrerIndex.getHitCount() + " of " + this.referrerIndex.getLookupCount() + " referrer lookups were served from the referrer index.\n");
+		GoUpdateMetrics metrics = this.context.getMetrics();
+		metrics.add("file.lines", this.goFileReader.getLineCount());
+		metrics.add("file.terms", this.goFileReader.getTermCount());
+		metrics.add("terms.new", newGoTermCount);
+		metrics.add("terms.nameOrDefinitionChanged", nameOrDefinitionChangeCount);
+		metrics.add("terms.ecNumbersOnlyChanged", ecNumberOnlyChangeCount);
+		metrics.add("terms.categoryMismatches", mismatchCount);
+		metrics.add("terms.merged", mergedCount);
+		metrics.add("terms.obsolete", obsoleteCount);
+		metrics.add("terms.deleted", deletedCount);
+		metrics.add("terms.undeletable", undeleteble.size());
+		metrics.add("terms.pendingObsolete", pendingObsoleteCount);
+		metrics.add("cache.hits", this.cachePolicy.getHitCount());
+		metrics.add("cache.misses", this.cachePolicy.getMissCount());
+		metrics.add("cache.evicted", this.cachePolicy.getEvictedCount());
+		metrics.add("cache.peakSize", this.cachePolicy.getPeakSize());
+		metrics.add("referrerIndex.hits", this.referrerIndex.getHitCount());
+		metrics.add("referrerIndex.lookups", this.referrerIndex.getLookupCount());
+		this.context.startPhase("RECONCILE");
+		GoTermsReconciler reconciler = new GoTermsReconciler(this.adaptor, this.context);
+		reconciler.reconcile(goTermsFromFile, this.goToECNumbers);
+		this.context.endPhase();
 
 		this.categoryMismatchPrinter.close();
 		this.newGOTermsPrinter.close();
@@ -273,357 +398,531 @@ class GoTermsUpdater
 	}
 
 	/**
-	 * Updates the relationships of GO terms.
+	 * Updates the relationships of GO terms. Only the GO_CellularComponent terms whose relationships in the database differ from the file are fetched and written.
 	 * @param goTermsFromFile - the GO terms from the GO file.
-	 * @param allGoInstances - a map of ALL GO instances from the database.
 	 * @throws InvalidAttributeException
 	 * @throws Exception
 	 * @throws InvalidAttributeValueException
 	 */
-	private void updateRelationships(Map<String, Map<String, Object>> goTermsFromFile, Map<String, List<GKInstance>> allGoInstances) throws InvalidAttributeException, Exception, InvalidAttributeValueException
+	private void updateRelationships(Map<String, Map<String, Object>> goTermsFromFile) throws InvalidAttributeException, Exception, InvalidAttributeValueException
 	{
+		// Chunks that an earlier run committed before it stopped are not skipped: relationshipsNeedUpdate is false for the GO terms they updated.
+		int uncommittedUpdates = 0;
+		int unchangedCount = 0;
+		this.context.getProgress().setTermsTotal(goTermsFromFile.size());
 		for (String goId : goTermsFromFile.keySet())
 		{
-			List<GKInstance> goInsts = allGoInstances.get(goId);
+			this.context.getProgress().termProcessed();
+			int[] goRows = this.goInstanceTable.getRows(goId);
 			Map<String, Object> goProps = goTermsFromFile.get(goId);
-			if (goInsts != null && !goInsts.isEmpty() && goProps != null && !goProps.isEmpty())
+			if (goRows.length > 0 && goProps != null && !goProps.isEmpty())
 			{
-				for (GKInstance goInst : goInsts)
+				for (int goRow : goRows)
 				{
-					GoTermInstanceModifier goModifier = new GoTermInstanceModifier(this.adaptor, goInst);
-
-					if (goInst.getSchemClass().isa(ReactomeJavaConstants.GO_CellularComponent))
+					if (this.goInstanceTable.isa(goRow, ReactomeJavaConstants.GO_CellularComponent))
 					{
-						goModifier.updateRelationship(allGoInstances, goProps, GoUpdateConstants.IS_A, ReactomeJavaConstants.instanceOf);
-						goModifier.updateRelationship(allGoInstances, goProps, GoUpdateConstants.HAS_PART, "hasPart");
-						goModifier.updateRelationship(allGoInstances, goProps, GoUpdateConstants.PART_OF, ReactomeJavaConstants.componentOf);
+						if (!this.relationshipsNeedUpdate(goRow, goProps))
+						{
+							unchangedCount++;
+							continue;
+						}
+						GoUpdateEvents.TermEvent termEvent = GoUpdateEvents.beginTerm(goId, "relationships", this.goInstanceTable.getDbId(goRow));
+						GKInstance goInst = this.fetchGOInstance(goRow);
+						GoTermInstanceModifier goModifier = new GoTermInstanceModifier(this.adaptor, this.context, goInst);
+						// The GO terms that this one is related to, as updateRelationship expects them.
+						Map<String, List<GKInstance>> relatedGoInstances = this.getRelatedGOInstances(goProps);
+
+						goModifier.updateRelationship(relatedGoInstances, goProps, GoUpdateConstants.IS_A, ReactomeJavaConstants.instanceOf);
+						goModifier.updateRelationship(relatedGoInstances, goProps, GoUpdateConstants.HAS_PART, "hasPart");
+						goModifier.updateRelationship(relatedGoInstances, goProps, GoUpdateConstants.PART_OF, ReactomeJavaConstants.componentOf);
 
 						// Update the instance's "modified".
 						goInst.getAttributeValuesList(ReactomeJavaConstants.modified);
 						GKInstance instEd = GoUpdateInstanceEditUtils.getInstanceEditForClass(GOUpdateInstEditType.UPDATE_RELATIONSHIP, this.getClass());
 						goInst.addAttributeValue(ReactomeJavaConstants.modified, instEd);
-						this.adaptor.updateInstanceAttribute(goInst, ReactomeJavaConstants.modified);
+						GoUpdateEvents.updateInstanceAttribute(this.context, this.adaptor, goInst, ReactomeJavaConstants.modified);
 						// Now, update the displayName of other instances that refers to this GO Term instance.
 						goModifier.updateReferrersDisplayNames();
+						termEvent.commit();
+						uncommittedUpdates++;
 					}
 				}
 			}
+			if (uncommittedUpdates >= this.chunkSize)
+			{
+				this.commitChunk(Phase.RELATIONSHIPS, goId);
+				uncommittedUpdates = 0;
+			}
 		}
+		logger.info("{} GO_CellularComponent terms already had the relationships from the file.", unchangedCount);
 	}
 
-
-
 	/**
-	 * Deletes GO instances that have been flagged for deletion.
-	 * @param goTermsFromFile - A map of GO terms from the file.
-	 * @param allGoInstances - A map of ALL GO terms from the database.
-	 * @param instancesForDeletion - A list of instances that must be deleted.
-	 * @param undeleteble - A map of instances that are undeleteable (probably because they have no replacement instance AND they are referred to by other instances). This map will be modified by the method.
-	 * @return The number of instances that were actually deleted.
-	 * @throws Exception
-	 * @throws InvalidAttributeException
+	 * Checks if {@link GoTermInstanceModifier#updateRelationship(Map, Map, String, String)} would change any of the relationships of a GO term.
+	 * A relationship that is not in the file is not touched by updateRelationship, so it is not compared.
+	 * @param goRow - The GO term's row in the GO instance table.
+	 * @param goProps - The GO term from the file.
+	 * @return true if the GO terms that it is related to in the database are not the ones from the file (in the same order).
 	 */
-	private int deleteFlaggedInstances(Map<String, Map<String, Object>> goTermsFromFile, Map<String, List<GKInstance>> allGoInstances, List<GKInstance> instancesForDeletion, Map<GKInstance, Collection<GKInstance>> undeleteble) throws Exception, InvalidAttributeException
+	private boolean relationshipsNeedUpdate(int goRow, Map<String, Object> goProps)
 	{
-		int deletedCount = 0;
-		for (GKInstance instance : instancesForDeletion)
+		for (Map.Entry<String, String> relationship : RELATIONSHIP_KEYS.entrySet())
 		{
-			String goAccession = (String) instance.getAttributeValue(ReactomeJavaConstants.accession);
+			if (!goProps.containsKey(relationship.getValue()))
+			{
+				continue;
+			}
+			if (!this.goInstanceTable.hasAttribute(goRow, relationship.getKey()))
+			{
+				// updateRelationship would just log that the attribute is not valid.
+				continue;
+			}
 			@SuppressWarnings("unchecked")
-			String replacementGOTermAccession = goTermsFromFile.get(goAccession).get(GoUpdateConstants.REPLACED_BY) != null
-												? ((List<String>) goTermsFromFile.get(goAccession).get(GoUpdateConstants.REPLACED_BY)).get(0)
-												: "N/A" ;
-
-			GoTermInstanceModifier goTermModifier = new GoTermInstanceModifier(this.adaptor, instance);
-			if (GoTermInstanceModifier.isGoTermDeleteable(instance))
+			List<String> otherIDs = (List<String>) goProps.get(relationship.getValue());
+			List<Long> expected = new ArrayList<>();
+			for (String otherID : otherIDs)
 			{
-				// Let's get a count of irrelevant (because there is a replacement instance) referrers
-				Map<GKSchemaAttribute, Integer> referrersCount = GoTermsUpdater.getReferrerCountsExcludingGOEntities(instance);
-				String action = "";
-				if (!referrersCount.isEmpty())
-				{
-					action = "Automatic Deletion (referrers will be redirected)";
-				}
-				else
+				int[] otherRows = this.goInstanceTable.getRows(otherID);
+				// As in updateRelationship, only the first GO term with the accession is used.
+				if (otherRows.length > 0)
 				{
-					action = "Automatic Deletion (no referrers)";
+					expected.add(this.goInstanceTable.getDbId(otherRows[0]));
 				}
-				this.obsoleteAccessionPrinter.printRecord(instance.getDBID(), instance.getSchemClass().getName(), instance.getAttributeValue(ReactomeJavaConstants.accession), action, replacementGOTermAccession);
-				goTermModifier.deleteGoInstance(goTermsFromFile, allGoInstances, this.deletionStringBuilder);
-				deletedCount ++;
 			}
-			else
+			long[] current = this.goInstanceTable.getRelationship(goRow, relationship.getKey());
+			if (current.length != expected.size())
 			{
-				Collection<GKInstance> referrers = GoTermInstanceModifier.getReferrersForGoTerm(instance);
-				undeleteble.put(instance,referrers);
+				return true;
+			}
+			for (int i = 0; i < current.length; i++)
+			{
+				if (current[i] != expected.get(i))
+				{
+					return true;
+				}
 			}
 		}
-		return deletedCount;
+		return false;
 	}
 
-	/**
-	 * Processes a single GO Term that is obsolete. This involves examining them and flagging them for deletion if possible. If it is not possible to delete the instance
-	 * (usually because there ARE referrers and there is NO suggested replacement) a message will be logged suggesting manual cleanup.
-	 * @param goTermsFromFile - The GO terms from the file.
-	 * @param instancesForDeletion - A list of instances for deletion. This list will be modified by this function!
-	 * @param goID - The GO ID of the term to process.
-	 * @param goInstances - A list of GO instances that are identified by goID
+	/*
+	 * Fetches the (first) GO term for each accession that a GO term from the file is related to.
 	 */
-	private void processObsoleteGOTerm(Map<String, Map<String, Object>> goTermsFromFile, List<GKInstance> instancesForDeletion, String goID, List<GKInstance> goInstances)
+	private Map<String, List<GKInstance>> getRelatedGOInstances(Map<String, Object> goProps) throws Exception
 	{
-		StringBuilder attemptToDeleteObsoleteMessage = new StringBuilder();
-		Map<GKSchemaAttribute, Integer> referrersCount = new HashMap<>();
-		// Only add instance(s) to deletion list if they have a valid replacement.
-		if (goTermsFromFile.get(goID).get(GoUpdateConstants.REPLACED_BY) != null)
+		Map<String, List<GKInstance>> relatedGoInstances = new HashMap<>();
+		for (String relationshipKey : RELATIONSHIP_KEYS.values())
 		{
-			instancesForDeletion.addAll(goInstances);
-			attemptToDeleteObsoleteMessage.append(" Replacement Accession: ").append(goTermsFromFile.get(goID).get(GoUpdateConstants.REPLACED_BY));
-		}
-		else
-		{
-			// ...or, if an obsolete term has no replacement AND also has no referrers, it can be
-			// safely be deleted because nothing will be affected.
-			//
-			// (Check that the instance has not already been added to instancesForDeletion by some other path)
-			goInstances.stream().filter(inst -> !instancesForDeletion.contains(inst)).forEach( inst -> {
-				try
+			@SuppressWarnings("unchecked")
+			List<String> otherIDs = (List<String>) goProps.get(relationshipKey);
+			if (otherIDs != null)
+			{
+				for (String otherID : otherIDs)
 				{
-					referrersCount.putAll( GoTermsUpdater.getReferrerCountsExcludingGOEntities(inst) );
-					if (referrersCount.isEmpty())
-					{
-						instancesForDeletion.add(inst);
-					}
-					else // if referrers DO exists, log that, with suggestions about REPLACE_BY/CONSIDER terms.
+					int[] otherRows = this.goInstanceTable.getRows(otherID);
+					if (otherRows.length > 0 && !relatedGoInstances.containsKey(otherID))
 					{
-						@SuppressWarnings("unchecked")
-						List<String> replaceByList = (List<String>) goTermsFromFile.get(goID).get(GoUpdateConstants.REPLACED_BY);
-						@SuppressWarnings("unchecked")
-						List<String> considerList = (List<String>) goTermsFromFile.get(goID).get(GoUpdateConstants.CONSIDER);
-						String replaceBy = "";
-						String consider = "";
-						replaceBy = replaceByList != null && !replaceByList.isEmpty() ? "Replace by: " + String.join(", ", replaceByList) : "";
-						consider = considerList != null && !considerList.isEmpty() ? "Consider: " + String.join(", ", considerList) : "";
-						String replacementTermString = replaceBy + consider;
-						replacementTermString = replacementTermString.length() == 0 ? "N/A" : replacementTermString;
-						obsoleteAccessionPrinter.printRecord(inst.getDBID(), inst.getSchemClass().getName(), inst.getAttributeValue(ReactomeJavaConstants.accession), "Manual cleanup (referrers exist)", replacementTermString);
+						relatedGoInstances.put(otherID, new ArrayList<>(Arrays.asList(this.fetchGOInstance(otherRows[0]))));
 					}
 				}
-				catch (Exception e)
-				{
-					e.printStackTrace();
-					obsoleteAccessionLogger.error(e);
-					attemptToDeleteObsoleteMessage.append(" An exception occcured while trying to get the number of referrers - this instance will not be deleted. Manual clean up may be necessary.");
-				}
-			});
+			}
 		}
-
-		logger.warn("GO:{} ({}) marked as OBSOLETE!{}",goID, goInstances.toString(), attemptToDeleteObsoleteMessage);
+		return relatedGoInstances;
 	}
 
-	// TODO: These ReferrerCount-related functions could be useful elsewhere. Maybe move to release-common-lib...
 	/**
-	 * Get referrer counts for an instance.
-	 * @param inst - The instance to get counts for.
-	 * @return A map whose key is the attrbite that referrs to <code>inst</code>, and the value is the *number* of
-	 * referrers that refer to <code>inst</code> via that attribute.
+	 * Gets the GO term to use for an accession: the new GO term, if one was created for it, or else the first GO term in the database
+	 * with that accession which has not been deleted.
+	 * @param accession - A GO accession.
+	 * @return The GO term, or null if there is none.
 	 * @throws Exception
 	 */
-	static Map<GKSchemaAttribute, Integer> getReferrerCounts(GKInstance inst) throws Exception
+	private GKInstance getFirstGOInstance(String accession) throws Exception
+	{
+		GKInstance createdGOTerm = this.createdGOTerms.get(accession);
+		if (createdGOTerm != null)
+		{
+			return createdGOTerm;
+		}
+		for (int row : this.goInstanceTable.getRows(accession))
+		{
+			if (!this.removedDbIds.contains(this.goInstanceTable.getDbId(row)))
+			{
+				return this.fetchGOInstance(row);
+			}
+		}
+		return null;
+	}
+
+	/*
+	 * Like getFirstGOInstance, but without fetching anything: true if there is a GO term for the accession.
+	 */
+	private boolean hasGOInstance(String accession)
 	{
-		return getReferrerCountsFilteredByClass(inst, x -> true );
+		if (this.createdGOTerms.containsKey(accession))
+		{
+			return true;
+		}
+		for (int row : this.goInstanceTable.getRows(accession))
+		{
+			if (!this.removedDbIds.contains(this.goInstanceTable.getDbId(row)))
+			{
+				return true;
+			}
+		}
+		return false;
 	}
 
-	/**
-	 * Gets the referrer counts, but excluding Referers that are GO entities
-	 * @param inst - The instance to get counts for.
-	 * @return A map whose key is the attrbite that referrs to <code>inst</code>, and the value is the *number* of
-	 * referrers that refer to <code>inst</code> via that attribute.
-	 * @throws Exception
+	/*
+	 * Fetches the GKInstance of a row of the GO instance table.
 	 */
-	static Map<GKSchemaAttribute, Integer> getReferrerCountsExcludingGOEntities(GKInstance inst) throws Exception
+	private GKInstance fetchGOInstance(int goRow) throws Exception
 	{
-		return getReferrerCountsFilteredByClass(inst, isNotGOEntity);
+		return this.cachePolicy.fetchInstance(this.goInstanceTable.getDbId(goRow));
 	}
 
-	/**
-	 * Gets referrer counts, where the Schema Class of the referrers are filtered by a user-supplied predicate.
-	 * @param inst - the Instance to get referrer counts for.
-	 * @param classFilter - A Predicate. This predicate will be used to filter the classes of the referrers.
-	 * @return A map whose key is the attrbite that referrs to <code>inst</code>, and the value is the *number* of
-	 * referrers that refer to <code>inst</code> via that attribute.
-	 * @throws Exception
+	/*
+	 * For log messages: the DB_IDs and classes of some rows of the GO instance table.
+	 */
+	private String describeRows(int[] goRows)
+	{
+		return Arrays.stream(goRows).mapToObj(row -> this.goInstanceTable.getDbId(row) + " (" + this.goInstanceTable.getClassName(row) + ")").collect(Collectors.joining(", "));
+	}
+
+	private boolean isPhaseComplete(Phase phase)
+	{
+		return this.journal != null && this.journal.isComplete(phase);
+	}
+
+	/*
+	 * Commits part of a phase, if there is an execution journal. If there isn't, everything is committed by the caller at the end.
+	 * Chunks are not recorded in the journal: if the run stops part of the way through a phase, the next run does the whole phase again,
+	 * and only finds the changes that were not committed.
 	 */
-	static Map<GKSchemaAttribute, Integer> getReferrerCountsFilteredByClass(GKInstance inst, Predicate<? super GKInstance> classFilter) throws Exception
+	private void commitChunk(Phase phase, String lastGoId) throws Exception
 	{
-		Map<GKSchemaAttribute, Integer> referrersCount = new HashMap<>();
-		for (GKSchemaAttribute attrib : (Collection<GKSchemaAttribute>)inst.getSchemClass().getReferers())
+		if (this.journal != null)
 		{
-			Collection<GKInstance> referrers = (Collection<GKInstance>) inst.getReferers(attrib);
+			this.context.getUndoLog().sync();
+			this.adaptor.commit();
+			logger.info("Committed {} up to GO:{}.", phase, lastGoId);
+			this.adaptor.startTransaction();
+		}
+	}
 
-			referrers = referrers.stream().filter(classFilter).collect(Collectors.toList());
+	private void startPhase(Phase phase)
+	{
+		this.context.startPhase(phase.toString());
+	}
+
+	/*
+	 * Ends a phase: commits it (if there is an execution journal), and then drops the referrers that were loaded for it. Everything the
+	 * phase changed has been written by now, and the next phase looks up whatever referrers it needs again.
+	 */
+	private void endPhase(Phase phase) throws Exception
+	{
+		this.commitPhase(phase);
+		this.referrerIndex.clear();
+		this.cachePolicy.evictUnpinned(phase.toString());
+		this.context.endPhase();
+	}
 
-			if ( referrers!=null && !referrers.isEmpty())
+	/*
+	 * Commits the rest of a phase, if there is an execution journal.
+	 */
+	private void commitPhase(Phase phase) throws Exception
+	{
+		if (this.journal != null && !this.journal.isComplete(phase))
+		{
+			this.context.getUndoLog().sync();
+			this.adaptor.commit();
+			this.journal.recordPhase(phase);
+			logger.info("Committed {}.", phase);
+			this.adaptor.startTransaction();
+		}
+	}
+
+
+
+	/**
+	 * Deletes GO instances that have been planned for deletion, and writes the obsolete GO terms report.<br/>
+	 * The referrers of all the instances that have a replacement are redirected together, and then all the instances are deleted together (see {@link BulkDeleter}).
+	 * Instances that are still referred to by something other than a GO term after that are not deleted, and are added to <code>undeleteble</code>.
+	 * @param plan - The deletion plan, from a {@link DeletionPlanner}.
+	 * @param undeleteble - A map of instances that are undeleteable (probably because they have no replacement instance AND they are referred to by other instances). This map will be modified by the method.
+	 * @return The number of instances that were actually deleted.
+	 * @throws Exception
+	 */
+	private int deleteFlaggedInstances(List<DeletionPlanner.PlannedDeletion> plan, Map<GKInstance, Collection<GKInstance>> undeleteble) throws Exception
+	{
+		ReferrerRedirector redirector = new ReferrerRedirector(this.adaptor, this.context);
+		List<GKInstance> instancesToDelete = new ArrayList<>();
+		List<String> accessionsToDelete = new ArrayList<>();
+		this.context.getProgress().setTermsTotal(plan.size());
+		for (DeletionPlanner.PlannedDeletion plannedDeletion : plan)
+		{
+			this.context.getProgress().termProcessed();
+			GKInstance instance = plannedDeletion.getInstance();
+			this.obsoleteAccessionPrinter.printRecord(instance.getDBID(), instance.getSchemClass().getName(), plannedDeletion.getAccession(), plannedDeletion.getAction().getDescription(), plannedDeletion.getSuggestedReplacements());
+			if (plannedDeletion.getAction() == DeletionPlanner.Action.MANUAL)
+			{
+				undeleteble.put(instance, plannedDeletion.getBlockingReferrers());
+				continue;
+			}
+			if (plannedDeletion.getReplacementAccession() != null)
+			{
+				GKInstance replacementGOTerm = this.getFirstGOInstance(plannedDeletion.getReplacementAccession());
+				if (replacementGOTerm != null)
+				{
+					redirector.addRedirect(instance, replacementGOTerm);
+					this.referrerIndex.invalidate(replacementGOTerm.getDBID());
+				}
+				else
+				{
+					logger.warn("GO:{} ({}) is replaced by GO:{}, but that is not in the database. References to it from other GO terms will be cleared.", plannedDeletion.getAccession(), instance, plannedDeletion.getReplacementAccession());
+				}
+			}
+			instancesToDelete.add(instance);
+			accessionsToDelete.add(plannedDeletion.getAccession());
+		}
+		// Redirect first: any references from GO terms that are still left after that will be cleared by the deleter.
+		Set<Long> redirectedReferrers;
+		try (SlowOperationWatchdog.Operation operation = this.context.getWatchdog().watch("redirect referrers of " + instancesToDelete.size() + " obsolete GO terms", null, null))
+		{
+			redirectedReferrers = redirector.execute();
+		}
+		logger.info("{} referrers of obsolete GO terms were redirected to replacement GO terms.", redirectedReferrers.size());
+		int deletedCount;
+		BulkDeleter deleter = new BulkDeleter(this.adaptor, this.context);
+		try (SlowOperationWatchdog.Operation operation = this.context.getWatchdog().watch("delete " + instancesToDelete.size() + " obsolete GO terms", null, null))
+		{
+			deletedCount = deleter.deleteInstances(instancesToDelete);
+		}
+		this.context.getMetrics().add(GoUpdateMetrics.REDIRECTS, redirectedReferrers.size());
+		this.context.getMetrics().add(GoUpdateMetrics.DELETES, deletedCount);
+		this.context.getProgress().databaseOperations(deletedCount);
+		for (int i = 0; i < instancesToDelete.size(); i++)
+		{
+			GKInstance instance = instancesToDelete.get(i);
+			Set<Long> remainingReferrers = deleter.getUndeletable().get(instance.getDBID());
+			if (remainingReferrers != null)
 			{
-				referrersCount.put(attrib, referrers.size());
+				// Something (other than a GO term) still refers to it, and could not be redirected.
+				undeleteble.put(instance, this.fetchInstances(remainingReferrers));
 			}
+			else
+			{
+				this.deletionStringBuilder.append("Deleting GO instance: \"").append(instance.toString()).append("\" (GO:").append(accessionsToDelete.get(i)).append(")\n");
+			}
+			this.referrerIndex.invalidate(instance.getDBID());
 		}
-		return referrersCount;
+		return deletedCount;
 	}
 
-	static List<GKInstance> getReferrersFilteredByClass(GKInstance inst, Predicate<? super GKInstance> classFilter) throws Exception
+	/*
+	 * Fetches instances by DB_ID, for reports. DB_IDs that are not in the database are left out.
+	 */
+	private List<GKInstance> fetchInstances(Collection<Long> dbIds) throws Exception
 	{
-		List<GKInstance> referrers= new ArrayList<>();
-		for (GKSchemaAttribute attrib : (Collection<GKSchemaAttribute>)inst.getSchemClass().getReferers())
+		List<GKInstance> instances = new ArrayList<>(dbIds.size());
+		for (Long dbId : dbIds)
 		{
-			Collection<GKInstance> attribReferrers = (Collection<GKInstance>) inst.getReferers(attrib);
-
-			attribReferrers = attribReferrers.stream().filter(classFilter).collect(Collectors.toList());
-
-			if ( attribReferrers!=null && !attribReferrers.isEmpty())
+			GKInstance instance = this.adaptor.fetchInstance(dbId);
+			if (instance != null)
 			{
-				referrers.addAll(attribReferrers);
+				instances.add(instance);
 			}
 		}
-		return referrers;
+		return instances;
+	}
+
+	/**
+	 * Moves GO instances whose category did not match the file to the correct GO class, and then updates them from the file (the name,
+	 * definition and EC numbers might not have been updated in the main loop, if they only apply to the correct class).
+	 * @param classMigrator - The migrator, which the mismatched instances have been added to.
+	 * @param goTermsFromFile - The GO terms from the file.
+	 * @throws Exception
+	 */
+	private void migrateMismatchedInstances(SchemaClassMigrator classMigrator, Map<String, Map<String, Object>> goTermsFromFile) throws Exception
+	{
+		for (Long dbId : classMigrator.execute())
+		{
+			// The migrator removed the old instance from the cache, so this will have the new class (and so will later lookups by accession).
+			GKInstance migratedInstance = this.cachePolicy.fetchInstance(dbId);
+			this.referrerIndex.invalidate(dbId);
+			GoTermInstanceModifier goTermModifier = new GoTermInstanceModifier(this.adaptor, this.context, migratedInstance);
+			goTermModifier.updateGOInstance(goTermsFromFile, this.goToECNumbers, this.nameOrDefinitionChangeStringBuilder);
+		}
+	}
+
+	/**
+	 * Processes a single GO Term that is obsolete. Its instances are added to the deletion planner, which will decide later if they can be deleted automatically,
+	 * or if manual cleanup is needed (usually because there ARE referrers and there is NO suggested replacement).
+	 * @param goTermsFromFile - The GO terms from the file.
+	 * @param deletionPlanner - The deletion planner, which the instances will be added to.
+	 * @param goID - The GO ID of the term to process.
+	 * @param goRows - The rows of the GO instance table that are identified by goID
+	 * @throws Exception
+	 */
+	private void processObsoleteGOTerm(Map<String, Map<String, Object>> goTermsFromFile, DeletionPlanner deletionPlanner, String goID, int[] goRows) throws Exception
+	{
+		List<GKInstance> goInstances = new ArrayList<>(goRows.length);
+		for (int goRow : goRows)
+		{
+			GKInstance inst = this.fetchGOInstance(goRow);
+			goInstances.add(inst);
+			deletionPlanner.addCandidate(inst, goID);
+		}
+		String replacementMessage = goTermsFromFile.get(goID).get(GoUpdateConstants.REPLACED_BY) != null ? " Replacement Accession: " + goTermsFromFile.get(goID).get(GoUpdateConstants.REPLACED_BY) : "";
+		logger.warn("GO:{} ({}) marked as OBSOLETE!{}",goID, goInstances.toString(), replacementMessage);
 	}
 
 	/**
-	 * Creates a new GO term.
+	 * Creates a new GO term. It is not stored until {@link #storeNewGOTerms(Map)} is called, but it can be used (for example, as
+	 * the replacement of an obsolete GO term) right away.
 	 * @param goTermsFromFile - The go terms from the file.
 	 * @param goToECNumbers - The Mapping of GO IDs to EC Numbers.
-	 * @param newGoTermCount - The nubmer of new GO terms so far.
 	 * @param goID - The GO ID of the new GO term.
 	 * @param goTermModifier - A GO Term Modifier, which will do the actual creation.
 	 * @param goCategory - The *type* pf GO term this will be.
-	 * @return
+	 * @return The new GO term.
 	 * @throws Exception
 	 */
-	private GKInstance createNewGOTerm(Map<String, Map<String, Object>> goTermsFromFile, Map<String, List<String>> goToECNumbers, String goID, GoTermInstanceModifier goTermModifier, GONamespace goCategory) throws Exception
+	private GKInstance createNewGOTerm(Map<String, Map<String, Object>> goTermsFromFile, Ec2GoMapping goToECNumbers, String goID, GoTermInstanceModifier goTermModifier, GONamespace goCategory) throws Exception
 	{
-		Long dbID = goTermModifier.createNewGOTerm(goTermsFromFile, goToECNumbers, goID, goCategory.getReactomeName(), GoTermsUpdater.goRefDB);
-		this.newGOTermsPrinter.printRecord(dbID, goTermsFromFile.get(goID).get(GoUpdateConstants.NAME), goID, goTermsFromFile.get(goID).get(GoUpdateConstants.NAMESPACE), goTermsFromFile.get(goID).get(GoUpdateConstants.DEF));
-		if ( ((GONamespace)goTermsFromFile.get(goID).get(GoUpdateConstants.NAMESPACE)).getReactomeName().equals(ReactomeJavaConstants.GO_MolecularFunction) )
-		{
-			this.newMFPrinter.printRecord(dbID, goID, goTermsFromFile.get(goID).get(GoUpdateConstants.NAME), goTermsFromFile.get(goID).get(GoUpdateConstants.DEF));
-		}
-		return this.adaptor.fetchInstance(dbID);
+		GKInstance newGOTerm = goTermModifier.buildNewGOTerm(goTermsFromFile, goToECNumbers, goID, goCategory.getReactomeName(), GoTermsUpdater.goRefDB);
+		this.bulkCreator.add(newGOTerm);
+		this.newGOTerms.add(newGOTerm);
+		this.newGOTermAccessions.add(goID);
+		return newGOTerm;
 	}
 
 	/**
-	 * Process alternate GO terms for a given GO ID. This involves deleting secondary identifiers and then redirecting the referrers for those
-	 * to the instance whose GO ID is <code>goID</code>
-	 * @param goTermsFromFile - GO terms from the GO file.
-	 * @param allGoInstances - A map of ALL GO Terms in the database.
-	 * @param goID - the GO ID of the term to process alternates for.
+	 * Stores all the GO terms that were created by {@link #createNewGOTerm(Map, Ec2GoMapping, String, GoTermInstanceModifier, GONamespace)}, and
+	 * writes the new GO terms reports (which need the DB_IDs of the new terms).
+	 * @param goTermsFromFile - The go terms from the file.
+	 * @throws Exception
 	 */
-	private void processAlternates(Map<String, Map<String, Object>> goTermsFromFile, Map<String, List<GKInstance>> allGoInstances, String goID)
+	private void storeNewGOTerms(Map<String, Map<String, Object>> goTermsFromFile) throws Exception
 	{
-		if (goTermsFromFile.get(goID).get(GoUpdateConstants.ALT_ID) != null && allGoInstances.containsKey(goID))
+		int storedCount = this.bulkCreator.store();
+		this.context.getMetrics().add(GoUpdateMetrics.CREATES, storedCount);
+		this.context.getProgress().databaseOperations(storedCount);
+		for (int i = 0; i < this.newGOTerms.size(); i++)
 		{
-			@SuppressWarnings("unchecked")
-			List<String> alternates = (List<String>) goTermsFromFile.get(goID).get(GoUpdateConstants.ALT_ID);
-			for (GKInstance primaryGOTerm : allGoInstances.get(goID))
+			Long dbID = this.newGOTerms.get(i).getDBID();
+			String goID = this.newGOTermAccessions.get(i);
+			this.newGOTermsPrinter.printRecord(dbID, goTermsFromFile.get(goID).get(GoUpdateConstants.NAME), goID, goTermsFromFile.get(goID).get(GoUpdateConstants.NAMESPACE), goTermsFromFile.get(goID).get(GoUpdateConstants.DEF));
+			if ( ((GONamespace)goTermsFromFile.get(goID).get(GoUpdateConstants.NAMESPACE)).getReactomeName().equals(ReactomeJavaConstants.GO_MolecularFunction) )
 			{
-				// Now that we have a list of alternates for *this* accession, we need to mark them for deletion and have their referrers refer to *this* accession.
-				for (String secondaryAccession : alternates)
-				{
-					// Check that we're even using this secondary accession.
-					if (allGoInstances.get(secondaryAccession) != null)
-					{
-						for (GKInstance altGoInst : allGoInstances.get(secondaryAccession))
-						{
-							logger.info("{} is an alternate/secondary ID for {} - {} will be deleted and its referrers will refer to {}.", secondaryAccession, goID, secondaryAccession, goID);
-							try
-							{
-								this.replacedGOTermsPrinter.printRecord(primaryGOTerm.getDBID(), primaryGOTerm.getDisplayName(), goID, primaryGOTerm.getSchemClass().getName(),
-																		altGoInst.getDBID(), secondaryAccession, altGoInst.getSchemClass().getName(),
-																		getReferrersFilteredByClass(altGoInst, isNotGOEntity).stream().map(inst -> inst.toString()).collect(Collectors.joining("; ")) );
-							}
-							catch (Exception e)
-							{
-								e.printStackTrace();
-							}
-							GoTermInstanceModifier modifier = new GoTermInstanceModifier(adaptor, altGoInst);
-							modifier.deleteSecondaryGOInstance(primaryGOTerm, deletionStringBuilder);
-						}
-					}
-				}
+				this.newMFPrinter.printRecord(dbID, goID, goTermsFromFile.get(goID).get(GoUpdateConstants.NAME), goTermsFromFile.get(goID).get(GoUpdateConstants.DEF));
 			}
 		}
+		this.newGOTerms.clear();
+		this.newGOTermAccessions.clear();
 	}
 
 	/**
-	 * Returns a map of all GO-related instances in the databases.
-	 * @param dba
-	 * @return
+	 * Merges secondary (alt_id) GO terms into their primary terms. Each secondary instance is deleted, and its referrers are redirected
+	 * to the primary term - or, if the primary term has itself been retired, to the final live term at the end of the chain.<br/>
+	 * Only secondary accessions that are actually in the database are processed. All the redirects are done together, and then all
+	 * the secondary instances are deleted together.
+	 * @param alternateIndex - Secondary accessions, mapped to their primary accessions. See {@link GoOboReader#getAlternateIndex()}.
+	 * @return The number of secondary instances that were merged. The merged instances are no longer returned by {@link #getFirstGOInstance(String)}.
+	 * Secondary instances that still have referrers which could not be redirected are not deleted (see {@link BulkDeleter}), and are not counted.
+	 * @throws Exception If the referrers could not be redirected, or the secondary instances could not be deleted. The transaction should then be rolled back.
 	 */
-	private static Map<String, List<GKInstance>> getMapOfAllGOInstances(MySQLAdaptor dba)
+	private int consolidateAlternates(Map<String, String> alternateIndex) throws Exception
 	{
-		Collection<GKInstance> bioProcesses = new ArrayList<>();
-		Collection<GKInstance> molecularFunctions = new ArrayList<>();
-		Collection<GKInstance> cellComponents = new ArrayList<>();
-		try
-		{
-			bioProcesses = (Collection<GKInstance>) dba.fetchInstancesByClass(ReactomeJavaConstants.GO_BiologicalProcess);
-			logger.info("{} GO_BiologicalProcesses in the database.", bioProcesses.size());
-			molecularFunctions = (Collection<GKInstance>) dba.fetchInstancesByClass(ReactomeJavaConstants.GO_MolecularFunction);
-			logger.info("{} GO_MolecularFunction in the database.", molecularFunctions.size());
-			cellComponents = (Collection<GKInstance>) dba.fetchInstancesByClass(ReactomeJavaConstants.GO_CellularComponent);
-			logger.info("{} GO_CellularComponent in the database.", cellComponents.size());
-		}
-		catch (Exception e)
+		ReferrerRedirector redirector = new ReferrerRedirector(this.adaptor, this.context);
+		List<GKInstance> secondaryInstancesToDelete = new ArrayList<>();
+		List<String> secondaryAccessions = new ArrayList<>();
+		this.context.getProgress().setTermsTotal(alternateIndex.size());
+		for (Map.Entry<String, String> alternate : alternateIndex.entrySet())
 		{
-			e.printStackTrace();
-		}
-
-		Map<String, List<GKInstance>> allGoInstances = new HashMap<>();
-		Consumer<? super GKInstance> populateInstMap = inst -> {
+			this.context.getProgress().termProcessed();
+			String secondaryAccession = alternate.getKey();
+			String goID = alternate.getValue();
+			int[] secondaryRows = this.goInstanceTable.getRows(secondaryAccession);
+			// Check that we're even using this secondary accession.
+			if (secondaryRows.length == 0)
+			{
+				continue;
+			}
+			String targetAccession = this.replacementResolver.getFinalTarget(secondaryAccession);
+			if (targetAccession == null)
+			{
+				logger.warn("The replacement chain for secondary accession {} (alternate for {}) does not end in a live term - it will not be redirected.", secondaryAccession, goID);
+				continue;
+			}
+			// If the database has duplicates of the primary accession, just use the first one (as is done for replacements).
+			GKInstance primaryGOTerm;
 			try
 			{
-				if (!allGoInstances.containsKey((String)(inst.getAttributeValue(ReactomeJavaConstants.accession))))
+				primaryGOTerm = this.getFirstGOInstance(targetAccession);
+			}
+			catch (Exception e)
+			{
+				logger.error("Error occurred while trying to get the GO term for " + targetAccession + ": ", e);
+				continue;
+			}
+			if (primaryGOTerm == null)
+			{
+				logger.warn("{} is an alternate/secondary ID for {}, but there is no GO term in the database for {} - {} will not be redirected.", secondaryAccession, goID, targetAccession, secondaryAccession);
+				continue;
+			}
+			for (int secondaryRow : secondaryRows)
+			{
+				GKInstance altGoInst;
+				try
 				{
-					allGoInstances.put((String)(inst.getAttributeValue(ReactomeJavaConstants.accession)), new ArrayList<>( Arrays.asList(inst) ) );
+					altGoInst = this.fetchGOInstance(secondaryRow);
 				}
-				else
+				catch (Exception e)
 				{
-					allGoInstances.get((String)(inst.getAttributeValue(ReactomeJavaConstants.accession))).add(inst);
+					logger.error("Error occurred while trying to get secondary GO instance " + this.goInstanceTable.getDbId(secondaryRow) + ": ", e);
+					continue;
 				}
+				logger.info("{} is an alternate/secondary ID for {} - {} will be deleted and its referrers will refer to {}.", secondaryAccession, goID, secondaryAccession, targetAccession);
+				try
+				{
+					this.replacedGOTermsPrinter.printRecord(primaryGOTerm.getDBID(), primaryGOTerm.getDisplayName(), targetAccession, primaryGOTerm.getSchemClass().getName(),
+															altGoInst.getDBID(), secondaryAccession, altGoInst.getSchemClass().getName(),
+															this.referrerIndex.getReferrers(altGoInst, isNotGOEntity).stream().map(inst -> inst.toString()).collect(Collectors.joining("; ")) );
+				}
+				catch (Exception e)
+				{
+					e.printStackTrace();
+				}
+				redirector.addRedirect(altGoInst, primaryGOTerm);
+				secondaryInstancesToDelete.add(altGoInst);
+				secondaryAccessions.add(secondaryAccession);
+				// The primary term will have new referrers, and the secondary term will be gone.
+				this.referrerIndex.invalidate(primaryGOTerm.getDBID());
+				this.referrerIndex.invalidate(altGoInst.getDBID());
 			}
-			catch (Exception e)
-			{
-				e.printStackTrace();
-			}
-		};
-
-		bioProcesses.forEach( populateInstMap);
-		cellComponents.forEach( populateInstMap);
-		molecularFunctions.forEach( populateInstMap);
-
-		return allGoInstances;
-	}
-
-	/**
-	 * Processes a line from the EC-to-GO file.
-	 * @param line - The line.
-	 * @param goToECNumbers - The map of GO to EC numbers, which will be updated by this function.
-	 */
-	private static void processEc2GoLine(String line, Map<String, List<String>> goToECNumbers)
-	{
-		Matcher m = GoUpdateConstants.EC_NUMBER_REGEX.matcher(line);
-		if (m.matches())
+		}
+		// As in deleteFlaggedInstances, a failure here is not caught: the redirects and the deletes must either both happen or not at all.
+		Set<Long> redirectedReferrers = redirector.execute();
+		logger.info("{} referrers of secondary GO terms were redirected to primary GO terms.", redirectedReferrers.size());
+		BulkDeleter deleter = new BulkDeleter(this.adaptor, this.context);
+		int deletedCount = deleter.deleteInstances(secondaryInstancesToDelete);
+		this.context.getMetrics().add(GoUpdateMetrics.REDIRECTS, redirectedReferrers.size());
+		this.context.getMetrics().add(GoUpdateMetrics.DELETES, deletedCount);
+		this.context.getProgress().databaseOperations(deletedCount);
+		for (int i = 0; i < secondaryInstancesToDelete.size(); i++)
 		{
-			String ecNumber = m.group(1);
-			String goNumber = m.group(2);
-			if (goToECNumbers.containsKey(goNumber))
+			GKInstance secondaryInstance = secondaryInstancesToDelete.get(i);
+			if (deleter.getUndeletable().containsKey(secondaryInstance.getDBID()))
 			{
-				goToECNumbers.get(goNumber).add(ecNumber);
+				logger.warn("Secondary GO instance \"{}\" was not deleted, because some of its referrers could not be redirected to its primary term: {}", secondaryInstance, deleter.getUndeletable().get(secondaryInstance.getDBID()));
 			}
 			else
 			{
-				List<String> ecNumbers = new ArrayList<>();
-				ecNumbers.add(ecNumber);
-				goToECNumbers.put(goNumber, ecNumbers);
+				this.deletionStringBuilder.append("Deleting secondary GO instance: \"").append(secondaryInstance.toString()).append("\" (GO:").append(secondaryAccessions.get(i)).append(")\n");
+				this.removedDbIds.add(secondaryInstance.getDBID());
 			}
 		}
+		return deletedCount;
 	}
 }
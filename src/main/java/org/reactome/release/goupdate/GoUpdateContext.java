@@ -0,0 +1,126 @@
+package org.reactome.release.goupdate;
+
+/**
+ * What a GO update run keeps track of besides the database: its metrics, its progress, its SQL profile, the watchdog for slow operations,
+ * its undo log, and the memory figures of its phases. {@link GoUpdateStep} makes one for each run, and it is passed to everything that does
+ * the work.<br/>
+ * A new context has new metrics, and everything else off: progress is not logged, and nothing is profiled, watched or recorded in an undo log.
+ * The run turns on what it needs with the setters. Code that changes the database outside of a run (such as {@link UndoLogReplayer}) uses a new context.<br/>
+ * {@link #startPhase(String)} and {@link #endPhase()} mark a phase for all of them at once: the phase's timer ("phase.&lt;phase&gt;"), its flight
+ * recorder event, the progress, the SQL profile, and the memory figures.
+ */
+class GoUpdateContext
+{
+	private final GoUpdateMetrics metrics = new GoUpdateMetrics();
+	private final PhaseMemoryStats memoryStats = new PhaseMemoryStats(this.metrics);
+	private Progress progress = new Progress(0);
+	private SqlProfiler sqlProfiler = SqlProfiler.disabled();
+	private SlowOperationWatchdog watchdog = SlowOperationWatchdog.disabled();
+	private UndoLog undoLog = UndoLog.disabled();
+
+	// The phase that is running, with its timer and flight recorder event.
+	private String phase;
+	private GoUpdateMetrics.Timer phaseTimer;
+	private GoUpdateEvents.PhaseEvent phaseEvent;
+
+	GoUpdateMetrics getMetrics()
+	{
+		return this.metrics;
+	}
+
+	/**
+	 * @return The allocations and heap use of each phase that has ended.
+	 */
+	PhaseMemoryStats getMemoryStats()
+	{
+		return this.memoryStats;
+	}
+
+	Progress getProgress()
+	{
+		return this.progress;
+	}
+
+	/**
+	 * @param progress - The progress of the run. If null, a new one that does not log is used.
+	 */
+	void setProgress(Progress progress)
+	{
+		this.progress = progress != null ? progress : new Progress(0);
+	}
+
+	SqlProfiler getSqlProfiler()
+	{
+		return this.sqlProfiler;
+	}
+
+	/**
+	 * @param sqlProfiler - The profiler for the adaptor's calls. If null, profiling is disabled.
+	 */
+	void setSqlProfiler(SqlProfiler sqlProfiler)
+	{
+		this.sqlProfiler = sqlProfiler != null ? sqlProfiler : SqlProfiler.disabled();
+	}
+
+	SlowOperationWatchdog getWatchdog()
+	{
+		return this.watchdog;
+	}
+
+	/**
+	 * @param watchdog - The watchdog for slow operations. If null, watching is disabled.
+	 */
+	void setWatchdog(SlowOperationWatchdog watchdog)
+	{
+		this.watchdog = watchdog != null ? watchdog : SlowOperationWatchdog.disabled();
+	}
+
+	UndoLog getUndoLog()
+	{
+		return this.undoLog;
+	}
+
+	/**
+	 * @param undoLog - The log that the run's changes are recorded in. If null, nothing is recorded.
+	 */
+	void setUndoLog(UndoLog undoLog)
+	{
+		this.undoLog = undoLog != null ? undoLog : UndoLog.disabled();
+	}
+
+	/**
+	 * Starts a phase: its timer, its flight recorder event, its memory figures, and the phase that progress and SQL calls are counted under.
+	 * If another phase is running, it is ended first.
+	 * @param phase - The name of the phase.
+	 */
+	void startPhase(String phase)
+	{
+		if (this.phase != null)
+		{
+			this.endPhase();
+		}
+		this.phase = phase;
+		this.phaseTimer = this.metrics.time("phase." + phase);
+		this.phaseEvent = GoUpdateEvents.beginPhase(phase);
+		this.progress.startPhase(phase);
+		this.sqlProfiler.setPhase(phase);
+		this.memoryStats.start(phase);
+	}
+
+	/**
+	 * Ends the phase that is running, if there is one: stops its timer, commits its flight recorder event, and records its memory figures.
+	 */
+	void endPhase()
+	{
+		if (this.phase == null)
+		{
+			return;
+		}
+		this.phaseTimer.close();
+		this.phaseEvent.commit();
+		this.memoryStats.end(this.phase);
+		this.phase = null;
+		this.phaseTimer = null;
+		this.phaseEvent = null;
+	}
+}
@@ -0,0 +1,163 @@
+package org.reactome.release.goupdate;
+
+import org.gk.model.GKInstance;
+import org.gk.persistence.MySQLAdaptor;
+
+import jdk.jfr.Category;
+import jdk.jfr.Description;
+import jdk.jfr.Event;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+
+/**
+ * Java Flight Recorder events for the GO update: one for each phase, one for each GO term that is created, updated, migrated or
+ * found to be obsolete, and one for each database write (with the attribute that was written).<br/>
+ * Start a recording (for example, with <code>-XX:StartFlightRecording=filename=go-update.jfr</code>, or <code>jcmd &lt;pid&gt; JFR.start</code>)
+ * and open it in JDK Mission Control to see the phases, the terms, and the writes on a timeline, next to the JVM's own GC, I/O and lock events.<br/>
+ * When nothing is recording, the events are disabled: their fields are not filled in and they are never committed, so the cost is
+ * close to nothing.
+ */
+final class GoUpdateEvents
+{
+	private static final String CATEGORY = "GO Update";
+
+	private GoUpdateEvents()
+	{
+		// Only static methods.
+	}
+
+	/**
+	 * Begins a phase event. Commit it when the phase is done.
+	 * @param phase - The name of the phase.
+	 * @return The event.
+	 */
+	static PhaseEvent beginPhase(String phase)
+	{
+		PhaseEvent event = new PhaseEvent();
+		if (event.isEnabled())
+		{
+			event.phase = phase;
+			event.begin();
+		}
+		return event;
+	}
+
+	/**
+	 * Begins a term event. Commit it when the term has been processed.
+	 * @param accession - The GO accession of the term.
+	 * @param action - What is being done to the term, such as "create" or "update".
+	 * @param dbId - The DB_ID of the GO term instance, or 0 if it is not in the database yet.
+	 * @return The event.
+	 */
+	static TermEvent beginTerm(String accession, String action, long dbId)
+	{
+		TermEvent event = new TermEvent();
+		if (event.isEnabled())
+		{
+			event.accession = accession;
+			event.action = action;
+			event.dbId = dbId;
+			event.begin();
+		}
+		return event;
+	}
+
+	/**
+	 * Begins a database operation event, for a write that does not go through the adaptor. Set its row count and commit it when the write is done.
+	 * @param operation - The kind of write, such as "redirect".
+	 * @param className - The table (or class) that is written.
+	 * @param attribute - The attribute that is written. May be null.
+	 * @return The event.
+	 */
+	static DatabaseOperationEvent beginDatabaseOperation(String operation, String className, String attribute)
+	{
+		DatabaseOperationEvent event = new DatabaseOperationEvent();
+		if (event.isEnabled())
+		{
+			event.operation = operation;
+			event.className = className;
+			event.attribute = attribute;
+			event.begin();
+		}
+		return event;
+	}
+
+	/**
+	 * Calls {@link MySQLAdaptor#updateInstanceAttribute(GKInstance, String)}, as a database operation event. It is counted by the run's {@link Progress}.
+	 * @param context - The run.
+	 * @param adaptor - The adaptor.
+	 * @param instance - The instance to update.
+	 * @param attributeName - The attribute to update.
+	 * @throws Exception
+	 */
+	static void updateInstanceAttribute(GoUpdateContext context, MySQLAdaptor adaptor, GKInstance instance, String attributeName) throws Exception
+	{
+		DatabaseOperationEvent event = beginInstanceOperation("updateInstanceAttribute", instance, attributeName);
+		adaptor.updateInstanceAttribute(instance, attributeName);
+		event.commit();
+		context.getProgress().databaseOperations(1);
+	}
+
+	private static DatabaseOperationEvent beginInstanceOperation(String operation, GKInstance instance, String attributeName)
+	{
+		DatabaseOperationEvent event = new DatabaseOperationEvent();
+		if (event.isEnabled())
+		{
+			event.operation = operation;
+			event.className = instance.getSchemClass().getName();
+			event.attribute = attributeName;
+			event.dbId = instance.getDBID() != null ? instance.getDBID() : 0;
+			event.rows = 1;
+			event.begin();
+		}
+		return event;
+	}
+
+	@Name("org.reactome.release.goupdate.Phase")
+	@Label("GO Update Phase")
+	@Category(CATEGORY)
+	@Description("A phase of the GO update, such as parsing the GO file or deleting obsolete terms.")
+	static class PhaseEvent extends Event
+	{
+		@Label("Phase")
+		String phase;
+	}
+
+	@Name("org.reactome.release.goupdate.Term")
+	@Label("GO Term")
+	@Category(CATEGORY)
+	@Description("A GO term that was created, updated, migrated to another GO class, or found to be obsolete.")
+	static class TermEvent extends Event
+	{
+		@Label("Accession")
+		String accession;
+
+		@Label("Action")
+		String action;
+
+		@Label("DB_ID")
+		long dbId;
+	}
+
+	@Name("org.reactome.release.goupdate.DatabaseOperation")
+	@Label("GO Update Database Operation")
+	@Category(CATEGORY)
+	@Description("A write to the database, with the attribute that was written.")
+	static class DatabaseOperationEvent extends Event
+	{
+		@Label("Operation")
+		String operation;
+
+		@Label("Class")
+		String className;
+
+		@Label("Attribute")
+		String attribute;
+
+		@Label("DB_ID")
+		long dbId;
+
+		@Label("Rows")
+		int rows;
+	}
+}
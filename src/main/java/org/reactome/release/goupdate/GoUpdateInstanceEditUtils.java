@@ -27,7 +27,8 @@ class GoUpdateInstanceEditUtils
 		REF_CLEARED("Attribute referring to a GO term has been cleared"),
 		REF_ATTRIB_UPDATE("Attribute referring to a GO term has been set to a *different* GO term"),
 		DISPLAY_NAME("Display Name updated because a GO term was updated"),
-		UPDATE_RELATIONSHIP("GO Term relationships were updated");
+		UPDATE_RELATIONSHIP("GO Term relationships were updated"),
+		CLASS_MIGRATED("GO term was moved to the class that matches its category in the GO file");
 		
 		private String note;
 		
@@ -50,12 +51,19 @@ class GoUpdateInstanceEditUtils
 	
 	private static long personID;
 
+	private static UndoLog undoLog = UndoLog.disabled();
+
 	/**
-	 * Sets the adaptor used by the utility methods.
+	 * Sets the adaptor used by the utility methods. InstanceEdits that were created with a different adaptor are forgotten, so that a
+	 * second run in the same JVM (which might have been rolled back) does not refer to the InstanceEdits of the first.
 	 * @param adaptor
 	 */
 	public static void setAdaptor(MySQLAdaptor adaptor)
 	{
+		if (GoUpdateInstanceEditUtils.adaptor != adaptor)
+		{
+			GoUpdateInstanceEditUtils.availableInstanceEdits.clear();
+		}
 		GoUpdateInstanceEditUtils.adaptor = adaptor;
 	}
 
@@ -68,6 +76,15 @@ class GoUpdateInstanceEditUtils
 		GoUpdateInstanceEditUtils.personID = personID;
 	}
 
+	/**
+	 * Sets the undo log that new InstanceEdits will be recorded in.
+	 * @param undoLog - The run's undo log. If null, new InstanceEdits are not recorded.
+	 */
+	public static void setUndoLog(UndoLog undoLog)
+	{
+		GoUpdateInstanceEditUtils.undoLog = undoLog != null ? undoLog : UndoLog.disabled();
+	}
+
 	/**
 	 * Gets an InstanceEdit object for a given type and class. If no such InstanceEdit exists, a new one will be created!<br/>
 	 * The name of the class will be appended to the InstanceEdit's "note" attribute as a new line, beginning with "Created by:"<br/>
@@ -88,6 +105,10 @@ class GoUpdateInstanceEditUtils
 		if (instanceEdit == null)
 		{
 			instanceEdit = InstanceEditUtils.createDefaultIE(adaptor, personID, true, instanceEditType.getNote() + "\nCreated by: " + classUsingInstanceEdit.getName());
+			if (instanceEdit != null)
+			{
+				GoUpdateInstanceEditUtils.undoLog.recordInstanceEdit(instanceEdit.getDBID());
+			}
 			Map<Class<?>, GKInstance> existingInstEds = availableInstanceEdits.computeIfAbsent(instanceEditType, x -> new HashMap<>());
 			existingInstEds.put(classUsingInstanceEdit, instanceEdit);
 			availableInstanceEdits.put(instanceEditType, existingInstEds);
@@ -0,0 +1,228 @@
+package org.reactome.release.goupdate;
+
+import java.io.BufferedWriter;
+import java.io.IOException;
+import java.lang.management.ManagementFactory;
+import java.lang.management.ThreadMXBean;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Arrays;
+import java.util.Map;
+import java.util.TreeMap;
+
+/**
+ * A small registry of counters, timers and histograms for a GO update run, written out as JSON at the end of the run so that runs can be
+ * compared across releases.<br/>
+ * Each run has its own registry (see {@link GoUpdateContext}), which the classes that do the work record into. Names are dotted, and start with
+ * what they belong to (for example "phase.UPDATES", or "modifier.updates").
+ */
+class GoUpdateMetrics
+{
+	// Operation counters that are shared by more than one class.
+	static final String CREATES = "operations.creates";
+	static final String UPDATES = "operations.updates";
+	static final String DELETES = "operations.deletes";
+	static final String REDIRECTS = "operations.redirects";
+	static final String DISPLAY_NAME_REFRESHES = "operations.displayNameRefreshes";
+	static final String RELATIONSHIP_UPDATES = "operations.relationshipUpdates";
+
+	private static final ThreadMXBean threadBean = ManagementFactory.getThreadMXBean();
+
+	private Map<String, long[]> counters = new TreeMap<>();
+	private Map<String, TimerStats> timers = new TreeMap<>();
+	private Map<String, Histogram> histograms = new TreeMap<>();
+
+	/**
+	 * Adds one to a counter.
+	 * @param name - The counter's name.
+	 */
+	void increment(String name)
+	{
+		this.add(name, 1);
+	}
+
+	/**
+	 * Adds to a counter.
+	 * @param name - The counter's name.
+	 * @param amount - The amount to add.
+	 */
+	void add(String name, long amount)
+	{
+		this.counters.computeIfAbsent(name, n -> new long[1])[0] += amount;
+	}
+
+	/**
+	 * @param name - A counter's name.
+	 * @return The counter's value. 0 if nothing has been counted.
+	 */
+	long getCount(String name)
+	{
+		long[] counter = this.counters.get(name);
+		return counter != null ? counter[0] : 0;
+	}
+
+	/**
+	 * Records one value in a histogram.
+	 * @param name - The histogram's name.
+	 * @param value - The value.
+	 */
+	void record(String name, long value)
+	{
+		this.histograms.computeIfAbsent(name, n -> new Histogram()).add(value);
+	}
+
+	/**
+	 * Starts timing something. The wall time and the CPU time of the current thread are added to the timer when the returned Timer is closed,
+	 * so use it with try-with-resources.
+	 * @param name - The timer's name.
+	 * @return The running timer.
+	 */
+	Timer time(String name)
+	{
+		return new Timer(this.timers.computeIfAbsent(name, n -> new TimerStats()));
+	}
+
+	/**
+	 * @param name - A timer's name.
+	 * @return The number of times the timer has been stopped.
+	 */
+	long getTimerCount(String name)
+	{
+		TimerStats stats = this.timers.get(name);
+		return stats != null ? stats.count : 0;
+	}
+
+	/**
+	 * Writes all the metrics as a JSON object with "counters", "timers" and "histograms" members. Times are in milliseconds.
+	 * @param path - The file to write.
+	 * @throws IOException
+	 */
+	void writeJson(Path path) throws IOException
+	{
+		try (BufferedWriter writer = Files.newBufferedWriter(path))
+		{
+			writer.write(this.toJson());
+		}
+	}
+
+	String toJson()
+	{
+		StringBuilder json = new StringBuilder("{\n  \"counters\": {");
+		String separator = "\n";
+		for (Map.Entry<String, long[]> counter : this.counters.entrySet())
+		{
+			json.append(separator).append("    ").append(quote(counter.getKey())).append(": ").append(counter.getValue()[0]);
+			separator = ",\n";
+		}
+		json.append("\n  },\n  \"timers\": {");
+		separator = "\n";
+		for (Map.Entry<String, TimerStats> timer : this.timers.entrySet())
+		{
+			TimerStats stats = timer.getValue();
+			json.append(separator).append("    ").append(quote(timer.getKey())).append(": {")
+				.append("\"count\": ").append(stats.count)
+				.append(", \"wallMillis\": ").append(stats.wallNanos / 1_000_000)
+				.append(", \"cpuMillis\": ").append(stats.cpuNanos / 1_000_000)
+				.append(", \"maxWallMillis\": ").append(stats.maxWallNanos / 1_000_000).append('}');
+			separator = ",\n";
+		}
+		json.append("\n  },\n  \"histograms\": {");
+		separator = "\n";
+		for (Map.Entry<String, Histogram> histogram : this.histograms.entrySet())
+		{
+			long[] values = histogram.getValue().sortedValues();
+			json.append(separator).append("    ").append(quote(histogram.getKey())).append(": {")
+				.append("\"count\": ").append(values.length);
+			if (values.length > 0)
+			{
+				json.append(", \"min\": ").append(values[0])
+					.append(", \"p50\": ").append(percentile(values, 50))
+					.append(", \"p90\": ").append(percentile(values, 90))
+					.append(", \"p99\": ").append(percentile(values, 99))
+					.append(", \"max\": ").append(values[values.length - 1])
+					.append(", \"mean\": ").append(Arrays.stream(values).sum() / values.length);
+			}
+			json.append('}');
+			separator = ",\n";
+		}
+		json.append("\n  }\n}\n");
+		return json.toString();
+	}
+
+	private static long percentile(long[] sortedValues, int percentile)
+	{
+		int index = (int) Math.ceil(percentile / 100.0 * sortedValues.length) - 1;
+		return sortedValues[Math.max(0, index)];
+	}
+
+	private static String quote(String s)
+	{
+		return "\"" + s.replace("\\", "\\\\").replace("\"", "\\\"") + "\"";
+	}
+
+	private static long currentThreadCpuTime()
+	{
+		return threadBean.isCurrentThreadCpuTimeSupported() ? threadBean.getCurrentThreadCpuTime() : 0;
+	}
+
+	/**
+	 * A running timer. Closing it adds the elapsed time to its totals (only the first close counts).
+	 */
+	static class Timer implements AutoCloseable
+	{
+		private TimerStats stats;
+		private long startWall = System.nanoTime();
+		private long startCpu = currentThreadCpuTime();
+		private boolean stopped;
+
+		private Timer(TimerStats stats)
+		{
+			this.stats = stats;
+		}
+
+		@Override
+		public void close()
+		{
+			if (!this.stopped)
+			{
+				this.stopped = true;
+				long wall = System.nanoTime() - this.startWall;
+				this.stats.count++;
+				this.stats.wallNanos += wall;
+				this.stats.cpuNanos += currentThreadCpuTime() - this.startCpu;
+				this.stats.maxWallNanos = Math.max(this.stats.maxWallNanos, wall);
+			}
+		}
+	}
+
+	private static class TimerStats
+	{
+		private long count;
+		private long wallNanos;
+		private long cpuNanos;
+		private long maxWallNanos;
+	}
+
+	// Keeps every value, so the percentiles are exact. There is at most one value per GO term.
+	private static class Histogram
+	{
+		private long[] values = new long[64];
+		private int size;
+
+		private void add(long value)
+		{
+			if (this.size == this.values.length)
+			{
+				this.values = Arrays.copyOf(this.values, this.size * 2);
+			}
+			this.values[this.size++] = value;
+		}
+
+		private long[] sortedValues()
+		{
+			long[] sorted = Arrays.copyOf(this.values, this.size);
+			Arrays.sort(sorted);
+			return sorted;
+		}
+	}
+}
@@ -4,15 +4,18 @@ import java.io.BufferedWriter;
 import java.io.FileNotFoundException;
 import java.io.IOException;
 import java.nio.file.Files;
+import java.nio.file.Path;
 import java.nio.file.Paths;
 import java.sql.SQLException;
 import java.time.Duration;
 import java.time.LocalDateTime;
 import java.time.format.DateTimeFormatter;
-import java.util.List;
 import java.util.Map;
 import java.util.Map.Entry;
 import java.util.Properties;
+import java.util.concurrent.TimeUnit;
+
+import javax.management.JMException;
 
 import org.apache.commons.csv.CSVFormat;
 import org.apache.commons.csv.CSVPrinter;
@@ -28,14 +31,59 @@ public class GoUpdateStep extends ReleaseStep
 {
 	private static final String PATH_TO_REPORTS_DIRECTORY = "reports";
 
+	private static final String DEFAULT_CHUNK_SIZE = "1000";
+
+	private static final String DEFAULT_SQL_PROFILE_TOP_N = "25";
+
+	private static final String DEFAULT_PROGRESS_LOG_SECONDS = "60";
+
+	private static final String DEFAULT_SLOW_OPERATION_SECONDS = "60";
+
 	private static final Logger logger = LogManager.getLogger();
 
 	private CSVPrinter duplicatePrinter ;
 
+	// The run that is in progress.
+	private GoUpdateContext context;
+
 	@Override
 	public void executeStep(Properties props) throws SQLException
+	{
+		this.executeStep(props, null);
+	}
+
+	/**
+	 * Runs the GO update against a given adaptor, rather than one opened from the database settings in <code>props</code>. This lets the
+	 * whole update run against a database that was set up by the caller (for example, an embedded database loaded with a test fixture).
+	 * @param props - The GO update's properties. The database settings are not used if <code>curatorAdaptor</code> is given.
+	 * @param curatorAdaptor - The adaptor to update, or null to open one from <code>props</code>.
+	 * @throws SQLException
+	 */
+	void executeStep(Properties props, MySQLAdaptor curatorAdaptor) throws SQLException
 	{
 		long startTime = System.currentTimeMillis();
+		// Each run gets its own context, with its own metrics, which are written next to the reports at the end.
+		this.context = new GoUpdateContext();
+		GoUpdateMetrics.Timer totalTimer = this.context.getMetrics().time("step.total");
+		// Progress can be watched over JMX, and is logged every progressLogSeconds.
+		this.context.setProgress(new Progress(Long.parseLong(props.getProperty("progressLogSeconds", DEFAULT_PROGRESS_LOG_SECONDS))));
+		try
+		{
+			this.context.getProgress().register();
+		}
+		catch (JMException e)
+		{
+			logger.warn("Could not register the progress MBean, progress will only be logged.", e);
+		}
+		// Database operations on GO terms that take longer than slowOperationSeconds are logged (with a stack trace) while they are still running.
+		long slowOperationSeconds = Long.parseLong(props.getProperty("slowOperationSeconds", DEFAULT_SLOW_OPERATION_SECONDS));
+		if (slowOperationSeconds > 0)
+		{
+			this.context.setWatchdog(new SlowOperationWatchdog(TimeUnit.SECONDS.toMillis(slowOperationSeconds), this.context.getMetrics()));
+			this.context.getWatchdog().start();
+		}
+		Path metricsPath = null;
+		ProfilingMySQLAdaptor profilingAdaptor = null;
 		try
 		{
 			// First part:
@@ -63,8 +111,21 @@ public class GoUpdateStep extends ReleaseStep
 			// 5) delete the marked-for-deletion instances.
 			// 6) update relationships between remaining instances, based on content of data structure.
 			
-			MySQLAdaptor adaptor = DBUtils.getCuratorDbAdaptor(props);
+			MySQLAdaptor adaptor = curatorAdaptor != null ? curatorAdaptor : DBUtils.getCuratorDbAdaptor(props);
 			this.loadTestModeFromProperties(props);
+			// With profileSql, every call to the adaptor is counted and timed, and the busiest call sites are reported at the end.
+			if (Boolean.parseBoolean(props.getProperty("profileSql", "false")))
+			{
+				SqlProfiler profiler = new SqlProfiler(Integer.parseInt(props.getProperty("sqlProfileTopN", DEFAULT_SQL_PROFILE_TOP_N)));
+				this.context.setSqlProfiler(profiler);
+				profilingAdaptor = ProfilingMySQLAdaptor.create(adaptor, profiler);
+				// The profiling adaptor has its own connection, so the one opened here is not needed. A caller's adaptor is left to the caller.
+				if (curatorAdaptor == null)
+				{
+					adaptor.cleanUp();
+				}
+				adaptor = profilingAdaptor;
+			}
 			
 			long personID = Long.parseLong(props.getProperty("personId"));
 			GoUpdateInstanceEditUtils.setAdaptor(adaptor);
@@ -83,11 +144,41 @@ public class GoUpdateStep extends ReleaseStep
 			}
 			
 			// Load the files.
-			List<String> goLines = Files.readAllLines(Paths.get(pathToGOFile));
-			List<String> ec2GoLines = Files.readAllLines(Paths.get(pathToEC2GOFile));
+			GoOboReader goFileReader;
+			Ec2GoMapping goToECNumbers;
+			this.context.startPhase("LOAD_FILES");
+			goFileReader = GoOboReader.open(Paths.get(pathToGOFile));
+			GoUpdateEvents.PhaseEvent ec2goEvent = GoUpdateEvents.beginPhase("EC2GO");
+			goToECNumbers = Ec2GoMapping.parse(Paths.get(pathToEC2GOFile));
+			ec2goEvent.commit();
+			this.context.endPhase();
 
 			String dateString = LocalDateTime.now().format(DateTimeFormatter.ofPattern("yyyyMMdd_HHmmss"));
 			Files.createDirectories(Paths.get(PATH_TO_REPORTS_DIRECTORY));
+			metricsPath = Paths.get(PATH_TO_REPORTS_DIRECTORY, "metrics_" + dateString + ".json");
+
+			// With chunked commits, each phase of the update is committed separately, and a run that fails can be restarted from where it stopped.
+			ExecutionJournal journal = null;
+			if (Boolean.parseBoolean(props.getProperty("chunkedCommits", "false")))
+			{
+				if (testMode)
+				{
+					logger.warn("chunkedCommits is ignored in test mode, since everything has to be rolled back at the end.");
+				}
+				else
+				{
+					Path journalPath = Paths.get(props.getProperty("executionJournal", Paths.get(PATH_TO_REPORTS_DIRECTORY, "go_update_journal.tsv").toString()));
+					journal = ExecutionJournal.open(journalPath, ExecutionJournal.runKey(Paths.get(pathToGOFile), Paths.get(pathToEC2GOFile)));
+				}
+			}
+			// Everything the run changes is recorded in the undo log, so that it can be rolled back with UndoLogReplayer. Not needed in test mode: everything is rolled back anyway.
+			if (!testMode)
+			{
+				Path undoLogPath = Paths.get(props.getProperty("undoLog", Paths.get(PATH_TO_REPORTS_DIRECTORY, "go_update_undo_" + dateString + ".log").toString()));
+				this.context.setUndoLog(UndoLog.open(undoLogPath));
+				GoUpdateInstanceEditUtils.setUndoLog(this.context.getUndoLog());
+				logger.info("Recording changes in the undo log {}", undoLogPath);
+			}
 			try(BufferedWriter writer = Files.newBufferedWriter(Paths.get(PATH_TO_REPORTS_DIRECTORY,"duplicate_GO_terms_"+dateString+".csv")))
 			{
 				duplicatePrinter = new CSVPrinter(writer, GoTermsUpdater.GO_REPORT_FORMAT.withHeader("DB_ID", "Name", "Accession", "GO type", "Before or After GO Update process?", "Number of referrers"));
@@ -105,8 +196,16 @@ public class GoUpdateStep extends ReleaseStep
 				}
 
 				// Do the updates.
-				GoTermsUpdater goTermsUpdator = new GoTermsUpdater(adaptor, goLines, ec2GoLines);
-				StringBuilder report = goTermsUpdator.updateGoTerms();
+				GoTermsUpdater goTermsUpdator = new GoTermsUpdater(adaptor, this.context, goFileReader, goToECNumbers);
+				if (journal != null)
+				{
+					goTermsUpdator.setExecutionJournal(journal, Integer.parseInt(props.getProperty("chunkSize", DEFAULT_CHUNK_SIZE)));
+				}
+				StringBuilder report;
+				try (GoUpdateMetrics.Timer timer = this.context.getMetrics().time("step.updateGoTerms"))
+				{
+					report = goTermsUpdator.updateGoTerms();
+				}
 				logger.info(report);
 
 				logger.info("Post-GO Update check for duplicated accessions...");
@@ -120,7 +219,12 @@ public class GoUpdateStep extends ReleaseStep
 			}
 			else
 			{
+				this.context.getUndoLog().sync();
 				adaptor.commit();
+				if (journal != null)
+				{
+					journal.recordFinished();
+				}
 			}
 
 		}
@@ -133,13 +237,55 @@ public class GoUpdateStep extends ReleaseStep
 			e.printStackTrace();
 			throw new RuntimeException(e);
 		}
+		finally
+		{
+			// A phase that failed part of the way through is ended here, so that it is still timed.
+			this.context.endPhase();
+			this.context.getUndoLog().close();
+			GoUpdateInstanceEditUtils.setUndoLog(null);
+			totalTimer.close();
+			this.context.getProgress().unregister();
+			this.context.getWatchdog().stop();
+			logger.info("\n{}", this.context.getMemoryStats().summary());
+			SqlProfiler profiler = this.context.getSqlProfiler();
+			if (profiler.isEnabled())
+			{
+				this.context.getMetrics().add("sql.adaptorCalls", profiler.getCallCount());
+				this.context.getMetrics().add("sql.nPlusOneSuspects", profiler.getNPlusOneSuspects().size());
+				profiler.logReport();
+			}
+			if (profilingAdaptor != null)
+			{
+				try
+				{
+					profilingAdaptor.cleanUp();
+				}
+				catch (Exception e)
+				{
+					logger.error("Could not close the profiling adaptor", e);
+				}
+			}
+			if (metricsPath != null)
+			{
+				try
+				{
+					this.context.getMetrics().writeJson(metricsPath);
+					logger.info("Metrics were written to {}", metricsPath);
+				}
+				catch (IOException e)
+				{
+					logger.error("Could not write the metrics file " + metricsPath, e);
+				}
+			}
+		}
 		long endTime = System.currentTimeMillis();
 		logger.info("Elapsed time: {}", Duration.ofMillis(endTime-startTime).toString());
 	}
 
 	private void reportOnDuplicateAccessions(MySQLAdaptor adaptor, String when) throws Exception
 	{
-		DuplicateReporter duplicateReporter = new DuplicateReporter(adaptor);
+		this.context.startPhase("duplicates " + when);
+		DuplicateReporter duplicateReporter = new DuplicateReporter(adaptor, this.context.getMetrics());
 		Map<String, Integer> duplicatedAccessions = duplicateReporter.getDuplicateAccessions();
 		if (duplicatedAccessions!=null && !duplicatedAccessions.keySet().isEmpty())
 		{
@@ -159,5 +305,6 @@ public class GoUpdateStep extends ReleaseStep
 		{
 			logger.info("No duplicated GO accessions were detected.");
 		}
+		this.context.endPhase();
 	}
 }
\ No newline at end of file
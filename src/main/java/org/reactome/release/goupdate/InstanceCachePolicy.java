@@ -0,0 +1,146 @@
+package org.reactome.release.goupdate;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+
+import org.apache.logging.log4j.LogManager;
+import org.apache.logging.log4j.Logger;
+import org.gk.model.GKInstance;
+import org.gk.model.ReactomeJavaConstants;
+import org.gk.persistence.InstanceCache;
+import org.gk.persistence.MySQLAdaptor;
+import org.gk.schema.SchemaClass;
+
+/**
+ * Keeps the adaptor's instance cache from growing for the whole length of a GO update.<br/>
+ * The adaptor caches every instance it loads - GO terms, but also every referrer that is looked up, and everything that their display names
+ * are generated from - and never lets go of them. GO terms and InstanceEdits are needed for the whole run, so they are pinned: everything else
+ * in the cache is evicted by {@link #evictUnpinned(String)}, which should be called at phase boundaries, once all changes to the evicted
+ * instances have been written. Instances are only evicted from the cache, so anything that is still holding on to one must not expect the
+ * adaptor to return the same object for it again.
+ */
+class InstanceCachePolicy
+{
+	private static final Logger logger = LogManager.getLogger();
+	// Instances of these classes (and their subclasses) are never evicted.
+	private static final List<String> PINNED_CLASSES = Arrays.asList(ReactomeJavaConstants.GO_BiologicalProcess, ReactomeJavaConstants.GO_CellularComponent,
+																	ReactomeJavaConstants.GO_MolecularFunction, ReactomeJavaConstants.InstanceEdit);
+	private MySQLAdaptor adaptor;
+	// Other instances that are never evicted.
+	private Set<Long> pinnedDbIds = new HashSet<>();
+	private int hits;
+	private int misses;
+	private int evicted;
+	private int peakSize;
+
+	/**
+	 * @param adaptor - The adaptor whose cache will be managed.
+	 */
+	InstanceCachePolicy(MySQLAdaptor adaptor)
+	{
+		this.adaptor = adaptor;
+	}
+
+	/**
+	 * Keeps an instance that is not a GO term or an InstanceEdit in the cache.
+	 * @param instance - The instance.
+	 */
+	void pin(GKInstance instance)
+	{
+		this.pinnedDbIds.add(instance.getDBID());
+	}
+
+	/**
+	 * Fetches an instance through the adaptor, counting whether it was already in the cache.
+	 * @param dbId - The DB_ID of the instance.
+	 * @return The instance.
+	 * @throws Exception
+	 */
+	GKInstance fetchInstance(Long dbId) throws Exception
+	{
+		InstanceCache cache = this.adaptor.getInstanceCache();
+		if (cache != null && cache.get(dbId) != null)
+		{
+			this.hits++;
+		}
+		else
+		{
+			this.misses++;
+		}
+		return this.adaptor.fetchInstance(dbId);
+	}
+
+	/**
+	 * Evicts every instance that is not pinned from the adaptor's cache.
+	 * @param phase - The phase that has just finished, for the log.
+	 * @return The number of instances that were evicted.
+	 */
+	int evictUnpinned(String phase)
+	{
+		InstanceCache cache = this.adaptor.getInstanceCache();
+		if (cache == null)
+		{
+			return 0;
+		}
+		int sizeBefore = cache.size();
+		this.peakSize = Math.max(this.peakSize, sizeBefore);
+		int evictedNow = 0;
+		// Copied, because the cache is changed while going through it.
+		for (GKInstance instance : new ArrayList<>(cache.values()))
+		{
+			if (!this.isPinned(instance))
+			{
+				cache.remove(instance.getDBID());
+				evictedNow++;
+			}
+		}
+		this.evicted += evictedNow;
+		logger.info("Instance cache after {}: {} instances, {} evicted, {} left. Fetches so far: {} hits, {} misses.", phase, sizeBefore, evictedNow, cache.size(), this.hits, this.misses);
+		return evictedNow;
+	}
+
+	private boolean isPinned(GKInstance instance)
+	{
+		if (this.pinnedDbIds.contains(instance.getDBID()))
+		{
+			return true;
+		}
+		SchemaClass schemaClass = instance.getSchemClass();
+		return schemaClass != null && PINNED_CLASSES.stream().anyMatch(schemaClass::isa);
+	}
+
+	/**
+	 * @return The number of fetches that found the instance in the cache.
+	 */
+	int getHitCount()
+	{
+		return this.hits;
+	}
+
+	/**
+	 * @return The number of fetches that had to load the instance from the database.
+	 */
+	int getMissCount()
+	{
+		return this.misses;
+	}
+
+	/**
+	 * @return The total number of instances evicted so far.
+	 */
+	int getEvictedCount()
+	{
+		return this.evicted;
+	}
+
+	/**
+	 * @return The largest size the cache was seen at (it is only checked at evictions).
+	 */
+	int getPeakSize()
+	{
+		return this.peakSize;
+	}
+}
@@ -0,0 +1,155 @@
+package org.reactome.release.goupdate;
+
+/**
+ * Utility methods for text values from OBO files.<br/>
+ * Values in the GO file may contain OBO escape sequences (such as <code>\"</code>) and may differ from what is in the database
+ * only by whitespace. These methods unescape values when the file is parsed, and compare parsed values with values from the database
+ * in a canonical form so that only real (semantic) changes are treated as differences.
+ */
+final class OboText
+{
+	private OboText() {}
+
+	/**
+	 * Unescapes OBO escape sequences: <code>\n</code> and <code>\t</code> become newline and tab, <code>\W</code> becomes a space,
+	 * and any other escaped character (such as <code>\"</code>, <code>\\</code>, <code>\{</code>) becomes the character itself.
+	 * @param value - The raw value from the file.
+	 * @return The unescaped value, or null if <code>value</code> is null.
+	 */
+	static String unescape(String value)
+	{
+		if (value == null || value.indexOf('\\') < 0)
+		{
+			return value;
+		}
+		return unescape(value, 0, value.length());
+	}
+
+	/**
+	 * Unescapes a region of a CharSequence.
+	 * @param chars - The characters.
+	 * @param start - Start of the region (inclusive).
+	 * @param end - End of the region (exclusive).
+	 * @return The unescaped content of the region.
+	 */
+	static String unescape(CharSequence chars, int start, int end)
+	{
+		StringBuilder sb = new StringBuilder(end - start);
+		for (int i = start; i < end; i++)
+		{
+			char c = chars.charAt(i);
+			if (c == '\\' && i + 1 < end)
+			{
+				i++;
+				sb.append(unescapeChar(chars.charAt(i)));
+			}
+			else
+			{
+				sb.append(c);
+			}
+		}
+		return sb.toString();
+	}
+
+	/**
+	 * Extracts and unescapes a quoted OBO string, such as the text of a <code>def:</code> line.
+	 * @param line - The line.
+	 * @param start - The position where the opening quote is expected.
+	 * @return The unescaped text between the opening quote and the first <em>unescaped</em> closing quote, or null if there is
+	 * no quoted string at <code>start</code>.
+	 */
+	static String parseQuotedString(String line, int start)
+	{
+		if (start >= line.length() || line.charAt(start) != '"')
+		{
+			return null;
+		}
+		for (int i = start + 1; i < line.length(); i++)
+		{
+			char c = line.charAt(i);
+			if (c == '\\')
+			{
+				// skip the escaped character.
+				i++;
+			}
+			else if (c == '"')
+			{
+				return unescape(line, start + 1, i);
+			}
+		}
+		// No closing quote.
+		return null;
+	}
+
+	/**
+	 * Produces the canonical form of a text value: runs of whitespace become a single space, and leading/trailing whitespace is removed.
+	 * Escape sequences are <em>not</em> unescaped: a value parsed from the file has already been unescaped, and unescaping it again would
+	 * change it (a literal <code>\\</code> would be lost).
+	 * @param value - The value.
+	 * @return The canonical form of the value, or null if <code>value</code> is null.
+	 */
+	static String canonical(String value)
+	{
+		if (value == null)
+		{
+			return null;
+		}
+		StringBuilder sb = new StringBuilder(value.length());
+		boolean pendingSpace = false;
+		for (int i = 0; i < value.length(); i++)
+		{
+			char c = value.charAt(i);
+			if (Character.isWhitespace(c))
+			{
+				pendingSpace = sb.length() > 0;
+			}
+			else
+			{
+				if (pendingSpace)
+				{
+					sb.append(' ');
+					pendingSpace = false;
+				}
+				sb.append(c);
+			}
+		}
+		return sb.toString();
+	}
+
+	/**
+	 * Compares a value parsed from the GO file with a value from the database, in their canonical forms.<br/>
+	 * The parsed value has already been unescaped. The database value may have been stored with its OBO escapes (by older releases),
+	 * so it matches if either it or its unescaped form has the same canonical form as the parsed value.
+	 * @param parsed - The (unescaped) value from the file. May be null.
+	 * @param stored - The value from the database. May be null.
+	 * @return true if both are null, or if they have the same canonical form.
+	 */
+	static boolean equivalent(String parsed, String stored)
+	{
+		if (parsed == null || stored == null)
+		{
+			return parsed == stored;
+		}
+		if (parsed.equals(stored))
+		{
+			return true;
+		}
+		String canonicalParsed = canonical(parsed);
+		return canonicalParsed.equals(canonical(stored)) || canonicalParsed.equals(canonical(unescape(stored)));
+	}
+
+	private static char unescapeChar(char c)
+	{
+		switch (c)
+		{
+			case 'n':
+				return '\n';
+			case 't':
+				return '\t';
+			case 'W':
+				return ' ';
+			default:
+				return c;
+		}
+	}
+}
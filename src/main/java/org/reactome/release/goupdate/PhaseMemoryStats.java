@@ -0,0 +1,180 @@
+package org.reactome.release.goupdate;
+
+import java.lang.management.GarbageCollectorMXBean;
+import java.lang.management.ManagementFactory;
+import java.lang.management.MemoryPoolMXBean;
+import java.lang.management.MemoryType;
+import java.lang.management.MemoryUsage;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.stream.Collectors;
+
+/**
+ * Records how much memory each phase of a GO update used: the bytes allocated by the thread running the phase, the peak heap during the
+ * phase, and the heap left after the last garbage collection in the phase (roughly, what the phase kept alive). Whether there was a
+ * garbage collection in the phase is found by comparing the collectors' collection counts at its start and end; if there was none, the
+ * heap after GC is from an earlier phase, so it is not reported for this one.<br/>
+ * The update runs on a single thread, so the allocated bytes of that thread are the allocations of the phase. The peak heap is the
+ * sum of the peaks of the heap's memory pools, which do not necessarily peak at the same time, so it is an upper bound.
+ */
+class PhaseMemoryStats
+{
+	private static final long MB = 1024 * 1024;
+	private static final java.lang.management.ThreadMXBean threadBean = ManagementFactory.getThreadMXBean();
+
+	private List<MemoryPoolMXBean> heapPools = ManagementFactory.getMemoryPoolMXBeans().stream().filter(pool -> pool.getType() == MemoryType.HEAP).collect(Collectors.toList());
+	private GoUpdateMetrics metrics;
+	private List<GarbageCollectorMXBean> garbageCollectors;
+	// Keyed by phase, in the order the phases ended.
+	private Map<String, long[]> phases = new LinkedHashMap<>();
+	private Map<String, Long> allocatedAtStart = new HashMap<>();
+	private Map<String, Long> collectionsAtStart = new HashMap<>();
+
+	/**
+	 * @param metrics - The metrics to record the figures of each phase in.
+	 */
+	PhaseMemoryStats(GoUpdateMetrics metrics)
+	{
+		this(metrics, ManagementFactory.getGarbageCollectorMXBeans());
+	}
+
+	/**
+	 * @param metrics - The metrics to record the figures of each phase in.
+	 * @param garbageCollectors - The garbage collectors whose collection counts tell whether there was a collection in a phase.
+	 */
+	PhaseMemoryStats(GoUpdateMetrics metrics, List<GarbageCollectorMXBean> garbageCollectors)
+	{
+		this.metrics = metrics;
+		this.garbageCollectors = garbageCollectors;
+	}
+
+	/**
+	 * Starts measuring a phase. The heap's peak is reset, so phases should not overlap.
+	 * @param phase - The name of the phase.
+	 */
+	void start(String phase)
+	{
+		this.allocatedAtStart.put(phase, currentThreadAllocatedBytes());
+		this.collectionsAtStart.put(phase, this.collectionCount());
+		for (MemoryPoolMXBean pool : this.heapPools)
+		{
+			pool.resetPeakUsage();
+		}
+	}
+
+	/**
+	 * Stops measuring a phase, and records its figures in the metrics, as "memory.allocatedBytes.&lt;phase&gt;",
+	 * "memory.peakHeapBytes.&lt;phase&gt;" and "memory.postGcHeapBytes.&lt;phase&gt;" (only if there was a garbage collection in the phase).
+	 * @param phase - The name of the phase.
+	 */
+	void end(String phase)
+	{
+		Long start = this.allocatedAtStart.remove(phase);
+		long allocated = start != null && start >= 0 ? currentThreadAllocatedBytes() - start : -1;
+		Long collectionsAtStart = this.collectionsAtStart.remove(phase);
+		long collections = this.collectionCount();
+		boolean collected = collectionsAtStart != null && collectionsAtStart >= 0 && collections > collectionsAtStart;
+		long peakHeap = 0;
+		long postGcHeap = collected ? 0 : -1;
+		for (MemoryPoolMXBean pool : this.heapPools)
+		{
+			peakHeap += pool.getPeakUsage().getUsed();
+			MemoryUsage collectionUsage = pool.getCollectionUsage();
+			if (collected && collectionUsage != null)
+			{
+				postGcHeap += collectionUsage.getUsed();
+			}
+		}
+		this.phases.put(phase, new long[] { allocated, peakHeap, postGcHeap });
+		if (allocated >= 0)
+		{
+			this.metrics.add("memory.allocatedBytes." + phase, allocated);
+		}
+		this.metrics.add("memory.peakHeapBytes." + phase, peakHeap);
+		if (postGcHeap >= 0)
+		{
+			this.metrics.add("memory.postGcHeapBytes." + phase, postGcHeap);
+		}
+	}
+
+	/**
+	 * @param phase - The name of a phase that has ended.
+	 * @return The number of bytes the phase allocated, or -1 if the phase has not ended or the JVM cannot measure it.
+	 */
+	long getAllocatedBytes(String phase)
+	{
+		long[] stats = this.phases.get(phase);
+		return stats != null ? stats[0] : -1;
+	}
+
+	/**
+	 * @param phase - The name of a phase that has ended.
+	 * @return The peak heap (in bytes) during the phase, or -1 if the phase has not ended.
+	 */
+	long getPeakHeapBytes(String phase)
+	{
+		long[] stats = this.phases.get(phase);
+		return stats != null ? stats[1] : -1;
+	}
+
+	/**
+	 * @param phase - The name of a phase that has ended.
+	 * @return The heap (in bytes) after the last garbage collection in the phase, or -1 if the phase has not ended or there was no
+	 * garbage collection in it.
+	 */
+	long getPostGcHeapBytes(String phase)
+	{
+		long[] stats = this.phases.get(phase);
+		return stats != null ? stats[2] : -1;
+	}
+
+	/**
+	 * @return One line per phase that has ended, with its figures in MB ("n/a" for the heap after GC if there was no garbage collection in the phase).
+	 */
+	String summary()
+	{
+		StringBuilder summary = new StringBuilder();
+		for (Map.Entry<String, long[]> phase : this.phases.entrySet())
+		{
+			long[] stats = phase.getValue();
+			summary.append("Memory used by ").append(phase.getKey()).append(": ")
+					.append(stats[0] >= 0 ? (stats[0] / MB) + " MB allocated, " : "")
+					.append("peak heap ").append(stats[1] / MB).append(" MB, heap after GC ").append(stats[2] >= 0 ? (stats[2] / MB) + " MB" : "n/a").append(".\n");
+		}
+		return summary.toString();
+	}
+
+	/*
+	 * The number of collections by all of the collectors so far, or -1 if any of them cannot tell.
+	 */
+	private long collectionCount()
+	{
+		long count = 0;
+		for (GarbageCollectorMXBean garbageCollector : this.garbageCollectors)
+		{
+			long collectorCount = garbageCollector.getCollectionCount();
+			if (collectorCount < 0)
+			{
+				return -1;
+			}
+			count += collectorCount;
+		}
+		return count;
+	}
+
+	private static long currentThreadAllocatedBytes()
+	{
+		// getThreadAllocatedBytes is only in the com.sun.management version of ThreadMXBean (which HotSpot provides).
+		if (threadBean instanceof com.sun.management.ThreadMXBean)
+		{
+			com.sun.management.ThreadMXBean sunThreadBean = (com.sun.management.ThreadMXBean) threadBean;
+			if (sunThreadBean.isThreadAllocatedMemorySupported() && sunThreadBean.isThreadAllocatedMemoryEnabled())
+			{
+				return sunThreadBean.getThreadAllocatedBytes(Thread.currentThread().getId());
+			}
+		}
+		return -1;
+	}
+}
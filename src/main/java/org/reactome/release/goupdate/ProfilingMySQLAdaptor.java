@@ -0,0 +1,182 @@
+package org.reactome.release.goupdate;
+
+import java.sql.SQLException;
+import java.util.Collection;
+
+import org.gk.model.GKInstance;
+import org.gk.persistence.MySQLAdaptor;
+import org.gk.schema.SchemaAttribute;
+
+/**
+ * A MySQLAdaptor that reports every fetch, load, update, store and delete to a {@link SqlProfiler}.<br/>
+ * MySQLAdaptor is a class, not an interface, so this is a subclass with its own connection rather than a wrapper around an existing adaptor:
+ * use {@link #create(MySQLAdaptor, SqlProfiler)} to open one with the same connection details as an existing adaptor. Instances that it loads
+ * use it for lazy loading (including {@link GKInstance#getReferers(String)}), so those calls are profiled too.
+ */
+class ProfilingMySQLAdaptor extends MySQLAdaptor
+{
+	private SqlProfiler profiler;
+
+	ProfilingMySQLAdaptor(String host, String database, String username, String password, int port, SqlProfiler profiler) throws SQLException
+	{
+		super(host, database, username, password, port);
+		this.profiler = profiler;
+	}
+
+	/**
+	 * Opens a profiling adaptor to the same database as <code>adaptor</code>. <code>adaptor</code> is not changed, and is still the caller's to
+	 * clean up.
+	 * @param adaptor - The adaptor whose connection details are used.
+	 * @param profiler - The profiler to report to.
+	 * @return The new adaptor. The caller should clean it up.
+	 * @throws Exception
+	 */
+	static ProfilingMySQLAdaptor create(MySQLAdaptor adaptor, SqlProfiler profiler) throws Exception
+	{
+		return new ProfilingMySQLAdaptor(adaptor.getDBHost(), adaptor.getDBName(), adaptor.getDBUser(), adaptor.getDBPwd(), adaptor.getDBPort(), profiler);
+	}
+
+	@Override
+	public GKInstance fetchInstance(Long dbID) throws Exception
+	{
+		try (SqlProfiler.Call call = this.profiler.start("fetchInstance", null, true))
+		{
+			return super.fetchInstance(dbID);
+		}
+	}
+
+	@Override
+	public GKInstance fetchInstance(String className, Long dbID) throws Exception
+	{
+		try (SqlProfiler.Call call = this.profiler.start("fetchInstance", className, true))
+		{
+			return super.fetchInstance(className, dbID);
+		}
+	}
+
+	@Override
+	public Collection fetchInstancesByClass(String className) throws Exception
+	{
+		try (SqlProfiler.Call call = this.profiler.start("fetchInstancesByClass", className, false))
+		{
+			return super.fetchInstancesByClass(className);
+		}
+	}
+
+	@Override
+	public Collection fetchInstanceByAttribute(String className, String attributeName, String operator, Object value) throws Exception
+	{
+		try (SqlProfiler.Call call = this.profiler.start("fetchInstanceByAttribute", className + "." + attributeName + " " + operator, !(value instanceof Collection)))
+		{
+			return super.fetchInstanceByAttribute(className, attributeName, operator, value);
+		}
+	}
+
+	@Override
+	public Collection fetchInstanceByAttribute(SchemaAttribute attribute, String operator, Object value) throws Exception
+	{
+		try (SqlProfiler.Call call = this.profiler.start("fetchInstanceByAttribute", attribute.getName() + " " + operator, !(value instanceof Collection)))
+		{
+			return super.fetchInstanceByAttribute(attribute, operator, value);
+		}
+	}
+
+	@Override
+	public Collection fetchReferersByAttribute(String attName, GKInstance instance) throws Exception
+	{
+		try (SqlProfiler.Call call = this.profiler.start("getReferers", attName, true))
+		{
+			return super.fetchReferersByAttribute(attName, instance);
+		}
+	}
+
+	@Override
+	public void loadInstanceAttributeValues(GKInstance instance) throws Exception
+	{
+		try (SqlProfiler.Call call = this.profiler.start("loadInstanceAttributeValues", null, true))
+		{
+			super.loadInstanceAttributeValues(instance);
+		}
+	}
+
+	@Override
+	public void loadInstanceAttributeValues(GKInstance instance, SchemaAttribute attribute) throws Exception
+	{
+		try (SqlProfiler.Call call = this.profiler.start("loadInstanceAttributeValues", attribute.getName(), true))
+		{
+			super.loadInstanceAttributeValues(instance, attribute);
+		}
+	}
+
+	@Override
+	public void loadInstanceAttributeValues(Collection instances, String[] attributeNames) throws Exception
+	{
+		try (SqlProfiler.Call call = this.profiler.start("loadInstanceAttributeValues(bulk)", String.join(",", attributeNames), false))
+		{
+			super.loadInstanceAttributeValues(instances, attributeNames);
+		}
+	}
+
+	@Override
+	public void loadInstanceAttributeValues(Collection instances) throws Exception
+	{
+		try (SqlProfiler.Call call = this.profiler.start("loadInstanceAttributeValues(bulk)", null, false))
+		{
+			super.loadInstanceAttributeValues(instances);
+		}
+	}
+
+	@Override
+	public void fastLoadInstanceAttributeValues(GKInstance instance) throws Exception
+	{
+		try (SqlProfiler.Call call = this.profiler.start("fastLoadInstanceAttributeValues", null, true))
+		{
+			super.fastLoadInstanceAttributeValues(instance);
+		}
+	}
+
+	@Override
+	public void updateInstanceAttribute(GKInstance instance, String attributeName) throws Exception
+	{
+		try (SqlProfiler.Call call = this.profiler.start("updateInstanceAttribute", attributeName, true))
+		{
+			super.updateInstanceAttribute(instance, attributeName);
+		}
+	}
+
+	@Override
+	public Long storeInstance(GKInstance instance) throws Exception
+	{
+		try (SqlProfiler.Call call = this.profiler.start("storeInstance", instance.getSchemClass().getName(), true))
+		{
+			return super.storeInstance(instance);
+		}
+	}
+
+	@Override
+	public Long storeInstance(GKInstance instance, boolean forceStore) throws Exception
+	{
+		try (SqlProfiler.Call call = this.profiler.start("storeInstance", instance.getSchemClass().getName(), true))
+		{
+			return super.storeInstance(instance, forceStore);
+		}
+	}
+
+	@Override
+	public void deleteInstance(GKInstance instance) throws Exception
+	{
+		try (SqlProfiler.Call call = this.profiler.start("deleteInstance", instance.getSchemClass().getName(), true))
+		{
+			super.deleteInstance(instance);
+		}
+	}
+
+	@Override
+	public void deleteByDBID(Long dbID) throws Exception
+	{
+		try (SqlProfiler.Call call = this.profiler.start("deleteByDBID", null, true))
+		{
+			super.deleteByDBID(dbID);
+		}
+	}
+}
@@ -0,0 +1,224 @@
+package org.reactome.release.goupdate;
+
+import java.lang.management.ManagementFactory;
+import java.time.Duration;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.LongSupplier;
+
+import javax.management.JMException;
+import javax.management.MBeanServer;
+import javax.management.ObjectName;
+import javax.management.StandardMBean;
+
+import org.apache.logging.log4j.LogManager;
+import org.apache.logging.log4j.Logger;
+
+/**
+ * Tracks the progress of a GO update run: the phase that is running, how many of its GO terms have been processed, how fast the database
+ * is being written to, and roughly how long the phase has left.<br/>
+ * Once {@link #register()}ed, it can be read over JMX (for example, with JConsole) as {@value #OBJECT_NAME}. It also writes a progress
+ * line to the main log every so often, so that a slow run can be told from a hung one.
+ */
+class Progress implements ProgressMBean
+{
+	static final String OBJECT_NAME = "org.reactome.release.goupdate:type=Progress";
+	private static final Logger logger = LogManager.getLogger();
+
+	private final long logIntervalNanos;
+	private final LongSupplier clock;
+	private final long runStart;
+	// Written by the thread doing the update, and read by JMX.
+	private volatile String phase = "startup";
+	private volatile long phaseStart;
+	private volatile long termsTotal;
+	private final AtomicLong termsProcessed = new AtomicLong();
+	private final AtomicLong databaseOperations = new AtomicLong();
+	private volatile long phaseStartDatabaseOperations;
+	private volatile long lastLogTime;
+	private ObjectName registeredName;
+
+	/**
+	 * @param logIntervalSeconds - How often to log a progress line. If 0 (or less), progress is not logged.
+	 */
+	Progress(long logIntervalSeconds)
+	{
+		this(logIntervalSeconds, System::nanoTime);
+	}
+
+	/**
+	 * @param logIntervalSeconds - How often to log a progress line. If 0 (or less), progress is not logged.
+	 * @param clock - The source of the time, in nanoseconds.
+	 */
+	Progress(long logIntervalSeconds, LongSupplier clock)
+	{
+		this.logIntervalNanos = TimeUnit.SECONDS.toNanos(logIntervalSeconds);
+		this.clock = clock;
+		this.runStart = clock.getAsLong();
+		this.phaseStart = this.runStart;
+		this.lastLogTime = this.runStart;
+	}
+
+	/**
+	 * Registers this with the platform MBean server, as {@value #OBJECT_NAME}. Anything already registered under that name is replaced.
+	 * @throws JMException
+	 */
+	void register() throws JMException
+	{
+		MBeanServer server = ManagementFactory.getPlatformMBeanServer();
+		ObjectName name = new ObjectName(OBJECT_NAME);
+		if (server.isRegistered(name))
+		{
+			server.unregisterMBean(name);
+		}
+		server.registerMBean(new StandardMBean(this, ProgressMBean.class), name);
+		this.registeredName = name;
+	}
+
+	/**
+	 * Unregisters this from the platform MBean server, if it was registered.
+	 */
+	void unregister()
+	{
+		if (this.registeredName != null)
+		{
+			try
+			{
+				ManagementFactory.getPlatformMBeanServer().unregisterMBean(this.registeredName);
+			}
+			catch (JMException e)
+			{
+				logger.warn("Could not unregister " + this.registeredName, e);
+			}
+			this.registeredName = null;
+		}
+	}
+
+	/**
+	 * Starts a new phase. Its number of GO terms is 0 until {@link #setTermsTotal(long)} is called.
+	 * @param phase - The name of the phase.
+	 */
+	void startPhase(String phase)
+	{
+		this.phase = phase;
+		this.termsTotal = 0;
+		this.termsProcessed.set(0);
+		this.phaseStartDatabaseOperations = this.databaseOperations.get();
+		this.phaseStart = this.clock.getAsLong();
+		this.lastLogTime = this.phaseStart;
+	}
+
+	/**
+	 * @param total - The number of GO terms that the current phase will process.
+	 */
+	void setTermsTotal(long total)
+	{
+		this.termsTotal = total;
+	}
+
+	/**
+	 * Counts one GO term as processed, and logs a progress line if it is time to.
+	 */
+	void termProcessed()
+	{
+		this.termsProcessed.incrementAndGet();
+		if (this.logIntervalNanos > 0)
+		{
+			long now = this.clock.getAsLong();
+			if (now - this.lastLogTime >= this.logIntervalNanos)
+			{
+				this.lastLogTime = now;
+				logger.info(this.describe());
+			}
+		}
+	}
+
+	/**
+	 * @param count - The number of database writes to add.
+	 */
+	void databaseOperations(long count)
+	{
+		this.databaseOperations.addAndGet(count);
+	}
+
+	/**
+	 * @return A one-line description of the progress of the current phase.
+	 */
+	String describe()
+	{
+		StringBuilder description = new StringBuilder(this.phase).append(": ").append(this.getTermsProcessed());
+		if (this.termsTotal > 0)
+		{
+			description.append(" of ").append(this.termsTotal).append(String.format(" GO terms (%.1f%%)", this.getPercentComplete()));
+		}
+		else
+		{
+			description.append(" GO terms");
+		}
+		description.append(String.format(", %.1f database writes/s", this.getDatabaseOperationsPerSecond()));
+		long remaining = this.getEstimatedSecondsRemaining();
+		if (remaining >= 0)
+		{
+			description.append(", about ").append(Duration.ofSeconds(remaining)).append(" left in this phase");
+		}
+		return description.append('.').toString();
+	}
+
+	@Override
+	public String getPhase()
+	{
+		return this.phase;
+	}
+
+	@Override
+	public long getTermsProcessed()
+	{
+		return this.termsProcessed.get();
+	}
+
+	@Override
+	public long getTermsTotal()
+	{
+		return this.termsTotal;
+	}
+
+	@Override
+	public double getPercentComplete()
+	{
+		long total = this.termsTotal;
+		return total > 0 ? 100.0 * this.getTermsProcessed() / total : -1;
+	}
+
+	@Override
+	public long getDatabaseOperations()
+	{
+		return this.databaseOperations.get();
+	}
+
+	@Override
+	public double getDatabaseOperationsPerSecond()
+	{
+		long nanos = this.clock.getAsLong() - this.phaseStart;
+		return nanos > 0 ? (this.databaseOperations.get() - this.phaseStartDatabaseOperations) * 1e9 / nanos : 0;
+	}
+
+	@Override
+	public long getEstimatedSecondsRemaining()
+	{
+		long total = this.termsTotal;
+		long processed = this.getTermsProcessed();
+		if (total <= 0 || processed <= 0)
+		{
+			return -1;
+		}
+		// Assumes that the rest of the phase's terms take as long, on average, as the ones so far.
+		long nanos = this.clock.getAsLong() - this.phaseStart;
+		return TimeUnit.NANOSECONDS.toSeconds((long) ((double) nanos / processed * Math.max(0, total - processed)));
+	}
+
+	@Override
+	public long getElapsedSeconds()
+	{
+		return TimeUnit.NANOSECONDS.toSeconds(this.clock.getAsLong() - this.runStart);
+	}
+}
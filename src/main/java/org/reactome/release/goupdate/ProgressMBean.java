@@ -0,0 +1,48 @@
+package org.reactome.release.goupdate;
+
+/**
+ * The JMX view of a GO update run's progress. See {@link Progress}.<br/>
+ * (JMX requires MBean interfaces to be public.)
+ */
+public interface ProgressMBean
+{
+	/**
+	 * @return The phase that is running.
+	 */
+	String getPhase();
+
+	/**
+	 * @return The number of GO terms processed so far in this phase.
+	 */
+	long getTermsProcessed();
+
+	/**
+	 * @return The number of GO terms that this phase will process, or 0 if the phase does not work through the terms one by one.
+	 */
+	long getTermsTotal();
+
+	/**
+	 * @return The percentage of this phase's GO terms that have been processed, or -1 if that is not known.
+	 */
+	double getPercentComplete();
+
+	/**
+	 * @return The number of database writes made since the run started.
+	 */
+	long getDatabaseOperations();
+
+	/**
+	 * @return The number of database writes per second in this phase.
+	 */
+	double getDatabaseOperationsPerSecond();
+
+	/**
+	 * @return The estimated number of seconds until this phase is done, based on its progress so far, or -1 if that is not known.
+	 */
+	long getEstimatedSecondsRemaining();
+
+	/**
+	 * @return The number of seconds since the run started.
+	 */
+	long getElapsedSeconds();
+}
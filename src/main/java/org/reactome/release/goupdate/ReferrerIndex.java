@@ -0,0 +1,179 @@
+package org.reactome.release.goupdate;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.function.Predicate;
+
+import org.gk.model.GKInstance;
+import org.gk.schema.GKSchemaAttribute;
+import org.gk.schema.SchemaAttribute;
+
+/**
+ * A memoized lookup of the referrers of GO term instances.<br/>
+ * Walking all the referring attributes of an instance is expensive, and several parts of the update (reports, deletability checks,
+ * deletions) need the referrers of the same instance. This index walks them once per instance and serves all of those from the same
+ * result. Entries must be invalidated when the referrers of an instance are changed (for example, when other terms are redirected to it).
+ */
+class ReferrerIndex
+{
+	private GoUpdateContext context;
+	// Keyed by DB_ID. Values are the referrers of that instance, grouped by the attribute they refer through.
+	private Map<Long, Map<GKSchemaAttribute, List<GKInstance>>> referrersByInstance = new HashMap<>();
+	private int lookups;
+	private int hits;
+
+	/**
+	 * @param context - The run. Lookups are watched by its {@link SlowOperationWatchdog}.
+	 */
+	ReferrerIndex(GoUpdateContext context)
+	{
+		this.context = context;
+	}
+
+	/**
+	 * Gets all referrers of an instance, grouped by referring attribute. Attributes with no referrers are not included.
+	 * @param instance - The instance.
+	 * @return An unmodifiable map of attribute to referrers.
+	 * @throws Exception
+	 */
+	Map<GKSchemaAttribute, List<GKInstance>> getReferrersByAttribute(GKInstance instance) throws Exception
+	{
+		this.lookups++;
+		Map<GKSchemaAttribute, List<GKInstance>> referrers = this.referrersByInstance.get(instance.getDBID());
+		if (referrers != null)
+		{
+			this.hits++;
+			return referrers;
+		}
+		referrers = new LinkedHashMap<>();
+		@SuppressWarnings("unchecked")
+		Collection<GKSchemaAttribute> attributes = (Collection<GKSchemaAttribute>) instance.getSchemClass().getReferers();
+		for (GKSchemaAttribute attribute : attributes)
+		{
+			@SuppressWarnings("unchecked")
+			Collection<GKInstance> attributeReferrers = fetchReferrers(this.context.getWatchdog(), instance, attribute);
+			if (attributeReferrers != null && !attributeReferrers.isEmpty())
+			{
+				referrers.put(attribute, Collections.unmodifiableList(new ArrayList<>(attributeReferrers)));
+			}
+		}
+		referrers = Collections.unmodifiableMap(referrers);
+		this.referrersByInstance.put(instance.getDBID(), referrers);
+		return referrers;
+	}
+
+	/**
+	 * Fetches the referrers of an instance via one attribute (from the adaptor, not from an index), under the watch of a {@link SlowOperationWatchdog}.
+	 * @param watchdog - The watchdog.
+	 * @param instance - The instance.
+	 * @param attribute - The referring attribute.
+	 * @return The referrers, as {@link GKInstance#getReferers(SchemaAttribute)} returns them.
+	 * @throws Exception
+	 */
+	@SuppressWarnings("unchecked")
+	static Collection<GKInstance> fetchReferrers(SlowOperationWatchdog watchdog, GKInstance instance, SchemaAttribute attribute) throws Exception
+	{
+		try (SlowOperationWatchdog.Operation operation = watchdog.watch("getReferers(" + attribute.getName() + ")", instance))
+		{
+			return (Collection<GKInstance>) instance.getReferers(attribute);
+		}
+	}
+
+	/**
+	 * Fetches the referrers of an instance via one attribute (from the adaptor, not from an index), under the watch of a {@link SlowOperationWatchdog}.
+	 * @param watchdog - The watchdog.
+	 * @param instance - The instance.
+	 * @param attributeName - The name of the referring attribute.
+	 * @return The referrers, as {@link GKInstance#getReferers(String)} returns them.
+	 * @throws Exception
+	 */
+	@SuppressWarnings("unchecked")
+	static Collection<GKInstance> fetchReferrers(SlowOperationWatchdog watchdog, GKInstance instance, String attributeName) throws Exception
+	{
+		try (SlowOperationWatchdog.Operation operation = watchdog.watch("getReferers(" + attributeName + ")", instance))
+		{
+			return (Collection<GKInstance>) instance.getReferers(attributeName);
+		}
+	}
+
+	/**
+	 * Gets the referrers of an instance, filtered by a predicate.
+	 * @param instance - The instance.
+	 * @param filter - Only referrers that pass this filter are returned.
+	 * @return The referrers, in attribute order.
+	 * @throws Exception
+	 */
+	List<GKInstance> getReferrers(GKInstance instance, Predicate<? super GKInstance> filter) throws Exception
+	{
+		List<GKInstance> referrers = new ArrayList<>();
+		for (List<GKInstance> attributeReferrers : this.getReferrersByAttribute(instance).values())
+		{
+			for (GKInstance referrer : attributeReferrers)
+			{
+				if (filter.test(referrer))
+				{
+					referrers.add(referrer);
+				}
+			}
+		}
+		return referrers;
+	}
+
+	/**
+	 * Gets the referrers of an instance via a single attribute.
+	 * @param instance - The instance.
+	 * @param attributeName - The name of the referring attribute.
+	 * @return The referrers via <code>attributeName</code>. Empty if there are none.
+	 * @throws Exception
+	 */
+	List<GKInstance> getReferrers(GKInstance instance, String attributeName) throws Exception
+	{
+		List<GKInstance> referrers = new ArrayList<>();
+		for (Map.Entry<GKSchemaAttribute, List<GKInstance>> entry : this.getReferrersByAttribute(instance).entrySet())
+		{
+			if (entry.getKey().getName().equals(attributeName))
+			{
+				referrers.addAll(entry.getValue());
+			}
+		}
+		return referrers;
+	}
+
+	/**
+	 * Forgets the referrers of an instance, so they will be looked up again the next time they are needed.
+	 * @param dbId - The DB_ID of the instance.
+	 */
+	void invalidate(Long dbId)
+	{
+		this.referrersByInstance.remove(dbId);
+	}
+
+	/**
+	 * Forgets the referrers of all instances, so the referrer instances can be garbage collected once they are evicted from the adaptor's cache.
+	 */
+	void clear()
+	{
+		this.referrersByInstance.clear();
+	}
+
+	/**
+	 * @return The number of lookups that were served from the index rather than from the database.
+	 */
+	int getHitCount()
+	{
+		return this.hits;
+	}
+
+	/**
+	 * @return The total number of lookups.
+	 */
+	int getLookupCount()
+	{
+		return this.lookups;
+	}
+}
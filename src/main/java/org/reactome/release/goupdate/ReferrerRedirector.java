@@ -0,0 +1,297 @@
+package org.reactome.release.goupdate;
+
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.HashSet;
+import java.util.LinkedHashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+import org.apache.logging.log4j.LogManager;
+import org.apache.logging.log4j.Logger;
+import org.gk.model.GKInstance;
+import org.gk.model.InstanceDisplayNameGenerator;
+import org.gk.model.ReactomeJavaConstants;
+import org.gk.persistence.MySQLAdaptor;
+import org.gk.schema.GKSchemaAttribute;
+import org.gk.schema.SchemaClass;
+import org.reactome.release.goupdate.GoUpdateInstanceEditUtils.GOUpdateInstEditType;
+
+/**
+ * Redirects references from GO terms that are going away to their replacements, directly in the database.<br/>
+ * Instead of loading each referrer as a GKInstance, rebuilding its attribute values and writing it back, all the pending redirects
+ * are loaded into a temporary table and each referring (table, attribute) is rewritten with a single UPDATE. For multi-valued attributes,
+ * the rank of the old value is kept (so ordering is preserved), and if a referrer ends up referring to the same GO term more than once,
+ * only the first occurrence is kept. The REF_ATTRIB_UPDATE InstanceEdit is then added to all affected referrers in bulk.<br/>
+ * The old values of the rewritten attributes are recorded in the run's {@link UndoLog}.
+ */
+class ReferrerRedirector
+{
+	private static final Logger logger = LogManager.getLogger();
+	private static final String REDIRECT_TABLE = "GoUpdate_Redirect";
+
+	private MySQLAdaptor adaptor;
+	private GoUpdateContext context;
+	// Keyed by the DB_ID of the GO term that is going away.
+	private Map<Long, Redirect> redirects = new LinkedHashMap<>();
+
+	/**
+	 * A single redirect: references to <code>oldTerm</code> will be changed to refer to <code>replacement</code>.
+	 */
+	private static class Redirect
+	{
+		private final GKInstance oldTerm;
+		private final GKInstance replacement;
+
+		Redirect(GKInstance oldTerm, GKInstance replacement)
+		{
+			this.oldTerm = oldTerm;
+			this.replacement = replacement;
+		}
+	}
+
+	/**
+	 * Creates a new redirector.
+	 * @param adaptor - The database adaptor to use.
+	 * @param context - The run.
+	 */
+	ReferrerRedirector(MySQLAdaptor adaptor, GoUpdateContext context)
+	{
+		this.adaptor = adaptor;
+		this.context = context;
+	}
+
+	/**
+	 * Adds a redirect. Nothing is written until {@link #execute()} is called.
+	 * @param oldTerm - The GO term whose referrers should be redirected.
+	 * @param replacement - The GO term that the referrers should refer to instead.
+	 */
+	void addRedirect(GKInstance oldTerm, GKInstance replacement)
+	{
+		if (oldTerm.getDBID().equals(replacement.getDBID()))
+		{
+			logger.warn("Not redirecting \"{}\" to itself.", oldTerm);
+			return;
+		}
+		Redirect previous = this.redirects.put(oldTerm.getDBID(), new Redirect(oldTerm, replacement));
+		if (previous != null && !previous.replacement.getDBID().equals(replacement.getDBID()))
+		{
+			logger.warn("\"{}\" was going to be redirected to \"{}\", it will be redirected to \"{}\" instead.", oldTerm, previous.replacement, replacement);
+		}
+	}
+
+	/**
+	 * @return The number of redirects that have been added but not yet executed.
+	 */
+	int getPendingRedirectCount()
+	{
+		return this.redirects.size();
+	}
+
+	/**
+	 * Executes all pending redirects.
+	 * @return The DB_IDs of the referrers that were modified.
+	 * @throws Exception
+	 */
+	Set<Long> execute() throws Exception
+	{
+		Set<Long> modifiedReferrers = new LinkedHashSet<>();
+		if (this.redirects.isEmpty())
+		{
+			return modifiedReferrers;
+		}
+		Connection connection = this.adaptor.getConnection();
+		try (Statement statement = connection.createStatement())
+		{
+			statement.execute("CREATE TEMPORARY TABLE IF NOT EXISTS " + REDIRECT_TABLE
+							+ " (old_id INT(10) UNSIGNED NOT NULL PRIMARY KEY, new_id INT(10) UNSIGNED NOT NULL, new_class VARCHAR(64) NOT NULL)");
+		}
+		// Group the referring attributes by the redirects that apply to them, so that the temporary table
+		// only needs to be reloaded when the set of applicable redirects changes (usually it never does).
+		Map<List<Long>, List<GKSchemaAttribute>> attributesByRedirects = this.groupAttributesByApplicableRedirects();
+		for (Map.Entry<List<Long>, List<GKSchemaAttribute>> entry : attributesByRedirects.entrySet())
+		{
+			this.loadRedirectTable(connection, entry.getKey());
+			for (GKSchemaAttribute attribute : entry.getValue())
+			{
+				modifiedReferrers.addAll(this.redirectAttribute(connection, attribute));
+			}
+		}
+		try (Statement statement = connection.createStatement())
+		{
+			statement.execute("DROP TEMPORARY TABLE IF EXISTS " + REDIRECT_TABLE);
+		}
+		logger.info("{} GO terms were redirected; {} referrers were modified.", this.redirects.size(), modifiedReferrers.size());
+		if (!modifiedReferrers.isEmpty())
+		{
+			this.addInstanceEdits(connection, modifiedReferrers);
+			this.refreshReferrers(modifiedReferrers);
+		}
+		this.redirects.clear();
+		return modifiedReferrers;
+	}
+
+	/*
+	 * An attribute applies to a redirect if it can refer to the old term and to the replacement.
+	 * Returns a map of (old DB_IDs of applicable redirects) -> (attributes).
+	 */
+	private Map<List<Long>, List<GKSchemaAttribute>> groupAttributesByApplicableRedirects()
+	{
+		// Several GO terms will have the same schema class, so the referring attributes are looked up once per class.
+		Map<SchemaClass, Set<String>> referringAttributeNamesByClass = new LinkedHashMap<>();
+		Map<String, GKSchemaAttribute> referringAttributes = new LinkedHashMap<>();
+		for (Redirect redirect : this.redirects.values())
+		{
+			for (SchemaClass schemaClass : new SchemaClass[] { redirect.oldTerm.getSchemClass(), redirect.replacement.getSchemClass() })
+			{
+				referringAttributeNamesByClass.computeIfAbsent(schemaClass, c -> {
+					@SuppressWarnings("unchecked")
+					Collection<GKSchemaAttribute> attributes = (Collection<GKSchemaAttribute>) c.getReferers();
+					Set<String> names = new HashSet<>();
+					for (GKSchemaAttribute attribute : attributes)
+					{
+						String key = BulkSqlUtils.tableName(attribute) + "." + attribute.getName();
+						referringAttributes.putIfAbsent(key, attribute);
+						names.add(key);
+					}
+					return names;
+				});
+			}
+		}
+		Map<List<Long>, List<GKSchemaAttribute>> attributesByRedirects = new LinkedHashMap<>();
+		for (Map.Entry<String, GKSchemaAttribute> attributeEntry : referringAttributes.entrySet())
+		{
+			List<Long> applicableRedirects = new ArrayList<>();
+			for (Redirect redirect : this.redirects.values())
+			{
+				if (referringAttributeNamesByClass.get(redirect.oldTerm.getSchemClass()).contains(attributeEntry.getKey()))
+				{
+					if (referringAttributeNamesByClass.get(redirect.replacement.getSchemClass()).contains(attributeEntry.getKey()))
+					{
+						applicableRedirects.add(redirect.oldTerm.getDBID());
+					}
+					else
+					{
+						logger.warn("\"{}\" cannot refer to \"{}\" via {}, so referrers via that attribute will not be redirected.",
+									attributeEntry.getValue().getOrigin().getName(), redirect.replacement, attributeEntry.getValue().getName());
+					}
+				}
+			}
+			if (!applicableRedirects.isEmpty())
+			{
+				attributesByRedirects.computeIfAbsent(applicableRedirects, k -> new ArrayList<>()).add(attributeEntry.getValue());
+			}
+		}
+		return attributesByRedirects;
+	}
+
+	private void loadRedirectTable(Connection connection, List<Long> oldDBIDs) throws SQLException
+	{
+		try (Statement statement = connection.createStatement())
+		{
+			statement.execute("DELETE FROM " + REDIRECT_TABLE);
+		}
+		try (PreparedStatement insert = connection.prepareStatement("INSERT INTO " + REDIRECT_TABLE + " (old_id, new_id, new_class) VALUES (?, ?, ?)"))
+		{
+			for (Long oldDBID : oldDBIDs)
+			{
+				Redirect redirect = this.redirects.get(oldDBID);
+				insert.setLong(1, oldDBID);
+				insert.setLong(2, redirect.replacement.getDBID());
+				insert.setString(3, redirect.replacement.getSchemClass().getName());
+				insert.addBatch();
+			}
+			insert.executeBatch();
+		}
+	}
+
+	/*
+	 * Rewrites one (table, attribute). Returns the DB_IDs of the referrers that were changed.
+	 */
+	private Set<Long> redirectAttribute(Connection connection, GKSchemaAttribute attribute) throws SQLException
+	{
+		String table = BulkSqlUtils.tableName(attribute);
+		String column = attribute.getName();
+		Set<Long> referrers = new HashSet<>();
+		try (Statement statement = connection.createStatement())
+		{
+			try (ResultSet results = statement.executeQuery("SELECT DISTINCT t.DB_ID FROM " + table + " t JOIN " + REDIRECT_TABLE + " r ON t." + column + " = r.old_id"))
+			{
+				while (results.next())
+				{
+					referrers.add(results.getLong(1));
+				}
+			}
+			if (referrers.isEmpty())
+			{
+				return referrers;
+			}
+			this.context.getUndoLog().recordAttribute(connection, attribute, referrers);
+			GoUpdateEvents.DatabaseOperationEvent event = GoUpdateEvents.beginDatabaseOperation("redirect", table, column);
+			int updated = statement.executeUpdate("UPDATE " + table + " t JOIN " + REDIRECT_TABLE + " r ON t." + column + " = r.old_id"
+												+ " SET t." + column + " = r.new_id, t." + column + "_class = r.new_class");
+			int duplicatesRemoved = 0;
+			if (attribute.isMultiple())
+			{
+				// If a referrer now refers to a replacement more than once (because it already referred to the replacement,
+				// or because it referred to several terms with the same replacement), keep only the lowest-ranked value.
+				duplicatesRemoved = statement.executeUpdate("DELETE t FROM " + table + " t JOIN " + REDIRECT_TABLE + " r ON t." + column + " = r.new_id"
+															+ " JOIN " + table + " e ON e.DB_ID = t.DB_ID AND e." + column + " = t." + column
+															+ " AND e." + column + "_rank < t." + column + "_rank");
+			}
+			event.rows = updated;
+			event.commit();
+			this.context.getProgress().databaseOperations(updated);
+			logger.info("{}.{}: {} values on {} referrers were redirected, {} duplicate values were removed.", table, column, updated, referrers.size(), duplicatesRemoved);
+		}
+		return referrers;
+	}
+
+	/*
+	 * Appends the REF_ATTRIB_UPDATE InstanceEdit to the "modified" list of each referrer.
+	 */
+	private void addInstanceEdits(Connection connection, Set<Long> referrers) throws Exception
+	{
+		GKInstance instEd = GoUpdateInstanceEditUtils.getInstanceEditForClass(GOUpdateInstEditType.REF_ATTRIB_UPDATE, this.getClass());
+		BulkSqlUtils.appendModifiedInstanceEdit(connection, instEd, referrers);
+	}
+
+	/*
+	 * The referrers were changed behind the adaptor's back, so any cached copies are dropped.
+	 * The old Perl code would update referrers' displayNames if they were PhysicalEntities or CatalystActivities. The classes of the referrers
+	 * are looked up together, so that only those referrers are reloaded (and have their display names regenerated).
+	 */
+	private void refreshReferrers(Set<Long> referrers) throws Exception
+	{
+		BulkSqlUtils.evictFromCache(this.adaptor, referrers);
+		int displayNamesUpdated = 0;
+		for (Map.Entry<String, Set<Long>> referrersOfClass : BulkSqlUtils.selectDbIdsByClass(this.adaptor.getConnection(), referrers).entrySet())
+		{
+			SchemaClass schemaClass = this.adaptor.getSchema().getClassByName(referrersOfClass.getKey());
+			if (schemaClass == null || !(schemaClass.isa(ReactomeJavaConstants.PhysicalEntity) || schemaClass.isa(ReactomeJavaConstants.CatalystActivity)))
+			{
+				continue;
+			}
+			for (Long dbId : referrersOfClass.getValue())
+			{
+				GKInstance referrer = this.adaptor.fetchInstance(dbId);
+				String newDisplayName = InstanceDisplayNameGenerator.generateDisplayName(referrer);
+				if (newDisplayName != null && !newDisplayName.equals(referrer.getDisplayName()))
+				{
+					this.context.getUndoLog().recordAttribute(referrer, ReactomeJavaConstants._displayName);
+					referrer.setAttributeValue(ReactomeJavaConstants._displayName, newDisplayName);
+					GoUpdateEvents.updateInstanceAttribute(this.context, this.adaptor, referrer, ReactomeJavaConstants._displayName);
+					displayNamesUpdated++;
+				}
+			}
+		}
+		logger.info("{} referrers had their display names updated.", displayNamesUpdated);
+	}
+}
@@ -0,0 +1,243 @@
+package org.reactome.release.goupdate;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+import org.apache.logging.log4j.LogManager;
+import org.apache.logging.log4j.Logger;
+
+/**
+ * Resolves every retired GO accession to its final, live replacement, <em>before</em> any referrers are redirected.<br/>
+ * A retired accession is an alt_id of some other term, or an obsolete term with a replaced_by. Each one has a single outgoing edge
+ * (to its primary term, or to its first replaced_by), and these edges can form chains: A is replaced_by B, and B is an alt_id of C.
+ * The edges are stored as a union-find parent array, so each chain is walked once and path compression makes every retired accession
+ * point directly at the live term at the end of its chain. Without this, A's referrers would be redirected to B and then again to C.<br/>
+ * Chains that loop back on themselves are reported as cycles, and the accessions on them are left unresolved.
+ */
+class ReplacementResolver
+{
+	private static final Logger logger = LogManager.getLogger();
+
+	private static final int UNVISITED = 0;
+	private static final int IN_PROGRESS = 1;
+	private static final int DONE = 2;
+	private static final int NO_TARGET = -1;
+
+	private final Map<String, Integer> indices = new HashMap<>();
+	private final List<String> accessions = new ArrayList<>();
+	// parent[i] is the accession that i is retired in favour of; a live accession (or a dead end) is its own parent.
+	private int[] parent;
+	// After resolution: the final live target of each accession, or NO_TARGET.
+	private int[] target;
+	private final List<List<String>> cycles = new ArrayList<>();
+	private int resolvedChainCount;
+
+	private ReplacementResolver()
+	{
+	}
+
+	/**
+	 * Builds the replacement edges from the GO terms in the file, and resolves all of them.
+	 * @param goTermsFromFile - The GO terms from the file, keyed by GO ID.
+	 * @return A resolver, which can be queried for the final target of any accession.
+	 */
+	static ReplacementResolver resolve(Map<String, Map<String, Object>> goTermsFromFile)
+	{
+		ReplacementResolver resolver = new ReplacementResolver();
+		// First pass: number all accessions and note which ones are live.
+		for (String goID : goTermsFromFile.keySet())
+		{
+			resolver.indexOf(goID);
+			List<String> alternates = listValue(goTermsFromFile.get(goID), GoUpdateConstants.ALT_ID);
+			for (String alternate : alternates)
+			{
+				resolver.indexOf(alternate);
+			}
+		}
+		resolver.parent = new int[resolver.accessions.size()];
+		boolean[] live = new boolean[resolver.accessions.size()];
+		for (int i = 0; i < resolver.parent.length; i++)
+		{
+			resolver.parent[i] = i;
+		}
+		for (String goID : goTermsFromFile.keySet())
+		{
+			live[resolver.indices.get(goID)] = !isObsolete(goTermsFromFile.get(goID));
+		}
+		// Second pass: the edges. An alt_id edge takes priority over a replaced_by edge, since the secondary accession is
+		// merged into its primary no matter what else the file says about it.
+		for (String goID : goTermsFromFile.keySet())
+		{
+			Map<String, Object> goTerm = goTermsFromFile.get(goID);
+			int index = resolver.indices.get(goID);
+			List<String> replacements = listValue(goTerm, GoUpdateConstants.REPLACED_BY);
+			if (isObsolete(goTerm) && !replacements.isEmpty() && resolver.parent[index] == index)
+			{
+				resolver.parent[index] = resolver.indexOf(replacements.get(0));
+			}
+			for (String alternate : listValue(goTerm, GoUpdateConstants.ALT_ID))
+			{
+				int alternateIndex = resolver.indices.get(alternate);
+				if (alternateIndex != index)
+				{
+					resolver.parent[alternateIndex] = index;
+					live[alternateIndex] = false;
+				}
+			}
+		}
+		// A replaced_by may name an accession that is not in the file at all, so the arrays may need to grow.
+		if (live.length < resolver.accessions.size())
+		{
+			int oldLength = live.length;
+			live = Arrays.copyOf(live, resolver.accessions.size());
+			resolver.parent = Arrays.copyOf(resolver.parent, resolver.accessions.size());
+			for (int i = oldLength; i < resolver.parent.length; i++)
+			{
+				resolver.parent[i] = i;
+			}
+		}
+		resolver.resolveAll(live);
+		return resolver;
+	}
+
+	/**
+	 * Gets the final target of an accession.
+	 * @param accession - A GO accession.
+	 * @return The live accession at the end of <code>accession</code>'s replacement chain (which is <code>accession</code> itself if it is live),
+	 * or null if the chain does not end in a live term (the chain leads to an obsolete term with no replacement, or to an accession that is not in the file, or is a cycle).
+	 */
+	String getFinalTarget(String accession)
+	{
+		Integer index = this.indices.get(accession);
+		if (index == null || this.target[index] == NO_TARGET)
+		{
+			return null;
+		}
+		return this.accessions.get(this.target[index]);
+	}
+
+	/**
+	 * @param accession - A GO accession.
+	 * @return true if <code>accession</code> has been retired in favour of some other accession (it is an alt_id, or obsolete with a replaced_by).
+	 */
+	boolean isRetired(String accession)
+	{
+		Integer index = this.indices.get(accession);
+		return index != null && this.parent[index] != index;
+	}
+
+	/**
+	 * @return The replacement cycles that were found. Each cycle is the list of accessions on it, in chain order.
+	 */
+	List<List<String>> getCycles()
+	{
+		return Collections.unmodifiableList(this.cycles);
+	}
+
+	/**
+	 * @return The number of retired accessions whose final target is more than one step away (that is, chains that were collapsed).
+	 */
+	int getResolvedChainCount()
+	{
+		return this.resolvedChainCount;
+	}
+
+	private int indexOf(String accession)
+	{
+		Integer index = this.indices.get(accession);
+		if (index == null)
+		{
+			index = this.accessions.size();
+			this.indices.put(accession, index);
+			this.accessions.add(accession);
+		}
+		return index;
+	}
+
+	/*
+	 * Finds the root of every accession, with path compression. Walks are iterative so that long chains cannot overflow the stack.
+	 */
+	private void resolveAll(boolean[] live)
+	{
+		int size = this.accessions.size();
+		this.target = new int[size];
+		int[] state = new int[size];
+		int[] path = new int[size];
+		for (int start = 0; start < size; start++)
+		{
+			if (state[start] == DONE)
+			{
+				continue;
+			}
+			int pathLength = 0;
+			int current = start;
+			int root;
+			while (true)
+			{
+				if (state[current] == DONE)
+				{
+					root = this.target[current];
+					break;
+				}
+				if (state[current] == IN_PROGRESS)
+				{
+					// current is on the path we are walking right now: everything from current onwards is a cycle.
+					List<String> cycle = new ArrayList<>();
+					int cycleStart = 0;
+					while (path[cycleStart] != current)
+					{
+						cycleStart++;
+					}
+					for (int i = cycleStart; i < pathLength; i++)
+					{
+						cycle.add(this.accessions.get(path[i]));
+					}
+					this.cycles.add(cycle);
+					logger.warn("GO accessions form a replacement cycle (alt_id/replaced_by): {}. None of these accessions will be redirected.", String.join(" -> ", cycle));
+					root = NO_TARGET;
+					break;
+				}
+				state[current] = IN_PROGRESS;
+				path[pathLength++] = current;
+				if (this.parent[current] == current)
+				{
+					root = live[current] ? current : NO_TARGET;
+					break;
+				}
+				current = this.parent[current];
+			}
+			// Path compression: everything on the path now points directly at the root.
+			for (int i = 0; i < pathLength; i++)
+			{
+				int node = path[i];
+				this.target[node] = root;
+				state[node] = DONE;
+				if (root != NO_TARGET && this.parent[node] != node && this.parent[node] != root)
+				{
+					this.resolvedChainCount++;
+					this.parent[node] = root;
+				}
+			}
+		}
+		if (this.resolvedChainCount > 0)
+		{
+			logger.info("{} replacement chains were collapsed so that their accessions are redirected directly to the final live term.", this.resolvedChainCount);
+		}
+	}
+
+	private static boolean isObsolete(Map<String, Object> goTerm)
+	{
+		return Boolean.TRUE.equals(goTerm.get(GoUpdateConstants.IS_OBSOLETE));
+	}
+
+	@SuppressWarnings("unchecked")
+	private static List<String> listValue(Map<String, Object> goTerm, String key)
+	{
+		Object value = goTerm.get(key);
+		return value == null ? Collections.emptyList() : (List<String>) value;
+	}
+}
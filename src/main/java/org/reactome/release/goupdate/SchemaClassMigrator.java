@@ -0,0 +1,371 @@
+package org.reactome.release.goupdate;
+
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.HashSet;
+import java.util.LinkedHashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.stream.Collectors;
+
+import org.apache.logging.log4j.LogManager;
+import org.apache.logging.log4j.Logger;
+import org.gk.model.GKInstance;
+import org.gk.model.ReactomeJavaConstants;
+import org.gk.persistence.MySQLAdaptor;
+import org.gk.schema.GKSchemaAttribute;
+import org.gk.schema.SchemaAttribute;
+import org.gk.schema.SchemaClass;
+import org.reactome.release.goupdate.GoUpdateInstanceEditUtils.GOUpdateInstEditType;
+
+/**
+ * Moves GO term instances to a different GO class (GO_BiologicalProcess, GO_MolecularFunction or GO_CellularComponent), keeping their DB_IDs.<br/>
+ * Only the rows that belong to the old class (and not to the new one) are rewritten: values of attributes that the new class also has
+ * (with the same name and cardinality) are copied to the new class's tables, everything else in the old class's tables is dropped, and
+ * _class is updated. Instance-valued attributes only keep values that are allowed in the new class.<br/>
+ * Referrers keep referring to the same DB_IDs, so no redirects are needed. Their "_class" columns are updated. References through attributes
+ * that do not allow the new class are cleared if they come from GO terms (those are relationships, which get rebuilt from the file), and
+ * reported otherwise, since they need to be looked at by a curator.<br/>
+ * The migrated instances and the changed references are recorded in the run's {@link UndoLog}.
+ */
+class SchemaClassMigrator
+{
+	private static final Logger logger = LogManager.getLogger();
+
+	private static final List<String> GO_CLASSES = Arrays.asList(ReactomeJavaConstants.GO_BiologicalProcess, ReactomeJavaConstants.GO_MolecularFunction, ReactomeJavaConstants.GO_CellularComponent);
+
+	private MySQLAdaptor adaptor;
+	private GoUpdateContext context;
+	private boolean addInstanceEdits;
+	// Keyed by "old class" and then by "new class". Values are DB_IDs.
+	private Map<String, Map<String, Set<Long>>> pendingMigrations = new LinkedHashMap<>();
+
+	/**
+	 * Creates a new migrator.
+	 * @param adaptor - The adaptor to use.
+	 * @param context - The run.
+	 */
+	SchemaClassMigrator(MySQLAdaptor adaptor, GoUpdateContext context)
+	{
+		this(adaptor, context, true);
+	}
+
+	/**
+	 * Creates a new migrator.
+	 * @param adaptor - The adaptor to use.
+	 * @param context - The run.
+	 * @param addInstanceEdits - If false, no InstanceEdits are added to the migrated instances or to referrers (see {@link UndoLogReplayer}).
+	 */
+	SchemaClassMigrator(MySQLAdaptor adaptor, GoUpdateContext context, boolean addInstanceEdits)
+	{
+		this.adaptor = adaptor;
+		this.context = context;
+		this.addInstanceEdits = addInstanceEdits;
+	}
+
+	/**
+	 * Adds an instance to be migrated by the next call to {@link #execute()}.
+	 * @param instance - A GO term instance.
+	 * @param newClassName - The GO class to move it to. Must be one of GO_BiologicalProcess, GO_MolecularFunction or GO_CellularComponent.
+	 */
+	void addMigration(GKInstance instance, String newClassName)
+	{
+		if (!GO_CLASSES.contains(newClassName))
+		{
+			throw new IllegalArgumentException(newClassName + " is not a GO class; GO terms can only be moved to one of " + GO_CLASSES);
+		}
+		SchemaClass oldClass = instance.getSchemClass();
+		if (GO_CLASSES.stream().noneMatch(oldClass::isa))
+		{
+			throw new IllegalArgumentException("\"" + instance + "\" is a " + oldClass.getName() + ", which is not a GO class.");
+		}
+		this.addMigration(instance.getDBID(), oldClass.getName(), newClassName);
+	}
+
+	/**
+	 * Adds an instance to be migrated by the next call to {@link #execute()}, by DB_ID. Unlike {@link #addMigration(GKInstance, String)},
+	 * the classes are not checked: this is for putting instances back where {@link UndoLog} says they were.
+	 * @param dbId - The DB_ID of the instance.
+	 * @param currentClassName - The class the instance is in now.
+	 * @param newClassName - The class to move it to.
+	 */
+	void addMigration(Long dbId, String currentClassName, String newClassName)
+	{
+		if (!currentClassName.equals(newClassName))
+		{
+			this.pendingMigrations.computeIfAbsent(currentClassName, c -> new LinkedHashMap<>()).computeIfAbsent(newClassName, c -> new LinkedHashSet<>()).add(dbId);
+		}
+	}
+
+	/**
+	 * @return The number of instances waiting to be migrated.
+	 */
+	int getPendingMigrationCount()
+	{
+		return this.pendingMigrations.values().stream().flatMap(m -> m.values().stream()).mapToInt(Set::size).sum();
+	}
+
+	/**
+	 * Migrates all pending instances. The migrated instances are removed from the adaptor's cache, so they must be fetched again to see their new class.
+	 * @return The DB_IDs of the instances that were migrated.
+	 * @throws Exception
+	 */
+	Set<Long> execute() throws Exception
+	{
+		Set<Long> migrated = new LinkedHashSet<>();
+		if (this.pendingMigrations.isEmpty())
+		{
+			return migrated;
+		}
+		Connection connection = this.adaptor.getConnection();
+		Set<Long> modifiedReferrers = new HashSet<>();
+		for (Map.Entry<String, Map<String, Set<Long>>> fromClass : this.pendingMigrations.entrySet())
+		{
+			SchemaClass oldClass = this.adaptor.getSchema().getClassByName(fromClass.getKey());
+			for (Map.Entry<String, Set<Long>> toClass : fromClass.getValue().entrySet())
+			{
+				SchemaClass newClass = this.adaptor.getSchema().getClassByName(toClass.getKey());
+				Set<Long> dbIds = toClass.getValue();
+				this.context.getUndoLog().recordMigrated(connection, oldClass, newClass.getName(), dbIds);
+				this.migrate(connection, oldClass, newClass, dbIds);
+				modifiedReferrers.addAll(this.updateReferrers(connection, oldClass, newClass, dbIds));
+				logger.info("{} GO terms were moved from {} to {}.", dbIds.size(), oldClass.getName(), newClass.getName());
+				migrated.addAll(dbIds);
+			}
+		}
+		if (this.addInstanceEdits)
+		{
+			GKInstance instEd = GoUpdateInstanceEditUtils.getInstanceEditForClass(GOUpdateInstEditType.CLASS_MIGRATED, this.getClass());
+			BulkSqlUtils.appendModifiedInstanceEdit(connection, instEd, migrated);
+			if (!modifiedReferrers.isEmpty())
+			{
+				GKInstance refClearedInstEd = GoUpdateInstanceEditUtils.getInstanceEditForClass(GOUpdateInstEditType.REF_CLEARED, this.getClass());
+				BulkSqlUtils.appendModifiedInstanceEdit(connection, refClearedInstEd, modifiedReferrers);
+			}
+		}
+		BulkSqlUtils.evictFromCache(this.adaptor, modifiedReferrers);
+		BulkSqlUtils.evictFromCache(this.adaptor, migrated);
+		this.pendingMigrations.clear();
+		return migrated;
+	}
+
+	/*
+	 * Copies the values that carry over into the tables of the new class, deletes the rows of the old class's tables, and updates _class.
+	 */
+	private void migrate(Connection connection, SchemaClass oldClass, SchemaClass newClass, Set<Long> dbIds) throws Exception
+	{
+		List<SchemaClass> oldHierarchy = BulkSqlUtils.classAndAncestors(oldClass);
+		List<SchemaClass> newHierarchy = BulkSqlUtils.classAndAncestors(newClass);
+		// Tables of the classes that the instances are leaving, and of the classes they are joining. Shared ancestors (DatabaseObject) are not touched.
+		List<SchemaClass> leaving = oldHierarchy.stream().filter(c -> !newHierarchy.contains(c)).collect(Collectors.toList());
+		List<SchemaClass> joining = newHierarchy.stream().filter(c -> !oldHierarchy.contains(c)).collect(Collectors.toList());
+
+		// For each class table being joined: the single-valued attributes that carry over, and where they come from.
+		Map<String, Map<SchemaAttribute, SchemaAttribute>> joiningColumns = new LinkedHashMap<>();
+		joining.forEach(c -> joiningColumns.put(c.getName(), new LinkedHashMap<>()));
+		List<SchemaAttribute[]> multiValuedCopies = new ArrayList<>();
+		List<String> dropped = new ArrayList<>();
+		@SuppressWarnings("unchecked")
+		Collection<SchemaAttribute> oldAttributes = (Collection<SchemaAttribute>) oldClass.getAttributes();
+		for (SchemaAttribute oldAttribute : oldAttributes)
+		{
+			if (!leaving.contains(oldAttribute.getOrigin()))
+			{
+				continue;
+			}
+			SchemaAttribute newAttribute = newClass.isValidAttribute(oldAttribute.getName()) ? newClass.getAttribute(oldAttribute.getName()) : null;
+			if (newAttribute == null || newAttribute.isMultiple() != oldAttribute.isMultiple() || newAttribute.isInstanceTypeAttribute() != oldAttribute.isInstanceTypeAttribute())
+			{
+				dropped.add(oldAttribute.getName());
+			}
+			else if (newAttribute.isMultiple())
+			{
+				multiValuedCopies.add(new SchemaAttribute[] { oldAttribute, newAttribute });
+			}
+			else
+			{
+				joiningColumns.get(newAttribute.getOrigin().getName()).put(newAttribute, oldAttribute);
+			}
+		}
+		if (!dropped.isEmpty())
+		{
+			logger.info("Attributes {} are not valid for {}, so their values will be dropped from the GO terms that are moved there from {}.", dropped, newClass.getName(), oldClass.getName());
+		}
+
+		for (List<Long> chunk : BulkSqlUtils.chunk(dbIds))
+		{
+			String inList = " IN (" + BulkSqlUtils.placeholders(chunk.size()) + ")";
+			// Parents before children, so that each class table row is in place before the more specific ones.
+			List<SchemaClass> joiningTopDown = new ArrayList<>(joining);
+			joiningTopDown.sort((a, b) -> Integer.compare(BulkSqlUtils.depth(a), BulkSqlUtils.depth(b)));
+			for (SchemaClass joiningClass : joiningTopDown)
+			{
+				Map<SchemaAttribute, SchemaAttribute> columns = joiningColumns.get(joiningClass.getName());
+				StringBuilder insertColumns = new StringBuilder("DB_ID");
+				StringBuilder selectColumns = new StringBuilder("d.DB_ID");
+				Set<String> sourceTables = new LinkedHashSet<>();
+				for (Map.Entry<SchemaAttribute, SchemaAttribute> column : columns.entrySet())
+				{
+					String source = BulkSqlUtils.tableName(column.getValue()) + "." + column.getValue().getName();
+					sourceTables.add(BulkSqlUtils.tableName(column.getValue()));
+					insertColumns.append(", ").append(column.getKey().getName());
+					if (column.getKey().isInstanceTypeAttribute())
+					{
+						String allowed = allowedClassNames(column.getKey()).stream().map(c -> "'" + c + "'").collect(Collectors.joining(","));
+						String condition = "CASE WHEN " + source + "_class IN (" + allowed + ") THEN ";
+						insertColumns.append(", ").append(column.getKey().getName()).append("_class");
+						selectColumns.append(", ").append(condition).append(source).append(" END");
+						selectColumns.append(", ").append(condition).append(source).append("_class END");
+					}
+					else
+					{
+						selectColumns.append(", ").append(source);
+					}
+				}
+				StringBuilder from = new StringBuilder(ReactomeJavaConstants.DatabaseObject + " d");
+				for (String sourceTable : sourceTables)
+				{
+					from.append(" LEFT JOIN ").append(sourceTable).append(" ON ").append(sourceTable).append(".DB_ID = d.DB_ID");
+				}
+				executeUpdate(connection, "INSERT INTO " + joiningClass.getName() + " (" + insertColumns + ") SELECT " + selectColumns + " FROM " + from + " WHERE d.DB_ID" + inList, chunk);
+			}
+			for (SchemaAttribute[] copy : multiValuedCopies)
+			{
+				String column = copy[1].getName();
+				String columns = "DB_ID, " + column + "_rank, " + column + (copy[1].isInstanceTypeAttribute() ? ", " + column + "_class" : "");
+				String filter = "";
+				if (copy[1].isInstanceTypeAttribute())
+				{
+					filter = " AND " + column + "_class IN (" + allowedClassNames(copy[1]).stream().map(c -> "'" + c + "'").collect(Collectors.joining(",")) + ")";
+				}
+				executeUpdate(connection, "INSERT INTO " + BulkSqlUtils.tableName(copy[1]) + " (" + columns + ") SELECT " + columns
+										+ " FROM " + BulkSqlUtils.tableName(copy[0]) + " WHERE DB_ID" + inList + filter, chunk);
+			}
+			// Now the old class's rows can go: multi-valued attribute tables first, then class tables from the most specific class up.
+			for (SchemaAttribute oldAttribute : oldAttributes)
+			{
+				if (oldAttribute.isMultiple() && leaving.contains(oldAttribute.getOrigin()))
+				{
+					executeUpdate(connection, "DELETE FROM " + BulkSqlUtils.tableName(oldAttribute) + " WHERE DB_ID" + inList, chunk);
+				}
+			}
+			List<SchemaClass> leavingBottomUp = new ArrayList<>(leaving);
+			leavingBottomUp.sort((a, b) -> Integer.compare(BulkSqlUtils.depth(b), BulkSqlUtils.depth(a)));
+			for (SchemaClass leavingClass : leavingBottomUp)
+			{
+				executeUpdate(connection, "DELETE FROM " + leavingClass.getName() + " WHERE DB_ID" + inList, chunk);
+			}
+			try (PreparedStatement update = connection.prepareStatement("UPDATE " + ReactomeJavaConstants.DatabaseObject + " SET _class = ? WHERE DB_ID" + inList))
+			{
+				update.setString(1, newClass.getName());
+				BulkSqlUtils.setIds(update, 2, chunk);
+				update.executeUpdate();
+			}
+		}
+	}
+
+	/*
+	 * Updates the "_class" columns of references to the migrated instances. References through attributes that do not allow the new class
+	 * are cleared if they come from GO terms, and reported if they don't. Returns the DB_IDs of the referrers whose references were cleared.
+	 */
+	private Set<Long> updateReferrers(Connection connection, SchemaClass oldClass, SchemaClass newClass, Set<Long> dbIds) throws Exception
+	{
+		Set<Long> clearedReferrers = new HashSet<>();
+		@SuppressWarnings("unchecked")
+		Collection<GKSchemaAttribute> referringAttributes = (Collection<GKSchemaAttribute>) oldClass.getReferers();
+		Set<String> visited = new HashSet<>();
+		for (GKSchemaAttribute attribute : referringAttributes)
+		{
+			String table = BulkSqlUtils.tableName(attribute);
+			String column = attribute.getName();
+			if (!visited.add(table + "." + column))
+			{
+				continue;
+			}
+			boolean allowed = allowedClassNames(attribute).contains(newClass.getName());
+			boolean fromGOTerm = GO_CLASSES.stream().anyMatch(attribute.getOrigin()::isa);
+			if (allowed)
+			{
+				if (this.context.getUndoLog().isEnabled())
+				{
+					Set<Long> referrers = new HashSet<>();
+					BulkSqlUtils.selectReferringIds(connection, table, column, dbIds, referrers);
+					this.context.getUndoLog().recordAttribute(connection, attribute, referrers);
+				}
+				for (List<Long> chunk : BulkSqlUtils.chunk(dbIds))
+				{
+					try (PreparedStatement update = connection.prepareStatement("UPDATE " + table + " SET " + column + "_class = ? WHERE " + column + " IN (" + BulkSqlUtils.placeholders(chunk.size()) + ")"))
+					{
+						update.setString(1, newClass.getName());
+						BulkSqlUtils.setIds(update, 2, chunk);
+						update.executeUpdate();
+					}
+				}
+				continue;
+			}
+			Set<Long> referrers = new HashSet<>();
+			BulkSqlUtils.selectReferringIds(connection, table, column, dbIds, referrers);
+			if (referrers.isEmpty())
+			{
+				continue;
+			}
+			if (fromGOTerm)
+			{
+				this.context.getUndoLog().recordAttribute(connection, attribute, referrers);
+				String statement = attribute.isMultiple()
+									? "DELETE FROM " + table + " WHERE " + column
+									: "UPDATE " + table + " SET " + column + " = NULL, " + column + "_class = NULL WHERE " + column;
+				for (List<Long> chunk : BulkSqlUtils.chunk(dbIds))
+				{
+					executeUpdate(connection, statement + " IN (" + BulkSqlUtils.placeholders(chunk.size()) + ")", chunk);
+				}
+				logger.info("CLEARED {}.{} on {} GO terms, because it does not allow {} (the new class of the GO terms they referred to).", table, column, referrers.size(), newClass.getName());
+				clearedReferrers.addAll(referrers);
+			}
+			else
+			{
+				logger.warn("{} instances refer to GO terms that were moved from {} to {} via {}.{}, which does not allow {}. These references need to be checked manually: {}",
+							referrers.size(), oldClass.getName(), newClass.getName(), table, column, newClass.getName(), referrers);
+			}
+		}
+		return clearedReferrers;
+	}
+
+	/*
+	 * The names of the classes (including subclasses) that an instance-valued attribute allows.
+	 */
+	private static Set<String> allowedClassNames(SchemaAttribute attribute)
+	{
+		Set<String> names = new HashSet<>();
+		@SuppressWarnings("unchecked")
+		List<SchemaClass> toVisit = new ArrayList<>((Collection<SchemaClass>) attribute.getAllowedClasses());
+		while (!toVisit.isEmpty())
+		{
+			SchemaClass schemaClass = toVisit.remove(toVisit.size() - 1);
+			if (names.add(schemaClass.getName()))
+			{
+				@SuppressWarnings("unchecked")
+				Collection<SchemaClass> subClasses = (Collection<SchemaClass>) schemaClass.getSubClasses();
+				if (subClasses != null)
+				{
+					toVisit.addAll(subClasses);
+				}
+			}
+		}
+		return names;
+	}
+
+	private static void executeUpdate(Connection connection, String sql, List<Long> ids) throws Exception
+	{
+		try (PreparedStatement statement = connection.prepareStatement(sql))
+		{
+			BulkSqlUtils.setIds(statement, 1, ids);
+			statement.executeUpdate();
+		}
+	}
+}
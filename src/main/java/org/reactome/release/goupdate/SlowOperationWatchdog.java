@@ -0,0 +1,204 @@
+package org.reactome.release.goupdate;
+
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+
+import org.apache.logging.log4j.LogManager;
+import org.apache.logging.log4j.Logger;
+import org.gk.model.GKInstance;
+import org.gk.model.ReactomeJavaConstants;
+
+/**
+ * Watches database operations on GO terms (such as getReferers, or the bulk deletion of obsolete terms) while they run, and reports any that take longer than a
+ * threshold: the operation, the GO accession, the DB_ID, and the stack of the thread that is stuck in it. Without this, a single call that
+ * takes minutes on a heavily referenced GO term only shows up in the total elapsed time.<br/>
+ * Each slow operation is logged once when it passes the threshold, and again when it finishes, which is also when it is counted in the run
+ * metrics ("watchdog.slowOperations", and the "watchdog.slowOperationMillis" histogram).
+ */
+class SlowOperationWatchdog
+{
+	private static final Logger logger = LogManager.getLogger();
+	private static final SlowOperationWatchdog DISABLED = new SlowOperationWatchdog(0, null);
+
+	private final long thresholdNanos;
+	private final GoUpdateMetrics metrics;
+	private final Map<Operation, Boolean> inFlight = new ConcurrentHashMap<>();
+	private ScheduledExecutorService checker;
+
+	/**
+	 * @param thresholdMillis - Operations that take longer than this are reported.
+	 * @param metrics - The metrics that slow operations are counted in.
+	 */
+	SlowOperationWatchdog(long thresholdMillis, GoUpdateMetrics metrics)
+	{
+		this.thresholdNanos = TimeUnit.MILLISECONDS.toNanos(thresholdMillis);
+		this.metrics = metrics;
+	}
+
+	/**
+	 * @return A watchdog that is disabled: it watches nothing, and has no thread.
+	 */
+	static SlowOperationWatchdog disabled()
+	{
+		return DISABLED;
+	}
+
+	boolean isEnabled()
+	{
+		return this != DISABLED;
+	}
+
+	/**
+	 * Starts the thread that checks the operations in flight. It checks four times per threshold, so an operation is reported at most a
+	 * quarter of the threshold late.
+	 */
+	void start()
+	{
+		if (this.isEnabled() && this.checker == null)
+		{
+			this.checker = Executors.newSingleThreadScheduledExecutor(runnable -> {
+				Thread thread = new Thread(runnable, "go-update-watchdog");
+				thread.setDaemon(true);
+				return thread;
+			});
+			long period = Math.max(1, this.thresholdNanos / 4);
+			this.checker.scheduleAtFixedRate(this::check, period, period, TimeUnit.NANOSECONDS);
+		}
+	}
+
+	/**
+	 * Stops the checking thread.
+	 */
+	void stop()
+	{
+		if (this.checker != null)
+		{
+			this.checker.shutdownNow();
+			this.checker = null;
+		}
+	}
+
+	/**
+	 * Starts watching an operation on a GO term. Close the returned Operation when the operation is done (use try-with-resources).
+	 * @param operation - The name of the operation, such as "getReferers(activity)".
+	 * @param goTerm - The GO term it is for. Its accession is only read if the watchdog is enabled.
+	 * @return The operation.
+	 */
+	Operation watch(String operation, GKInstance goTerm)
+	{
+		if (!this.isEnabled())
+		{
+			return this.watch(operation, null, null);
+		}
+		String accession = null;
+		try
+		{
+			accession = (String) goTerm.getAttributeValue(ReactomeJavaConstants.accession);
+		}
+		catch (Exception e)
+		{
+			// Not a GO term (or the accession could not be loaded): it is reported without one.
+		}
+		return this.watch(operation, accession, goTerm.getDBID());
+	}
+
+	/**
+	 * Starts watching an operation. Close the returned Operation when the operation is done (use try-with-resources).
+	 * @param operation - The name of the operation.
+	 * @param accession - The GO accession it is for. May be null.
+	 * @param dbId - The DB_ID it is for. May be null.
+	 * @return The operation.
+	 */
+	Operation watch(String operation, String accession, Long dbId)
+	{
+		Operation watched = new Operation(operation, accession, dbId);
+		if (this.isEnabled())
+		{
+			this.inFlight.put(watched, Boolean.TRUE);
+		}
+		return watched;
+	}
+
+	/**
+	 * @return The number of operations being watched right now.
+	 */
+	int getInFlightCount()
+	{
+		return this.inFlight.size();
+	}
+
+	/*
+	 * Runs on the checking thread: reports (once) each operation that has passed the threshold, with the stack of the thread that is running it.
+	 */
+	void check()
+	{
+		long now = System.nanoTime();
+		for (Operation operation : this.inFlight.keySet())
+		{
+			if (!operation.reported && now - operation.start >= this.thresholdNanos)
+			{
+				operation.reported = true;
+				StringBuilder stack = new StringBuilder();
+				for (StackTraceElement element : operation.thread.getStackTrace())
+				{
+					stack.append("\n\tat ").append(element);
+				}
+				logger.warn("Slow operation: {} has been running for {} ms on thread \"{}\":{}", operation, TimeUnit.NANOSECONDS.toMillis(now - operation.start),
+							operation.thread.getName(), stack);
+			}
+		}
+	}
+
+	/**
+	 * An operation that is being watched.
+	 */
+	class Operation implements AutoCloseable
+	{
+		private final String operation;
+		private final String accession;
+		private final Long dbId;
+		private final Thread thread = Thread.currentThread();
+		private final long start = System.nanoTime();
+		private volatile boolean reported;
+
+		private Operation(String operation, String accession, Long dbId)
+		{
+			this.operation = operation;
+			this.accession = accession;
+			this.dbId = dbId;
+		}
+
+		/**
+		 * @return true if the watchdog has reported this operation as slow.
+		 */
+		boolean isReported()
+		{
+			return this.reported;
+		}
+
+		@Override
+		public String toString()
+		{
+			return this.operation + (this.accession != null ? " on GO:" + this.accession : "") + (this.dbId != null ? " (DB_ID " + this.dbId + ")" : "");
+		}
+
+		@Override
+		public void close()
+		{
+			if (SlowOperationWatchdog.this.inFlight.remove(this) != null)
+			{
+				long elapsedMillis = TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - this.start);
+				// The checking thread may not have got to it yet.
+				if (this.reported || elapsedMillis >= TimeUnit.NANOSECONDS.toMillis(SlowOperationWatchdog.this.thresholdNanos))
+				{
+					logger.warn("Slow operation: {} finished after {} ms.", this, elapsedMillis);
+					SlowOperationWatchdog.this.metrics.increment("watchdog.slowOperations");
+					SlowOperationWatchdog.this.metrics.record("watchdog.slowOperationMillis", elapsedMillis);
+				}
+			}
+		}
+	}
+}
@@ -0,0 +1,224 @@
+package org.reactome.release.goupdate;
+
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+
+import org.apache.logging.log4j.LogManager;
+import org.apache.logging.log4j.Logger;
+
+/**
+ * Counts and times the database calls that go through a {@link ProfilingMySQLAdaptor}, grouped by the phase of the update that was running
+ * and the go-update class that made the call.<br/>
+ * It also looks for "N+1" patterns: the same per-instance call (for example, fetching the referrers of one instance via one attribute) made
+ * over and over from the same line of code in one phase. Each of those is a loop that could probably be replaced by one set-based query.
+ */
+class SqlProfiler
+{
+	private static final Logger logger = LogManager.getLogger();
+	// Per-instance calls made at least this many times from one line of code in one phase are reported as possible N+1 patterns.
+	static final int N_PLUS_ONE_THRESHOLD = 100;
+	private static final String PACKAGE_PREFIX = SqlProfiler.class.getPackage().getName() + ".";
+	private static final SqlProfiler DISABLED = new SqlProfiler(0);
+
+	private int topN;
+	private String phase = "startup";
+	// Nested calls (the adaptor calling its own public methods) are only counted once, as part of the outermost call.
+	private int depth;
+	// Keyed by phase, calling class and operation.
+	private Map<List<String>, CallStats> calls = new HashMap<>();
+	// Keyed by phase, calling line and operation (with its detail, such as the attribute name). Only per-instance calls.
+	private Map<List<String>, CallStats> perInstanceCalls = new HashMap<>();
+
+	/**
+	 * @param topN - The number of rows to report in {@link #report()}.
+	 */
+	SqlProfiler(int topN)
+	{
+		this.topN = topN;
+	}
+
+	/**
+	 * @return A profiler that is disabled, and records nothing.
+	 */
+	static SqlProfiler disabled()
+	{
+		return DISABLED;
+	}
+
+	boolean isEnabled()
+	{
+		return this != DISABLED;
+	}
+
+	/**
+	 * Sets the phase that calls are counted under, until the next call to this method.
+	 * @param phase - The name of the phase.
+	 */
+	void setPhase(String phase)
+	{
+		if (this.isEnabled())
+		{
+			this.phase = phase;
+		}
+	}
+
+	/**
+	 * Starts timing a call. Close the returned Call when the call is done (use try-with-resources).
+	 * @param operation - The adaptor method.
+	 * @param detail - What the call was for, such as an attribute or class name. May be null.
+	 * @param perInstance - true if the call is for a single instance, so that repeating it is a possible N+1 pattern.
+	 * @return The call.
+	 */
+	Call start(String operation, String detail, boolean perInstance)
+	{
+		return new Call(operation, detail, perInstance);
+	}
+
+	private void record(String operation, String detail, boolean perInstance, long nanos)
+	{
+		StackWalker.StackFrame caller = findCaller();
+		String callerClass = caller != null ? caller.getClassName().substring(caller.getClassName().lastIndexOf('.') + 1) : "(unknown)";
+		this.calls.computeIfAbsent(List.of(this.phase, callerClass, operation), k -> new CallStats()).add(nanos);
+		if (perInstance && caller != null)
+		{
+			String callerLine = callerClass + "." + caller.getMethodName() + ":" + caller.getLineNumber();
+			String call = detail != null ? operation + "(" + detail + ")" : operation;
+			this.perInstanceCalls.computeIfAbsent(List.of(this.phase, callerLine, call), k -> new CallStats()).add(nanos);
+		}
+	}
+
+	/*
+	 * The innermost go-update frame that is not part of the profiling itself (or of the wrappers around adaptor calls: the flight recorder
+	 * events, and ReferrerIndex.fetchReferrers).
+	 * Calls made by the CuratorTool API (such as lazy loading of attribute values) are attributed to the go-update code that caused them.
+	 */
+	private static StackWalker.StackFrame findCaller()
+	{
+		Optional<StackWalker.StackFrame> caller = StackWalker.getInstance().walk(frames -> frames
+				.filter(f -> f.getClassName().startsWith(PACKAGE_PREFIX) && !isProfilingClass(f.getClassName())
+							&& !(f.getClassName().equals(ReferrerIndex.class.getName()) && f.getMethodName().equals("fetchReferrers")))
+				.findFirst());
+		return caller.orElse(null);
+	}
+
+	private static boolean isProfilingClass(String className)
+	{
+		String outerClassName = className.contains("$") ? className.substring(0, className.indexOf('$')) : className;
+		return outerClassName.equals(SqlProfiler.class.getName()) || outerClassName.equals(ProfilingMySQLAdaptor.class.getName())
+				|| outerClassName.equals(GoUpdateEvents.class.getName());
+	}
+
+	/**
+	 * @return The total number of calls that were counted.
+	 */
+	long getCallCount()
+	{
+		return this.calls.values().stream().mapToLong(s -> s.count).sum();
+	}
+
+	/**
+	 * @return The possible N+1 patterns: (phase, calling line, call) of per-instance calls that were repeated at least {@link #N_PLUS_ONE_THRESHOLD} times, most frequent first.
+	 */
+	List<List<String>> getNPlusOneSuspects()
+	{
+		List<List<String>> suspects = new ArrayList<>();
+		this.perInstanceCalls.entrySet().stream()
+			.filter(e -> e.getValue().count >= N_PLUS_ONE_THRESHOLD)
+			.sorted(Comparator.comparingLong((Map.Entry<List<String>, CallStats> e) -> e.getValue().count).reversed())
+			.forEach(e -> suspects.add(e.getKey()));
+		return suspects;
+	}
+
+	/**
+	 * Builds the report: the top N (phase, class, operation) groups by total time, and the possible N+1 patterns.
+	 * @return The report, as a plain-text table.
+	 */
+	String report()
+	{
+		StringBuilder report = new StringBuilder();
+		report.append(String.format("Top %d database call groups by total time (%d calls in total):%n", this.topN, this.getCallCount()));
+		report.append(String.format("%-14s %-28s %-32s %10s %12s %10s %10s%n", "Phase", "Caller", "Operation", "Calls", "Total ms", "Mean us", "Max ms"));
+		this.calls.entrySet().stream()
+			.sorted(Comparator.comparingLong((Map.Entry<List<String>, CallStats> e) -> e.getValue().nanos).reversed())
+			.limit(this.topN)
+			.forEach(e -> {
+				CallStats stats = e.getValue();
+				report.append(String.format("%-14s %-28s %-32s %10d %12d %10d %10d%n", e.getKey().get(0), e.getKey().get(1), e.getKey().get(2),
+											stats.count, stats.nanos / 1_000_000, stats.nanos / stats.count / 1000, stats.maxNanos / 1_000_000));
+			});
+		List<List<String>> suspects = this.getNPlusOneSuspects();
+		if (!suspects.isEmpty())
+		{
+			report.append(String.format("Possible N+1 patterns (the same per-instance call repeated at least %d times from one line):%n", N_PLUS_ONE_THRESHOLD));
+			for (List<String> suspect : suspects)
+			{
+				CallStats stats = this.perInstanceCalls.get(suspect);
+				report.append(String.format("  %s: %s called %s %d times (%d ms)%n", suspect.get(0), suspect.get(1), suspect.get(2), stats.count, stats.nanos / 1_000_000));
+			}
+		}
+		return report.toString();
+	}
+
+	/**
+	 * Logs the report, if the profiler is enabled.
+	 */
+	void logReport()
+	{
+		if (this.isEnabled())
+		{
+			logger.info("\n{}", this.report());
+		}
+	}
+
+	/**
+	 * A database call that is being timed.
+	 */
+	class Call implements AutoCloseable
+	{
+		private String operation;
+		private String detail;
+		private boolean perInstance;
+		private long start;
+		private boolean outermost;
+
+		private Call(String operation, String detail, boolean perInstance)
+		{
+			this.operation = operation;
+			this.detail = detail;
+			this.perInstance = perInstance;
+			this.outermost = SqlProfiler.this.isEnabled() && SqlProfiler.this.depth++ == 0;
+			this.start = this.outermost ? System.nanoTime() : 0;
+		}
+
+		@Override
+		public void close()
+		{
+			if (SqlProfiler.this.isEnabled())
+			{
+				SqlProfiler.this.depth--;
+				if (this.outermost)
+				{
+					SqlProfiler.this.record(this.operation, this.detail, this.perInstance, System.nanoTime() - this.start);
+				}
+			}
+		}
+	}
+
+	private static class CallStats
+	{
+		private long count;
+		private long nanos;
+		private long maxNanos;
+
+		private void add(long callNanos)
+		{
+			this.count++;
+			this.nanos += callNanos;
+			this.maxNanos = Math.max(this.maxNanos, callNanos);
+		}
+	}
+}
@@ -0,0 +1,142 @@
+package org.reactome.release.goupdate;
+
+/**
+ * A small open-addressing string pool. Values can be looked up straight from a region of a char array, so a String
+ * is only allocated the first time a value is seen. Values that repeat heavily (such as EC numbers in the ec2go file)
+ * end up sharing a single String instance.
+ */
+class StringPool
+{
+	private static final int INITIAL_CAPACITY = 1024;
+
+	private String[] table;
+	private int size;
+
+	StringPool()
+	{
+		this(INITIAL_CAPACITY);
+	}
+
+	/**
+	 * Creates a new pool.
+	 * @param expectedSize - The number of distinct strings that are expected to be stored in the pool.
+	 */
+	StringPool(int expectedSize)
+	{
+		int capacity = Integer.highestOneBit(Math.max(16, expectedSize * 2) - 1) << 1;
+		this.table = new String[capacity];
+	}
+
+	/**
+	 * Gets the pooled String whose content is <code>chars[start..end)</code>. If no such String is in the pool yet, a new one is created and added.
+	 * @param chars - The characters.
+	 * @param start - The start of the region (inclusive).
+	 * @param end - The end of the region (exclusive).
+	 * @return The pooled String.
+	 */
+	String intern(char[] chars, int start, int end)
+	{
+		// Same hash as String.hashCode(), so that stored Strings can be compared by their (cached) hash first.
+		int hash = 0;
+		for (int i = start; i < end; i++)
+		{
+			hash = 31 * hash + chars[i];
+		}
+		int mask = this.table.length - 1;
+		int slot = spread(hash) & mask;
+		String candidate;
+		while ((candidate = this.table[slot]) != null)
+		{
+			if (candidate.hashCode() == hash && regionEquals(candidate, chars, start, end))
+			{
+				return candidate;
+			}
+			slot = (slot + 1) & mask;
+		}
+		String value = new String(chars, start, end - start);
+		this.table[slot] = value;
+		if (++this.size * 2 > this.table.length)
+		{
+			this.resize();
+		}
+		return value;
+	}
+
+	/**
+	 * Gets the pooled String that is equal to <code>s</code>. If there is none, <code>s</code> itself is added to the pool.
+	 * @param s - The string.
+	 * @return The pooled String, or null if <code>s</code> is null.
+	 */
+	String intern(String s)
+	{
+		if (s == null)
+		{
+			return null;
+		}
+		int mask = this.table.length - 1;
+		int slot = spread(s.hashCode()) & mask;
+		String candidate;
+		while ((candidate = this.table[slot]) != null)
+		{
+			if (candidate.equals(s))
+			{
+				return candidate;
+			}
+			slot = (slot + 1) & mask;
+		}
+		this.table[slot] = s;
+		if (++this.size * 2 > this.table.length)
+		{
+			this.resize();
+		}
+		return s;
+	}
+
+	/**
+	 * @return The number of distinct Strings in the pool.
+	 */
+	int size()
+	{
+		return this.size;
+	}
+
+	private void resize()
+	{
+		String[] oldTable = this.table;
+		this.table = new String[oldTable.length * 2];
+		int mask = this.table.length - 1;
+		for (String s : oldTable)
+		{
+			if (s != null)
+			{
+				int slot = spread(s.hashCode()) & mask;
+				while (this.table[slot] != null)
+				{
+					slot = (slot + 1) & mask;
+				}
+				this.table[slot] = s;
+			}
+		}
+	}
+
+	private static int spread(int hash)
+	{
+		return hash ^ (hash >>> 16);
+	}
+
+	private static boolean regionEquals(String s, char[] chars, int start, int end)
+	{
+		if (s.length() != end - start)
+		{
+			return false;
+		}
+		for (int i = start; i < end; i++)
+		{
+			if (s.charAt(i - start) != chars[i])
+			{
+				return false;
+			}
+		}
+		return true;
+	}
+}
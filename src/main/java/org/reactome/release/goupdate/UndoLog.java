@@ -0,0 +1,448 @@
+package org.reactome.release.goupdate;
+
+import java.io.BufferedWriter;
+import java.io.FileOutputStream;
+import java.io.IOException;
+import java.io.OutputStreamWriter;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+import org.apache.logging.log4j.LogManager;
+import org.apache.logging.log4j.Logger;
+import org.gk.model.GKInstance;
+import org.gk.schema.SchemaAttribute;
+import org.gk.schema.SchemaClass;
+
+/**
+ * An append-only log of everything a GO Update run changes, written so that the run can be rolled back with {@link UndoLogReplayer}
+ * instead of by restoring a database dump.<br/>
+ * The log is a text file with one tab-separated record per line:
+ * <ul>
+ * <li><code>CREATED &lt;DB_ID&gt;</code> - an instance was created.</li>
+ * <li><code>INSTANCE_EDIT &lt;DB_ID&gt;</code> - an InstanceEdit was created.</li>
+ * <li><code>ATTRIBUTE &lt;DB_ID&gt; &lt;class&gt; &lt;attribute&gt; &lt;value&gt;...</code> - the values an attribute had before it was changed. The class is the one
+ * that defines the attribute. Instance values are written as <code>@&lt;DB_ID&gt;:&lt;class&gt;</code>, other values as <code>=&lt;value&gt;</code> (with tabs,
+ * line breaks and backslashes escaped). No values means the attribute was empty.</li>
+ * <li><code>DELETED &lt;DB_ID&gt; &lt;class&gt;</code> - an instance was deleted. It is preceded by ATTRIBUTE records for all of its attributes.</li>
+ * <li><code>MIGRATED &lt;DB_ID&gt; &lt;old class&gt; &lt;new class&gt;</code> - an instance was moved to a different class. It is preceded by ATTRIBUTE records
+ * for all of its attributes.</li>
+ * </ul>
+ * Changes to "modified" lists of instances that are only updated are not logged: they only ever get this run's InstanceEdits appended, and those are removed
+ * along with the InstanceEdits. Deleted and migrated instances have their "modified" lists logged with the rest of their attributes, since those are lost
+ * (or rewritten) with the instance; {@link UndoLogReplayer} leaves this run's InstanceEdits out when it restores them.<br/>
+ * Records are buffered, and {@link #sync()} must be called before each commit: nothing in the log needs to be on disk before the changes it describes are committed.<br/>
+ * A run's log is in its {@link GoUpdateContext}. Until a log is set there, the context's log is disabled and records nothing.
+ */
+class UndoLog
+{
+	private static final Logger logger = LogManager.getLogger();
+
+	static final String CREATED = "CREATED";
+	static final String INSTANCE_EDIT = "INSTANCE_EDIT";
+	static final String ATTRIBUTE = "ATTRIBUTE";
+	static final String DELETED = "DELETED";
+	static final String MIGRATED = "MIGRATED";
+
+	private static final UndoLog DISABLED = new UndoLog(null, null);
+
+	private Path path;
+	private FileOutputStream outputStream;
+	private BufferedWriter writer;
+
+	/**
+	 * A record read back from an undo log.
+	 */
+	static class Record
+	{
+		private final String type;
+		private final Long dbId;
+		private final List<String> fields;
+
+		Record(String type, Long dbId, List<String> fields)
+		{
+			this.type = type;
+			this.dbId = dbId;
+			this.fields = fields;
+		}
+
+		/**
+		 * @return The type of record: {@link UndoLog#CREATED}, {@link UndoLog#INSTANCE_EDIT}, {@link UndoLog#ATTRIBUTE}, {@link UndoLog#DELETED} or {@link UndoLog#MIGRATED}.
+		 */
+		String getType()
+		{
+			return this.type;
+		}
+
+		/**
+		 * @return The DB_ID of the instance the record is about.
+		 */
+		Long getDbId()
+		{
+			return this.dbId;
+		}
+
+		/**
+		 * @return The fields after the DB_ID. For ATTRIBUTE records, values are still encoded (see {@link UndoLog#decodeValue(String)}).
+		 */
+		List<String> getFields()
+		{
+			return this.fields;
+		}
+	}
+
+	private UndoLog(Path path, FileOutputStream outputStream)
+	{
+		this.path = path;
+		this.outputStream = outputStream;
+		if (outputStream != null)
+		{
+			this.writer = new BufferedWriter(new OutputStreamWriter(outputStream, StandardCharsets.UTF_8));
+		}
+	}
+
+	/**
+	 * Opens an undo log for appending.
+	 * @param path - The log file. It will be created if it does not exist.
+	 * @return The log.
+	 * @throws IOException
+	 */
+	static UndoLog open(Path path) throws IOException
+	{
+		return new UndoLog(path, new FileOutputStream(path.toFile(), true));
+	}
+
+	/**
+	 * @return A log that is disabled, and records nothing.
+	 */
+	static UndoLog disabled()
+	{
+		return DISABLED;
+	}
+
+	/**
+	 * @return true if this log records anything. Callers can use this to skip work that is only needed for the log.
+	 */
+	boolean isEnabled()
+	{
+		return this.writer != null;
+	}
+
+	/**
+	 * Records instances that are about to be created.
+	 * @param dbIds - Their DB_IDs.
+	 */
+	void recordCreated(Collection<Long> dbIds)
+	{
+		for (Long dbId : dbIds)
+		{
+			this.append(CREATED, dbId.toString());
+		}
+	}
+
+	/**
+	 * Records an InstanceEdit that was created.
+	 * @param dbId - Its DB_ID.
+	 */
+	void recordInstanceEdit(Long dbId)
+	{
+		this.append(INSTANCE_EDIT, dbId.toString());
+	}
+
+	/**
+	 * Records the current values of an attribute of an instance, from the instance itself. Call this before changing the attribute.
+	 * @param instance - The instance.
+	 * @param attributeName - The attribute.
+	 * @throws Exception
+	 */
+	void recordAttribute(GKInstance instance, String attributeName) throws Exception
+	{
+		if (!this.isEnabled())
+		{
+			return;
+		}
+		SchemaAttribute attribute = instance.getSchemClass().getAttribute(attributeName);
+		List<String> fields = new ArrayList<>(Arrays.asList(ATTRIBUTE, instance.getDBID().toString(), attribute.getOrigin().getName(), attributeName));
+		for (Object value : instance.getAttributeValuesList(attributeName))
+		{
+			fields.add(encodeValue(value));
+		}
+		this.append(fields.toArray(new String[0]));
+	}
+
+	/**
+	 * Records an instance that is about to be deleted through the adaptor, with all of its attributes.
+	 * @param instance - The instance.
+	 * @throws Exception
+	 */
+	void recordDeleted(GKInstance instance) throws Exception
+	{
+		if (!this.isEnabled())
+		{
+			return;
+		}
+		for (SchemaAttribute attribute : attributesToRecord(instance.getSchemClass()))
+		{
+			this.recordAttribute(instance, attribute.getName());
+		}
+		this.append(DELETED, instance.getDBID().toString(), instance.getSchemClass().getName());
+	}
+
+	/**
+	 * Records the current values of an attribute of many instances, read from the database. Call this before changing the attribute with SQL.
+	 * @param connection - The database connection.
+	 * @param attribute - The attribute.
+	 * @param dbIds - The DB_IDs of the instances.
+	 * @throws SQLException
+	 */
+	void recordAttribute(Connection connection, SchemaAttribute attribute, Collection<Long> dbIds) throws SQLException
+	{
+		if (!this.isEnabled() || dbIds.isEmpty())
+		{
+			return;
+		}
+		String column = attribute.getName();
+		String columns = "DB_ID, " + column + (attribute.isInstanceTypeAttribute() ? ", " + column + "_class" : "");
+		String order = attribute.isMultiple() ? " ORDER BY DB_ID, " + column + "_rank" : "";
+		for (List<Long> chunk : BulkSqlUtils.chunk(dbIds))
+		{
+			// Every DB_ID gets a record, even if the attribute is empty, so that values added later are removed when it is restored.
+			Map<Long, List<String>> values = new LinkedHashMap<>();
+			chunk.forEach(dbId -> values.put(dbId, new ArrayList<>()));
+			try (PreparedStatement select = connection.prepareStatement("SELECT " + columns + " FROM " + BulkSqlUtils.tableName(attribute)
+																		+ " WHERE DB_ID IN (" + BulkSqlUtils.placeholders(chunk.size()) + ")" + order))
+			{
+				BulkSqlUtils.setIds(select, 1, chunk);
+				try (ResultSet results = select.executeQuery())
+				{
+					while (results.next())
+					{
+						String value = results.getString(2);
+						if (value != null)
+						{
+							values.get(results.getLong(1)).add(attribute.isInstanceTypeAttribute() ? "@" + value + ":" + results.getString(3) : "=" + escape(value));
+						}
+					}
+				}
+			}
+			for (Map.Entry<Long, List<String>> entry : values.entrySet())
+			{
+				List<String> fields = new ArrayList<>(Arrays.asList(ATTRIBUTE, entry.getKey().toString(), attribute.getOrigin().getName(), column));
+				fields.addAll(entry.getValue());
+				this.append(fields.toArray(new String[0]));
+			}
+		}
+	}
+
+	/**
+	 * Records instances that are about to be deleted with SQL, with all of their attributes read from the database.
+	 * @param connection - The database connection.
+	 * @param schemaClass - The class of the instances.
+	 * @param dbIds - Their DB_IDs.
+	 * @throws SQLException
+	 */
+	void recordDeleted(Connection connection, SchemaClass schemaClass, Collection<Long> dbIds) throws SQLException
+	{
+		this.recordAllAttributes(connection, schemaClass, dbIds);
+		for (Long dbId : dbIds)
+		{
+			this.append(DELETED, dbId.toString(), schemaClass.getName());
+		}
+	}
+
+	/**
+	 * Records instances that are about to be moved to a different class, with all of their attributes read from the database.
+	 * @param connection - The database connection.
+	 * @param oldClass - The class they are in now.
+	 * @param newClassName - The class they are moving to.
+	 * @param dbIds - Their DB_IDs.
+	 * @throws SQLException
+	 */
+	void recordMigrated(Connection connection, SchemaClass oldClass, String newClassName, Collection<Long> dbIds) throws SQLException
+	{
+		this.recordAllAttributes(connection, oldClass, dbIds);
+		for (Long dbId : dbIds)
+		{
+			this.append(MIGRATED, dbId.toString(), oldClass.getName(), newClassName);
+		}
+	}
+
+	private void recordAllAttributes(Connection connection, SchemaClass schemaClass, Collection<Long> dbIds) throws SQLException
+	{
+		if (!this.isEnabled())
+		{
+			return;
+		}
+		for (SchemaAttribute attribute : attributesToRecord(schemaClass))
+		{
+			this.recordAttribute(connection, attribute, dbIds);
+		}
+	}
+
+	/*
+	 * All attributes of a class, except DB_ID (which identifies the record). This includes "modified" (see the class comment).
+	 */
+	private static List<SchemaAttribute> attributesToRecord(SchemaClass schemaClass)
+	{
+		List<SchemaAttribute> attributes = new ArrayList<>();
+		@SuppressWarnings("unchecked")
+		Collection<SchemaAttribute> allAttributes = (Collection<SchemaAttribute>) schemaClass.getAttributes();
+		for (SchemaAttribute attribute : allAttributes)
+		{
+			if (!attribute.getName().equals("DB_ID"))
+			{
+				attributes.add(attribute);
+			}
+		}
+		return attributes;
+	}
+
+	/**
+	 * Writes everything recorded so far to disk. Call this before committing.
+	 */
+	void sync()
+	{
+		if (!this.isEnabled())
+		{
+			return;
+		}
+		try
+		{
+			this.writer.flush();
+			this.outputStream.getFD().sync();
+		}
+		catch (IOException e)
+		{
+			logger.error("Could not write the undo log " + this.path + "; it will not be possible to undo this run completely.", e);
+		}
+	}
+
+	/**
+	 * Writes everything recorded so far to disk and closes the log. Nothing is recorded after that.
+	 */
+	void close()
+	{
+		if (!this.isEnabled())
+		{
+			return;
+		}
+		this.sync();
+		try
+		{
+			this.writer.close();
+		}
+		catch (IOException e)
+		{
+			logger.error("Could not close the undo log " + this.path, e);
+		}
+		this.writer = null;
+	}
+
+	/**
+	 * Reads an undo log.
+	 * @param path - The log file.
+	 * @return The records, in the order they were written.
+	 * @throws IOException
+	 */
+	static List<Record> read(Path path) throws IOException
+	{
+		List<Record> records = new ArrayList<>();
+		for (String line : Files.readAllLines(path, StandardCharsets.UTF_8))
+		{
+			if (line.isEmpty())
+			{
+				continue;
+			}
+			// -1: keep trailing empty fields, which are empty strings.
+			String[] parts = line.split("\t", -1);
+			records.add(new Record(parts[0], Long.valueOf(parts[1]), Arrays.asList(parts).subList(2, parts.length)));
+		}
+		return records;
+	}
+
+	/**
+	 * Encodes an attribute value for the log.
+	 * @param value - The value: a GKInstance or a primitive value.
+	 * @return The encoded value.
+	 */
+	static String encodeValue(Object value)
+	{
+		if (value instanceof GKInstance)
+		{
+			GKInstance instance = (GKInstance) value;
+			return "@" + instance.getDBID() + ":" + instance.getSchemClass().getName();
+		}
+		if (value instanceof Boolean)
+		{
+			// The way Boolean values are stored in the database.
+			return "=" + ((Boolean) value ? "TRUE" : "FALSE");
+		}
+		return "=" + escape(value.toString());
+	}
+
+	/**
+	 * Decodes an attribute value from the log.
+	 * @param encodedValue - The encoded value.
+	 * @return The value, as a String for primitive values, or as a two-element array of (DB_ID, class name) for instance values.
+	 */
+	static Object decodeValue(String encodedValue)
+	{
+		if (encodedValue.startsWith("@"))
+		{
+			int separator = encodedValue.indexOf(':');
+			return new String[] { encodedValue.substring(1, separator), encodedValue.substring(separator + 1) };
+		}
+		return unescape(encodedValue.substring(1));
+	}
+
+	private static String escape(String value)
+	{
+		return value.replace("\\", "\\\\").replace("\t", "\\t").replace("\n", "\\n").replace("\r", "\\r");
+	}
+
+	private static String unescape(String value)
+	{
+		StringBuilder unescaped = new StringBuilder(value.length());
+		for (int i = 0; i < value.length(); i++)
+		{
+			char c = value.charAt(i);
+			if (c == '\\' && i + 1 < value.length())
+			{
+				char next = value.charAt(++i);
+				unescaped.append(next == 't' ? '\t' : next == 'n' ? '\n' : next == 'r' ? '\r' : next);
+			}
+			else
+			{
+				unescaped.append(c);
+			}
+		}
+		return unescaped.toString();
+	}
+
+	private void append(String... fields)
+	{
+		if (!this.isEnabled())
+		{
+			return;
+		}
+		try
+		{
+			this.writer.write(String.join("\t", fields));
+			this.writer.newLine();
+		}
+		catch (IOException e)
+		{
+			logger.error("Could not write to the undo log " + this.path + "; it will not be possible to undo this run completely.", e);
+		}
+	}
+}
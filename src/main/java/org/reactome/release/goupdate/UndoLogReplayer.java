@@ -0,0 +1,348 @@
+package org.reactome.release.goupdate;
+
+import java.io.FileInputStream;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Properties;
+import java.util.Set;
+
+import org.apache.logging.log4j.LogManager;
+import org.apache.logging.log4j.Logger;
+import org.gk.model.ReactomeJavaConstants;
+import org.gk.persistence.MySQLAdaptor;
+import org.gk.schema.SchemaAttribute;
+import org.gk.schema.SchemaClass;
+import org.reactome.release.goupdate.UndoLog.Record;
+import org.reactome.util.general.DBUtils;
+
+/**
+ * Rolls back a GO Update run by replaying its {@link UndoLog}. Run it with the same properties file as the GO Update, followed by the undo log(s) to replay:<br/>
+ * <code>java -cp go-update.jar org.reactome.release.goupdate.UndoLogReplayer ./go-update.properties reports/go_update_undo_20200101_120000.log</code><br/>
+ * If a run was resumed (see <code>chunkedCommits</code>), each attempt has its own log: pass them newest first.<br/>
+ * Each log is undone in one transaction, with set-based or batched statements:
+ * <ol>
+ * <li>Instances created by the run (other than InstanceEdits) are deleted.</li>
+ * <li>Instances deleted by the run are re-created (as empty rows in their class tables).</li>
+ * <li>Instances moved to a different class are moved back.</li>
+ * <li>Every attribute the run changed is set back to the values it had before the run changed it the first time, without any of the
+ * run's InstanceEdits (a deleted instance's "modified" list is recorded as it was when it was deleted).</li>
+ * <li>The InstanceEdits created by the run are removed from the instances that refer to them, and deleted.</li>
+ * </ol>
+ * No InstanceEdits are created for the rollback itself.
+ */
+public class UndoLogReplayer
+{
+	private static final Logger logger = LogManager.getLogger();
+
+	private MySQLAdaptor adaptor;
+	// Rolling back is not a GO update run: nothing is recorded in an undo log, watched or profiled.
+	private GoUpdateContext context = new GoUpdateContext();
+
+	/**
+	 * Creates a new replayer.
+	 * @param adaptor - The adaptor for the database that the run changed.
+	 */
+	UndoLogReplayer(MySQLAdaptor adaptor)
+	{
+		this.adaptor = adaptor;
+	}
+
+	/**
+	 * @param args - The path to the properties file, followed by the paths to the undo logs.
+	 */
+	public static void main(String[] args)
+	{
+		if (args.length < 2)
+		{
+			System.err.println("Usage: UndoLogReplayer <properties file> <undo log>...");
+			System.exit(1);
+		}
+		try
+		{
+			Properties props = new Properties();
+			try (FileInputStream propertiesStream = new FileInputStream(args[0]))
+			{
+				props.load(propertiesStream);
+			}
+			UndoLogReplayer replayer = new UndoLogReplayer(DBUtils.getCuratorDbAdaptor(props));
+			for (int i = 1; i < args.length; i++)
+			{
+				replayer.replay(Paths.get(args[i]));
+			}
+		}
+		catch (Exception e)
+		{
+			e.printStackTrace();
+			System.exit(1);
+		}
+	}
+
+	/**
+	 * Undoes everything recorded in an undo log, in one transaction.
+	 * @param logPath - The undo log.
+	 * @throws Exception
+	 */
+	void replay(Path logPath) throws Exception
+	{
+		List<Record> records = UndoLog.read(logPath);
+		logger.info("Undoing {} records from {}", records.size(), logPath);
+		this.adaptor.startTransaction();
+		try
+		{
+			this.replay(records);
+			this.adaptor.commit();
+		}
+		catch (Exception e)
+		{
+			this.adaptor.rollback();
+			throw e;
+		}
+		logger.info("{} has been undone.", logPath);
+	}
+
+	/**
+	 * Undoes a list of undo log records. Does not start or commit a transaction.
+	 * @param records - The records, in the order they were written.
+	 * @throws Exception
+	 */
+	void replay(List<Record> records) throws Exception
+	{
+		Set<Long> created = new LinkedHashSet<>();
+		Set<Long> instanceEdits = new LinkedHashSet<>();
+		Map<Long, String> deleted = new LinkedHashMap<>();
+		// DB_ID -> (class before the first migration, class after the last one)
+		Map<Long, String[]> migrated = new LinkedHashMap<>();
+		// Only the first record for each attribute of each instance matters: it has the values from before the run.
+		Map<String, Record> attributes = new LinkedHashMap<>();
+		for (Record record : records)
+		{
+			switch (record.getType())
+			{
+				case UndoLog.CREATED:
+					created.add(record.getDbId());
+					break;
+				case UndoLog.INSTANCE_EDIT:
+					instanceEdits.add(record.getDbId());
+					break;
+				case UndoLog.DELETED:
+					deleted.put(record.getDbId(), record.getFields().get(0));
+					break;
+				case UndoLog.MIGRATED:
+					String[] classes = migrated.computeIfAbsent(record.getDbId(), id -> new String[] { record.getFields().get(0), null });
+					classes[1] = record.getFields().get(1);
+					break;
+				case UndoLog.ATTRIBUTE:
+					attributes.putIfAbsent(record.getDbId() + "\t" + record.getFields().get(0) + "\t" + record.getFields().get(1), record);
+					break;
+				default:
+					logger.warn("Unrecognised undo log record: {}", record.getType());
+			}
+		}
+		// Instances that were created and deleted by the run were never there before it.
+		Set<Long> createdByRun = new LinkedHashSet<>(created);
+		createdByRun.addAll(instanceEdits);
+		deleted.keySet().removeAll(createdByRun);
+		attributes.values().removeIf(r -> createdByRun.contains(r.getDbId()));
+		// Values recorded after the run had already changed an instance (such as the "modified" list of a GO term that was updated and then
+		// deleted) can refer to the run's InstanceEdits, which are about to be deleted. Only those values are left out.
+		attributes.replaceAll((key, r) -> withoutInstanceEdits(r, instanceEdits));
+
+		Connection connection = this.adaptor.getConnection();
+		created.removeAll(instanceEdits);
+		this.recreate(connection, deleted);
+		this.migrateBack(migrated);
+		this.restoreAttributes(connection, attributes.values());
+		// Only now that the redirected referrers refer to the recreated instances again can the created instances be deleted
+		// (BulkDeleter does not delete instances that are still referred to).
+		int deletedCount = new BulkDeleter(this.adaptor, this.context, false).delete(created);
+		logger.info("Deleted {} of the {} instances that were created.", deletedCount, created.size());
+		this.removeInstanceEdits(connection, instanceEdits);
+		Set<Long> changed = new LinkedHashSet<>(deleted.keySet());
+		changed.addAll(migrated.keySet());
+		attributes.values().forEach(r -> changed.add(r.getDbId()));
+		BulkSqlUtils.evictFromCache(this.adaptor, changed);
+	}
+
+	/*
+	 * An ATTRIBUTE record without the values that refer to any of the given InstanceEdits (the record itself, if it has none).
+	 */
+	private static Record withoutInstanceEdits(Record record, Set<Long> instanceEdits)
+	{
+		List<String> fields = new ArrayList<>(record.getFields().subList(0, 2));
+		for (String value : record.getFields().subList(2, record.getFields().size()))
+		{
+			Object decoded = UndoLog.decodeValue(value);
+			if (!(decoded instanceof String[] && instanceEdits.contains(Long.valueOf(((String[]) decoded)[0]))))
+			{
+				fields.add(value);
+			}
+		}
+		return fields.size() == record.getFields().size() ? record : new Record(record.getType(), record.getDbId(), fields);
+	}
+
+	/*
+	 * Puts rows back in the class tables of deleted instances. Their attributes are restored afterwards, with the rest.
+	 */
+	private void recreate(Connection connection, Map<Long, String> deleted) throws Exception
+	{
+		// Table -> DB_IDs, and the depth of each table's class, so that parents are inserted before children.
+		Map<String, List<Long>> classTables = new LinkedHashMap<>();
+		Map<String, Integer> depths = new HashMap<>();
+		for (Map.Entry<Long, String> entry : deleted.entrySet())
+		{
+			for (SchemaClass schemaClass : BulkSqlUtils.classAndAncestors(this.adaptor.getSchema().getClassByName(entry.getValue())))
+			{
+				classTables.computeIfAbsent(schemaClass.getName(), t -> new ArrayList<>()).add(entry.getKey());
+				depths.computeIfAbsent(schemaClass.getName(), t -> BulkSqlUtils.depth(schemaClass));
+			}
+		}
+		List<String> tables = new ArrayList<>(classTables.keySet());
+		tables.sort((a, b) -> Integer.compare(depths.get(a), depths.get(b)));
+		for (String table : tables)
+		{
+			boolean isDatabaseObject = table.equals(ReactomeJavaConstants.DatabaseObject);
+			// IGNORE: a replay that is run again should not fail on rows it already put back.
+			String sql = isDatabaseObject ? "INSERT IGNORE INTO " + table + " (DB_ID, _class) VALUES (?, ?)" : "INSERT IGNORE INTO " + table + " (DB_ID) VALUES (?)";
+			try (PreparedStatement insert = connection.prepareStatement(sql))
+			{
+				for (Long dbId : classTables.get(table))
+				{
+					insert.setLong(1, dbId);
+					if (isDatabaseObject)
+					{
+						insert.setString(2, deleted.get(dbId));
+					}
+					insert.addBatch();
+				}
+				insert.executeBatch();
+			}
+		}
+		logger.info("Re-created {} instances that were deleted.", deleted.size());
+	}
+
+	private void migrateBack(Map<Long, String[]> migrated) throws Exception
+	{
+		SchemaClassMigrator migrator = new SchemaClassMigrator(this.adaptor, this.context, false);
+		for (Map.Entry<Long, String[]> entry : migrated.entrySet())
+		{
+			migrator.addMigration(entry.getKey(), entry.getValue()[1], entry.getValue()[0]);
+		}
+		Set<Long> migratedBack = migrator.execute();
+		logger.info("Moved {} instances back to their original classes.", migratedBack.size());
+	}
+
+	/*
+	 * Sets attributes back to the values in their records. Single-valued attributes are restored with batched UPDATEs, multi-valued
+	 * attributes by deleting their current values and inserting the old ones in batches.
+	 */
+	private void restoreAttributes(Connection connection, Collection<Record> attributeRecords) throws Exception
+	{
+		Map<SchemaAttribute, List<Record>> recordsByAttribute = new LinkedHashMap<>();
+		for (Record record : attributeRecords)
+		{
+			SchemaClass origin = this.adaptor.getSchema().getClassByName(record.getFields().get(0));
+			recordsByAttribute.computeIfAbsent(origin.getAttribute(record.getFields().get(1)), a -> new ArrayList<>()).add(record);
+		}
+		for (Map.Entry<SchemaAttribute, List<Record>> entry : recordsByAttribute.entrySet())
+		{
+			SchemaAttribute attribute = entry.getKey();
+			String table = BulkSqlUtils.tableName(attribute);
+			String column = attribute.getName();
+			boolean isInstance = attribute.isInstanceTypeAttribute();
+			if (attribute.isMultiple())
+			{
+				Set<Long> dbIds = new LinkedHashSet<>();
+				entry.getValue().forEach(r -> dbIds.add(r.getDbId()));
+				for (List<Long> chunk : BulkSqlUtils.chunk(dbIds))
+				{
+					try (PreparedStatement delete = connection.prepareStatement("DELETE FROM " + table + " WHERE DB_ID IN (" + BulkSqlUtils.placeholders(chunk.size()) + ")"))
+					{
+						BulkSqlUtils.setIds(delete, 1, chunk);
+						delete.executeUpdate();
+					}
+				}
+				try (PreparedStatement insert = connection.prepareStatement("INSERT INTO " + table + " (DB_ID, " + column + "_rank, " + column
+																			+ (isInstance ? ", " + column + "_class) VALUES (?, ?, ?, ?)" : ") VALUES (?, ?, ?)")))
+				{
+					for (Record record : entry.getValue())
+					{
+						List<String> values = record.getFields().subList(2, record.getFields().size());
+						for (int rank = 0; rank < values.size(); rank++)
+						{
+							insert.setLong(1, record.getDbId());
+							insert.setInt(2, rank);
+							setValue(insert, 3, isInstance, UndoLog.decodeValue(values.get(rank)));
+							insert.addBatch();
+						}
+					}
+					insert.executeBatch();
+				}
+			}
+			else
+			{
+				try (PreparedStatement update = connection.prepareStatement("UPDATE " + table + " SET " + column + " = ?"
+																			+ (isInstance ? ", " + column + "_class = ? WHERE DB_ID = ?" : " WHERE DB_ID = ?")))
+				{
+					for (Record record : entry.getValue())
+					{
+						Object value = record.getFields().size() > 2 ? UndoLog.decodeValue(record.getFields().get(2)) : null;
+						setValue(update, 1, isInstance, value);
+						update.setLong(isInstance ? 3 : 2, record.getDbId());
+						update.addBatch();
+					}
+					update.executeBatch();
+				}
+			}
+		}
+		logger.info("Restored {} attribute values.", attributeRecords.size());
+	}
+
+	/*
+	 * Sets a decoded value (see UndoLog.decodeValue) as a parameter, and for instance values, its class as the next parameter.
+	 */
+	private static void setValue(PreparedStatement statement, int index, boolean isInstance, Object value) throws Exception
+	{
+		if (isInstance)
+		{
+			String[] instance = (String[]) value;
+			statement.setObject(index, instance != null ? Long.valueOf(instance[0]) : null);
+			statement.setString(index + 1, instance != null ? instance[1] : null);
+		}
+		else
+		{
+			statement.setString(index, (String) value);
+		}
+	}
+
+	/*
+	 * Removes the run's InstanceEdits from "modified" (and "created") and deletes them.
+	 */
+	private void removeInstanceEdits(Connection connection, Set<Long> instanceEdits) throws Exception
+	{
+		for (List<Long> chunk : BulkSqlUtils.chunk(instanceEdits))
+		{
+			String inList = " IN (" + BulkSqlUtils.placeholders(chunk.size()) + ")";
+			for (String sql : new String[] { "DELETE FROM " + ReactomeJavaConstants.DatabaseObject + "_2_" + ReactomeJavaConstants.modified + " WHERE " + ReactomeJavaConstants.modified + inList,
+											"UPDATE " + ReactomeJavaConstants.DatabaseObject + " SET " + ReactomeJavaConstants.created + " = NULL, " + ReactomeJavaConstants.created + "_class = NULL"
+												+ " WHERE " + ReactomeJavaConstants.created + inList })
+			{
+				try (PreparedStatement statement = connection.prepareStatement(sql))
+				{
+					BulkSqlUtils.setIds(statement, 1, chunk);
+					statement.executeUpdate();
+				}
+			}
+		}
+		new BulkDeleter(this.adaptor, this.context, false).delete(instanceEdits);
+		logger.info("Deleted {} InstanceEdits.", instanceEdits.size());
+	}
+}
@@ -0,0 +1,133 @@
+package org.reactome.release.goupdate;
+
+import static org.junit.Assert.assertEquals;
+import static org.mockito.ArgumentMatchers.anyInt;
+import static org.mockito.ArgumentMatchers.anyString;
+
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.Statement;
+import java.util.Arrays;
+import java.util.Collections;
+
+import org.gk.model.GKInstance;
+import org.gk.model.ReactomeJavaConstants;
+import org.gk.persistence.MySQLAdaptor;
+import org.gk.schema.GKSchemaAttribute;
+import org.gk.schema.GKSchemaClass;
+import org.junit.Before;
+import org.junit.Test;
+import org.mockito.Mock;
+import org.mockito.Mockito;
+import org.mockito.MockitoAnnotations;
+
+public class BulkCreatorTest
+{
+	@Mock
+	private MySQLAdaptor adaptor;
+
+	@Mock
+	private Connection connection;
+
+	@Mock
+	private PreparedStatement preparedStatement;
+
+	@Mock
+	private PreparedStatement databaseObjectInsert;
+
+	@Mock
+	private ResultSet generatedKeys;
+
+	@Mock
+	private GKSchemaClass databaseObjectClass;
+
+	@Mock
+	private GKSchemaClass molecularFunctionClass;
+
+	@Mock
+	private GKSchemaClass instanceEditClass;
+
+	@Mock
+	private GKSchemaAttribute createdAttribute;
+
+	@Mock
+	private GKSchemaAttribute accessionAttribute;
+
+	@Mock
+	private GKSchemaAttribute ecNumberAttribute;
+
+	@Mock
+	private GKInstance newTerm;
+
+	@Mock
+	private GKInstance instanceEdit;
+
+	@Before
+	public void setup() throws Exception
+	{
+		MockitoAnnotations.initMocks(this);
+		Mockito.when(adaptor.getConnection()).thenReturn(connection);
+		Mockito.when(connection.prepareStatement(anyString())).thenReturn(preparedStatement);
+		Mockito.when(connection.prepareStatement(anyString(), anyInt())).thenReturn(databaseObjectInsert);
+		Mockito.when(databaseObjectInsert.getGeneratedKeys()).thenReturn(generatedKeys);
+		Mockito.when(generatedKeys.next()).thenReturn(true, false);
+		Mockito.when(generatedKeys.getLong(1)).thenReturn(11L);
+
+		Mockito.when(databaseObjectClass.getName()).thenReturn(ReactomeJavaConstants.DatabaseObject);
+		Mockito.when(databaseObjectClass.getSuperClasses()).thenReturn(Collections.emptyList());
+		Mockito.when(molecularFunctionClass.getName()).thenReturn(ReactomeJavaConstants.GO_MolecularFunction);
+		Mockito.when(molecularFunctionClass.getSuperClasses()).thenReturn(Arrays.asList(databaseObjectClass));
+		Mockito.when(instanceEditClass.getName()).thenReturn(ReactomeJavaConstants.InstanceEdit);
+
+		Mockito.when(createdAttribute.getName()).thenReturn(ReactomeJavaConstants.created);
+		Mockito.when(createdAttribute.getOrigin()).thenReturn(databaseObjectClass);
+		Mockito.when(createdAttribute.isInstanceTypeAttribute()).thenReturn(true);
+		Mockito.when(accessionAttribute.getName()).thenReturn(ReactomeJavaConstants.accession);
+		Mockito.when(accessionAttribute.getOrigin()).thenReturn(molecularFunctionClass);
+		Mockito.when(ecNumberAttribute.getName()).thenReturn(ReactomeJavaConstants.ecNumber);
+		Mockito.when(ecNumberAttribute.getOrigin()).thenReturn(molecularFunctionClass);
+		Mockito.when(ecNumberAttribute.isMultiple()).thenReturn(true);
+		Mockito.when(molecularFunctionClass.getAttributes()).thenReturn(Arrays.asList(createdAttribute, accessionAttribute, ecNumberAttribute));
+
+		Mockito.when(instanceEdit.getDBID()).thenReturn(5L);
+		Mockito.when(instanceEdit.getSchemClass()).thenReturn(instanceEditClass);
+		// No DB_ID until it is stored.
+		Mockito.when(newTerm.getDBID()).thenReturn(null, 11L);
+		Mockito.when(newTerm.getSchemClass()).thenReturn(molecularFunctionClass);
+		Mockito.when(newTerm.getDisplayName()).thenReturn("new term");
+		Mockito.when(newTerm.getAttributeValuesList(createdAttribute)).thenReturn(Arrays.asList(instanceEdit));
+		Mockito.when(newTerm.getAttributeValuesList(accessionAttribute)).thenReturn(Arrays.asList("1234567"));
+		Mockito.when(newTerm.getAttributeValuesList(ecNumberAttribute)).thenReturn(Arrays.asList("1.1.1.1", "2.2.2.2"));
+	}
+
+	@Test
+	public void testStore() throws Exception
+	{
+		BulkCreator creator = new BulkCreator(adaptor, new GoUpdateContext());
+		creator.add(newTerm);
+		assertEquals(1, creator.getPendingCount());
+
+		assertEquals(1, creator.store());
+
+		assertEquals(0, creator.getPendingCount());
+		// The DB_ID that the database generated for the DatabaseObject row.
+		Mockito.verify(newTerm).setDBID(11L);
+		Mockito.verify(newTerm).setIsInflated(true);
+		// DatabaseObject is inserted without a DB_ID, so that the database generates it.
+		Mockito.verify(connection).prepareStatement("INSERT INTO DatabaseObject (_class, _displayName, created, created_class) VALUES (?,?,?,?)", Statement.RETURN_GENERATED_KEYS);
+		Mockito.verify(databaseObjectInsert).addBatch();
+		// The other class table and the attribute table get the generated DB_ID: one row in GO_MolecularFunction, two rows for the EC numbers.
+		Mockito.verify(connection, Mockito.times(2)).prepareStatement(anyString());
+		Mockito.verify(preparedStatement, Mockito.times(3)).setLong(1, 11L);
+		Mockito.verify(preparedStatement, Mockito.times(3)).addBatch();
+	}
+
+	@Test
+	public void testStoreNothing() throws Exception
+	{
+		BulkCreator creator = new BulkCreator(adaptor, new GoUpdateContext());
+		assertEquals(0, creator.store());
+		Mockito.verify(adaptor, Mockito.never()).getConnection();
+	}
+}
@@ -0,0 +1,108 @@
+package org.reactome.release.goupdate;
+
+import static org.junit.Assert.assertEquals;
+import static org.mockito.ArgumentMatchers.anyString;
+
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.HashSet;
+import java.util.LinkedHashSet;
+import java.util.List;
+
+import org.gk.model.ReactomeJavaConstants;
+import org.gk.persistence.MySQLAdaptor;
+import org.gk.schema.GKSchemaAttribute;
+import org.gk.schema.GKSchemaClass;
+import org.gk.schema.Schema;
+import org.junit.Before;
+import org.junit.Test;
+import org.mockito.ArgumentCaptor;
+import org.mockito.Mock;
+import org.mockito.Mockito;
+import org.mockito.MockitoAnnotations;
+
+public class BulkDeleterTest
+{
+	@Mock
+	private MySQLAdaptor adaptor;
+
+	@Mock
+	private Schema schema;
+
+	@Mock
+	private Connection connection;
+
+	@Mock
+	private PreparedStatement preparedStatement;
+
+	@Mock
+	private ResultSet classResults;
+
+	@Mock
+	private GKSchemaClass databaseObjectClass;
+
+	@Mock
+	private GKSchemaClass molecularFunctionClass;
+
+	@Mock
+	private GKSchemaAttribute ecNumberAttribute;
+
+	@Mock
+	private GKSchemaAttribute nameAttribute;
+
+	@Before
+	public void setup() throws Exception
+	{
+		MockitoAnnotations.initMocks(this);
+		Mockito.when(adaptor.getConnection()).thenReturn(connection);
+		Mockito.when(adaptor.getSchema()).thenReturn(schema);
+		Mockito.when(connection.prepareStatement(anyString())).thenReturn(preparedStatement);
+		Mockito.when(preparedStatement.executeQuery()).thenReturn(classResults);
+		// Two GO_MolecularFunctions: 1 and 2.
+		Mockito.when(classResults.next()).thenReturn(true, true, false);
+		Mockito.when(classResults.getLong(1)).thenReturn(1L, 2L);
+		Mockito.when(classResults.getString(2)).thenReturn(ReactomeJavaConstants.GO_MolecularFunction);
+		Mockito.when(preparedStatement.executeUpdate()).thenReturn(2);
+
+		Mockito.when(databaseObjectClass.getName()).thenReturn(ReactomeJavaConstants.DatabaseObject);
+		Mockito.when(databaseObjectClass.getSuperClasses()).thenReturn(Collections.emptyList());
+		Mockito.when(molecularFunctionClass.getName()).thenReturn(ReactomeJavaConstants.GO_MolecularFunction);
+		Mockito.when(molecularFunctionClass.getSuperClasses()).thenReturn(Arrays.asList(databaseObjectClass));
+		Mockito.when(molecularFunctionClass.getReferers()).thenReturn(Collections.emptySet());
+
+		Mockito.when(ecNumberAttribute.getName()).thenReturn("ecNumber");
+		Mockito.when(ecNumberAttribute.getOrigin()).thenReturn(molecularFunctionClass);
+		Mockito.when(ecNumberAttribute.isMultiple()).thenReturn(true);
+		Mockito.when(nameAttribute.getName()).thenReturn(ReactomeJavaConstants.name);
+		Mockito.when(nameAttribute.getOrigin()).thenReturn(molecularFunctionClass);
+		Mockito.when(nameAttribute.isMultiple()).thenReturn(false);
+		Mockito.when(molecularFunctionClass.getAttributes()).thenReturn(Arrays.asList(ecNumberAttribute, nameAttribute));
+		Mockito.when(schema.getClassByName(ReactomeJavaConstants.GO_MolecularFunction)).thenReturn(molecularFunctionClass);
+	}
+
+	@Test
+	public void testDeleteOrderedBySchema() throws Exception
+	{
+		BulkDeleter deleter = new BulkDeleter(adaptor, new GoUpdateContext());
+		int deletedCount = deleter.delete(new LinkedHashSet<>(Arrays.asList(1L, 2L)));
+
+		assertEquals(2, deletedCount);
+		ArgumentCaptor<String> statements = ArgumentCaptor.forClass(String.class);
+		Mockito.verify(connection, Mockito.times(4)).prepareStatement(statements.capture());
+		List<String> sql = statements.getAllValues();
+		// The class lookup, then attribute tables, then class tables from the most specific class up to DatabaseObject - each table only once.
+		// What the statements do is checked against a real database in BulkSqlDatabaseTest.
+		assertEquals("DELETE FROM DatabaseObject WHERE DB_ID IN (?,?)", sql.get(3));
+	}
+
+	@Test
+	public void testDeleteNothing() throws Exception
+	{
+		BulkDeleter deleter = new BulkDeleter(adaptor, new GoUpdateContext());
+		assertEquals(0, deleter.delete(new HashSet<>()));
+		Mockito.verify(adaptor, Mockito.never()).getConnection();
+	}
+}
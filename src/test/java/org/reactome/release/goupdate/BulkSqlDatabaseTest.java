@@ -0,0 +1,256 @@
+package org.reactome.release.goupdate;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+import static org.mockito.ArgumentMatchers.any;
+
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.sql.Connection;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+
+import org.gk.model.GKInstance;
+import org.gk.model.InstanceDisplayNameGenerator;
+import org.gk.model.ReactomeJavaConstants;
+import org.gk.persistence.MySQLAdaptor;
+import org.gk.schema.GKSchemaClass;
+import org.gk.schema.SchemaAttribute;
+import org.junit.AfterClass;
+import org.junit.Before;
+import org.junit.BeforeClass;
+import org.junit.Test;
+import org.junit.runner.RunWith;
+import org.mockito.Mockito;
+import org.powermock.api.mockito.PowerMockito;
+import org.powermock.core.classloader.annotations.PowerMockIgnore;
+import org.powermock.core.classloader.annotations.PrepareForTest;
+import org.powermock.modules.junit4.PowerMockRunner;
+import org.reactome.release.goupdate.GoUpdateInstanceEditUtils.GOUpdateInstEditType;
+
+/**
+ * Runs the bulk classes against a real database (see {@link TestDatabase}), and checks what is in the tables afterwards.
+ */
+@RunWith(PowerMockRunner.class)
+@PrepareForTest({GoUpdateInstanceEditUtils.class, InstanceDisplayNameGenerator.class})
+@PowerMockIgnore({"javax.management.*","javax.script.*", "javax.xml.*", "java.xml.*", "com.sun.org.apache.*", "org.w3c.*", "org.apache.logging.*",
+				"java.sql.*", "javax.sql.*", "javax.net.*", "javax.crypto.*", "javax.security.*", "com.mysql.*", "ch.vorburger.*"})
+public class BulkSqlDatabaseTest
+{
+	// The InstanceEdit that the "run" adds to the instances it changes.
+	private static final long RUN_INSTANCE_EDIT = 900L;
+
+	private static TestDatabase database;
+
+	private MySQLAdaptor adaptor;
+
+	@BeforeClass
+	public static void startDatabase() throws Exception
+	{
+		database = new TestDatabase()
+			.addClass(ReactomeJavaConstants.DatabaseObject, null)
+			.addAttribute(ReactomeJavaConstants.DatabaseObject, ReactomeJavaConstants._displayName, false, null)
+			.addAttribute(ReactomeJavaConstants.DatabaseObject, ReactomeJavaConstants.created, false, ReactomeJavaConstants.InstanceEdit)
+			.addAttribute(ReactomeJavaConstants.DatabaseObject, ReactomeJavaConstants.modified, true, ReactomeJavaConstants.InstanceEdit)
+			.addClass(ReactomeJavaConstants.InstanceEdit, ReactomeJavaConstants.DatabaseObject)
+			.addAttribute(ReactomeJavaConstants.InstanceEdit, ReactomeJavaConstants.note, false, null)
+			.addClass(ReactomeJavaConstants.GO_MolecularFunction, ReactomeJavaConstants.DatabaseObject)
+			.addAttribute(ReactomeJavaConstants.GO_MolecularFunction, ReactomeJavaConstants.accession, false, null)
+			.addAttribute(ReactomeJavaConstants.GO_MolecularFunction, ReactomeJavaConstants.name, false, null)
+			.addAttribute(ReactomeJavaConstants.GO_MolecularFunction, ReactomeJavaConstants.ecNumber, true, null)
+			.addAttribute(ReactomeJavaConstants.GO_MolecularFunction, ReactomeJavaConstants.hasPart, true, ReactomeJavaConstants.GO_MolecularFunction)
+			.addClass(ReactomeJavaConstants.GO_BiologicalProcess, ReactomeJavaConstants.DatabaseObject)
+			.addAttribute(ReactomeJavaConstants.GO_BiologicalProcess, ReactomeJavaConstants.accession, false, null)
+			.addAttribute(ReactomeJavaConstants.GO_BiologicalProcess, ReactomeJavaConstants.name, false, null)
+			.addClass(ReactomeJavaConstants.CatalystActivity, ReactomeJavaConstants.DatabaseObject)
+			.addAttribute(ReactomeJavaConstants.CatalystActivity, ReactomeJavaConstants.activity, false, ReactomeJavaConstants.GO_MolecularFunction);
+	}
+
+	@AfterClass
+	public static void stopDatabase() throws Exception
+	{
+		if (database != null)
+		{
+			database.close();
+		}
+	}
+
+	/*
+	 * InstanceEdit 1 created everything. GO_MolecularFunctions 10 (with two EC numbers), 11 (which has 10 and 13 as parts), 12 and 13.
+	 * CatalystActivity 20 has 10 as its activity, and 21 has 12.
+	 */
+	@Before
+	public void setup() throws Exception
+	{
+		Connection connection = database.reset();
+		this.adaptor = Mockito.mock(MySQLAdaptor.class);
+		Mockito.when(this.adaptor.getConnection()).thenReturn(connection);
+		Mockito.when(this.adaptor.getSchema()).thenReturn(database.getSchema());
+		database.execute("INSERT INTO DatabaseObject (DB_ID, _class, _displayName, created, created_class) VALUES"
+							+ " (1, 'InstanceEdit', 'curator, 2020-01-01', NULL, NULL),"
+							+ " (10, 'GO_MolecularFunction', 'term 10', 1, 'InstanceEdit'),"
+							+ " (11, 'GO_MolecularFunction', 'term 11', 1, 'InstanceEdit'),"
+							+ " (12, 'GO_MolecularFunction', 'term 12', 1, 'InstanceEdit'),"
+							+ " (13, 'GO_MolecularFunction', 'term 13', 1, 'InstanceEdit'),"
+							+ " (20, 'CatalystActivity', 'activity of term 10', 1, 'InstanceEdit'),"
+							+ " (21, 'CatalystActivity', 'activity of term 12', 1, 'InstanceEdit')",
+						"INSERT INTO DatabaseObject_2_modified (DB_ID, modified_rank, modified, modified_class) VALUES (10, 0, 1, 'InstanceEdit')",
+						"INSERT INTO InstanceEdit (DB_ID, note) VALUES (1, 'fixture')",
+						"INSERT INTO GO_MolecularFunction (DB_ID, accession, name) VALUES (10, '0000010', 'term 10'), (11, '0000011', 'term 11'),"
+							+ " (12, '0000012', 'term 12'), (13, '0000013', 'term 13')",
+						"INSERT INTO GO_MolecularFunction_2_ecNumber (DB_ID, ecNumber_rank, ecNumber) VALUES (10, 0, '1.1.1.1'), (10, 1, '2.2.2.2')",
+						"INSERT INTO GO_MolecularFunction_2_hasPart (DB_ID, hasPart_rank, hasPart, hasPart_class) VALUES"
+							+ " (11, 0, 13, 'GO_MolecularFunction'), (11, 1, 10, 'GO_MolecularFunction')",
+						"INSERT INTO CatalystActivity (DB_ID, activity, activity_class) VALUES (20, 10, 'GO_MolecularFunction'), (21, 12, 'GO_MolecularFunction')");
+
+		GKInstance instanceEdit = Mockito.mock(GKInstance.class);
+		Mockito.when(instanceEdit.getDBID()).thenReturn(RUN_INSTANCE_EDIT);
+		PowerMockito.mockStatic(GoUpdateInstanceEditUtils.class);
+		Mockito.when(GoUpdateInstanceEditUtils.getInstanceEditForClass(any(GOUpdateInstEditType.class), any(Class.class))).thenReturn(instanceEdit);
+		// Display names are not regenerated.
+		PowerMockito.mockStatic(InstanceDisplayNameGenerator.class);
+	}
+
+	@Test
+	public void testDelete() throws Exception
+	{
+		BulkDeleter deleter = new BulkDeleter(this.adaptor, new GoUpdateContext());
+		// 10 is only referred to by CatalystActivity 20, which is deleted with it. 12 is still the activity of CatalystActivity 21, so it stays.
+		assertEquals(2, deleter.delete(new HashSet<>(Arrays.asList(10L, 12L, 20L))));
+
+		assertEquals(Collections.singletonMap(12L, Collections.singleton(21L)), deleter.getUndeletable());
+		assertEquals(Arrays.asList("1", "11", "12", "13", "21"), database.query("SELECT DB_ID FROM DatabaseObject ORDER BY DB_ID"));
+		assertTrue(database.query("SELECT DB_ID FROM GO_MolecularFunction_2_ecNumber").isEmpty());
+		assertTrue(database.query("SELECT DB_ID FROM DatabaseObject_2_modified WHERE DB_ID = 10").isEmpty());
+		// The reference from the other GO term is removed, and that term gets the InstanceEdit.
+		assertEquals(Arrays.asList("11\t0\t13"), database.query("SELECT DB_ID, hasPart_rank, hasPart FROM GO_MolecularFunction_2_hasPart"));
+		assertEquals(Arrays.asList("11\t0\t900"), database.query("SELECT DB_ID, modified_rank, modified FROM DatabaseObject_2_modified WHERE DB_ID = 11"));
+	}
+
+	@Test
+	public void testRedirect() throws Exception
+	{
+		ReferrerRedirector redirector = new ReferrerRedirector(this.adaptor, new GoUpdateContext());
+		redirector.addRedirect(this.goTerm(10L), this.goTerm(13L));
+
+		assertEquals(new HashSet<>(Arrays.asList(11L, 20L)), redirector.execute());
+
+		assertEquals(Arrays.asList("20\t13\tGO_MolecularFunction", "21\t12\tGO_MolecularFunction"),
+					database.query("SELECT DB_ID, activity, activity_class FROM CatalystActivity ORDER BY DB_ID"));
+		// 11 already had 13 as a part, so the redirected value is a duplicate and only the one with the lowest rank is kept.
+		assertEquals(Arrays.asList("11\t0\t13"), database.query("SELECT DB_ID, hasPart_rank, hasPart FROM GO_MolecularFunction_2_hasPart"));
+		assertEquals(Arrays.asList("11", "20"), database.query("SELECT DB_ID FROM DatabaseObject_2_modified WHERE modified = 900 ORDER BY DB_ID"));
+		// Nothing refers to 10 any more.
+		assertTrue(database.query("SELECT DB_ID FROM GO_MolecularFunction_2_hasPart WHERE hasPart = 10 UNION SELECT DB_ID FROM CatalystActivity WHERE activity = 10").isEmpty());
+	}
+
+	@Test
+	public void testMigrate() throws Exception
+	{
+		SchemaClassMigrator migrator = new SchemaClassMigrator(this.adaptor, new GoUpdateContext());
+		migrator.addMigration(this.goTerm(10L), ReactomeJavaConstants.GO_BiologicalProcess);
+
+		assertEquals(Collections.singleton(10L), migrator.execute());
+
+		assertEquals(Arrays.asList("GO_BiologicalProcess"), database.query("SELECT _class FROM DatabaseObject WHERE DB_ID = 10"));
+		// accession and name are carried over; the EC numbers are dropped, since GO_BiologicalProcess doesn't have them.
+		assertEquals(Arrays.asList("10\t0000010\tterm 10"), database.query("SELECT DB_ID, accession, name FROM GO_BiologicalProcess"));
+		assertTrue(database.query("SELECT DB_ID FROM GO_MolecularFunction WHERE DB_ID = 10").isEmpty());
+		assertTrue(database.query("SELECT DB_ID FROM GO_MolecularFunction_2_ecNumber").isEmpty());
+		// A GO_MolecularFunction can't have a GO_BiologicalProcess as a part, so 11 loses it.
+		assertEquals(Arrays.asList("11\t13"), database.query("SELECT DB_ID, hasPart FROM GO_MolecularFunction_2_hasPart"));
+		// The CatalystActivity is not a GO term, so it is only reported, and left for a curator.
+		assertEquals(Arrays.asList("10\tGO_MolecularFunction"), database.query("SELECT activity, activity_class FROM CatalystActivity WHERE DB_ID = 20"));
+		// The migrated term keeps its "modified" list, and it and 11 get the InstanceEdits.
+		assertEquals(Arrays.asList("10\t0\t1", "10\t1\t900", "11\t0\t900"), database.query("SELECT DB_ID, modified_rank, modified FROM DatabaseObject_2_modified ORDER BY DB_ID, modified_rank"));
+	}
+
+	@Test
+	public void testCreate() throws Exception
+	{
+		GKSchemaClass molecularFunctionClass = database.getSchemaClass(ReactomeJavaConstants.GO_MolecularFunction);
+		GKInstance creator = this.instance(1L, ReactomeJavaConstants.InstanceEdit);
+		GKInstance part = this.goTerm(13L);
+		// No DB_ID until it is stored.
+		GKInstance newTerm = this.instance(null, ReactomeJavaConstants.GO_MolecularFunction);
+		Mockito.when(newTerm.getDisplayName()).thenReturn("new term");
+		this.setValues(newTerm, molecularFunctionClass, ReactomeJavaConstants.created, creator);
+		this.setValues(newTerm, molecularFunctionClass, ReactomeJavaConstants.accession, "0000099");
+		this.setValues(newTerm, molecularFunctionClass, ReactomeJavaConstants.ecNumber, "3.3.3.3", "4.4.4.4");
+		this.setValues(newTerm, molecularFunctionClass, ReactomeJavaConstants.hasPart, part);
+		BulkCreator creatorOfTerms = new BulkCreator(this.adaptor, new GoUpdateContext());
+		creatorOfTerms.add(newTerm);
+
+		assertEquals(1, creatorOfTerms.store());
+
+		// The database gives it the next DB_ID.
+		Mockito.verify(newTerm).setDBID(22L);
+		assertEquals(Arrays.asList("22\tGO_MolecularFunction\tnew term\t1\tInstanceEdit"),
+					database.query("SELECT DB_ID, _class, _displayName, created, created_class FROM DatabaseObject WHERE DB_ID = 22"));
+		assertEquals(Arrays.asList("22\t0000099\tNULL"), database.query("SELECT DB_ID, accession, name FROM GO_MolecularFunction WHERE DB_ID = 22"));
+		assertEquals(Arrays.asList("22\t0\t3.3.3.3", "22\t1\t4.4.4.4"), database.query("SELECT DB_ID, ecNumber_rank, ecNumber FROM GO_MolecularFunction_2_ecNumber WHERE DB_ID = 22 ORDER BY ecNumber_rank"));
+		assertEquals(Arrays.asList("22\t0\t13\tGO_MolecularFunction"), database.query("SELECT DB_ID, hasPart_rank, hasPart, hasPart_class FROM GO_MolecularFunction_2_hasPart WHERE DB_ID = 22"));
+	}
+
+	@Test
+	public void testUndoLogReplayPutsEverythingBack() throws Exception
+	{
+		Map<String, List<String>> before = database.snapshot();
+		Path logPath = Files.createTempFile("go_update_undo_", ".log");
+		try
+		{
+			GoUpdateContext context = new GoUpdateContext();
+			context.setUndoLog(UndoLog.open(logPath));
+			// The run creates its InstanceEdit, a new term, redirects 12 to 13 and deletes it, and moves 10 to GO_BiologicalProcess.
+			database.execute("INSERT INTO DatabaseObject (DB_ID, _class, _displayName) VALUES (900, 'InstanceEdit', 'GO update')",
+							"INSERT INTO InstanceEdit (DB_ID, note) VALUES (900, 'GO update')");
+			context.getUndoLog().recordInstanceEdit(RUN_INSTANCE_EDIT);
+			GKInstance newTerm = this.instance(null, ReactomeJavaConstants.GO_MolecularFunction);
+			this.setValues(newTerm, database.getSchemaClass(ReactomeJavaConstants.GO_MolecularFunction), ReactomeJavaConstants.created, this.instance(RUN_INSTANCE_EDIT, ReactomeJavaConstants.InstanceEdit));
+			BulkCreator creator = new BulkCreator(this.adaptor, context);
+			creator.add(newTerm);
+			creator.store();
+			ReferrerRedirector redirector = new ReferrerRedirector(this.adaptor, context);
+			redirector.addRedirect(this.goTerm(12L), this.goTerm(13L));
+			redirector.execute();
+			BulkDeleter deleter = new BulkDeleter(this.adaptor, context);
+			assertEquals(1, deleter.delete(Collections.singleton(12L)));
+			SchemaClassMigrator migrator = new SchemaClassMigrator(this.adaptor, context);
+			migrator.addMigration(this.goTerm(10L), ReactomeJavaConstants.GO_BiologicalProcess);
+			migrator.execute();
+			context.getUndoLog().close();
+			assertTrue(!before.equals(database.snapshot()));
+
+			new UndoLogReplayer(this.adaptor).replay(UndoLog.read(logPath));
+
+			assertEquals(before, database.snapshot());
+		}
+		finally
+		{
+			Files.delete(logPath);
+		}
+	}
+
+	private GKInstance goTerm(Long dbId)
+	{
+		return this.instance(dbId, ReactomeJavaConstants.GO_MolecularFunction);
+	}
+
+	private GKInstance instance(Long dbId, String className)
+	{
+		GKInstance instance = Mockito.mock(GKInstance.class);
+		GKSchemaClass schemaClass = database.getSchemaClass(className);
+		Mockito.when(instance.getDBID()).thenReturn(dbId);
+		Mockito.when(instance.getSchemClass()).thenReturn(schemaClass);
+		return instance;
+	}
+
+	private void setValues(GKInstance instance, GKSchemaClass schemaClass, String attributeName, Object... values) throws Exception
+	{
+		SchemaAttribute attribute = schemaClass.getAttribute(attributeName);
+		Mockito.when(instance.getAttributeValuesList(attribute)).thenReturn(Arrays.asList(values));
+	}
+}
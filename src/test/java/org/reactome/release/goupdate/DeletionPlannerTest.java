@@ -0,0 +1,124 @@
+package org.reactome.release.goupdate;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertTrue;
+import static org.mockito.Mockito.mock;
+
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+
+import org.gk.model.GKInstance;
+import org.gk.model.ReactomeJavaConstants;
+import org.gk.schema.GKSchemaAttribute;
+import org.gk.schema.GKSchemaClass;
+import org.junit.Before;
+import org.junit.Test;
+import org.mockito.Mockito;
+
+public class DeletionPlannerTest
+{
+	private GKSchemaClass biologicalProcessClass = mock(GKSchemaClass.class);
+	private GKSchemaClass eventClass = mock(GKSchemaClass.class);
+	private GKSchemaAttribute goBiologicalProcessAttribute = mock(GKSchemaAttribute.class);
+	// Any other attribute that a non-GO instance can refer to a GO term through.
+	private GKSchemaAttribute otherAttribute = mock(GKSchemaAttribute.class);
+	private GKInstance event = mock(GKInstance.class);
+	private Map<String, Map<String, Object>> goTerms = new HashMap<>();
+
+	@Before
+	public void setup()
+	{
+		Mockito.when(biologicalProcessClass.isa(ReactomeJavaConstants.GO_BiologicalProcess)).thenReturn(true);
+		Mockito.when(biologicalProcessClass.getReferers()).thenReturn(new HashSet<>(Arrays.asList(goBiologicalProcessAttribute, otherAttribute)));
+		Mockito.when(goBiologicalProcessAttribute.getName()).thenReturn(ReactomeJavaConstants.goBiologicalProcess);
+		Mockito.when(otherAttribute.getName()).thenReturn("otherAttribute");
+		Mockito.when(event.getSchemClass()).thenReturn(eventClass);
+
+		Map<String, Object> live = new HashMap<>();
+		goTerms.put("0000002", live);
+		// A live term in the file, but not in the database.
+		goTerms.put("0000003", new HashMap<>());
+	}
+
+	@Test
+	public void testClassification() throws Exception
+	{
+		// Replaced, and nothing refers to it.
+		GKInstance replacedNoReferrers = goTerm(1L, "0000010", "0000002");
+		// Replaced, but an Event refers to it via goBiologicalProcess, which prevents deletion.
+		GKInstance replacedWithBlockingReferrer = goTerm(2L, "0000011", "0000002");
+		Mockito.when(replacedWithBlockingReferrer.getReferers(goBiologicalProcessAttribute)).thenReturn(Arrays.asList(event));
+		// Not replaced, and nothing refers to it.
+		GKInstance notReplacedNoReferrers = goTerm(3L, "0000012", null);
+		// Not replaced, and an Event refers to it.
+		GKInstance notReplacedWithReferrer = goTerm(4L, "0000013", null);
+		Mockito.when(notReplacedWithReferrer.getReferers(goBiologicalProcessAttribute)).thenReturn(Arrays.asList(event));
+
+		DeletionPlanner planner = new DeletionPlanner(goTerms, ReplacementResolver.resolve(goTerms), new ReferrerIndex(new GoUpdateContext()), "0000002"::equals);
+		assertTrue(planner.addCandidate(replacedNoReferrers, "0000010"));
+		assertTrue(planner.addCandidate(replacedWithBlockingReferrer, "0000011"));
+		assertTrue(planner.addCandidate(notReplacedNoReferrers, "0000012"));
+		assertTrue(planner.addCandidate(notReplacedWithReferrer, "0000013"));
+		// Adding the same instance again does nothing.
+		assertFalse(planner.addCandidate(notReplacedWithReferrer, "0000013"));
+		assertEquals(4, planner.getCandidateCount());
+
+		List<DeletionPlanner.PlannedDeletion> plan = planner.plan();
+
+		assertEquals(DeletionPlanner.Action.AUTO_DELETE_NO_REFERRERS, plan.get(0).getAction());
+		assertEquals("0000002", plan.get(0).getReplacementAccession());
+		assertEquals(DeletionPlanner.Action.MANUAL, plan.get(1).getAction());
+		assertEquals(Arrays.asList(event), plan.get(1).getBlockingReferrers());
+		assertEquals(DeletionPlanner.Action.AUTO_DELETE_NO_REFERRERS, plan.get(2).getAction());
+		assertNull(plan.get(2).getReplacementAccession());
+		assertEquals(DeletionPlanner.Action.MANUAL, plan.get(3).getAction());
+		assertEquals("N/A", plan.get(3).getSuggestedReplacements());
+	}
+
+	@Test
+	public void testReplacementNotInDatabase() throws Exception
+	{
+		// Replaced by a term that is in the database, and an Event refers to it (not via goBiologicalProcess).
+		GKInstance replacedWithReferrer = goTerm(1L, "0000010", "0000002");
+		Mockito.when(replacedWithReferrer.getReferers(otherAttribute)).thenReturn(Arrays.asList(event));
+		// Replaced by a term that is not in the database, and an Event refers to it.
+		GKInstance unresolvedWithReferrer = goTerm(2L, "0000011", "0000003");
+		Mockito.when(unresolvedWithReferrer.getReferers(otherAttribute)).thenReturn(Arrays.asList(event));
+		// Replaced by a term that is not in the database, and nothing refers to it.
+		GKInstance unresolvedNoReferrers = goTerm(3L, "0000012", "0000003");
+
+		DeletionPlanner planner = new DeletionPlanner(goTerms, ReplacementResolver.resolve(goTerms), new ReferrerIndex(new GoUpdateContext()), "0000002"::equals);
+		planner.addCandidate(replacedWithReferrer, "0000010");
+		planner.addCandidate(unresolvedWithReferrer, "0000011");
+		planner.addCandidate(unresolvedNoReferrers, "0000012");
+
+		List<DeletionPlanner.PlannedDeletion> plan = planner.plan();
+
+		assertEquals(DeletionPlanner.Action.AUTO_DELETE_WITH_REDIRECT, plan.get(0).getAction());
+		// The Event could not be redirected, so it would be left referring to a deleted instance.
+		assertEquals(DeletionPlanner.Action.MANUAL, plan.get(1).getAction());
+		assertEquals(Arrays.asList(event), plan.get(1).getBlockingReferrers());
+		assertEquals("Replace by: 0000003", plan.get(1).getSuggestedReplacements());
+		assertEquals(DeletionPlanner.Action.AUTO_DELETE_NO_REFERRERS, plan.get(2).getAction());
+	}
+
+	private GKInstance goTerm(Long dbId, String accession, String replacedBy)
+	{
+		GKInstance instance = mock(GKInstance.class);
+		Mockito.when(instance.getDBID()).thenReturn(dbId);
+		Mockito.when(instance.getSchemClass()).thenReturn(biologicalProcessClass);
+		Map<String, Object> goTerm = new HashMap<>();
+		goTerm.put(GoUpdateConstants.IS_OBSOLETE, true);
+		if (replacedBy != null)
+		{
+			goTerm.put(GoUpdateConstants.REPLACED_BY, Arrays.asList(replacedBy));
+		}
+		goTerms.put(accession, goTerm);
+		return instance;
+	}
+}
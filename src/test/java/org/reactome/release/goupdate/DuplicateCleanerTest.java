@@ -1,10 +1,13 @@
 package org.reactome.release.goupdate;
 
+import static org.junit.Assert.assertEquals;
 import static org.junit.Assert.assertTrue;
 
+import java.sql.Connection;
 import java.sql.SQLException;
 import java.util.ArrayList;
 import java.util.Arrays;
+import java.util.Collections;
 import java.util.HashMap;
 import java.util.Map;
 import java.util.Properties;
@@ -27,11 +30,13 @@ import org.powermock.api.mockito.PowerMockito;
 import org.powermock.core.classloader.annotations.PowerMockIgnore;
 import org.powermock.core.classloader.annotations.PrepareForTest;
 import org.powermock.modules.junit4.PowerMockRunner;
+import org.reactome.util.general.DBUtils;
 
 @RunWith(PowerMockRunner.class)
-@PrepareForTest({DuplicateReporter.class, DuplicateCleaner.class, MySQLAdaptor.class})
+@PrepareForTest({DuplicateReporter.class, DuplicateCleaner.class, MySQLAdaptor.class, DBUtils.class})
 @MockitoSettings(strictness = Strictness.WARN)
-@PowerMockIgnore({"javax.management.*","javax.script.*"})
+@PowerMockIgnore({"javax.management.*","javax.script.*",
+				"java.sql.*", "javax.sql.*", "javax.net.*", "javax.crypto.*", "javax.security.*", "com.mysql.*", "ch.vorburger.*"})
 public class DuplicateCleanerTest
 {
 
@@ -127,4 +132,65 @@ public class DuplicateCleanerTest
 		// If we get here without crashing, the test passed.
 		assertTrue(true);
 	}
+
+	/**
+	 * A GO term still refers to the duplicate that is deleted: the reference is cleared, without an InstanceEdit (there is no person to create one for).
+	 * Runs against a real database (see {@link TestDatabase}).
+	 * @throws Exception
+	 */
+	@Test
+	public void testExecuteStepWithGOTermReferrer() throws Exception
+	{
+		try (TestDatabase database = new TestDatabase())
+		{
+			database.addClass(ReactomeJavaConstants.DatabaseObject, null)
+				.addAttribute(ReactomeJavaConstants.DatabaseObject, ReactomeJavaConstants._displayName, false, null)
+				.addAttribute(ReactomeJavaConstants.DatabaseObject, ReactomeJavaConstants.modified, true, ReactomeJavaConstants.InstanceEdit)
+				.addClass(ReactomeJavaConstants.InstanceEdit, ReactomeJavaConstants.DatabaseObject)
+				.addClass(ReactomeJavaConstants.GO_MolecularFunction, ReactomeJavaConstants.DatabaseObject)
+				.addAttribute(ReactomeJavaConstants.GO_MolecularFunction, ReactomeJavaConstants.accession, false, null)
+				.addAttribute(ReactomeJavaConstants.GO_MolecularFunction, ReactomeJavaConstants.hasPart, true, ReactomeJavaConstants.GO_MolecularFunction);
+			Connection connection = database.reset();
+			// 10 and 11 have the same accession, and 11 is newer. 12 has 10 as a part.
+			database.execute("INSERT INTO DatabaseObject (DB_ID, _class, _displayName) VALUES (1, 'InstanceEdit', 'curator, 2019-01-01'),"
+								+ " (2, 'InstanceEdit', 'curator, 2020-01-01'), (10, 'GO_MolecularFunction', 'term 10'),"
+								+ " (11, 'GO_MolecularFunction', 'term 10'), (12, 'GO_MolecularFunction', 'term 12')",
+							"INSERT INTO DatabaseObject_2_modified (DB_ID, modified_rank, modified, modified_class) VALUES"
+								+ " (10, 0, 1, 'InstanceEdit'), (11, 0, 2, 'InstanceEdit'), (12, 0, 1, 'InstanceEdit')",
+							"INSERT INTO GO_MolecularFunction (DB_ID, accession) VALUES (10, '0000010'), (11, '0000010'), (12, '0000012')",
+							"INSERT INTO GO_MolecularFunction_2_hasPart (DB_ID, hasPart_rank, hasPart, hasPart_class) VALUES (12, 0, 10, 'GO_MolecularFunction')");
+			PowerMockito.mockStatic(DBUtils.class);
+			Mockito.when(DBUtils.getCuratorDbAdaptor(ArgumentMatchers.any())).thenReturn(mockAdaptor);
+			Mockito.when(mockAdaptor.getConnection()).thenReturn(connection);
+			Mockito.when(mockAdaptor.getSchema()).thenReturn(database.getSchema());
+			GKInstance olderInstance = this.goTerm(10L, "2019-01-01 00:00:00.0");
+			GKInstance newerInstance = this.goTerm(11L, "2020-01-01 00:00:00.0");
+			Mockito.when(mockAdaptor.fetchInstance(10L)).thenReturn(olderInstance);
+			Mockito.when(mockAdaptor.fetchInstanceByAttribute(ReactomeJavaConstants.GO_MolecularFunction, ReactomeJavaConstants.accession, "=", "0000010"))
+					.thenReturn(Arrays.asList(olderInstance, newerInstance));
+			PowerMockito.whenNew(DuplicateReporter.class).withAnyArguments().thenReturn(mockReporter);
+			Mockito.when(mockReporter.getDuplicateAccessions()).thenReturn(Collections.singletonMap("0000010", 2));
+			Map<Long, Integer> referrerCounts = new HashMap<>();
+			referrerCounts.put(10L, 0);
+			referrerCounts.put(11L, 0);
+			Mockito.when(mockReporter.getReferrerCountForAccession(ArgumentMatchers.anyString(), ArgumentMatchers.any())).thenReturn(referrerCounts);
+
+			duplicateCleaner = new DuplicateCleaner();
+			duplicateCleaner.executeStep(new Properties());
+
+			assertEquals(Arrays.asList("1", "2", "11", "12"), database.query("SELECT DB_ID FROM DatabaseObject ORDER BY DB_ID"));
+			assertTrue(database.query("SELECT DB_ID FROM GO_MolecularFunction_2_hasPart").isEmpty());
+			assertEquals(Arrays.asList("11\t2", "12\t1"), database.query("SELECT DB_ID, modified FROM DatabaseObject_2_modified ORDER BY DB_ID, modified_rank"));
+		}
+	}
+
+	private GKInstance goTerm(long dbId, String modifiedDate) throws Exception
+	{
+		GKInstance instance = Mockito.mock(GKInstance.class);
+		GKInstance modified = Mockito.mock(GKInstance.class);
+		Mockito.when(modified.getAttributeValue(ReactomeJavaConstants.dateTime)).thenReturn(modifiedDate);
+		Mockito.when(instance.getDBID()).thenReturn(dbId);
+		Mockito.when(instance.getAttributeValue(ReactomeJavaConstants.modified)).thenReturn(modified);
+		return instance;
+	}
 }
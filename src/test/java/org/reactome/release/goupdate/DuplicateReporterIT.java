@@ -37,7 +37,7 @@ public class DuplicateReporterIT
 	@Test
 	public void testGetDuplicateAccessions() throws SQLException
 	{
-		DuplicateReporter dupeReporter = new DuplicateReporter(adaptor);
+		DuplicateReporter dupeReporter = new DuplicateReporter(adaptor, new GoUpdateMetrics());
 		
 		Map<String, Integer> duplicates = dupeReporter.getDuplicateAccessions();
 		
@@ -61,7 +61,7 @@ public class DuplicateReporterIT
 		int totalDuplicatesCount = 0;
 		int instancesWithSignificantReferrers = 0;
 		
-		DuplicateReporter dupeReporter = new DuplicateReporter(adaptor);
+		DuplicateReporter dupeReporter = new DuplicateReporter(adaptor, new GoUpdateMetrics());
 		
 		Map<String, Integer> duplicates = dupeReporter.getDuplicateAccessions();
 		
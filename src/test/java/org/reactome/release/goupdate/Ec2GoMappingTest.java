@@ -0,0 +1,78 @@
+package org.reactome.release.goupdate;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertSame;
+import static org.junit.Assert.assertTrue;
+
+import java.io.StringReader;
+import java.util.Arrays;
+import java.util.List;
+
+import org.junit.Test;
+
+public class Ec2GoMappingTest
+{
+	private static final String sampleEc2GoText = "! Generated on 2018-06-04T11:27Z from the ontology 'go' with data version: 'releases/2017-03-31'\n" +
+			"!\n" +
+			"EC:1 > GO:N-ethylmaleimide reductase activity ; GO:0008748\n" +
+			"EC:1 > GO:oxidoreductase activity ; GO:0016491\n" +
+			"EC:1.1.1.1 > GO:alcohol dehydrogenase (NAD+) activity ; GO:0004022\n" +
+			"EC:1.1.1.2 > GO:alcohol dehydrogenase (NADP+) activity ; GO:0008106\n" +
+			"EC:1.1.1.71 > GO:alcohol dehydrogenase [NAD(P)+] activity ; GO:0018455\n" +
+			"EC:1.1.1.-- > GO:not a valid EC number ; GO:0000001\n" +
+			"EC:3.4.21.- > GO:also not valid ; GO:0000002\n" +
+			"EC:1.2 > GO:oxidoreductase activity ; GO:0016491\r\n" +
+			"EC:2.7.11.1 > GO:protein serine/threonine kinase activity ; GO:0004674\n" +
+			"EC:2.7.11.1 > GO:no accession at the end ; GO:\n" +
+			"EC:2.7.11.1 > GO:NADPH:sulfur oxidoreductase activity ; GO:0043914";
+
+	@Test
+	public void testParse() throws Exception
+	{
+		Ec2GoMapping mapping = Ec2GoMapping.parse(new StringReader(sampleEc2GoText));
+
+		assertEquals(Arrays.asList("1", "1.2"), mapping.getECNumbers("0016491"));
+		assertEquals(Arrays.asList("1.1.1.1"), mapping.getECNumbers("0004022"));
+		// A GO name that contains "GO:" must not confuse the parser - the accession is the one at the end of the line.
+		assertEquals(Arrays.asList("2.7.11.1"), mapping.getECNumbers("0043914"));
+		// The last line has no trailing newline.
+		assertTrue(mapping.hasECNumbers("0043914"));
+
+		// Lines whose EC number does not match [0-9.]+ are ignored, as they were with the old regular expression.
+		assertFalse(mapping.hasECNumbers("0000001"));
+		assertFalse(mapping.hasECNumbers("0000002"));
+		assertTrue(mapping.getECNumbers("0000001").isEmpty());
+		assertTrue(mapping.getECNumbers("not-an-accession").isEmpty());
+		assertTrue(mapping.getECNumbers((String) null).isEmpty());
+
+		assertEquals(7, mapping.accessionCount());
+		assertEquals(8, mapping.mappingCount());
+		assertEquals(6, mapping.distinctECNumberCount());
+	}
+
+	@Test
+	public void testECNumbersAreShared() throws Exception
+	{
+		Ec2GoMapping mapping = Ec2GoMapping.parse(new StringReader(sampleEc2GoText));
+		assertSame(mapping.getECNumbers("0008748").get(0), mapping.getECNumbers("0016491").get(0));
+		assertSame(mapping.getECNumbers("0004674").get(0), mapping.getECNumbers("0043914").get(0));
+	}
+
+	@Test(expected = UnsupportedOperationException.class)
+	public void testECNumbersAreUnmodifiable() throws Exception
+	{
+		Ec2GoMapping mapping = Ec2GoMapping.parse(new StringReader(sampleEc2GoText));
+		List<String> ecNumbers = mapping.getECNumbers("0016491");
+		ecNumbers.set(0, "9.9.9.9");
+	}
+
+	@Test
+	public void testAccessionToInt()
+	{
+		assertEquals(8748, Ec2GoMapping.accessionToInt("0008748"));
+		assertEquals(-1, Ec2GoMapping.accessionToInt("GO:0008748"));
+		assertEquals(-1, Ec2GoMapping.accessionToInt(""));
+		assertEquals(-1, Ec2GoMapping.accessionToInt("99999999999"));
+	}
+}
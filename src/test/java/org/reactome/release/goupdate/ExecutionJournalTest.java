@@ -0,0 +1,84 @@
+package org.reactome.release.goupdate;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+import org.reactome.release.goupdate.ExecutionJournal.Phase;
+
+public class ExecutionJournalTest
+{
+	private Path journalPath;
+
+	@Before
+	public void setup() throws IOException
+	{
+		this.journalPath = Files.createTempFile("go_update_journal", ".tsv");
+		Files.delete(this.journalPath);
+	}
+
+	@After
+	public void cleanup() throws IOException
+	{
+		Files.deleteIfExists(this.journalPath);
+	}
+
+	@Test
+	public void testResumeUnfinishedRun() throws IOException
+	{
+		ExecutionJournal journal = ExecutionJournal.open(this.journalPath, "input-1");
+		assertFalse(journal.isResumed());
+		journal.recordPhase(Phase.UPDATES);
+		journal.recordPhase(Phase.CREATES);
+
+		ExecutionJournal resumed = ExecutionJournal.open(this.journalPath, "input-1");
+		assertTrue(resumed.isResumed());
+		assertTrue(resumed.isComplete(Phase.UPDATES));
+		assertTrue(resumed.isComplete(Phase.CREATES));
+		assertFalse(resumed.isComplete(Phase.MERGES));
+		// Resuming does not start a new run.
+		assertEquals(3, Files.readAllLines(this.journalPath).size());
+	}
+
+	@Test
+	public void testRunWithNoCompletedPhaseStartsOver() throws IOException
+	{
+		ExecutionJournal.open(this.journalPath, "input-1");
+
+		ExecutionJournal next = ExecutionJournal.open(this.journalPath, "input-1");
+		assertFalse(next.isResumed());
+		assertEquals(2, Files.readAllLines(this.journalPath).size());
+	}
+
+	@Test
+	public void testFinishedRunIsNotResumed() throws IOException
+	{
+		ExecutionJournal journal = ExecutionJournal.open(this.journalPath, "input-1");
+		journal.recordPhase(Phase.UPDATES);
+		journal.recordFinished();
+
+		ExecutionJournal next = ExecutionJournal.open(this.journalPath, "input-1");
+		assertFalse(next.isResumed());
+		assertFalse(next.isComplete(Phase.UPDATES));
+	}
+
+	@Test
+	public void testDifferentInputIsNotResumed() throws IOException
+	{
+		ExecutionJournal journal = ExecutionJournal.open(this.journalPath, "input-1");
+		journal.recordPhase(Phase.UPDATES);
+
+		ExecutionJournal next = ExecutionJournal.open(this.journalPath, "input-2");
+		assertFalse(next.isResumed());
+		assertFalse(next.isComplete(Phase.UPDATES));
+		// The journal is append-only: the earlier run is still in it.
+		assertEquals(3, Files.readAllLines(this.journalPath).size());
+	}
+}
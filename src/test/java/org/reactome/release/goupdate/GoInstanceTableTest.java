@@ -0,0 +1,79 @@
+package org.reactome.release.goupdate;
+
+import static org.junit.Assert.assertArrayEquals;
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+
+import java.io.StringReader;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.Map;
+
+import org.gk.model.ReactomeJavaConstants;
+import org.junit.Test;
+
+public class GoInstanceTableTest
+{
+	private static GoInstanceTable buildTable()
+	{
+		return new GoInstanceTable.Builder(null)
+				.addRow(30L, ReactomeJavaConstants.GO_BiologicalProcess, "0000001", "process", "a process")
+				.addRow(10L, ReactomeJavaConstants.GO_CellularComponent, "0000002", "component", "a component")
+				.addRow(20L, ReactomeJavaConstants.GO_MolecularFunction, "0000001", "function", "a function")
+				.addRow(40L, ReactomeJavaConstants.GO_MolecularFunction, null, "no accession", null)
+				// Values can arrive in any DB_ID order, but each instance's values are in rank order.
+				.addECNumber(40L, "1.1")
+				.addECNumber(20L, "3.4")
+				.addECNumber(20L, "1.2")
+				.addRelationship(ReactomeJavaConstants.componentOf, 10L, 30L)
+				.addRelationship(ReactomeJavaConstants.instanceOf, 10L, 20L)
+				.addRelationship(ReactomeJavaConstants.componentOf, 10L, 20L)
+				// Values of instances that are not in the table are ignored.
+				.addRelationship(ReactomeJavaConstants.componentOf, 99L, 10L)
+				.build();
+	}
+
+	@Test
+	public void testLookups()
+	{
+		GoInstanceTable table = buildTable();
+		assertEquals(4, table.size());
+		// Rows are in the order they were added.
+		assertArrayEquals(new int[] { 0, 2 }, table.getRows("0000001"));
+		assertArrayEquals(new int[] { 3 }, table.getRows(""));
+		assertEquals(0, table.getRows("9999999").length);
+		assertEquals(2, table.getRow(20L));
+		assertEquals(-1, table.getRow(99L));
+		assertEquals(ReactomeJavaConstants.GO_CellularComponent, table.getClassName(table.getRow(10L)));
+		assertEquals("function", table.getName(2));
+		assertEquals("a function", table.getDefinition(2));
+	}
+
+	@Test
+	public void testMultiValuedColumns()
+	{
+		GoInstanceTable table = buildTable();
+		assertEquals(Arrays.asList("3.4", "1.2"), table.getECNumbers(table.getRow(20L)));
+		assertEquals(Arrays.asList("1.1"), table.getECNumbers(table.getRow(40L)));
+		assertTrue(table.getECNumbers(table.getRow(10L)).isEmpty());
+		assertArrayEquals(new long[] { 30L, 20L }, table.getRelationship(table.getRow(10L), ReactomeJavaConstants.componentOf));
+		assertArrayEquals(new long[] { 20L }, table.getRelationship(table.getRow(10L), ReactomeJavaConstants.instanceOf));
+		assertEquals(0, table.getRelationship(table.getRow(30L), ReactomeJavaConstants.componentOf).length);
+		assertEquals(0, table.getRelationship(table.getRow(10L), "hasPart").length);
+	}
+
+	@Test
+	public void testNeedsUpdate() throws Exception
+	{
+		GoInstanceTable table = buildTable();
+		Ec2GoMapping ecNumbers = Ec2GoMapping.parse(new StringReader("EC:1.2 > GO:function ; GO:0000001\nEC:3.4 > GO:function ; GO:0000001\n"));
+		Map<String, Object> goTerm = new HashMap<>();
+		goTerm.put(GoUpdateConstants.NAME, "function");
+		goTerm.put(GoUpdateConstants.DEF, "a function");
+		// The same EC numbers, in a different order.
+		assertFalse(GoTermInstanceModifier.needsUpdate(table, table.getRow(20L), goTerm, ecNumbers));
+		goTerm.put(GoUpdateConstants.DEF, "a new definition");
+		assertTrue(GoTermInstanceModifier.needsUpdate(table, table.getRow(20L), goTerm, ecNumbers));
+	}
+}
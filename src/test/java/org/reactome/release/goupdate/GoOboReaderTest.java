@@ -0,0 +1,137 @@
+package org.reactome.release.goupdate;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+import java.util.Arrays;
+import java.util.HashSet;
+import java.util.Map;
+import java.util.Set;
+
+import org.junit.Test;
+
+public class GoOboReaderTest
+{
+	private static final String sampleGoText = "format-version: 1.2\n" +
+			"data-version: releases/2018-06-01\n" +
+			"\n" +
+			"[Term]\n" +
+			"id: GO:0000001\n" +
+			"name: mitochondrion inheritance\n" +
+			"namespace: biological_process\n" +
+			"def: \"The distribution of mitochondria into daughter cells.\" [GOC:mcc, PMID:10873824]\n" +
+			"synonym: \"mitochondrial inheritance\" EXACT []\n" +
+			"is_a: GO:0048308 ! organelle inheritance\n" +
+			"\r\n" +
+			"[Term]\n" +
+			"id: GO:0000005\n" +
+			"name: obsolete ribosomal chaperone activity\n" +
+			"namespace: molecular_function\n" +
+			"synonym: \"ribosomal chaperone activity\" EXACT []\n" +
+			"xref: Wikipedia:Ribosome\n" +
+			"pending obsoletion\n" +
+			"is_obsolete: true\n" +
+			"consider: GO:0042254\n" +
+			"\n" +
+			"[Typedef]\n" +
+			"id: part_of\n" +
+			"name: part of\n";
+
+	@Test
+	public void testDefaultProjectionSkipsSynonyms()
+	{
+		GoOboReader reader = new GoOboReader(ByteBuffer.wrap(sampleGoText.getBytes(StandardCharsets.UTF_8)));
+		Map<String, Map<String, Object>> goTerms = reader.readTerms();
+
+		assertEquals(2, goTerms.size());
+		assertEquals("mitochondrion inheritance", goTerms.get("0000001").get(GoUpdateConstants.NAME));
+		assertEquals(GONamespace.biological_process, goTerms.get("0000001").get(GoUpdateConstants.NAMESPACE));
+		assertEquals(Arrays.asList("0048308"), goTerms.get("0000001").get(GoUpdateConstants.IS_A));
+		assertFalse(goTerms.get("0000001").containsKey(GoUpdateConstants.SYNONYM));
+		assertFalse(goTerms.get("0000005").containsKey(GoUpdateConstants.SYNONYM));
+		// Lines without a tag are still read.
+		assertEquals(true, goTerms.get("0000005").get(GoUpdateConstants.PENDING_OBSOLETION));
+		assertEquals(true, goTerms.get("0000005").get(GoUpdateConstants.IS_OBSOLETE));
+
+		assertEquals(24, reader.getLineCount());
+		assertEquals(2, reader.getTermCount());
+		// 2 synonyms and 1 xref.
+		assertEquals(3, reader.getSkippedLineCount());
+	}
+
+	@Test
+	public void testCustomProjection()
+	{
+		Set<String> projection = new HashSet<>(GoOboReader.DEFAULT_PROJECTION);
+		projection.remove(GoUpdateConstants.IS_A);
+		GoOboReader reader = new GoOboReader(ByteBuffer.wrap(sampleGoText.getBytes(StandardCharsets.UTF_8)), projection);
+		Map<String, Map<String, Object>> goTerms = reader.readTerms();
+
+		assertFalse(goTerms.get("0000001").containsKey(GoUpdateConstants.IS_A));
+		assertTrue(goTerms.get("0000001").containsKey(GoUpdateConstants.DEF));
+		// 2 synonyms, 1 xref and 1 is_a.
+		assertEquals(4, reader.getSkippedLineCount());
+	}
+
+	@Test
+	public void testNonTermStanzasAreSkipped()
+	{
+		String goText = "format-version: 1.2\n" +
+				"id: GO:9999999\n" +
+				"\n" +
+				"[Typedef]\n" +
+				"id: regulates\n" +
+				"name: regulates\n" +
+				"\n" +
+				"[Instance]\n" +
+				"id: GO:8888888\n" +
+				"\r\n" +
+				"[Term]\n" +
+				"id: GO:0000001\n" +
+				"name: mitochondrion inheritance\n" +
+				"namespace: biological_process\n" +
+				"[Typedef]\n" +
+				"id: part_of\n" +
+				"name: part of\n" +
+				"[Term]\n" +
+				"id: GO:0000002\n" +
+				"name: mitochondrial genome maintenance\n" +
+				"namespace: biological_process";
+		GoOboReader reader = new GoOboReader(ByteBuffer.wrap(goText.getBytes(StandardCharsets.UTF_8)));
+		Map<String, Map<String, Object>> goTerms = reader.readTerms();
+
+		// Lines with "id:" in the header and in non-Term stanzas must not create (or rename) terms.
+		assertEquals(2, goTerms.size());
+		assertEquals("mitochondrion inheritance", goTerms.get("0000001").get(GoUpdateConstants.NAME));
+		assertEquals("mitochondrial genome maintenance", goTerms.get("0000002").get(GoUpdateConstants.NAME));
+		assertEquals(2, reader.getTermCount());
+		assertEquals(3, reader.getSkippedStanzaCount());
+		assertEquals(21, reader.getLineCount());
+	}
+
+	@Test
+	public void testAlternateIndex()
+	{
+		String goText = "[Term]\n" +
+				"id: GO:0000001\n" +
+				"alt_id: GO:0000100\n" +
+				"alt_id: GO:0000101\n" +
+				"name: mitochondrion inheritance\n" +
+				"\n" +
+				"[Term]\n" +
+				"id: GO:0000002\n" +
+				"alt_id: GO:0000200\n" +
+				"name: mitochondrial genome maintenance\n";
+		GoOboReader reader = new GoOboReader(ByteBuffer.wrap(goText.getBytes(StandardCharsets.UTF_8)));
+		reader.readTerms();
+
+		Map<String, String> alternateIndex = reader.getAlternateIndex();
+		assertEquals(3, alternateIndex.size());
+		assertEquals("0000001", alternateIndex.get("0000100"));
+		assertEquals("0000001", alternateIndex.get("0000101"));
+		assertEquals("0000002", alternateIndex.get("0000200"));
+	}
+}
@@ -1,11 +1,15 @@
 package org.reactome.release.goupdate;
 
 
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
 import static org.junit.Assert.fail;
 import static org.mockito.ArgumentMatchers.any;
 import static org.mockito.ArgumentMatchers.anyString;
 import static org.mockito.Mockito.mock;
 
+import java.io.StringReader;
 import java.util.Arrays;
 import java.util.HashMap;
 import java.util.HashSet;
@@ -84,7 +88,7 @@ public class GoTermInstanceModifierTest
 	private SchemaAttribute mockAttribute;
 	
 //	@InjectMocks
-//	GoTermInstanceModifier modifier = new GoTermInstanceModifier(adaptor, mockInstanceEdit);
+//	GoTermInstanceModifier modifier = new GoTermInstanceModifier(adaptor, new GoUpdateContext(), mockInstanceEdit);
 	
 	@Before
 	public void setup() throws InvalidAttributeException, Exception
@@ -124,7 +128,7 @@ public class GoTermInstanceModifierTest
 		Mockito.doNothing().when(adaptor).updateInstanceAttribute(any(GKInstance.class), anyString());
 		allGoInstances.put("54321", Arrays.asList(otherGoTerm));
 		
-		GoTermInstanceModifier modifier = new GoTermInstanceModifier(adaptor, newGoTerm);
+		GoTermInstanceModifier modifier = new GoTermInstanceModifier(adaptor, new GoUpdateContext(), newGoTerm);
 		Map<String, Object> goProps = new HashMap<>();
 		goProps.put(GoUpdateConstants.IS_A, Arrays.asList("54321"));
 		modifier.updateRelationship(allGoInstances, goProps , GoUpdateConstants.IS_A, "isA");
@@ -135,61 +139,6 @@ public class GoTermInstanceModifierTest
 		modifier.updateRelationship(allGoInstances, goProps , GoUpdateConstants.IS_A, "isA");
 	}
 	
-	@Test
-	public void deleteGoTermTest() throws InvalidAttributeException, Exception
-	{
-		Mockito.when(newGoTerm.getAttributeValue(ReactomeJavaConstants.accession)).thenReturn(TEST_GO_ID);
-		Mockito.when(newGoTerm.getSchemClass()).thenReturn(biologicalProcessGKSchemaClass);
-		Map<String, Map<String, Object>> goTerms = new HashMap<>();
-		Map<String, Object> goTermDetail = new HashMap<>();
-		goTermDetail.put(GoUpdateConstants.NAME, "Test");
-		goTermDetail.put(GoUpdateConstants.DEF, "This is a test go term");
-		
-		goTerms.put(TEST_GO_ID, goTermDetail);
-		GoTermInstanceModifier modifier = new GoTermInstanceModifier(adaptor, newGoTerm);
-		Map<String, List<GKInstance>> allGoInstances = new HashMap<>();
-		
-		// now, execute the DELETE
-		StringBuffer sb = new StringBuffer();
-		modifier.deleteGoInstance(goTerms, allGoInstances , sb);
-		assert(sb.toString().length() > 0);
-		System.out.println(sb.toString());
-		
-		// Try again, this time with a REPLACED_BUY
-		sb = new StringBuffer();
-		goTermDetail.put(GoUpdateConstants.REPLACED_BY, Arrays.asList("12345"));
-		goTerms.put(TEST_GO_ID, goTermDetail);
-		modifier.deleteGoInstance(goTerms, allGoInstances , sb);
-		assert(sb.toString().length() > 0);
-		System.out.println(sb.toString());
-		
-		// Try again, this time with a ALT_ID
-		sb = new StringBuffer();
-		goTermDetail.remove(GoUpdateConstants.REPLACED_BY);
-		goTermDetail.put(GoUpdateConstants.ALT_ID, Arrays.asList("12345"));
-		goTerms.put(TEST_GO_ID, goTermDetail);
-		modifier.deleteGoInstance(goTerms, allGoInstances , sb);
-		assert(sb.toString().length() > 0);
-		System.out.println(sb.toString());
-
-		// Try again, this time with CONSIDER, and a valid replacement object.
-		sb = new StringBuffer();
-		goTermDetail.remove(GoUpdateConstants.ALT_ID);
-		goTermDetail.put(GoUpdateConstants.CONSIDER, Arrays.asList("12345"));
-		GKInstance replacementInstance = mock(GKInstance.class);
-		GKInstance referrer = mock(GKInstance.class);
-		Mockito.when(newGoTerm.getReferers("componentOf")).thenReturn(Arrays.asList(referrer));
-		Mockito.when(referrer.getDBID()).thenReturn(1122334455L);
-		Mockito.when(referrer.getAttributeValue("componentOf")).thenReturn(newGoTerm);
-		Mockito.doNothing().when(referrer).setAttributeValue(anyString(), any(GKInstance.class));
-		Mockito.doNothing().when(adaptor).updateInstanceAttribute(any(GKInstance.class), anyString());
-		Mockito.doNothing().when(adaptor).deleteInstance(any(GKInstance.class));
-		allGoInstances.put("12345", Arrays.asList(replacementInstance));
-		modifier.deleteGoInstance(goTerms, allGoInstances , sb);
-		assert(sb.toString().length() > 0);
-		System.out.println(sb.toString());
-	}
-	
 	@Test
 	public void updateGoTermTest() throws Exception
 	{
@@ -203,7 +152,7 @@ public class GoTermInstanceModifierTest
 		
 		// Set up a goTerms structure and a goToEcNumbers structure
 		Map<String, Map<String, Object>> goTerms = new HashMap<>();
-		Map<String,List<String>> goToEcNumbers = new HashMap<>();
+		Ec2GoMapping goToEcNumbers = Ec2GoMapping.parse(new StringReader("EC:1.2.3.4 > GO:test go term ; GO:" + TEST_GO_ID + "\n"));
 		
 		Map<String, Object> goTermDetail = new HashMap<>();
 		goTermDetail.put(GoUpdateConstants.NAME, "Test-1");
@@ -211,8 +160,7 @@ public class GoTermInstanceModifierTest
 		
 		goTerms.put(TEST_GO_ID, goTermDetail);
 		
-		goToEcNumbers.put(TEST_GO_ID, Arrays.asList("1.2.3.4"));
-		GoTermInstanceModifier modifier = new GoTermInstanceModifier(adaptor, newGoTerm);
+		GoTermInstanceModifier modifier = new GoTermInstanceModifier(adaptor, new GoUpdateContext(), newGoTerm);
 		StringBuffer sb = new StringBuffer();
 		try
 		{
@@ -229,6 +177,51 @@ public class GoTermInstanceModifierTest
 		}
 	}
 	
+	@Test
+	public void updateGoTermUnchangedECNumbersTest() throws Exception
+	{
+		PowerMockito.mockStatic(GoUpdateInstanceEditUtils.class);
+		PowerMockito.when(GoUpdateInstanceEditUtils.getInstanceEditForClass( any(GOUpdateInstEditType.class), any(Class.class))).thenReturn(this.mockInstanceEdit);
+		Mockito.when(newGoTerm.getAttributeValue(ReactomeJavaConstants.name)).thenReturn("Test");
+		Mockito.when(newGoTerm.getAttributeValue(ReactomeJavaConstants.accession)).thenReturn(TEST_GO_ID);
+		Mockito.when(newGoTerm.getAttributeValue(ReactomeJavaConstants.definition)).thenReturn("This is a test go term");
+		// Same EC Numbers as the file, but in a different order.
+		Mockito.when(newGoTerm.getAttributeValuesList(ReactomeJavaConstants.ecNumber)).thenReturn(Arrays.asList("1.2.3.5", "1.2.3.4"));
+		Mockito.when(newGoTerm.getSchemClass()).thenReturn(molecularFunctionGKSchemaClass);
+
+		Map<String, Map<String, Object>> goTerms = new HashMap<>();
+		Map<String, Object> goTermDetail = new HashMap<>();
+		goTermDetail.put(GoUpdateConstants.NAME, "Test");
+		goTermDetail.put(GoUpdateConstants.DEF, "This is a test go term");
+		goTerms.put(TEST_GO_ID, goTermDetail);
+		Ec2GoMapping goToEcNumbers = Ec2GoMapping.parse(new StringReader("EC:1.2.3.4 > GO:test go term ; GO:" + TEST_GO_ID + "\n"
+																		+ "EC:1.2.3.5 > GO:test go term ; GO:" + TEST_GO_ID + "\n"));
+
+		GoTermInstanceModifier modifier = new GoTermInstanceModifier(adaptor, new GoUpdateContext(), newGoTerm);
+		StringBuffer sb = new StringBuffer();
+		assertEquals(GoTermInstanceModifier.UpdateOutcome.UNCHANGED, modifier.updateGOInstance(goTerms, goToEcNumbers, sb));
+		Mockito.verify(adaptor, Mockito.never()).updateInstanceAttribute(any(GKInstance.class), anyString());
+		Mockito.verify(newGoTerm, Mockito.never()).addAttributeValue(anyString(), any());
+
+		// Now the file has an extra EC Number, so only the EC Numbers (and "modified") should be written.
+		goToEcNumbers = Ec2GoMapping.parse(new StringReader("EC:1.2.3.4 > GO:test go term ; GO:" + TEST_GO_ID + "\n"
+															+ "EC:1.2.3.6 > GO:test go term ; GO:" + TEST_GO_ID + "\n"));
+		assertEquals(GoTermInstanceModifier.UpdateOutcome.EC_NUMBERS_ONLY, modifier.updateGOInstance(goTerms, goToEcNumbers, sb));
+		Mockito.verify(adaptor).updateInstanceAttribute(newGoTerm, ReactomeJavaConstants.ecNumber);
+		Mockito.verify(adaptor).updateInstanceAttribute(newGoTerm, ReactomeJavaConstants.modified);
+		Mockito.verify(adaptor, Mockito.never()).updateInstanceAttribute(newGoTerm, ReactomeJavaConstants._displayName);
+		assertEquals(0, sb.length());
+	}
+
+	@Test
+	public void sameECNumbersTest()
+	{
+		assertTrue(GoTermInstanceModifier.sameECNumbers(Arrays.asList("1.1.1.1", "2.2.2.2"), Arrays.asList("2.2.2.2", "1.1.1.1")));
+		assertTrue(GoTermInstanceModifier.sameECNumbers(Arrays.asList("1.1.1.1", "1.1.1.1"), Arrays.asList("1.1.1.1")));
+		assertFalse(GoTermInstanceModifier.sameECNumbers(Arrays.asList("1.1.1.1"), Arrays.asList("1.1.1.1", "2.2.2.2")));
+		assertFalse(GoTermInstanceModifier.sameECNumbers(null, Arrays.asList("1.1.1.1")));
+	}
+
 	@Test
 	public void createGoTermTest() throws InvalidAttributeException, InvalidAttributeValueException, Exception
 	{
@@ -244,7 +237,7 @@ public class GoTermInstanceModifierTest
 		
 		// Set up a goTerms structure and a goToEcNumbers structure
 		Map<String, Map<String, Object>> goTerms = new HashMap<>();
-		Map<String,List<String>> goToEcNumbers = new HashMap<>();
+		Ec2GoMapping goToEcNumbers = Ec2GoMapping.parse(new StringReader("EC:1.2.3.4 > GO:test go term ; GO:" + TEST_GO_ID + "\n"));
 		
 		Map<String, Object> goTermDetail = new HashMap<>();
 		goTermDetail.put(GoUpdateConstants.NAME, "Test");
@@ -252,8 +245,7 @@ public class GoTermInstanceModifierTest
 		
 		goTerms.put(TEST_GO_ID, goTermDetail);
 		
-		goToEcNumbers.put(TEST_GO_ID, Arrays.asList("1.2.3.4"));
-		GoTermInstanceModifier modifier = new GoTermInstanceModifier(adaptor);
+		GoTermInstanceModifier modifier = new GoTermInstanceModifier(adaptor, new GoUpdateContext());
 		try
 		{
 			modifier.createNewGOTerm(goTerms, goToEcNumbers, TEST_GO_ID, ReactomeJavaConstants.GO_BiologicalProcess, mockRefDB);
@@ -277,7 +269,7 @@ public class GoTermInstanceModifierTest
 		
 		Mockito.when(newGoTerm.getReferers(any(String.class))).thenReturn(Arrays.asList(otherInstance));
 		
-		GoTermInstanceModifier modifier = new GoTermInstanceModifier(adaptor, newGoTerm);
+		GoTermInstanceModifier modifier = new GoTermInstanceModifier(adaptor, new GoUpdateContext(), newGoTerm);
 		
 		PowerMockito.mockStatic(InstanceDisplayNameGenerator.class);
 		
@@ -5,9 +5,11 @@ import static org.mockito.ArgumentMatchers.any;
 import static org.mockito.ArgumentMatchers.anyString;
 import static org.mockito.Mockito.mock;
 
+import java.io.StringReader;
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
 import java.util.Arrays;
 import java.util.HashSet;
-import java.util.List;
 import java.util.Map;
 
 import org.gk.model.GKInstance;
@@ -32,7 +34,7 @@ import org.reactome.release.common.database.InstanceEditUtils;
 @RunWith(PowerMockRunner.class)
 @MockitoSettings(strictness = Strictness.WARN)
 @PowerMockIgnore({"javax.management.*","javax.script.*"})
-@PrepareForTest({InstanceEditUtils.class, GoTermsUpdater.class})
+@PrepareForTest({InstanceEditUtils.class, GoTermsUpdater.class, GoTermsReconciler.class, GoInstanceTable.class})
 public class GoTermsUpdaterTest
 {
 
@@ -178,6 +180,7 @@ public class GoTermsUpdaterTest
 		MockitoAnnotations.initMocks(this);
 		
 		PowerMockito.mockStatic(InstanceEditUtils.class);
+		PowerMockito.mockStatic(GoInstanceTable.class);
 	}
 	
 	@Test
@@ -215,19 +218,22 @@ public class GoTermsUpdaterTest
 		Mockito.when(molecularFunction2.getAttributeValue(ReactomeJavaConstants.name)).thenReturn("The old name");
 		Mockito.when(molecularFunction2.getAttributeValue(ReactomeJavaConstants.definition)).thenReturn("Old Definition");
 		Mockito.when(molecularFunction2.getSchemClass()).thenReturn(mockMolecularFunctionSchemaClass);
-
-		GKInstance molecularFunction3 = mock(GKInstance.class);
-		Mockito.when(molecularFunction3.getAttributeValue(ReactomeJavaConstants.accession)).thenReturn("0000006");
-		Mockito.when(molecularFunction3.getSchemClass()).thenReturn(mockMolecularFunctionSchemaClass);
-		Mockito.when(molecularFunction3.getAttributeValuesList(ReactomeJavaConstants.componentOf)).thenReturn(Arrays.asList(biologicalProcess3));
-		
-		Mockito.when(dba.fetchInstancesByClass(ReactomeJavaConstants.GO_CellularComponent)).thenReturn(Arrays.asList(biologicalProcessMismatchedCategory));
-		Mockito.when(dba.fetchInstancesByClass(ReactomeJavaConstants.GO_BiologicalProcess)).thenReturn(Arrays.asList(biologicalProcess3, biologicalProcess2));
-		Mockito.when(dba.fetchInstancesByClass(ReactomeJavaConstants.GO_MolecularFunction)).thenReturn(Arrays.asList(molecularFunction,  molecularFunction2));
 		
-		Mockito.when(dba.fetchInstanceByAttribute(ReactomeJavaConstants.GO_MolecularFunction,ReactomeJavaConstants.accession,"=","3070009")).thenReturn(Arrays.asList(molecularFunction));
-		Mockito.when(dba.fetchInstanceByAttribute(ReactomeJavaConstants.GO_MolecularFunction,ReactomeJavaConstants.accession,"=","0000005")).thenReturn(Arrays.asList(molecularFunction2));
-		Mockito.when(dba.fetchInstanceByAttribute(ReactomeJavaConstants.GO_MolecularFunction,ReactomeJavaConstants.accession,"=","0000006")).thenReturn(Arrays.asList(molecularFunction3));
+		// The GO terms in the database, as the updater (and the reconciler) will see them. GKInstances are only fetched for the ones that change.
+		GoInstanceTable goInstanceTable = new GoInstanceTable.Builder(dba)
+				.addRow(1L, ReactomeJavaConstants.GO_BiologicalProcess, "0000009", null, null)
+				.addRow(2L, ReactomeJavaConstants.GO_BiologicalProcess, "0000003", null, null)
+				.addRow(3L, ReactomeJavaConstants.GO_CellularComponent, "00000099", null, null)
+				.addRow(4L, ReactomeJavaConstants.GO_MolecularFunction, "3070009", null, null)
+				.addRow(5L, ReactomeJavaConstants.GO_MolecularFunction, "0000005", "The old name", "Old Definition")
+				.addECNumber(5L, "3.4")
+				.build();
+		PowerMockito.when(GoInstanceTable.load(any(MySQLAdaptor.class), any(GoUpdateMetrics.class))).thenReturn(goInstanceTable);
+		Mockito.when(dba.fetchInstance(1L)).thenReturn(biologicalProcess3);
+		Mockito.when(dba.fetchInstance(2L)).thenReturn(biologicalProcess2);
+		Mockito.when(dba.fetchInstance(3L)).thenReturn(biologicalProcessMismatchedCategory);
+		Mockito.when(dba.fetchInstance(4L)).thenReturn(molecularFunction);
+		Mockito.when(dba.fetchInstance(5L)).thenReturn(molecularFunction2);
 		
 		Mockito.when(dba.getSchema()).thenReturn(mockSchema);
 		Mockito.when(mockSchema.getClassByName(anyString())).thenReturn(mockSchemaClass );
@@ -239,20 +245,23 @@ public class GoTermsUpdaterTest
 		GKInstance mockInstanceEdit = mock(GKInstance.class);
 		Mockito.when(InstanceEditUtils.createInstanceEdit(any(MySQLAdaptor.class), any(Long.class), anyString())).thenReturn(mockInstanceEdit);
 		
-		List<String> goLines = Arrays.asList(sampleGoText.split("\n"));
-		List<String> ec2GoLines = Arrays.asList(sampleEc2GoText.split("\n"));
+		GoOboReader goFileReader = new GoOboReader(ByteBuffer.wrap(sampleGoText.getBytes(StandardCharsets.UTF_8)));
+		Ec2GoMapping goToECNumbers = Ec2GoMapping.parse(new StringReader(sampleEc2GoText));
 		long personID = 12345L;
 		
-		GoTermsUpdater updater = new GoTermsUpdater(dba, goLines, ec2GoLines);
+		GoTermsUpdater updater = new GoTermsUpdater(dba, new GoUpdateContext(), goFileReader, goToECNumbers);
 		
 		GoTermInstanceModifier modifier = mock(GoTermInstanceModifier.class);
 		
-		Mockito.when(modifier.createNewGOTerm(any(Map.class), any(Map.class), anyString(), anyString(), any(GKInstance.class))).thenReturn(123456L);
-		Mockito.doNothing().when(modifier).updateGOInstance(any(Map.class), any(Map.class),  any(StringBuffer.class));
+		Mockito.when(modifier.buildNewGOTerm(any(Map.class), any(Ec2GoMapping.class), anyString(), anyString(), any(GKInstance.class))).thenReturn(mockGoTerm);
+		Mockito.when(modifier.updateGOInstance(any(Map.class), any(Ec2GoMapping.class),  any(StringBuffer.class))).thenReturn(GoTermInstanceModifier.UpdateOutcome.UNCHANGED);
 		Mockito.doNothing().when(modifier).updateRelationship(any(Map.class), any(Map.class), anyString(), anyString());
-		Mockito.doNothing().when(modifier).deleteGoInstance(any(Map.class), any(Map.class), any(StringBuffer.class));
 		
 		PowerMockito.whenNew(GoTermInstanceModifier.class).withAnyArguments().thenReturn(modifier);
+		PowerMockito.whenNew(ReferrerRedirector.class).withAnyArguments().thenReturn(mock(ReferrerRedirector.class));
+		PowerMockito.whenNew(BulkDeleter.class).withAnyArguments().thenReturn(mock(BulkDeleter.class));
+		PowerMockito.whenNew(BulkCreator.class).withAnyArguments().thenReturn(mock(BulkCreator.class));
+		PowerMockito.whenNew(SchemaClassMigrator.class).withAnyArguments().thenReturn(mock(SchemaClassMigrator.class));
 		
 		try
 		{
@@ -0,0 +1,43 @@
+package org.reactome.release.goupdate;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+
+import org.junit.Test;
+
+public class GoUpdateContextTest
+{
+	@Test
+	public void testPhasesAreMarkedForEverything()
+	{
+		GoUpdateContext context = new GoUpdateContext();
+		context.startPhase("RELATIONSHIPS");
+		assertEquals("RELATIONSHIPS", context.getProgress().getPhase());
+		// Starting a phase ends the one that is running.
+		context.startPhase("RECONCILE");
+		assertEquals("RECONCILE", context.getProgress().getPhase());
+		assertEquals(1, context.getMetrics().getTimerCount("phase.RELATIONSHIPS"));
+		assertTrue(context.getMemoryStats().getPeakHeapBytes("RELATIONSHIPS") > 0);
+		assertEquals(0, context.getMetrics().getTimerCount("phase.RECONCILE"));
+		context.endPhase();
+		assertEquals(1, context.getMetrics().getTimerCount("phase.RECONCILE"));
+		assertTrue(context.getMemoryStats().getPeakHeapBytes("RECONCILE") > 0);
+		// Nothing is running, so this does nothing.
+		context.endPhase();
+		assertEquals(1, context.getMetrics().getTimerCount("phase.RECONCILE"));
+	}
+
+	@Test
+	public void testNewContextHasEverythingOff()
+	{
+		GoUpdateContext context = new GoUpdateContext();
+		assertFalse(context.getUndoLog().isEnabled());
+		assertFalse(context.getSqlProfiler().isEnabled());
+		assertFalse(context.getWatchdog().isEnabled());
+		context.setWatchdog(new SlowOperationWatchdog(1000, context.getMetrics()));
+		assertTrue(context.getWatchdog().isEnabled());
+		context.setWatchdog(null);
+		assertFalse(context.getWatchdog().isEnabled());
+	}
+}
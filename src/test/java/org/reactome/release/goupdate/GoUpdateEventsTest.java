@@ -0,0 +1,69 @@
+package org.reactome.release.goupdate;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertNull;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.List;
+import java.util.stream.Collectors;
+
+import org.junit.Test;
+
+import jdk.jfr.Recording;
+import jdk.jfr.consumer.RecordedEvent;
+import jdk.jfr.consumer.RecordingFile;
+
+public class GoUpdateEventsTest
+{
+	@Test
+	public void testEventsAreRecorded() throws IOException
+	{
+		Path path = Files.createTempFile("go-update", ".jfr");
+		try (Recording recording = new Recording())
+		{
+			recording.enable("org.reactome.release.goupdate.Phase");
+			recording.enable("org.reactome.release.goupdate.Term");
+			recording.enable("org.reactome.release.goupdate.DatabaseOperation");
+			recording.start();
+			GoUpdateEvents.PhaseEvent phaseEvent = GoUpdateEvents.beginPhase("UPDATES");
+			GoUpdateEvents.beginTerm("0000001", "update", 123L).commit();
+			GoUpdateEvents.DatabaseOperationEvent operationEvent = GoUpdateEvents.beginDatabaseOperation("redirect", "Complex_2_compartment", "compartment");
+			operationEvent.rows = 5;
+			operationEvent.commit();
+			phaseEvent.commit();
+			recording.stop();
+			recording.dump(path);
+
+			List<RecordedEvent> events = RecordingFile.readAllEvents(path).stream()
+					.filter(e -> e.getEventType().getName().startsWith("org.reactome.release.goupdate."))
+					.collect(Collectors.toList());
+			assertEquals(3, events.size());
+			RecordedEvent term = events.stream().filter(e -> e.getEventType().getName().endsWith(".Term")).findFirst().get();
+			assertEquals("0000001", term.getString("accession"));
+			assertEquals("update", term.getString("action"));
+			assertEquals(123L, term.getLong("dbId"));
+			RecordedEvent operation = events.stream().filter(e -> e.getEventType().getName().endsWith(".DatabaseOperation")).findFirst().get();
+			assertEquals("compartment", operation.getString("attribute"));
+			assertEquals(5, operation.getInt("rows"));
+			RecordedEvent phase = events.stream().filter(e -> e.getEventType().getName().endsWith(".Phase")).findFirst().get();
+			assertEquals("UPDATES", phase.getString("phase"));
+		}
+		finally
+		{
+			Files.delete(path);
+		}
+	}
+
+	@Test
+	public void testEventsAreEmptyWhenNotRecording()
+	{
+		GoUpdateEvents.TermEvent event = GoUpdateEvents.beginTerm("0000001", "create", 0);
+		assertFalse(event.isEnabled());
+		// Nothing is filled in when the event is disabled.
+		assertNull(event.accession);
+		event.commit();
+	}
+}
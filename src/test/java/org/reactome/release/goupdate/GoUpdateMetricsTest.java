@@ -0,0 +1,55 @@
+package org.reactome.release.goupdate;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+
+import org.junit.Test;
+
+public class GoUpdateMetricsTest
+{
+	@Test
+	public void testCountersAndTimers()
+	{
+		GoUpdateMetrics metrics = new GoUpdateMetrics();
+		metrics.increment(GoUpdateMetrics.UPDATES);
+		metrics.add(GoUpdateMetrics.UPDATES, 2);
+		assertEquals(3, metrics.getCount(GoUpdateMetrics.UPDATES));
+		assertEquals(0, metrics.getCount(GoUpdateMetrics.DELETES));
+
+		GoUpdateMetrics.Timer timer = metrics.time("phase.UPDATES");
+		timer.close();
+		// Only the first close counts.
+		timer.close();
+		assertEquals(1, metrics.getTimerCount("phase.UPDATES"));
+	}
+
+	@Test
+	public void testWriteJson() throws IOException
+	{
+		GoUpdateMetrics metrics = new GoUpdateMetrics();
+		metrics.add(GoUpdateMetrics.CREATES, 5);
+		for (long value = 1; value <= 100; value++)
+		{
+			metrics.record("modifier.referrersPerDisplayNameRefresh", value);
+		}
+		metrics.time("phase.CREATES").close();
+
+		Path path = Files.createTempFile("metrics", ".json");
+		try
+		{
+			metrics.writeJson(path);
+			String json = new String(Files.readAllBytes(path));
+			assertTrue(json.contains("\"operations.creates\": 5"));
+			assertTrue(json.contains("\"modifier.referrersPerDisplayNameRefresh\": {\"count\": 100, \"min\": 1, \"p50\": 50, \"p90\": 90, \"p99\": 99, \"max\": 100, \"mean\": 50}"));
+			assertTrue(json.contains("\"phase.CREATES\": {\"count\": 1,"));
+		}
+		finally
+		{
+			Files.delete(path);
+		}
+	}
+}
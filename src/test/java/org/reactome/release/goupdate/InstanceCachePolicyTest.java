@@ -0,0 +1,86 @@
+package org.reactome.release.goupdate;
+
+import static org.junit.Assert.assertEquals;
+
+import java.util.Arrays;
+
+import org.gk.model.GKInstance;
+import org.gk.model.ReactomeJavaConstants;
+import org.gk.persistence.InstanceCache;
+import org.gk.persistence.MySQLAdaptor;
+import org.gk.schema.GKSchemaClass;
+import org.junit.Before;
+import org.junit.Test;
+import org.mockito.Mock;
+import org.mockito.Mockito;
+import org.mockito.MockitoAnnotations;
+
+public class InstanceCachePolicyTest
+{
+	@Mock
+	private MySQLAdaptor adaptor;
+
+	@Mock
+	private InstanceCache cache;
+
+	@Mock
+	private GKSchemaClass molecularFunctionClass;
+
+	@Mock
+	private GKSchemaClass referrerClass;
+
+	@Mock
+	private GKInstance goTerm;
+
+	@Mock
+	private GKInstance referrer;
+
+	@Mock
+	private GKInstance pinnedReferrer;
+
+	@Before
+	public void setup() throws Exception
+	{
+		MockitoAnnotations.initMocks(this);
+		Mockito.when(adaptor.getInstanceCache()).thenReturn(cache);
+		Mockito.when(molecularFunctionClass.isa(ReactomeJavaConstants.GO_MolecularFunction)).thenReturn(true);
+
+		Mockito.when(goTerm.getDBID()).thenReturn(1L);
+		Mockito.when(goTerm.getSchemClass()).thenReturn(molecularFunctionClass);
+		Mockito.when(referrer.getDBID()).thenReturn(2L);
+		Mockito.when(referrer.getSchemClass()).thenReturn(referrerClass);
+		Mockito.when(pinnedReferrer.getDBID()).thenReturn(3L);
+		Mockito.when(pinnedReferrer.getSchemClass()).thenReturn(referrerClass);
+		Mockito.when(cache.values()).thenReturn(Arrays.asList(goTerm, referrer, pinnedReferrer));
+		Mockito.when(cache.size()).thenReturn(3);
+	}
+
+	@Test
+	public void testEvictUnpinned()
+	{
+		InstanceCachePolicy policy = new InstanceCachePolicy(adaptor);
+		policy.pin(pinnedReferrer);
+
+		assertEquals(1, policy.evictUnpinned("test"));
+		// GO terms and explicitly pinned instances stay.
+		Mockito.verify(cache).remove(2L);
+		Mockito.verify(cache, Mockito.never()).remove(1L);
+		Mockito.verify(cache, Mockito.never()).remove(3L);
+		assertEquals(1, policy.getEvictedCount());
+		assertEquals(3, policy.getPeakSize());
+	}
+
+	@Test
+	public void testHitsAndMisses() throws Exception
+	{
+		Mockito.when(cache.get(1L)).thenReturn(goTerm);
+		Mockito.when(adaptor.fetchInstance(1L)).thenReturn(goTerm);
+		Mockito.when(adaptor.fetchInstance(2L)).thenReturn(referrer);
+		InstanceCachePolicy policy = new InstanceCachePolicy(adaptor);
+
+		assertEquals(goTerm, policy.fetchInstance(1L));
+		assertEquals(referrer, policy.fetchInstance(2L));
+		assertEquals(1, policy.getHitCount());
+		assertEquals(1, policy.getMissCount());
+	}
+}
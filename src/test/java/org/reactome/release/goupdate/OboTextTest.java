@@ -0,0 +1,72 @@
+package org.reactome.release.goupdate;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertTrue;
+
+import java.util.HashMap;
+import java.util.Map;
+
+import org.junit.Test;
+
+public class OboTextTest
+{
+	@Test
+	public void testUnescape()
+	{
+		assertEquals("The \"quoted\" word.", OboText.unescape("The \\\"quoted\\\" word."));
+		assertEquals("a\\b", OboText.unescape("a\\\\b"));
+		assertEquals("a b\tc\nd", OboText.unescape("a\\Wb\\tc\\nd"));
+		assertEquals("{braces}", OboText.unescape("\\{braces\\}"));
+		assertEquals("no escapes", OboText.unescape("no escapes"));
+		assertNull(OboText.unescape(null));
+	}
+
+	@Test
+	public void testParseQuotedString()
+	{
+		String line = "def: \"Catalysis of the reaction: \\\"A\\\" = B.\" [GOC:curators, \"not part of the definition\"]";
+		assertEquals("Catalysis of the reaction: \"A\" = B.", OboText.parseQuotedString(line, 5));
+		// No opening quote at the given position.
+		assertNull(OboText.parseQuotedString(line, 4));
+		// No closing quote.
+		assertNull(OboText.parseQuotedString("def: \"testing stuff.", 5));
+		assertEquals("", OboText.parseQuotedString("def: \"\" []", 5));
+	}
+
+	@Test
+	public void testEquivalent()
+	{
+		assertTrue(OboText.equivalent("The \"quoted\" word.", "The \\\"quoted\\\" word."));
+		assertTrue(OboText.equivalent("Trailing space. ", "Trailing space."));
+		assertTrue(OboText.equivalent("Two  spaces\tand a tab.", "Two spaces and a tab."));
+		assertTrue(OboText.equivalent(null, null));
+		assertFalse(OboText.equivalent("A definition.", null));
+		assertFalse(OboText.equivalent("A definition.", "A different definition."));
+		assertFalse(OboText.equivalent("Case matters.", "case matters."));
+		// The parsed value is not unescaped a second time.
+		assertFalse(OboText.equivalent("x\\y", "xy"));
+		assertTrue(OboText.equivalent("x\\y", "x\\y "));
+		assertTrue(OboText.equivalent("x\\y", "x\\\\y"));
+	}
+
+	@Test
+	public void testCanonical()
+	{
+		assertEquals("Two spaces and a tab.", OboText.canonical(" Two  spaces\tand a tab.\n"));
+		assertEquals("x\\y", OboText.canonical("x\\y"));
+		assertNull(OboText.canonical(null));
+	}
+
+	@Test
+	public void testDefinitionIsUnescapedWhenParsed()
+	{
+		Map<String, Map<String, Object>> goTerms = new HashMap<>();
+		String goID = GoLineProcessor.processLine("id: GO:0000001", "", goTerms);
+		GoLineProcessor.processLine("name: mitochondrion inheritance ", goID, goTerms);
+		GoLineProcessor.processLine("def: \"The \\\"distribution\\\" of mitochondria.\" [GOC:mcc, PMID:10873824]", goID, goTerms);
+		assertEquals("mitochondrion inheritance", goTerms.get(goID).get(GoUpdateConstants.NAME));
+		assertEquals("The \"distribution\" of mitochondria.", goTerms.get(goID).get(GoUpdateConstants.DEF));
+	}
+}
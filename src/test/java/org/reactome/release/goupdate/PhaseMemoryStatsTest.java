@@ -0,0 +1,54 @@
+package org.reactome.release.goupdate;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+
+import java.lang.management.GarbageCollectorMXBean;
+import java.util.Arrays;
+
+import org.junit.Test;
+import org.mockito.Mockito;
+
+public class PhaseMemoryStatsTest
+{
+	@Test
+	public void testPhaseIsRecorded()
+	{
+		GoUpdateMetrics metrics = new GoUpdateMetrics();
+		PhaseMemoryStats memoryStats = new PhaseMemoryStats(metrics);
+		memoryStats.start("UPDATES");
+		byte[][] allocations = new byte[16][];
+		for (int i = 0; i < allocations.length; i++)
+		{
+			allocations[i] = new byte[1024 * 1024];
+		}
+		memoryStats.end("UPDATES");
+
+		long allocated = memoryStats.getAllocatedBytes("UPDATES");
+		// -1 if the JVM can't measure it.
+		assertTrue(allocated == -1 || allocated >= allocations.length * 1024 * 1024);
+		assertTrue(memoryStats.getPeakHeapBytes("UPDATES") > 0);
+		assertEquals(memoryStats.getPeakHeapBytes("UPDATES"), metrics.getCount("memory.peakHeapBytes.UPDATES"));
+		assertTrue(memoryStats.summary().startsWith("Memory used by UPDATES: "));
+		assertEquals(-1, memoryStats.getAllocatedBytes("DELETIONS"));
+	}
+
+	@Test
+	public void testPostGcHeapIsOnlyReportedAfterACollection()
+	{
+		GoUpdateMetrics metrics = new GoUpdateMetrics();
+		GarbageCollectorMXBean garbageCollector = Mockito.mock(GarbageCollectorMXBean.class);
+		// No collection in CREATES, one in DELETIONS.
+		Mockito.when(garbageCollector.getCollectionCount()).thenReturn(3L, 3L, 3L, 4L);
+		PhaseMemoryStats memoryStats = new PhaseMemoryStats(metrics, Arrays.asList(garbageCollector));
+		memoryStats.start("CREATES");
+		memoryStats.end("CREATES");
+		memoryStats.start("DELETIONS");
+		memoryStats.end("DELETIONS");
+
+		assertEquals(-1, memoryStats.getPostGcHeapBytes("CREATES"));
+		assertTrue(memoryStats.getPostGcHeapBytes("DELETIONS") >= 0);
+		assertEquals(0, metrics.getCount("memory.postGcHeapBytes.CREATES"));
+		assertTrue(memoryStats.summary().contains("Memory used by CREATES: ") && memoryStats.summary().split("\n")[0].endsWith("heap after GC n/a."));
+	}
+}
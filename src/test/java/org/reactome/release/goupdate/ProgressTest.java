@@ -0,0 +1,72 @@
+package org.reactome.release.goupdate;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+
+import java.lang.management.ManagementFactory;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+
+import javax.management.JMException;
+import javax.management.MBeanServer;
+import javax.management.ObjectName;
+
+import org.junit.Test;
+
+public class ProgressTest
+{
+	@Test
+	public void testEstimatedTimeRemaining()
+	{
+		AtomicLong now = new AtomicLong();
+		Progress progress = new Progress(0, now::get);
+		progress.startPhase("UPDATES");
+		// Nothing processed yet, so there is no estimate.
+		assertEquals(-1, progress.getEstimatedSecondsRemaining());
+		progress.setTermsTotal(100);
+		for (int i = 0; i < 25; i++)
+		{
+			progress.termProcessed();
+		}
+		progress.databaseOperations(50);
+		now.set(TimeUnit.SECONDS.toNanos(10));
+
+		assertEquals(25.0, progress.getPercentComplete(), 0.001);
+		// 25 terms took 10 seconds, so the other 75 should take 30.
+		assertEquals(30, progress.getEstimatedSecondsRemaining());
+		assertEquals(5.0, progress.getDatabaseOperationsPerSecond(), 0.001);
+		assertEquals("UPDATES: 25 of 100 GO terms (25.0%), 5.0 database writes/s, about PT30S left in this phase.", progress.describe());
+
+		// A new phase starts from 0, but the run's totals carry on.
+		progress.startPhase("CREATES");
+		assertEquals(0, progress.getTermsProcessed());
+		assertEquals(-1, progress.getEstimatedSecondsRemaining());
+		assertEquals(50, progress.getDatabaseOperations());
+		assertEquals(10, progress.getElapsedSeconds());
+	}
+
+	@Test
+	public void testMBean() throws JMException
+	{
+		Progress progress = new Progress(0);
+		progress.startPhase("DELETIONS");
+		progress.setTermsTotal(10);
+		progress.termProcessed();
+		MBeanServer server = ManagementFactory.getPlatformMBeanServer();
+		ObjectName name = new ObjectName(Progress.OBJECT_NAME);
+		progress.register();
+		try
+		{
+			assertEquals("DELETIONS", server.getAttribute(name, "Phase"));
+			assertEquals(1L, server.getAttribute(name, "TermsProcessed"));
+			assertEquals(10L, server.getAttribute(name, "TermsTotal"));
+		}
+		finally
+		{
+			progress.unregister();
+		}
+		assertFalse(server.isRegistered(name));
+		assertTrue(progress.describe().startsWith("DELETIONS: 1 of 10 GO terms"));
+	}
+}
@@ -0,0 +1,182 @@
+package org.reactome.release.goupdate;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyLong;
+import static org.mockito.ArgumentMatchers.anyString;
+
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.Statement;
+import java.util.Arrays;
+import java.util.HashSet;
+import java.util.Set;
+
+import org.gk.model.GKInstance;
+import org.gk.model.InstanceDisplayNameGenerator;
+import org.gk.model.ReactomeJavaConstants;
+import org.gk.persistence.MySQLAdaptor;
+import org.gk.schema.GKSchemaAttribute;
+import org.gk.schema.GKSchemaClass;
+import org.gk.schema.Schema;
+import org.junit.Before;
+import org.junit.Test;
+import org.junit.runner.RunWith;
+import org.mockito.ArgumentCaptor;
+import org.mockito.Mock;
+import org.mockito.Mockito;
+import org.mockito.MockitoAnnotations;
+import org.powermock.api.mockito.PowerMockito;
+import org.powermock.core.classloader.annotations.PowerMockIgnore;
+import org.powermock.core.classloader.annotations.PrepareForTest;
+import org.powermock.modules.junit4.PowerMockRunner;
+import org.reactome.release.goupdate.GoUpdateInstanceEditUtils.GOUpdateInstEditType;
+
+@RunWith(PowerMockRunner.class)
+@PrepareForTest({GoUpdateInstanceEditUtils.class, InstanceDisplayNameGenerator.class})
+@PowerMockIgnore({"javax.management.*","javax.script.*", "javax.xml.*", "java.xml.*", "com.sun.org.apache.*", "org.w3c.*", "org.apache.logging.*"})
+public class ReferrerRedirectorTest
+{
+	@Mock
+	private MySQLAdaptor adaptor;
+
+	@Mock
+	private Connection connection;
+
+	@Mock
+	private Statement statement;
+
+	@Mock
+	private PreparedStatement preparedStatement;
+
+	@Mock
+	private ResultSet referrerResults;
+
+	@Mock
+	private ResultSet classResults;
+
+	@Mock
+	private Schema schema;
+
+	@Mock
+	private GKSchemaClass reactionClass;
+
+	@Mock
+	private GKInstance catalystActivity;
+
+	@Mock
+	private GKSchemaClass molecularFunctionClass;
+
+	@Mock
+	private GKSchemaClass catalystActivityClass;
+
+	@Mock
+	private GKSchemaAttribute activityAttribute;
+
+	@Mock
+	private GKInstance obsoleteTerm;
+
+	@Mock
+	private GKInstance replacementTerm;
+
+	@Mock
+	private GKInstance instanceEdit;
+
+	@Before
+	public void setup() throws Exception
+	{
+		MockitoAnnotations.initMocks(this);
+		Mockito.when(adaptor.getConnection()).thenReturn(connection);
+		Mockito.when(connection.createStatement()).thenReturn(statement);
+		Mockito.when(connection.prepareStatement(anyString())).thenReturn(preparedStatement);
+		Mockito.when(statement.executeQuery(anyString())).thenReturn(referrerResults);
+		// Two referrers: 100 and 200.
+		Mockito.when(referrerResults.next()).thenReturn(true, true, false);
+		Mockito.when(referrerResults.getLong(1)).thenReturn(100L, 200L);
+		Mockito.when(statement.executeUpdate(anyString())).thenReturn(2);
+		// 100 is a CatalystActivity, 200 is a Reaction.
+		Mockito.when(preparedStatement.executeQuery()).thenReturn(classResults);
+		Mockito.when(classResults.next()).thenReturn(true, true, false);
+		Mockito.when(classResults.getLong(1)).thenReturn(100L, 200L);
+		Mockito.when(classResults.getString(2)).thenReturn(ReactomeJavaConstants.CatalystActivity, ReactomeJavaConstants.Reaction);
+		Mockito.when(adaptor.getSchema()).thenReturn(schema);
+		Mockito.when(schema.getClassByName(ReactomeJavaConstants.CatalystActivity)).thenReturn(catalystActivityClass);
+		Mockito.when(schema.getClassByName(ReactomeJavaConstants.Reaction)).thenReturn(reactionClass);
+		Mockito.when(catalystActivityClass.isa(ReactomeJavaConstants.CatalystActivity)).thenReturn(true);
+		Mockito.when(adaptor.fetchInstance(100L)).thenReturn(catalystActivity);
+		Mockito.when(catalystActivity.getDisplayName()).thenReturn("old name");
+
+		Mockito.when(catalystActivityClass.getName()).thenReturn(ReactomeJavaConstants.CatalystActivity);
+		Mockito.when(molecularFunctionClass.getName()).thenReturn(ReactomeJavaConstants.GO_MolecularFunction);
+		Mockito.when(activityAttribute.getName()).thenReturn(ReactomeJavaConstants.activity);
+		Mockito.when(activityAttribute.getOrigin()).thenReturn(catalystActivityClass);
+		Mockito.when(activityAttribute.isMultiple()).thenReturn(false);
+		Mockito.when(molecularFunctionClass.getReferers()).thenReturn(new HashSet<>(Arrays.asList(activityAttribute)));
+
+		Mockito.when(obsoleteTerm.getDBID()).thenReturn(1L);
+		Mockito.when(obsoleteTerm.getSchemClass()).thenReturn(molecularFunctionClass);
+		Mockito.when(replacementTerm.getDBID()).thenReturn(2L);
+		Mockito.when(replacementTerm.getSchemClass()).thenReturn(molecularFunctionClass);
+
+		Mockito.when(instanceEdit.getDBID()).thenReturn(999L);
+		PowerMockito.mockStatic(GoUpdateInstanceEditUtils.class);
+		Mockito.when(GoUpdateInstanceEditUtils.getInstanceEditForClass(any(GOUpdateInstEditType.class), any(Class.class))).thenReturn(instanceEdit);
+		PowerMockito.mockStatic(InstanceDisplayNameGenerator.class);
+		Mockito.when(InstanceDisplayNameGenerator.generateDisplayName(catalystActivity)).thenReturn("new name");
+	}
+
+	@Test
+	public void testRedirectSingleValuedAttribute() throws Exception
+	{
+		ReferrerRedirector redirector = new ReferrerRedirector(adaptor, new GoUpdateContext());
+		redirector.addRedirect(obsoleteTerm, replacementTerm);
+		assertEquals(1, redirector.getPendingRedirectCount());
+
+		Set<Long> modifiedReferrers = redirector.execute();
+
+		assertEquals(new HashSet<>(Arrays.asList(100L, 200L)), modifiedReferrers);
+		assertEquals(0, redirector.getPendingRedirectCount());
+		// One UPDATE for the (table, attribute), and no de-duplication since "activity" is single-valued.
+		Mockito.verify(statement, Mockito.times(1)).executeUpdate(anyString());
+	}
+
+	@Test
+	public void testRedirectMultiValuedAttributeRemovesDuplicates() throws Exception
+	{
+		Mockito.when(activityAttribute.isMultiple()).thenReturn(true);
+		ReferrerRedirector redirector = new ReferrerRedirector(adaptor, new GoUpdateContext());
+		redirector.addRedirect(obsoleteTerm, replacementTerm);
+		redirector.execute();
+
+		ArgumentCaptor<String> updates = ArgumentCaptor.forClass(String.class);
+		Mockito.verify(statement, Mockito.times(2)).executeUpdate(updates.capture());
+		// The UPDATE, then the removal of duplicates.
+		assertTrue(updates.getAllValues().get(1).startsWith("DELETE t FROM CatalystActivity_2_activity t"));
+	}
+
+	@Test
+	public void testRedirectToSelfIsIgnored() throws Exception
+	{
+		ReferrerRedirector redirector = new ReferrerRedirector(adaptor, new GoUpdateContext());
+		redirector.addRedirect(obsoleteTerm, obsoleteTerm);
+		assertEquals(0, redirector.getPendingRedirectCount());
+		assertTrue(redirector.execute().isEmpty());
+		Mockito.verify(adaptor, Mockito.never()).getConnection();
+	}
+
+	@Test
+	public void testOnlyPhysicalEntitiesAndCatalystActivitiesAreReloaded() throws Exception
+	{
+		ReferrerRedirector redirector = new ReferrerRedirector(adaptor, new GoUpdateContext());
+		redirector.addRedirect(obsoleteTerm, replacementTerm);
+		redirector.execute();
+
+		// The Reaction is not fetched at all, and the CatalystActivity gets its new display name.
+		Mockito.verify(adaptor, Mockito.times(1)).fetchInstance(anyLong());
+		Mockito.verify(adaptor).fetchInstance(100L);
+		Mockito.verify(catalystActivity).setAttributeValue(ReactomeJavaConstants._displayName, "new name");
+		Mockito.verify(adaptor).updateInstanceAttribute(catalystActivity, ReactomeJavaConstants._displayName);
+	}
+}
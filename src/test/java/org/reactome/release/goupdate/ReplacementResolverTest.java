@@ -0,0 +1,97 @@
+package org.reactome.release.goupdate;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertTrue;
+
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.Map;
+
+import org.junit.Test;
+
+public class ReplacementResolverTest
+{
+	@Test
+	public void testChainsAreResolvedToFinalLiveTerm()
+	{
+		Map<String, Map<String, Object>> goTerms = new HashMap<>();
+		// A is replaced by B, B is an alt_id of C, and C is live.
+		goTerms.put("A", obsoleteTerm("B"));
+		goTerms.put("B", obsoleteTerm(null));
+		goTerms.put("C", liveTerm("B"));
+		// D is replaced by E, which is obsolete with no replacement: a dead end.
+		goTerms.put("D", obsoleteTerm("E"));
+		goTerms.put("E", obsoleteTerm(null));
+		// F is replaced by A, so it is at the end of a longer chain.
+		goTerms.put("F", obsoleteTerm("A"));
+
+		ReplacementResolver resolver = ReplacementResolver.resolve(goTerms);
+
+		assertEquals("C", resolver.getFinalTarget("A"));
+		assertEquals("C", resolver.getFinalTarget("B"));
+		assertEquals("C", resolver.getFinalTarget("C"));
+		assertEquals("C", resolver.getFinalTarget("F"));
+		assertNull(resolver.getFinalTarget("D"));
+		assertNull(resolver.getFinalTarget("E"));
+		assertNull(resolver.getFinalTarget("not in the file"));
+
+		assertTrue(resolver.isRetired("A"));
+		assertTrue(resolver.isRetired("B"));
+		assertFalse(resolver.isRetired("C"));
+		assertFalse(resolver.isRetired("E"));
+		assertTrue(resolver.getCycles().isEmpty());
+		// A -> B -> C and F -> A -> B -> C were collapsed.
+		assertEquals(2, resolver.getResolvedChainCount());
+	}
+
+	@Test
+	public void testCyclesAreReported()
+	{
+		Map<String, Map<String, Object>> goTerms = new HashMap<>();
+		goTerms.put("X", obsoleteTerm("Y"));
+		goTerms.put("Y", obsoleteTerm("Z"));
+		goTerms.put("Z", obsoleteTerm("X"));
+		// W leads into the cycle, but is not part of it.
+		goTerms.put("W", obsoleteTerm("X"));
+
+		ReplacementResolver resolver = ReplacementResolver.resolve(goTerms);
+
+		assertEquals(1, resolver.getCycles().size());
+		assertEquals(3, resolver.getCycles().get(0).size());
+		assertTrue(resolver.getCycles().get(0).containsAll(Arrays.asList("X", "Y", "Z")));
+		assertNull(resolver.getFinalTarget("X"));
+		assertNull(resolver.getFinalTarget("W"));
+	}
+
+	@Test
+	public void testReplacementNotInFile()
+	{
+		Map<String, Map<String, Object>> goTerms = new HashMap<>();
+		goTerms.put("A", obsoleteTerm("missing"));
+
+		ReplacementResolver resolver = ReplacementResolver.resolve(goTerms);
+
+		assertTrue(resolver.isRetired("A"));
+		assertNull(resolver.getFinalTarget("A"));
+	}
+
+	private static Map<String, Object> obsoleteTerm(String replacedBy)
+	{
+		Map<String, Object> term = new HashMap<>();
+		term.put(GoUpdateConstants.IS_OBSOLETE, true);
+		if (replacedBy != null)
+		{
+			term.put(GoUpdateConstants.REPLACED_BY, Arrays.asList(replacedBy));
+		}
+		return term;
+	}
+
+	private static Map<String, Object> liveTerm(String alternate)
+	{
+		Map<String, Object> term = new HashMap<>();
+		term.put(GoUpdateConstants.ALT_ID, Arrays.asList(alternate));
+		return term;
+	}
+}
@@ -0,0 +1,138 @@
+package org.reactome.release.goupdate;
+
+import static org.junit.Assert.assertEquals;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyString;
+
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+import java.util.Set;
+
+import org.gk.model.GKInstance;
+import org.gk.model.ReactomeJavaConstants;
+import org.gk.persistence.MySQLAdaptor;
+import org.gk.schema.GKSchemaAttribute;
+import org.gk.schema.GKSchemaClass;
+import org.gk.schema.Schema;
+import org.junit.Before;
+import org.junit.Test;
+import org.junit.runner.RunWith;
+import org.mockito.ArgumentCaptor;
+import org.mockito.Mock;
+import org.mockito.Mockito;
+import org.mockito.MockitoAnnotations;
+import org.powermock.api.mockito.PowerMockito;
+import org.powermock.core.classloader.annotations.PowerMockIgnore;
+import org.powermock.core.classloader.annotations.PrepareForTest;
+import org.powermock.modules.junit4.PowerMockRunner;
+import org.reactome.release.goupdate.GoUpdateInstanceEditUtils.GOUpdateInstEditType;
+
+@RunWith(PowerMockRunner.class)
+@PrepareForTest({GoUpdateInstanceEditUtils.class})
+@PowerMockIgnore({"javax.management.*","javax.script.*", "javax.xml.*", "java.xml.*", "com.sun.org.apache.*", "org.w3c.*", "org.apache.logging.*"})
+public class SchemaClassMigratorTest
+{
+	@Mock
+	private MySQLAdaptor adaptor;
+
+	@Mock
+	private Schema schema;
+
+	@Mock
+	private Connection connection;
+
+	@Mock
+	private PreparedStatement preparedStatement;
+
+	@Mock
+	private GKSchemaClass databaseObjectClass;
+
+	@Mock
+	private GKSchemaClass molecularFunctionClass;
+
+	@Mock
+	private GKSchemaClass biologicalProcessClass;
+
+	@Mock
+	private GKSchemaAttribute mfAccessionAttribute;
+
+	@Mock
+	private GKSchemaAttribute bpAccessionAttribute;
+
+	@Mock
+	private GKSchemaAttribute ecNumberAttribute;
+
+	@Mock
+	private GKInstance goTerm;
+
+	@Mock
+	private GKInstance instanceEdit;
+
+	@Before
+	public void setup() throws Exception
+	{
+		MockitoAnnotations.initMocks(this);
+		Mockito.when(adaptor.getConnection()).thenReturn(connection);
+		Mockito.when(adaptor.getSchema()).thenReturn(schema);
+		Mockito.when(connection.prepareStatement(anyString())).thenReturn(preparedStatement);
+
+		Mockito.when(databaseObjectClass.getName()).thenReturn(ReactomeJavaConstants.DatabaseObject);
+		Mockito.when(databaseObjectClass.getSuperClasses()).thenReturn(Collections.emptyList());
+		Mockito.when(molecularFunctionClass.getName()).thenReturn(ReactomeJavaConstants.GO_MolecularFunction);
+		Mockito.when(molecularFunctionClass.isa(ReactomeJavaConstants.GO_MolecularFunction)).thenReturn(true);
+		Mockito.when(molecularFunctionClass.getSuperClasses()).thenReturn(Arrays.asList(databaseObjectClass));
+		Mockito.when(molecularFunctionClass.getReferers()).thenReturn(Collections.emptySet());
+		Mockito.when(biologicalProcessClass.getName()).thenReturn(ReactomeJavaConstants.GO_BiologicalProcess);
+		Mockito.when(biologicalProcessClass.getSuperClasses()).thenReturn(Arrays.asList(databaseObjectClass));
+		Mockito.when(schema.getClassByName(ReactomeJavaConstants.GO_MolecularFunction)).thenReturn(molecularFunctionClass);
+		Mockito.when(schema.getClassByName(ReactomeJavaConstants.GO_BiologicalProcess)).thenReturn(biologicalProcessClass);
+
+		// accession is in both classes, ecNumber is only in GO_MolecularFunction.
+		Mockito.when(mfAccessionAttribute.getName()).thenReturn(ReactomeJavaConstants.accession);
+		Mockito.when(mfAccessionAttribute.getOrigin()).thenReturn(molecularFunctionClass);
+		Mockito.when(bpAccessionAttribute.getName()).thenReturn(ReactomeJavaConstants.accession);
+		Mockito.when(bpAccessionAttribute.getOrigin()).thenReturn(biologicalProcessClass);
+		Mockito.when(ecNumberAttribute.getName()).thenReturn(ReactomeJavaConstants.ecNumber);
+		Mockito.when(ecNumberAttribute.getOrigin()).thenReturn(molecularFunctionClass);
+		Mockito.when(ecNumberAttribute.isMultiple()).thenReturn(true);
+		Mockito.when(molecularFunctionClass.getAttributes()).thenReturn(Arrays.asList(mfAccessionAttribute, ecNumberAttribute));
+		Mockito.when(biologicalProcessClass.isValidAttribute(ReactomeJavaConstants.accession)).thenReturn(true);
+		Mockito.when(biologicalProcessClass.getAttribute(ReactomeJavaConstants.accession)).thenReturn(bpAccessionAttribute);
+
+		Mockito.when(goTerm.getDBID()).thenReturn(1L);
+		Mockito.when(goTerm.getSchemClass()).thenReturn(molecularFunctionClass);
+
+		Mockito.when(instanceEdit.getDBID()).thenReturn(999L);
+		PowerMockito.mockStatic(GoUpdateInstanceEditUtils.class);
+		Mockito.when(GoUpdateInstanceEditUtils.getInstanceEditForClass(any(GOUpdateInstEditType.class), any(Class.class))).thenReturn(instanceEdit);
+	}
+
+	@Test
+	public void testMigrate() throws Exception
+	{
+		SchemaClassMigrator migrator = new SchemaClassMigrator(adaptor, new GoUpdateContext());
+		migrator.addMigration(goTerm, ReactomeJavaConstants.GO_BiologicalProcess);
+		assertEquals(1, migrator.getPendingMigrationCount());
+
+		Set<Long> migrated = migrator.execute();
+
+		assertEquals(Collections.singleton(1L), migrated);
+		assertEquals(0, migrator.getPendingMigrationCount());
+		ArgumentCaptor<String> statements = ArgumentCaptor.forClass(String.class);
+		Mockito.verify(connection, Mockito.atLeastOnce()).prepareStatement(statements.capture());
+		List<String> sql = statements.getAllValues();
+		// accession is copied (and ecNumber is not), before the old class's rows are deleted.
+		assertEquals("INSERT INTO GO_BiologicalProcess (DB_ID, accession) SELECT d.DB_ID, GO_MolecularFunction.accession FROM DatabaseObject d"
+					+ " LEFT JOIN GO_MolecularFunction ON GO_MolecularFunction.DB_ID = d.DB_ID WHERE d.DB_ID IN (?)", sql.get(0));
+	}
+
+	@Test(expected = IllegalArgumentException.class)
+	public void testMigrateToNonGOClass()
+	{
+		SchemaClassMigrator migrator = new SchemaClassMigrator(adaptor, new GoUpdateContext());
+		migrator.addMigration(goTerm, ReactomeJavaConstants.ReferenceDatabase);
+	}
+}
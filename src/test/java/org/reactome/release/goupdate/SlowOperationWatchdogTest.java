@@ -0,0 +1,45 @@
+package org.reactome.release.goupdate;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+
+import org.junit.Test;
+
+public class SlowOperationWatchdogTest
+{
+	@Test
+	public void testSlowOperationIsReported() throws InterruptedException
+	{
+		GoUpdateMetrics metrics = new GoUpdateMetrics();
+		SlowOperationWatchdog watchdog = new SlowOperationWatchdog(50, metrics);
+		SlowOperationWatchdog.Operation slow = watchdog.watch("getReferers(activity)", "0000001", 123L);
+		SlowOperationWatchdog.Operation fast = watchdog.watch("getReferers(activity)", "0000002", 456L);
+		assertEquals(2, watchdog.getInFlightCount());
+		fast.close();
+		Thread.sleep(100);
+		// Normally run by the watchdog's own thread.
+		watchdog.check();
+		assertTrue(slow.isReported());
+		assertFalse(fast.isReported());
+		assertEquals("getReferers(activity) on GO:0000001 (DB_ID 123)", slow.toString());
+		slow.close();
+
+		assertEquals(0, watchdog.getInFlightCount());
+		assertEquals(1, metrics.getCount("watchdog.slowOperations"));
+	}
+
+	@Test
+	public void testDisabledWatchdogWatchesNothing()
+	{
+		SlowOperationWatchdog watchdog = new GoUpdateContext().getWatchdog();
+		assertFalse(watchdog.isEnabled());
+		try (SlowOperationWatchdog.Operation operation = watchdog.watch("getReferers(activity)", null, null))
+		{
+			assertEquals(0, watchdog.getInFlightCount());
+		}
+		// Does nothing: there is no thread to start.
+		watchdog.start();
+		watchdog.stop();
+	}
+}
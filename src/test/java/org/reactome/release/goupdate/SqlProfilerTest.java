@@ -0,0 +1,60 @@
+package org.reactome.release.goupdate;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+
+import java.util.List;
+
+import org.junit.Test;
+
+public class SqlProfilerTest
+{
+	@Test
+	public void testNestedCallsAreCountedOnce()
+	{
+		SqlProfiler profiler = new SqlProfiler(10);
+		profiler.setPhase("UPDATES");
+		try (SqlProfiler.Call outer = profiler.start("storeInstance", "GO_MolecularFunction", true))
+		{
+			// For example, storeInstance(instance) calling storeInstance(instance, false).
+			try (SqlProfiler.Call inner = profiler.start("storeInstance", "GO_MolecularFunction", true))
+			{
+			}
+		}
+		assertEquals(1, profiler.getCallCount());
+		assertTrue(profiler.getNPlusOneSuspects().isEmpty());
+		String report = profiler.report();
+		assertTrue(report.contains("UPDATES"));
+		assertTrue(report.contains("SqlProfilerTest"));
+		assertTrue(report.contains("storeInstance"));
+	}
+
+	@Test
+	public void testNPlusOneDetection()
+	{
+		SqlProfiler profiler = new SqlProfiler(10);
+		profiler.setPhase("DELETIONS");
+		for (int i = 0; i < SqlProfiler.N_PLUS_ONE_THRESHOLD; i++)
+		{
+			profiler.start("getReferers", "activity", true).close();
+			// Calls that are not per-instance are never suspects.
+			profiler.start("fetchInstancesByClass", "GO_MolecularFunction", false).close();
+		}
+		List<List<String>> suspects = profiler.getNPlusOneSuspects();
+		assertEquals(1, suspects.size());
+		assertEquals("DELETIONS", suspects.get(0).get(0));
+		assertTrue(suspects.get(0).get(1).startsWith("SqlProfilerTest.testNPlusOneDetection:"));
+		assertEquals("getReferers(activity)", suspects.get(0).get(2));
+		assertTrue(profiler.report().contains("Possible N+1 patterns"));
+	}
+
+	@Test
+	public void testDisabledProfilerRecordsNothing()
+	{
+		SqlProfiler profiler = new GoUpdateContext().getSqlProfiler();
+		assertFalse(profiler.isEnabled());
+		profiler.start("fetchInstance", null, true).close();
+		assertEquals(0, profiler.getCallCount());
+	}
+}
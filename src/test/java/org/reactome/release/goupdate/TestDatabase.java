@@ -0,0 +1,357 @@
+package org.reactome.release.goupdate;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.sql.Connection;
+import java.sql.DriverManager;
+import java.sql.ResultSet;
+import java.sql.ResultSetMetaData;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.Comparator;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.stream.Collectors;
+import java.util.stream.Stream;
+
+import org.gk.schema.GKSchemaAttribute;
+import org.gk.schema.GKSchemaClass;
+import org.gk.schema.Schema;
+import org.gk.schema.SchemaClass;
+import org.mockito.Mockito;
+
+import ch.vorburger.exec.ManagedProcessException;
+import ch.vorburger.mariadb4j.DB;
+import ch.vorburger.mariadb4j.DBConfigurationBuilder;
+
+/**
+ * A real database for the tests of the set-based SQL (the bulk classes and {@link UndoLogReplayer}), with a small Reactome schema: mocked
+ * schema classes and attributes (as in the other tests), and the tables that go with them, in gk_central's layout.<br/>
+ * The database is an embedded MariaDB (from MariaDB4j). To use a MySQL or MariaDB server that is already running instead, set the system
+ * property <code>goupdate.test.dbPort</code> to its port (the tests log in as root, without a password, and use the database go_update_test).
+ */
+class TestDatabase implements AutoCloseable
+{
+	static final String PORT_PROPERTY = "goupdate.test.dbPort";
+	private static final String DATABASE_NAME = "go_update_test";
+	private static final String USER = "root";
+
+	// Class name -> (attribute name -> attribute), in the order they were added.
+	private final Map<String, Map<String, GKSchemaAttribute>> attributes = new LinkedHashMap<>();
+	private final Map<String, GKSchemaClass> classes = new LinkedHashMap<>();
+	private final Map<String, String> superClasses = new LinkedHashMap<>();
+	private final Map<GKSchemaAttribute, String> allowedClasses = new LinkedHashMap<>();
+	private final Schema schema = Mockito.mock(Schema.class);
+
+	private DB db;
+	private Path dataDirectory;
+	private int port;
+	private Connection connection;
+
+	/**
+	 * Starts the database server (unless {@link #PORT_PROPERTY} is set).
+	 * @throws Exception
+	 */
+	TestDatabase() throws Exception
+	{
+		String port = System.getProperty(PORT_PROPERTY);
+		if (port != null)
+		{
+			this.port = Integer.parseInt(port);
+			return;
+		}
+		this.dataDirectory = Files.createTempDirectory("go_update_test_");
+		DBConfigurationBuilder config = DBConfigurationBuilder.newBuilder();
+		config.setPort(0);
+		config.setDataDir(this.dataDirectory.toString());
+		// The statements are written for gk_central, which does not run in strict mode.
+		config.addArg("--sql-mode=NO_ENGINE_SUBSTITUTION");
+		if (USER.equals(System.getProperty("user.name")))
+		{
+			config.addArg("--user=root");
+		}
+		this.db = DB.newEmbeddedDB(config.build());
+		this.db.start();
+		this.port = this.db.getConfiguration().getPort();
+	}
+
+	/**
+	 * Adds a class to the schema. Add a class's superclass before the class itself.
+	 * @param name - The name of the class.
+	 * @param superClass - The name of its superclass, or null for DatabaseObject.
+	 * @return This database.
+	 */
+	TestDatabase addClass(String name, String superClass)
+	{
+		GKSchemaClass schemaClass = Mockito.mock(GKSchemaClass.class);
+		this.classes.put(name, schemaClass);
+		this.superClasses.put(name, superClass);
+		this.attributes.put(name, new LinkedHashMap<>());
+		return this;
+	}
+
+	/**
+	 * Adds an attribute to a class in the schema.
+	 * @param className - The class that defines the attribute.
+	 * @param name - The name of the attribute.
+	 * @param multiple - Whether it is multi-valued.
+	 * @param allowedClass - The class of its values, for an instance-valued attribute, or null for a string attribute.
+	 * @return This database.
+	 */
+	TestDatabase addAttribute(String className, String name, boolean multiple, String allowedClass)
+	{
+		GKSchemaAttribute attribute = Mockito.mock(GKSchemaAttribute.class);
+		Mockito.when(attribute.getName()).thenReturn(name);
+		Mockito.when(attribute.isMultiple()).thenReturn(multiple);
+		Mockito.when(attribute.isInstanceTypeAttribute()).thenReturn(allowedClass != null);
+		Mockito.when(attribute.getOrigin()).thenReturn(this.classes.get(className));
+		this.attributes.get(className).put(name, attribute);
+		if (allowedClass != null)
+		{
+			this.allowedClasses.put(attribute, allowedClass);
+		}
+		return this;
+	}
+
+	/**
+	 * Finishes the mocked schema, and (re-)creates the database with empty tables for it. Call this once all of the classes and
+	 * attributes have been added, and again to start from an empty database.
+	 * @return A connection to the database. It is closed by the next call, or by {@link #close()}.
+	 * @throws Exception
+	 */
+	Connection reset() throws Exception
+	{
+		this.stubSchema();
+		if (this.connection != null)
+		{
+			this.connection.close();
+		}
+		try (Connection serverConnection = this.openConnection(""); Statement statement = serverConnection.createStatement())
+		{
+			statement.execute("DROP DATABASE IF EXISTS " + DATABASE_NAME);
+			statement.execute("CREATE DATABASE " + DATABASE_NAME + " DEFAULT CHARACTER SET utf8");
+		}
+		this.connection = this.openConnection(DATABASE_NAME);
+		try (Statement statement = this.connection.createStatement())
+		{
+			for (String table : this.createTableStatements())
+			{
+				statement.execute(table);
+			}
+		}
+		return this.connection;
+	}
+
+	/**
+	 * @return The mocked schema.
+	 */
+	Schema getSchema()
+	{
+		return this.schema;
+	}
+
+	/**
+	 * @param name - The name of a class.
+	 * @return The mocked class.
+	 */
+	GKSchemaClass getSchemaClass(String name)
+	{
+		return this.classes.get(name);
+	}
+
+	/**
+	 * Runs statements (such as the INSERTs of a test's fixture).
+	 * @param sql - The statements.
+	 * @throws SQLException
+	 */
+	void execute(String... sql) throws SQLException
+	{
+		try (Statement statement = this.connection.createStatement())
+		{
+			for (String oneStatement : sql)
+			{
+				statement.execute(oneStatement);
+			}
+		}
+	}
+
+	/**
+	 * Runs a query.
+	 * @param sql - The query.
+	 * @return Each row, as its values separated by tabs (NULL for null values).
+	 * @throws SQLException
+	 */
+	List<String> query(String sql) throws SQLException
+	{
+		List<String> rows = new ArrayList<>();
+		try (Statement statement = this.connection.createStatement(); ResultSet results = statement.executeQuery(sql))
+		{
+			ResultSetMetaData metaData = results.getMetaData();
+			while (results.next())
+			{
+				List<String> values = new ArrayList<>();
+				for (int column = 1; column <= metaData.getColumnCount(); column++)
+				{
+					String value = results.getString(column);
+					values.add(value != null ? value : "NULL");
+				}
+				rows.add(String.join("\t", values));
+			}
+		}
+		return rows;
+	}
+
+	/**
+	 * @return The contents of every table, sorted: for checking that something has been put back exactly as it was.
+	 * @throws SQLException
+	 */
+	Map<String, List<String>> snapshot() throws SQLException
+	{
+		Map<String, List<String>> tables = new LinkedHashMap<>();
+		for (String table : this.tableNames())
+		{
+			List<String> rows = this.query("SELECT * FROM " + table);
+			Collections.sort(rows);
+			tables.put(table, rows);
+		}
+		return tables;
+	}
+
+	/**
+	 * Stops the database server, and deletes its data directory. A server that was already running is left running.
+	 */
+	@Override
+	public void close() throws SQLException, ManagedProcessException, IOException
+	{
+		if (this.connection != null)
+		{
+			this.connection.close();
+		}
+		if (this.db == null)
+		{
+			return;
+		}
+		this.db.stop();
+		try (Stream<Path> paths = Files.walk(this.dataDirectory))
+		{
+			paths.sorted(Comparator.reverseOrder()).forEach(path -> path.toFile().delete());
+		}
+	}
+
+	private Connection openConnection(String database) throws SQLException
+	{
+		return DriverManager.getConnection("jdbc:mysql://localhost:" + this.port + "/" + database + "?useSSL=false", USER, "");
+	}
+
+	/*
+	 * Stubs everything about the classes and attributes that depends on the rest of the schema: superclasses, subclasses, inherited
+	 * attributes, isa, referrers and allowed classes.
+	 */
+	private void stubSchema() throws Exception
+	{
+		for (Map.Entry<String, GKSchemaClass> entry : this.classes.entrySet())
+		{
+			String name = entry.getKey();
+			GKSchemaClass schemaClass = entry.getValue();
+			Mockito.when(schemaClass.getName()).thenReturn(name);
+			String superClass = this.superClasses.get(name);
+			Mockito.when(schemaClass.getSuperClasses()).thenReturn(superClass != null ? Collections.singletonList(this.classes.get(superClass)) : Collections.emptyList());
+			List<GKSchemaClass> subClasses = this.superClasses.entrySet().stream().filter(e -> name.equals(e.getValue())).map(e -> this.classes.get(e.getKey())).collect(Collectors.toList());
+			Mockito.when(schemaClass.getSubClasses()).thenReturn(subClasses);
+			List<String> hierarchy = this.hierarchy(name);
+			Mockito.when(schemaClass.isa(Mockito.anyString())).thenAnswer(invocation -> hierarchy.contains(invocation.getArgument(0)));
+			// Inherited attributes first, as in the Reactome schema.
+			Map<String, GKSchemaAttribute> allAttributes = new LinkedHashMap<>();
+			for (int i = hierarchy.size() - 1; i >= 0; i--)
+			{
+				allAttributes.putAll(this.attributes.get(hierarchy.get(i)));
+			}
+			Mockito.when(schemaClass.getAttributes()).thenReturn(new ArrayList<>(allAttributes.values()));
+			Mockito.when(schemaClass.isValidAttribute(Mockito.anyString())).thenAnswer(invocation -> allAttributes.containsKey(invocation.getArgument(0)));
+			for (Map.Entry<String, GKSchemaAttribute> attribute : allAttributes.entrySet())
+			{
+				Mockito.when(schemaClass.getAttribute(attribute.getKey())).thenReturn(attribute.getValue());
+			}
+			// Attributes that can refer to this class: those that allow it or one of its ancestors.
+			List<GKSchemaAttribute> referrers = this.allowedClasses.entrySet().stream().filter(e -> hierarchy.contains(e.getValue())).map(Map.Entry::getKey).collect(Collectors.toList());
+			Mockito.when(schemaClass.getReferers()).thenReturn(referrers);
+			Mockito.when(this.schema.getClassByName(name)).thenReturn(schemaClass);
+		}
+		for (Map.Entry<GKSchemaAttribute, String> entry : this.allowedClasses.entrySet())
+		{
+			Collection<SchemaClass> allowed = Collections.singletonList(this.classes.get(entry.getValue()));
+			Mockito.when(entry.getKey().getAllowedClasses()).thenReturn(allowed);
+		}
+		Mockito.when(this.schema.getClasses()).thenReturn(this.classes.values());
+	}
+
+	/*
+	 * The class and its ancestors, starting with the class itself.
+	 */
+	private List<String> hierarchy(String className)
+	{
+		List<String> hierarchy = new ArrayList<>();
+		for (String name = className; name != null; name = this.superClasses.get(name))
+		{
+			hierarchy.add(name);
+		}
+		return hierarchy;
+	}
+
+	private List<String> tableNames()
+	{
+		List<String> tables = new ArrayList<>();
+		for (Map.Entry<String, Map<String, GKSchemaAttribute>> entry : this.attributes.entrySet())
+		{
+			tables.add(entry.getKey());
+			entry.getValue().values().stream().filter(GKSchemaAttribute::isMultiple).forEach(a -> tables.add(BulkSqlUtils.tableName(a)));
+		}
+		return tables;
+	}
+
+	/*
+	 * A table for each class, with a column for each of its single-valued attributes, and a table for each multi-valued attribute.
+	 * DatabaseObject has the DB_IDs (AUTO_INCREMENT, as in gk_central) and _class.
+	 */
+	private List<String> createTableStatements()
+	{
+		List<String> statements = new ArrayList<>();
+		for (Map.Entry<String, Map<String, GKSchemaAttribute>> entry : this.attributes.entrySet())
+		{
+			boolean isDatabaseObject = this.superClasses.get(entry.getKey()) == null;
+			List<String> columns = new ArrayList<>();
+			columns.add(isDatabaseObject ? "DB_ID INT(10) UNSIGNED NOT NULL AUTO_INCREMENT" : "DB_ID INT(10) UNSIGNED NOT NULL");
+			if (isDatabaseObject)
+			{
+				columns.add("_class VARCHAR(64)");
+			}
+			for (GKSchemaAttribute attribute : entry.getValue().values())
+			{
+				if (attribute.isMultiple())
+				{
+					statements.add("CREATE TABLE " + BulkSqlUtils.tableName(attribute) + " (DB_ID INT(10) UNSIGNED, " + attribute.getName() + "_rank INT(10) UNSIGNED, "
+									+ columnDefinitions(attribute) + ", KEY (DB_ID), KEY (" + attribute.getName() + ")) ENGINE=InnoDB");
+				}
+				else
+				{
+					columns.add(columnDefinitions(attribute));
+				}
+			}
+			columns.add("PRIMARY KEY (DB_ID)");
+			statements.add("CREATE TABLE " + entry.getKey() + " (" + String.join(", ", columns) + ") ENGINE=InnoDB");
+		}
+		return statements;
+	}
+
+	private static String columnDefinitions(GKSchemaAttribute attribute)
+	{
+		return attribute.isInstanceTypeAttribute()
+				? attribute.getName() + " INT(10) UNSIGNED, " + attribute.getName() + "_class VARCHAR(64)"
+				: attribute.getName() + " VARCHAR(255)";
+	}
+}
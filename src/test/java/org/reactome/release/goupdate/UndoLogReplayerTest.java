@@ -0,0 +1,120 @@
+package org.reactome.release.goupdate;
+
+import static org.junit.Assert.assertEquals;
+import static org.mockito.ArgumentMatchers.anyString;
+
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+
+import org.gk.model.ReactomeJavaConstants;
+import org.gk.persistence.MySQLAdaptor;
+import org.gk.schema.GKSchemaAttribute;
+import org.gk.schema.GKSchemaClass;
+import org.gk.schema.Schema;
+import org.junit.Before;
+import org.junit.Test;
+import org.mockito.ArgumentCaptor;
+import org.mockito.Mock;
+import org.mockito.Mockito;
+import org.mockito.MockitoAnnotations;
+import org.reactome.release.goupdate.UndoLog.Record;
+
+public class UndoLogReplayerTest
+{
+	@Mock
+	private MySQLAdaptor adaptor;
+
+	@Mock
+	private Schema schema;
+
+	@Mock
+	private Connection connection;
+
+	@Mock
+	private PreparedStatement preparedStatement;
+
+	@Mock
+	private ResultSet emptyResults;
+
+	@Mock
+	private GKSchemaClass biologicalProcessClass;
+
+	@Mock
+	private GKSchemaAttribute nameAttribute;
+
+	@Mock
+	private GKSchemaClass databaseObjectClass;
+
+	@Mock
+	private GKSchemaAttribute modifiedAttribute;
+
+	@Before
+	public void setup() throws Exception
+	{
+		MockitoAnnotations.initMocks(this);
+		Mockito.when(adaptor.getConnection()).thenReturn(connection);
+		Mockito.when(adaptor.getSchema()).thenReturn(schema);
+		Mockito.when(connection.prepareStatement(anyString())).thenReturn(preparedStatement);
+		Mockito.when(preparedStatement.executeQuery()).thenReturn(emptyResults);
+		Mockito.when(emptyResults.next()).thenReturn(false);
+
+		Mockito.when(biologicalProcessClass.getName()).thenReturn(ReactomeJavaConstants.GO_BiologicalProcess);
+		Mockito.when(biologicalProcessClass.getAttribute(ReactomeJavaConstants.name)).thenReturn(nameAttribute);
+		Mockito.when(schema.getClassByName(ReactomeJavaConstants.GO_BiologicalProcess)).thenReturn(biologicalProcessClass);
+		Mockito.when(nameAttribute.getName()).thenReturn(ReactomeJavaConstants.name);
+		Mockito.when(nameAttribute.getOrigin()).thenReturn(biologicalProcessClass);
+
+		Mockito.when(databaseObjectClass.getName()).thenReturn(ReactomeJavaConstants.DatabaseObject);
+		Mockito.when(databaseObjectClass.getSuperClasses()).thenReturn(Collections.emptyList());
+		Mockito.when(databaseObjectClass.getAttribute(ReactomeJavaConstants.modified)).thenReturn(modifiedAttribute);
+		Mockito.when(biologicalProcessClass.getSuperClasses()).thenReturn(Arrays.asList(databaseObjectClass));
+		Mockito.when(schema.getClassByName(ReactomeJavaConstants.DatabaseObject)).thenReturn(databaseObjectClass);
+		Mockito.when(modifiedAttribute.getName()).thenReturn(ReactomeJavaConstants.modified);
+		Mockito.when(modifiedAttribute.getOrigin()).thenReturn(databaseObjectClass);
+		Mockito.when(modifiedAttribute.isMultiple()).thenReturn(true);
+		Mockito.when(modifiedAttribute.isInstanceTypeAttribute()).thenReturn(true);
+	}
+
+	@Test
+	public void testRestoreAttribute() throws Exception
+	{
+		List<Record> records = Arrays.asList(
+				new Record(UndoLog.ATTRIBUTE, 1L, Arrays.asList(ReactomeJavaConstants.GO_BiologicalProcess, ReactomeJavaConstants.name, "=old name")),
+				// Only the first record for an attribute is used.
+				new Record(UndoLog.ATTRIBUTE, 1L, Arrays.asList(ReactomeJavaConstants.GO_BiologicalProcess, ReactomeJavaConstants.name, "=newer name")),
+				new Record(UndoLog.CREATED, 2L, Arrays.asList()),
+				// Attributes of instances that were created by the run are not restored: the instances are deleted.
+				new Record(UndoLog.ATTRIBUTE, 2L, Arrays.asList(ReactomeJavaConstants.GO_BiologicalProcess, ReactomeJavaConstants.name, "=new term")));
+
+		new UndoLogReplayer(adaptor).replay(records);
+
+		ArgumentCaptor<String> statements = ArgumentCaptor.forClass(String.class);
+		Mockito.verify(connection, Mockito.atLeastOnce()).prepareStatement(statements.capture());
+		List<String> sql = statements.getAllValues();
+		// Restoring the name comes first. A whole replay is checked against a real database in BulkSqlDatabaseTest.
+		assertEquals("UPDATE GO_BiologicalProcess SET name = ? WHERE DB_ID = ?", sql.get(0));
+		Mockito.verify(preparedStatement).setString(1, "old name");
+		Mockito.verify(preparedStatement).setLong(2, 1L);
+		Mockito.verify(preparedStatement, Mockito.times(1)).addBatch();
+	}
+
+	@Test
+	public void testModifiedOfDeletedInstanceIsRestoredWithoutTheRunsInstanceEdits() throws Exception
+	{
+		List<Record> records = Arrays.asList(
+				new Record(UndoLog.INSTANCE_EDIT, 7L, Arrays.asList()),
+				// The GO term was updated by the run (with InstanceEdit 7) before it was deleted.
+				new Record(UndoLog.ATTRIBUTE, 3L, Arrays.asList(ReactomeJavaConstants.DatabaseObject, ReactomeJavaConstants.modified, "@100:InstanceEdit", "@7:InstanceEdit")),
+				new Record(UndoLog.DELETED, 3L, Arrays.asList(ReactomeJavaConstants.GO_BiologicalProcess)));
+
+		new UndoLogReplayer(adaptor).replay(records);
+
+		// The InstanceEdit from before the run is put back; the run's own InstanceEdit is not.
+		Mockito.verify(preparedStatement).setObject(3, 100L);
+		Mockito.verify(preparedStatement, Mockito.never()).setObject(3, 7L);
+	}
+}
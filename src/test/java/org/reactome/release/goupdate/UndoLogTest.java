@@ -0,0 +1,74 @@
+package org.reactome.release.goupdate;
+
+import static org.junit.Assert.assertArrayEquals;
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Arrays;
+import java.util.List;
+
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+import org.reactome.release.goupdate.UndoLog.Record;
+
+public class UndoLogTest
+{
+	private Path logPath;
+
+	@Before
+	public void setup() throws IOException
+	{
+		this.logPath = Files.createTempFile("go_update_undo", ".log");
+	}
+
+	@After
+	public void cleanup() throws IOException
+	{
+		Files.deleteIfExists(this.logPath);
+	}
+
+	@Test
+	public void testRecordAndRead() throws IOException
+	{
+		UndoLog undoLog = UndoLog.open(this.logPath);
+		assertTrue(undoLog.isEnabled());
+		undoLog.recordInstanceEdit(5L);
+		undoLog.recordCreated(Arrays.asList(11L, 12L));
+		undoLog.close();
+		// Closing the log disables it.
+		assertFalse(undoLog.isEnabled());
+
+		List<Record> records = UndoLog.read(this.logPath);
+		assertEquals(3, records.size());
+		assertEquals(UndoLog.INSTANCE_EDIT, records.get(0).getType());
+		assertEquals(Long.valueOf(5L), records.get(0).getDbId());
+		assertEquals(UndoLog.CREATED, records.get(2).getType());
+		assertEquals(Long.valueOf(12L), records.get(2).getDbId());
+	}
+
+	@Test
+	public void testDisabledLogRecordsNothing() throws IOException
+	{
+		UndoLog undoLog = new GoUpdateContext().getUndoLog();
+		assertFalse(undoLog.isEnabled());
+		undoLog.recordCreated(Arrays.asList(11L));
+		undoLog.sync();
+		assertEquals(0, Files.size(this.logPath));
+	}
+
+	@Test
+	public void testEncodeValues()
+	{
+		String text = "line 1\nline 2\twith a tab and a \\";
+		String encoded = UndoLog.encodeValue(text);
+		assertFalse(encoded.contains("\t") || encoded.contains("\n"));
+		assertEquals(text, UndoLog.decodeValue(encoded));
+		assertEquals("TRUE", UndoLog.decodeValue(UndoLog.encodeValue(Boolean.TRUE)));
+		assertArrayEquals(new String[] { "123", "GO_MolecularFunction" }, (String[]) UndoLog.decodeValue("@123:GO_MolecularFunction"));
+	}
+}